@@ -1,5 +1,6 @@
 import java.net.URL
 import java.nio.file.Files
+import java.security.MessageDigest
 import java.util.zip.ZipEntry
 import java.util.zip.ZipInputStream
 
@@ -67,6 +68,22 @@ dependencies {
     implementation(libs.flatbuffers)
 }
 
+// The Foreign Function & Memory backend needs Java 22, it's shipped in META-INF/versions/22 of a
+// multi-release JAR so the rest of the library keeps working on Java 11
+val java22: SourceSet by sourceSets.creating {
+    java.setSrcDirs(listOf("src/main/java22"))
+    compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+}
+
+tasks.named<JavaCompile>(java22.compileJavaTaskName) {
+    javaCompiler.set(javaToolchains.compilerFor { languageVersion.set(JavaLanguageVersion.of(22)) })
+    options.release.set(22)
+}
+
+dependencies {
+    "jmhRuntimeOnly"(java22.output)
+}
+
 tasks.withType<Javadoc> {
     exclude("io/getunleash/messaging/**")
     exclude("io/getunleash/engine/MetricsBucket.java")
@@ -86,20 +103,50 @@ val verifyNativeBinariesForJar by tasks.registering {
     }
 }
 
+val nativeBinaryHashesDir = layout.buildDirectory.dir("native-hashes")
+
+// The loader finds an already extracted library by these hashes without reading it again
+val hashNativeBinaries by tasks.registering {
+    group = "build"
+    description = "Writes a sha256 file next to each native binary bundled in the JAR"
+
+    inputs.files(fileTree(binariesDir))
+    outputs.dir(nativeBinaryHashesDir)
+
+    doLast {
+        val outputDir = nativeBinaryHashesDir.get().asFile
+        outputDir.deleteRecursively()
+        binariesDir.listFiles()?.filter { it.isFile }?.forEach { binary ->
+            val digest = MessageDigest.getInstance("SHA-256").digest(binary.readBytes())
+            val hashFile = outputDir.resolve(
+                "native/${nativePlatformDirectory(binary.name)}/${versionedBinaryName(binary.name)}.sha256"
+            )
+            hashFile.parentFile.mkdirs()
+            hashFile.writeText(digest.joinToString("") { "%02x".format(it) })
+        }
+    }
+}
+
 tasks.jar {
     dependsOn(verifyNativeBinariesForJar)
+    dependsOn(hashNativeBinaries)
     manifest {
         attributes(
             "Implementation-Title" to project.name,
-            "Implementation-Version" to project.version
+            "Implementation-Version" to project.version,
+            "Multi-Release" to "true"
         )
     }
+    into("META-INF/versions/22") {
+        from(java22.output)
+    }
     binariesDir.listFiles()?.filter { it.isFile }?.forEach { binary ->
         from(binary) {
             into("native/${nativePlatformDirectory(binary.name)}")
             rename { versionedBinaryName(binary.name) }
         }
     }
+    from(nativeBinaryHashesDir)
 }
 
 tasks.processResources {
@@ -160,6 +207,21 @@ tasks.named<Test>("test") {
     testLogging { exceptionFormat = org.gradle.api.tasks.testing.logging.TestExceptionFormat.FULL }
 }
 
+val ffmTest by tasks.registering(Test::class) {
+    group = "verification"
+    description = "Runs the tests against the Foreign Function & Memory backend on Java 22"
+
+    dependsOn(copyTestBinary)
+    dependsOn(fetchClientSpecification)
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath + java22.output
+    javaLauncher.set(javaToolchains.launcherFor { languageVersion.set(JavaLanguageVersion.of(22)) })
+    systemProperty("io.getunleash.engine.native.ffm", "true")
+    jvmArgs("--enable-native-access=ALL-UNNAMED")
+    useJUnitPlatform()
+    testLogging { exceptionFormat = org.gradle.api.tasks.testing.logging.TestExceptionFormat.FULL }
+}
+
 tasks.named("jmh") {
     dependsOn(copyTestBinary)
 }
@@ -0,0 +1,68 @@
+package io.getunleash.engine;
+
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares evaluating one toggle for a batch of users with isEnabled in a loop against a single
+ * isEnabledBulk call, single threaded and spread over the native engine's threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BulkEvaluationBenchmark {
+
+  private static final String STATE =
+      "{\"version\":2,\"features\":[{\"name\":\"toggle\",\"enabled\":true,"
+          + "\"strategies\":[{\"name\":\"flexibleRollout\",\"parameters\":{"
+          + "\"rollout\":\"50\",\"stickiness\":\"default\",\"groupId\":\"toggle\"},"
+          + "\"constraints\":[{\"contextName\":\"region\",\"operator\":\"IN\","
+          + "\"values\":[\"eu\",\"us\"]}]}]}]}";
+
+  @Param({"1000", "100000"})
+  public int batchSize;
+
+  private UnleashEngine engine;
+  private ContextColumns columns;
+  private Context[] contexts;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    engine = new UnleashEngine(NativeInterfaces.create(), null, null, false);
+    engine.takeState(STATE);
+    String[] regions = {"eu", "us", "apac"};
+    String[] userIds = new String[batchSize];
+    String[] userRegions = new String[batchSize];
+    contexts = new Context[batchSize];
+    for (int i = 0; i < batchSize; i++) {
+      userIds[i] = Integer.toString(i);
+      userRegions[i] = regions[i % regions.length];
+      contexts[i] = new Context();
+      contexts[i].setUserId(userIds[i]);
+      contexts[i].getProperties().put("region", userRegions[i]);
+    }
+    columns = new ContextColumns(batchSize).setUserIds(userIds).setProperty("region", userRegions);
+  }
+
+  @Benchmark
+  public void loop(Blackhole blackhole) throws Exception {
+    for (Context context : contexts) {
+      blackhole.consume(engine.isEnabled("toggle", context));
+    }
+  }
+
+  @Benchmark
+  public FlatResponse<BitSet> bulk() throws Exception {
+    return engine.isEnabledBulk("toggle", columns);
+  }
+
+  @Benchmark
+  public FlatResponse<BitSet> bulkParallel() throws Exception {
+    return engine.isEnabledBulk("toggle", columns, Runtime.getRuntime().availableProcessors());
+  }
+}
@@ -0,0 +1,87 @@
+package io.getunleash.engine;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares how long it takes a fresh engine to get to a usable state from a 10k toggle backup,
+ * either by reading and taking the JSON state or by loading a binary snapshot of the same state.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ColdStartBenchmark {
+
+  @Param({"10000"})
+  public int toggleCount;
+
+  private Path directory;
+  private Path jsonBackup;
+  private Path snapshot;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    directory = Files.createTempDirectory("yggdrasil-cold-start");
+    jsonBackup = directory.resolve("backup.json");
+    snapshot = directory.resolve("backup.snapshot");
+
+    String state = generateState(toggleCount);
+    Files.write(jsonBackup, state.getBytes(StandardCharsets.UTF_8));
+
+    UnleashEngine engine = new UnleashEngine();
+    engine.takeState(state);
+    engine.saveSnapshot(snapshot);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(jsonBackup);
+    Files.deleteIfExists(snapshot);
+    Files.deleteIfExists(directory);
+  }
+
+  @Benchmark
+  public UnleashEngine fromJsonBackup() throws Exception {
+    UnleashEngine engine = new UnleashEngine();
+    engine.takeState(new String(Files.readAllBytes(jsonBackup), StandardCharsets.UTF_8));
+    return engine;
+  }
+
+  @Benchmark
+  public UnleashEngine fromSnapshot() throws Exception {
+    UnleashEngine engine = new UnleashEngine();
+    engine.loadSnapshot(snapshot);
+    return engine;
+  }
+
+  private static String generateState(int toggleCount) {
+    StringBuilder json = new StringBuilder("{\"version\":2,\"features\":[");
+    for (int i = 0; i < toggleCount; i++) {
+      if (i > 0) {
+        json.append(',');
+      }
+      json.append("{\"name\":\"toggle-")
+          .append(i)
+          .append("\",\"type\":\"release\",\"project\":\"default\",\"enabled\":true,")
+          .append("\"strategies\":[{\"name\":\"flexibleRollout\",\"parameters\":{")
+          .append("\"rollout\":\"")
+          .append(i % 101)
+          .append("\",\"stickiness\":\"default\",\"groupId\":\"toggle-")
+          .append(i)
+          .append("\"},\"constraints\":[{\"contextName\":\"environment\",\"operator\":\"IN\",")
+          .append("\"values\":[\"production\",\"staging\"]}]},")
+          .append("{\"name\":\"userWithId\",\"parameters\":{\"userIds\":\"1,2,3,4,5\"}}],")
+          .append("\"variants\":[{\"name\":\"blue\",\"weight\":500,\"stickiness\":\"default\",")
+          .append("\"payload\":{\"type\":\"string\",\"value\":\"blue\"}},")
+          .append("{\"name\":\"red\",\"weight\":500,\"stickiness\":\"default\"}]}");
+    }
+    return json.append("]}").toString();
+  }
+}
@@ -0,0 +1,46 @@
+package io.getunleash.engine;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares checking a toggle the engine classified as always on, which is answered in Java, against
+ * one with a rollout that has to be evaluated by the native engine.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ConstantToggleBenchmark {
+
+  private static final String STATE =
+      "{\"version\":2,\"features\":["
+          + "{\"name\":\"constant\",\"enabled\":true,"
+          + "\"strategies\":[{\"name\":\"default\",\"parameters\":{}}]},"
+          + "{\"name\":\"rollout\",\"enabled\":true,"
+          + "\"strategies\":[{\"name\":\"flexibleRollout\",\"parameters\":{"
+          + "\"rollout\":\"50\",\"stickiness\":\"default\",\"groupId\":\"rollout\"}}]}]}";
+
+  private UnleashEngine engine;
+  private Context context;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    engine = new UnleashEngine();
+    engine.takeState(STATE);
+    context = new Context();
+    context.setUserId("7");
+  }
+
+  @Benchmark
+  public FlatResponse<Boolean> constantToggle() throws Exception {
+    return engine.isEnabled("constant", context);
+  }
+
+  @Benchmark
+  public FlatResponse<Boolean> contextDependentToggle() throws Exception {
+    return engine.isEnabled("rollout", context);
+  }
+}
@@ -0,0 +1,60 @@
+package io.getunleash.engine;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares evaluation throughput from many threads against a single engine, which serialises every
+ * evaluation on its lock, and against a pool with one engine per processor.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(Threads.MAX)
+public class EnginePoolBenchmark {
+
+  private static final String STATE =
+      "{\"version\":2,\"features\":[{\"name\":\"toggle\",\"enabled\":true,"
+          + "\"strategies\":[{\"name\":\"flexibleRollout\",\"parameters\":{"
+          + "\"rollout\":\"50\",\"stickiness\":\"default\",\"groupId\":\"toggle\"},"
+          + "\"constraints\":[{\"contextName\":\"environment\",\"operator\":\"IN\","
+          + "\"values\":[\"production\",\"staging\"]}]}],"
+          + "\"variants\":[{\"name\":\"blue\",\"weight\":500,\"stickiness\":\"default\"},"
+          + "{\"name\":\"red\",\"weight\":500,\"stickiness\":\"default\"}]}]}";
+
+  private UnleashEngine engine;
+  private UnleashEnginePool pool;
+
+  @State(Scope.Thread)
+  public static class ThreadContext {
+    Context context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      context = new Context();
+      context.setUserId("user-" + Thread.currentThread().getId());
+      context.setEnvironment("production");
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    engine = new UnleashEngine();
+    engine.takeState(STATE);
+    pool = new UnleashEnginePool();
+    pool.takeState(STATE);
+  }
+
+  @Benchmark
+  public FlatResponse<Boolean> singleEngine(ThreadContext thread) throws Exception {
+    return engine.isEnabled("toggle", thread.context);
+  }
+
+  @Benchmark
+  public FlatResponse<Boolean> enginePool(ThreadContext thread) throws Exception {
+    return pool.isEnabled("toggle", thread.context);
+  }
+}
@@ -0,0 +1,49 @@
+package io.getunleash.engine;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares evaluating a rollout with a constraint in the native engine against evaluating it in the
+ * optional Java tier.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JavaEvaluatorBenchmark {
+
+  private static final String STATE =
+      "{\"version\":2,\"features\":[{\"name\":\"toggle\",\"enabled\":true,"
+          + "\"strategies\":[{\"name\":\"flexibleRollout\",\"parameters\":{"
+          + "\"rollout\":\"50\",\"stickiness\":\"default\",\"groupId\":\"toggle\"},"
+          + "\"constraints\":[{\"contextName\":\"environment\",\"operator\":\"IN\","
+          + "\"values\":[\"production\",\"staging\"]}]}]}]}";
+
+  private UnleashEngine nativeEngine;
+  private UnleashEngine javaEngine;
+  private Context context;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    nativeEngine = new UnleashEngine(NativeInterfaces.create(), null, null, false);
+    nativeEngine.takeState(STATE);
+    javaEngine = new UnleashEngine(NativeInterfaces.create(), null, null, true);
+    javaEngine.takeState(STATE);
+    context = new Context();
+    context.setUserId("7");
+    context.setEnvironment("production");
+  }
+
+  @Benchmark
+  public FlatResponse<Boolean> nativeEvaluation() throws Exception {
+    return nativeEngine.isEnabled("toggle", context);
+  }
+
+  @Benchmark
+  public FlatResponse<Boolean> javaEvaluation() throws Exception {
+    return javaEngine.isEnabled("toggle", context);
+  }
+}
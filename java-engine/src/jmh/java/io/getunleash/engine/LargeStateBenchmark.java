@@ -0,0 +1,113 @@
+package io.getunleash.engine;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures how taking a state, evaluating, draining metrics and reading the state back scale with
+ * the size of the state, on synthetic states from {@link StateGenerator}. Anything that grows
+ * faster than the number of toggles shows up as a jump between the toggle counts. Taking the same
+ * state again also reports the size of the state as JSON and the native memory it takes up, what
+ * {@link EngineStats#getStateBytes()} reports.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LargeStateBenchmark {
+
+  @Param({"1000", "10000", "50000"})
+  public int toggleCount;
+
+  @Param({"3"})
+  public int strategiesPerToggle;
+
+  @Param({"100"})
+  public int segmentCount;
+
+  @Param({"500"})
+  public int constraintValues;
+
+  private String state;
+  private UnleashEngine engine;
+  private Context context;
+  private int nextToggle;
+
+  @State(Scope.Thread)
+  public static class CountedToggles {
+    @Setup(Level.Invocation)
+    public void evaluateEveryToggle(LargeStateBenchmark benchmark) throws Exception {
+      for (int i = 0; i < benchmark.toggleCount; i++) {
+        benchmark.engine.isEnabled(StateGenerator.toggleName(i), benchmark.context);
+      }
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    state =
+        new StateGenerator()
+            .toggles(toggleCount)
+            .strategiesPerToggle(strategiesPerToggle)
+            .segments(segmentCount)
+            .constraintValues(constraintValues)
+            .generate();
+    engine = new UnleashEngine();
+    engine.takeState(state);
+    context = new Context();
+    context.setUserId("3");
+    context.getProperties().put("region", "region-0-7");
+    context.getProperties().put("tenantId", "tenant-1-7");
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class StateSize {
+    public long jsonBytes;
+    public long nativeStateBytes;
+
+    @Setup(Level.Iteration)
+    public void measure(LargeStateBenchmark benchmark) {
+      EngineStats stats = benchmark.engine.getEngineStats();
+      jsonBytes = benchmark.state.length();
+      nativeStateBytes = stats != null ? stats.getStateBytes() : 0;
+    }
+  }
+
+  @Benchmark
+  public UnleashEngine takeStateIntoNewEngine() throws Exception {
+    UnleashEngine fresh = new UnleashEngine();
+    fresh.takeState(state);
+    return fresh;
+  }
+
+  @Benchmark
+  public void takeSameStateAgain(StateSize size) throws Exception {
+    engine.takeState(state);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public FlatResponse<Boolean> isEnabled() throws Exception {
+    int toggle = nextToggle++ % toggleCount;
+    return engine.isEnabled(StateGenerator.toggleName(toggle), context);
+  }
+
+  @Benchmark
+  public MetricsBucket getMetricsOfEveryToggle(CountedToggles counted) {
+    return engine.getMetrics();
+  }
+
+  @Benchmark
+  public List<FeatureDef> listKnownToggles() {
+    return engine.listKnownToggles();
+  }
+
+  @Benchmark
+  public String getState() {
+    return engine.getState();
+  }
+}
@@ -0,0 +1,56 @@
+package io.getunleash.engine;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares evaluation through the JNI backed {@link FlatInterface} with the Foreign Function &amp;
+ * Memory backend. The ffm backend needs the benchmarks to run on Java 22 or later.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(
+    value = 1,
+    jvmArgsAppend = {"--enable-native-access=ALL-UNNAMED"})
+public class NativeInterfaceBenchmark {
+
+  @Param({"jni", "ffm"})
+  public String backend;
+
+  private UnleashEngine engine;
+  private Context context;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    boolean ffm = "ffm".equals(backend);
+    if (ffm && Runtime.version().feature() < NativeInterfaces.FFM_MINIMUM_JAVA_VERSION) {
+      throw new IllegalStateException(
+          "The ffm backend needs Java " + NativeInterfaces.FFM_MINIMUM_JAVA_VERSION);
+    }
+    System.setProperty(NativeInterfaces.FFM_PROPERTY, Boolean.toString(ffm));
+    engine = new UnleashEngine();
+    engine.takeState(
+        "{\"version\":2,\"features\":[{\"name\":\"toggle\",\"enabled\":true,"
+            + "\"strategies\":[{\"name\":\"flexibleRollout\",\"parameters\":{"
+            + "\"rollout\":\"50\",\"stickiness\":\"default\",\"groupId\":\"toggle\"}}],"
+            + "\"variants\":[{\"name\":\"blue\",\"weight\":500,\"stickiness\":\"default\"},"
+            + "{\"name\":\"red\",\"weight\":500,\"stickiness\":\"default\"}]}]}");
+
+    context = new Context();
+    context.setUserId("user-123");
+    context.setEnvironment("production");
+  }
+
+  @Benchmark
+  public FlatResponse<Boolean> isEnabled() throws Exception {
+    return engine.isEnabled("toggle", context);
+  }
+
+  @Benchmark
+  public FlatResponse<VariantDef> getVariant() throws Exception {
+    return engine.getVariant("toggle", context);
+  }
+}
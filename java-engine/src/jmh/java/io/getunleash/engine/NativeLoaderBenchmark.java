@@ -0,0 +1,86 @@
+package io.getunleash.engine;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the startup work the loader does before {@code System.load}: extracting a library the
+ * size of the bundled one to a fresh temp file every time, finding it in a warm cache, filling a
+ * cold cache, and telling musl from glibc.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class NativeLoaderBenchmark {
+
+  private static final String FILE_NAME = "libyggdrasilffi.so";
+
+  private byte[] library;
+  private Path directory;
+  private Path warmCache;
+  private String warmHash;
+  private int coldCaches;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    library = new byte[10 * 1024 * 1024];
+    new Random(42).nextBytes(library);
+    directory = Files.createTempDirectory("yggdrasil-native-loader");
+    warmCache = directory.resolve("warm");
+    warmHash =
+        NativeLoader.extractToCache(warmCache, FILE_NAME, null, this::open)
+            .getParent()
+            .getFileName()
+            .toString();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    try (Stream<Path> files = Files.walk(directory)) {
+      files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    }
+  }
+
+  @Benchmark
+  public Path tempFileExtraction() throws IOException {
+    Path extracted = NativeLoader.extractToTempFile(FILE_NAME, this::open);
+    Files.delete(extracted);
+    return extracted;
+  }
+
+  @Benchmark
+  public Path warmCacheLookup() throws IOException {
+    return NativeLoader.extractToCache(warmCache, FILE_NAME, warmHash, this::open);
+  }
+
+  @Benchmark
+  public Path coldCacheExtraction() throws IOException {
+    return NativeLoader.extractToCache(
+        directory.resolve("cold-" + coldCaches++), FILE_NAME, null, this::open);
+  }
+
+  @Benchmark
+  public String muslFromElfHeader() {
+    return LibNames.elfInterpreter(Paths.get("/proc/self/exe"));
+  }
+
+  @Benchmark
+  public boolean muslFromMaps() {
+    return LibNames.mapsMentionMusl();
+  }
+
+  private ByteArrayInputStream open() {
+    return new ByteArrayInputStream(library);
+  }
+}
@@ -0,0 +1,76 @@
+package io.getunleash.engine;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+
+/**
+ * Compares evaluation throughput of engines that each have their own native engine against engines
+ * from an {@link UnleashEngineRegistry} that share one, with every thread evaluating on an engine
+ * of its own. The shared native engine answers one evaluation at a time, so this is what sharing a
+ * state costs in evaluation time.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(Threads.MAX)
+public class RegistryBenchmark {
+
+  private static final String STATE =
+      "{\"version\":2,\"features\":[{\"name\":\"toggle\",\"enabled\":true,"
+          + "\"strategies\":[{\"name\":\"flexibleRollout\",\"parameters\":{"
+          + "\"rollout\":\"50\",\"stickiness\":\"default\",\"groupId\":\"toggle\"},"
+          + "\"constraints\":[{\"contextName\":\"environment\",\"operator\":\"IN\","
+          + "\"values\":[\"production\",\"staging\"]}]}],"
+          + "\"variants\":[{\"name\":\"blue\",\"weight\":500,\"stickiness\":\"default\"},"
+          + "{\"name\":\"red\",\"weight\":500,\"stickiness\":\"default\"}]}]}";
+
+  @Param({"8"})
+  public int engineCount;
+
+  private UnleashEngine[] separateEngines;
+  private UnleashEngine[] registryEngines;
+
+  @State(Scope.Thread)
+  public static class ThreadContext {
+    Context context;
+    UnleashEngine separate;
+    UnleashEngine registered;
+
+    @Setup(Level.Trial)
+    public void setUp(RegistryBenchmark benchmark, ThreadParams params) {
+      context = new Context();
+      context.setUserId("user-" + params.getThreadIndex());
+      context.setEnvironment("production");
+      int engine = params.getThreadIndex() % benchmark.engineCount;
+      separate = benchmark.separateEngines[engine];
+      registered = benchmark.registryEngines[engine];
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    UnleashEngineRegistry registry = new UnleashEngineRegistry();
+    separateEngines = new UnleashEngine[engineCount];
+    registryEngines = new UnleashEngine[engineCount];
+    for (int i = 0; i < engineCount; i++) {
+      separateEngines[i] = new UnleashEngine();
+      separateEngines[i].takeState(STATE);
+      registryEngines[i] = registry.newEngine();
+      registryEngines[i].takeState(STATE);
+    }
+  }
+
+  @Benchmark
+  public FlatResponse<Boolean> separateEngines(ThreadContext thread) throws Exception {
+    return thread.separate.isEnabled("toggle", thread.context);
+  }
+
+  @Benchmark
+  public FlatResponse<Boolean> registryEngines(ThreadContext thread) throws Exception {
+    return thread.registered.isEnabled("toggle", thread.context);
+  }
+}
@@ -0,0 +1,123 @@
+package io.getunleash.engine;
+
+/**
+ * Builds synthetic client feature states of any size for the benchmarks. Every toggle gets the
+ * given number of strategies, each with an {@code IN} constraint on a property and a segment, and
+ * every segment has an {@code IN} constraint with as many values. Every tenth toggle depends on the
+ * one before it and every other toggle has variants, so the dependency and variant paths are part
+ * of the state too.
+ */
+final class StateGenerator {
+  private static final String[] STRATEGIES = {"flexibleRollout", "userWithId", "default"};
+
+  private int toggles = 1000;
+  private int strategiesPerToggle = 2;
+  private int segments = 10;
+  private int constraintValues = 10;
+
+  StateGenerator toggles(int toggles) {
+    this.toggles = toggles;
+    return this;
+  }
+
+  StateGenerator strategiesPerToggle(int strategiesPerToggle) {
+    this.strategiesPerToggle = strategiesPerToggle;
+    return this;
+  }
+
+  StateGenerator segments(int segments) {
+    this.segments = segments;
+    return this;
+  }
+
+  StateGenerator constraintValues(int constraintValues) {
+    this.constraintValues = constraintValues;
+    return this;
+  }
+
+  static String toggleName(int toggle) {
+    return "toggle-" + toggle;
+  }
+
+  String generate() {
+    StringBuilder json = new StringBuilder("{\"version\":2,\"features\":[");
+    for (int i = 0; i < toggles; i++) {
+      if (i > 0) {
+        json.append(',');
+      }
+      appendToggle(json, i);
+    }
+    json.append("],\"segments\":[");
+    for (int i = 0; i < segments; i++) {
+      if (i > 0) {
+        json.append(',');
+      }
+      json.append("{\"id\":").append(i).append(",\"constraints\":[");
+      appendConstraint(json, "tenantId", "tenant-" + i);
+      json.append("]}");
+    }
+    return json.append("]}").toString();
+  }
+
+  private void appendToggle(StringBuilder json, int toggle) {
+    String name = toggleName(toggle);
+    json.append("{\"name\":\"")
+        .append(name)
+        .append("\",\"type\":\"release\",\"project\":\"project-")
+        .append(toggle % 10)
+        .append("\",\"enabled\":true,\"strategies\":[");
+    for (int i = 0; i < strategiesPerToggle; i++) {
+      if (i > 0) {
+        json.append(',');
+      }
+      appendStrategy(json, name, toggle, i);
+    }
+    json.append(']');
+    if (toggle % 10 == 9) {
+      json.append(",\"dependencies\":[{\"feature\":\"")
+          .append(toggleName(toggle - 1))
+          .append("\"}]");
+    }
+    if (toggle % 2 == 0) {
+      json.append(",\"variants\":[")
+          .append("{\"name\":\"blue\",\"weight\":500,\"stickiness\":\"default\",")
+          .append("\"payload\":{\"type\":\"string\",\"value\":\"blue\"}},")
+          .append("{\"name\":\"red\",\"weight\":500,\"stickiness\":\"default\"}]");
+    }
+    json.append('}');
+  }
+
+  private void appendStrategy(StringBuilder json, String toggleName, int toggle, int strategy) {
+    String name = STRATEGIES[strategy % STRATEGIES.length];
+    json.append("{\"name\":\"").append(name).append("\",\"parameters\":{");
+    if (name.equals("flexibleRollout")) {
+      json.append("\"rollout\":\"")
+          .append(toggle % 101)
+          .append("\",\"stickiness\":\"default\",\"groupId\":\"")
+          .append(toggleName)
+          .append('"');
+    } else if (name.equals("userWithId")) {
+      json.append("\"userIds\":\"1,2,3,4,5\"");
+    }
+    json.append("},\"constraints\":[");
+    appendConstraint(json, "region", "region-" + strategy);
+    json.append(']');
+    if (segments > 0) {
+      json.append(",\"segments\":[").append((toggle + strategy) % segments).append(']');
+    }
+    json.append('}');
+  }
+
+  private void appendConstraint(StringBuilder json, String contextName, String valuePrefix) {
+    json.append("{\"contextName\":\"")
+        .append(contextName)
+        .append("\",\"operator\":\"IN\",\"values\":[");
+    for (int i = 0; i < constraintValues; i++) {
+      if (i > 0) {
+        json.append(',');
+      }
+      json.append('"').append(valuePrefix).append('-').append(i).append('"');
+    }
+    json.append("]}");
+  }
+}
@@ -0,0 +1,100 @@
+package io.getunleash.engine;
+
+import io.getunleash.yggdrasil.messaging.TakeStateResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Replays traffic recorded with a {@link TrafficRecorder} against a snapshot saved with {@link
+ * UnleashEngine#saveSnapshot(java.nio.file.Path)}, as fast as the native engine answers. Every
+ * thread goes through the log in order from its own starting point, over and over. Reports
+ * throughput and, from the sampled mode, latency percentiles. Both files have to be given:
+ *
+ * <pre>
+ * java -jar build/libs/*-jmh.jar TrafficReplayBenchmark -t 8 \
+ *     -p snapshot=state.snapshot -p traffic=traffic.log
+ * </pre>
+ *
+ * The snapshot should hold the state the traffic was recorded with. The messages carry the whole
+ * context they were recorded with, so any state with the same toggles answers them. The number of
+ * recorded evaluations is reported as the recordedEvaluations counter.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(
+    value = 1,
+    jvmArgsAppend = {"--enable-native-access=ALL-UNNAMED"})
+public class TrafficReplayBenchmark {
+
+  @Param({""})
+  public String snapshot;
+
+  @Param({""})
+  public String traffic;
+
+  private NativeInterface engine;
+  // Kept for as long as the engine, the snapshot is mapped
+  private ByteBuffer snapshotBytes;
+  private List<TrafficRecorder.Entry> entries;
+
+  @State(Scope.Thread)
+  public static class Cursor {
+    int next = ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE);
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Recording {
+    public long recordedEvaluations;
+
+    @Setup(Level.Iteration)
+    public void measure(TrafficReplayBenchmark benchmark) {
+      recordedEvaluations = benchmark.entries.size();
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    if (snapshot.isEmpty() || traffic.isEmpty()) {
+      throw new IllegalStateException(
+          "Give the snapshot and the recorded traffic: -p snapshot=<file> -p traffic=<file>");
+    }
+    try (FileChannel channel = FileChannel.open(Paths.get(snapshot), StandardOpenOption.READ)) {
+      snapshotBytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    engine = NativeInterfaces.create();
+    TakeStateResponse response = engine.loadSnapshot(snapshotBytes);
+    if (response == null || response.error() != null) {
+      throw new IllegalStateException(
+          "Could not load the snapshot: " + (response != null ? response.error() : null));
+    }
+    entries = TrafficRecorder.read(Paths.get(traffic));
+    if (entries.isEmpty()) {
+      throw new IllegalStateException("No traffic recorded in " + traffic);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    engine.freeEngine();
+  }
+
+  @Benchmark
+  public Object replay(Cursor cursor, Recording recording) {
+    TrafficRecorder.Entry entry = entries.get(cursor.next % entries.size());
+    cursor.next = (cursor.next + 1) & Integer.MAX_VALUE;
+    if (entry.kind == TrafficRecorder.GET_VARIANT) {
+      return engine.checkVariant(entry.message);
+    }
+    return engine.checkEnabled(entry.message);
+  }
+}
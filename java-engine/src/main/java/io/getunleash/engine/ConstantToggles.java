@@ -0,0 +1,80 @@
+package io.getunleash.engine;
+
+import io.getunleash.yggdrasil.messaging.StrategyFeature;
+import io.getunleash.yggdrasil.messaging.TakeStateResponse;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The toggles of one state generation that the engine classified as always on or always off when it
+ * took the state. These are answered here without a native call, the counts the engine would have
+ * recorded for them go into {@link LocalMetrics}.
+ */
+final class ConstantToggles {
+  // Values of StrategyFeature.kind, see enabled-message.fbs
+  static final int CONTEXT_DEPENDENT = 0;
+  static final int CONSTANT_TRUE = 1;
+  static final int CONSTANT_FALSE = 2;
+  static final int CUSTOM_STRATEGIES = 3;
+
+  static final ConstantToggles EMPTY = new ConstantToggles(Collections.emptyMap());
+
+  private final Map<String, Toggle> toggles;
+
+  private ConstantToggles(Map<String, Toggle> toggles) {
+    this.toggles = toggles;
+  }
+
+  static ConstantToggles from(TakeStateResponse response, LocalMetrics metrics) {
+    Map<String, Toggle> toggles = new HashMap<>();
+    for (int i = 0; i < response.featuresLength(); i++) {
+      StrategyFeature feature = response.features(i);
+      int kind = feature.kind();
+      if (kind == CONSTANT_TRUE || kind == CONSTANT_FALSE) {
+        String name = feature.featureName();
+        toggles.put(
+            name,
+            new Toggle(kind == CONSTANT_TRUE, feature.impressionData(), metrics.forToggle(name)));
+      }
+    }
+    return toggles.isEmpty() ? EMPTY : new ConstantToggles(toggles);
+  }
+
+  Toggle get(String toggleName) {
+    return toggles.get(toggleName);
+  }
+
+  boolean contains(String toggleName) {
+    return toggles.containsKey(toggleName);
+  }
+
+  static final class Toggle {
+    private final boolean enabled;
+    private final boolean impressionData;
+    private final LocalMetrics.Counter counter;
+
+    private Toggle(boolean enabled, boolean impressionData, LocalMetrics.Counter counter) {
+      this.enabled = enabled;
+      this.impressionData = impressionData;
+      this.counter = counter;
+    }
+
+    FlatResponse<Boolean> isEnabled() {
+      counter.count(enabled);
+      return new FlatResponse<>(impressionData, enabled);
+    }
+
+    FlatResponse<BitSet> isEnabled(int contexts) {
+      BitSet result = new BitSet(contexts);
+      if (enabled) {
+        result.set(0, contexts);
+        counter.add(contexts, 0);
+      } else {
+        counter.add(0, contexts);
+      }
+      return new FlatResponse<>(impressionData, result);
+    }
+  }
+}
@@ -1,5 +1,8 @@
 package io.getunleash.engine;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -9,8 +12,12 @@ public class Context {
   private String environment;
   private String appName;
   private String currentTime;
+  private long currentTimeMillis;
+  private boolean hasCurrentTimeMillis;
   private String remoteAddress;
   private Map<String, String> properties = new HashMap<>();
+  // Long, Double or Instant values, only created when one is set
+  private Map<String, Object> typedProperties;
 
   public String getUserId() {
     return userId;
@@ -53,11 +60,33 @@ public class Context {
   }
 
   public String getCurrentTime() {
+    if (currentTime == null && hasCurrentTimeMillis) {
+      return Instant.ofEpochMilli(currentTimeMillis).toString();
+    }
     return currentTime;
   }
 
   public void setCurrentTime(String currentTime) {
     this.currentTime = currentTime;
+    this.hasCurrentTimeMillis = false;
+  }
+
+  /**
+   * Sets the current time as milliseconds since the epoch. Unlike {@link #setCurrentTime(String)}
+   * the time is sent to the engine as a number, so it never has to be formatted and parsed again.
+   */
+  public void setCurrentTimeMillis(long currentTimeMillis) {
+    this.currentTime = null;
+    this.currentTimeMillis = currentTimeMillis;
+    this.hasCurrentTimeMillis = true;
+  }
+
+  boolean hasCurrentTimeMillis() {
+    return hasCurrentTimeMillis;
+  }
+
+  long getCurrentTimeMillis() {
+    return currentTimeMillis;
   }
 
   public Map<String, String> getProperties() {
@@ -67,4 +96,76 @@ public class Context {
   public void setProperties(Map<String, String> properties) {
     this.properties = properties;
   }
+
+  /**
+   * Sets a property with a whole number as its value. Typed properties are sent to the engine as
+   * numbers, which saves formatting them for constraints like {@code NUM_GT}. They aren't part of
+   * {@link #getProperties()} and replace a string property of the same name.
+   */
+  public void setProperty(String name, long value) {
+    setTypedProperty(name, value);
+  }
+
+  /** Like {@link #setProperty(String, long)}, for a decimal value. */
+  public void setProperty(String name, double value) {
+    setTypedProperty(name, value);
+  }
+
+  /**
+   * Like {@link #setProperty(String, long)}, for a point in time as used by {@code DATE_AFTER} and
+   * {@code DATE_BEFORE} constraints. The value is sent with millisecond precision, a null value
+   * removes the property.
+   */
+  public void setProperty(String name, Instant value) {
+    setTypedProperty(name, value);
+  }
+
+  private void setTypedProperty(String name, Object value) {
+    if (value == null) {
+      if (typedProperties != null) {
+        typedProperties.remove(name);
+      }
+      return;
+    }
+    if (typedProperties == null) {
+      typedProperties = new HashMap<>();
+    }
+    typedProperties.put(name, value);
+  }
+
+  Map<String, Object> getTypedProperties() {
+    return typedProperties != null ? typedProperties : Collections.emptyMap();
+  }
+
+  /** The value of a property as the engine sees it, typed values formatted the way it does. */
+  String propertyValue(String name) {
+    if (typedProperties != null) {
+      Object typed = typedProperties.get(name);
+      if (typed != null) {
+        return format(typed);
+      }
+    }
+    return properties != null ? properties.get(name) : null;
+  }
+
+  private static String format(Object value) {
+    if (value instanceof Instant) {
+      return Instant.ofEpochMilli(((Instant) value).toEpochMilli()).toString();
+    }
+    if (value instanceof Double) {
+      double decimal = (Double) value;
+      if (Double.isNaN(decimal)) {
+        return "NaN";
+      }
+      if (Double.isInfinite(decimal)) {
+        return decimal > 0 ? "inf" : "-inf";
+      }
+      if (decimal == 0) {
+        return 1 / decimal < 0 ? "-0" : "0";
+      }
+      // Without an exponent or a trailing .0, like the engine writes decimals
+      return BigDecimal.valueOf(decimal).stripTrailingZeros().toPlainString();
+    }
+    return value.toString();
+  }
 }
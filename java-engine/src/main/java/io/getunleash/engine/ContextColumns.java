@@ -0,0 +1,144 @@
+package io.getunleash.engine;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A batch of contexts for {@link UnleashEngine#isEnabledBulk(String, ContextColumns)}, stored one
+ * column per context field instead of one {@link Context} per evaluation. Fields that are the same
+ * for every context in the batch, like the environment, are set once. A null entry in a column
+ * means the field is not set for that context.
+ */
+public class ContextColumns {
+  private final int size;
+  private String[] userIds;
+  private String[] sessionIds;
+  private String[] remoteAddresses;
+  private String environment;
+  private String appName;
+  private String currentTime;
+  private final Map<String, String[]> properties = new LinkedHashMap<>();
+
+  /**
+   * @param size The number of contexts in the batch, every column has to have this many entries.
+   */
+  public ContextColumns(int size) {
+    if (size < 0) {
+      throw new IllegalArgumentException("A batch can't have " + size + " contexts");
+    }
+    this.size = size;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public ContextColumns setUserIds(String[] userIds) {
+    this.userIds = checkSize("userId", userIds);
+    return this;
+  }
+
+  public ContextColumns setSessionIds(String[] sessionIds) {
+    this.sessionIds = checkSize("sessionId", sessionIds);
+    return this;
+  }
+
+  public ContextColumns setRemoteAddresses(String[] remoteAddresses) {
+    this.remoteAddresses = checkSize("remoteAddress", remoteAddresses);
+    return this;
+  }
+
+  /** Sets the environment of every context in the batch. */
+  public ContextColumns setEnvironment(String environment) {
+    this.environment = environment;
+    return this;
+  }
+
+  /** Sets the app name of every context in the batch. */
+  public ContextColumns setAppName(String appName) {
+    this.appName = appName;
+    return this;
+  }
+
+  /** Sets the current time of every context in the batch, defaults to the time of the check. */
+  public ContextColumns setCurrentTime(String currentTime) {
+    this.currentTime = currentTime;
+    return this;
+  }
+
+  /**
+   * Sets a custom context property for every context in the batch.
+   *
+   * @param name The name of the property.
+   * @param values The value of the property for each context, or null where it isn't set.
+   */
+  public ContextColumns setProperty(String name, String[] values) {
+    if (name == null) {
+      throw new IllegalArgumentException("Properties need a name");
+    }
+    if (values == null) {
+      properties.remove(name);
+    } else {
+      properties.put(name, checkSize(name, values));
+    }
+    return this;
+  }
+
+  String[] getUserIds() {
+    return userIds;
+  }
+
+  String[] getSessionIds() {
+    return sessionIds;
+  }
+
+  String[] getRemoteAddresses() {
+    return remoteAddresses;
+  }
+
+  String getEnvironment() {
+    return environment;
+  }
+
+  String getAppName() {
+    return appName;
+  }
+
+  String getCurrentTime() {
+    return currentTime;
+  }
+
+  Map<String, String[]> getProperties() {
+    return properties;
+  }
+
+  /** The context at the given index, for evaluations that can't be done for the whole batch. */
+  Context get(int index) {
+    Context context = new Context();
+    context.setUserId(valueAt(userIds, index));
+    context.setSessionId(valueAt(sessionIds, index));
+    context.setRemoteAddress(valueAt(remoteAddresses, index));
+    context.setEnvironment(environment);
+    context.setAppName(appName);
+    context.setCurrentTime(currentTime);
+    for (Map.Entry<String, String[]> property : properties.entrySet()) {
+      String value = property.getValue()[index];
+      if (value != null) {
+        context.getProperties().put(property.getKey(), value);
+      }
+    }
+    return context;
+  }
+
+  private static String valueAt(String[] column, int index) {
+    return column != null ? column[index] : null;
+  }
+
+  private String[] checkSize(String field, String[] values) {
+    if (values != null && values.length != size) {
+      throw new IllegalArgumentException(
+          String.format("Expected %d values for %s but got %d", size, field, values.length));
+    }
+    return values;
+  }
+}
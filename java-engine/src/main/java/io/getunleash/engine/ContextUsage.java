@@ -0,0 +1,96 @@
+package io.getunleash.engine;
+
+import io.getunleash.yggdrasil.messaging.StrategyFeature;
+import io.getunleash.yggdrasil.messaging.TakeStateResponse;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The parts of the context evaluating a toggle can read, as worked out by the engine when it takes
+ * a state. Includes what the toggles it depends on read. The engine only sends these parts of a
+ * {@link Context} to the native engine, everything else would be encoded for nothing.
+ */
+public final class ContextUsage {
+  /** What toggles the engine can't tell anything about use. */
+  static final ContextUsage WHOLE_CONTEXT =
+      new ContextUsage(Collections.emptySet(), Collections.emptySet(), true);
+
+  private final Set<String> fields;
+  private final Set<String> properties;
+  private final boolean wholeContext;
+  // Looked up on every evaluation, so worked out once
+  final boolean userId;
+  final boolean sessionId;
+  final boolean remoteAddress;
+  final boolean environment;
+  final boolean appName;
+  final boolean currentTime;
+
+  private ContextUsage(Set<String> fields, Set<String> properties, boolean wholeContext) {
+    this.fields = Collections.unmodifiableSet(fields);
+    this.properties = Collections.unmodifiableSet(properties);
+    this.wholeContext = wholeContext;
+    this.userId = wholeContext || fields.contains("userId");
+    this.sessionId = wholeContext || fields.contains("sessionId");
+    this.remoteAddress = wholeContext || fields.contains("remoteAddress");
+    this.environment = wholeContext || fields.contains("environment");
+    this.appName = wholeContext || fields.contains("appName");
+    this.currentTime = wholeContext || fields.contains("currentTime");
+  }
+
+  static Map<String, ContextUsage> from(TakeStateResponse response) {
+    Map<String, ContextUsage> usage = new HashMap<>(response.featuresLength() * 2);
+    for (int i = 0; i < response.featuresLength(); i++) {
+      StrategyFeature feature = response.features(i);
+      usage.put(feature.featureName(), from(feature));
+    }
+    return usage;
+  }
+
+  private static ContextUsage from(StrategyFeature feature) {
+    // Engines that don't report the usage need the whole context
+    if (feature.readsWholeContext() || feature.contextFieldsVector() == null) {
+      return WHOLE_CONTEXT;
+    }
+    Set<String> fields = new LinkedHashSet<>();
+    for (int i = 0; i < feature.contextFieldsLength(); i++) {
+      fields.add(feature.contextFields(i));
+    }
+    Set<String> properties = new LinkedHashSet<>();
+    for (int i = 0; i < feature.contextPropertiesLength(); i++) {
+      properties.add(feature.contextProperties(i));
+    }
+    return new ContextUsage(fields, properties, false);
+  }
+
+  /**
+   * The context fields the toggle reads, by their name in the toggle configuration, like {@code
+   * userId} or {@code currentTime}.
+   */
+  public Set<String> getFields() {
+    return fields;
+  }
+
+  /** The custom context properties the toggle reads. */
+  public Set<String> getProperties() {
+    return properties;
+  }
+
+  /**
+   * Whether the toggle may read any part of the context, in which case {@link #getFields()} and
+   * {@link #getProperties()} don't say anything.
+   */
+  public boolean readsWholeContext() {
+    return wholeContext;
+  }
+
+  @Override
+  public String toString() {
+    return wholeContext
+        ? "ContextUsage{whole context}"
+        : "ContextUsage{fields=" + fields + ", properties=" + properties + "}";
+  }
+}
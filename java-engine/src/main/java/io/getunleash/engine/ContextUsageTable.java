@@ -0,0 +1,49 @@
+package io.getunleash.engine;
+
+import io.getunleash.yggdrasil.messaging.TakeStateResponse;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The context usage of every toggle of one state, together with the generation of the state it was
+ * worked out for. Contexts trimmed with it carry that generation, and a native engine that has
+ * taken another state since answers them with stale_context instead of evaluating a context that
+ * may lack what the new state reads. Both are published together, so a trimmed context always names
+ * the state it was trimmed for.
+ */
+final class ContextUsageTable {
+  static final ContextUsageTable EMPTY = new ContextUsageTable(0, Collections.emptyMap());
+
+  private final long generation;
+  private final Map<String, ContextUsage> usage;
+
+  private ContextUsageTable(long generation, Map<String, ContextUsage> usage) {
+    this.generation = generation;
+    this.usage = usage;
+  }
+
+  /**
+   * The usage of the toggles of the state, only used to trim contexts when the generation is one
+   * the native engine can check. Engines without it or sharing their state get whole contexts.
+   */
+  static ContextUsageTable from(TakeStateResponse response, boolean dedicated) {
+    return new ContextUsageTable(
+        dedicated ? response.stateGeneration() : 0, ContextUsage.from(response));
+  }
+
+  /** The usage the state reports for the toggle, or null if the toggle is not known. */
+  ContextUsage get(String toggleName) {
+    return usage.get(toggleName);
+  }
+
+  /** What to send of a context for the toggle, the whole context unless it can be checked. */
+  ContextUsage usageOf(String toggleName) {
+    ContextUsage toggleUsage = generation != 0 ? usage.get(toggleName) : null;
+    return toggleUsage != null ? toggleUsage : ContextUsage.WHOLE_CONTEXT;
+  }
+
+  /** The state generation to send with contexts trimmed by {@link #usageOf(String)}. */
+  long generation() {
+    return generation;
+  }
+}
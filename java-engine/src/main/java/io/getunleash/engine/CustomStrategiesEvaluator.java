@@ -58,14 +58,11 @@ class CustomStrategiesEvaluator {
     for (int i = 0; i < response.featuresLength(); i++) {
       StrategyFeature feature = response.features(i);
       String featureName = feature.featureName();
-      if (feature.strategiesLength() > 0) {
-        List<MappedStrategy> mappedStrategies = new ArrayList<>();
-        for (int j = 0; j < feature.strategiesLength(); j++) {
-          var strategy = feature.strategies(j);
-          if (builtinStrategies.contains(strategy.name())) {
-            continue;
-          }
+      // Mapped once, as soon as the feature turns out to have a strategy that isn't built in
+      for (int j = 0; j < feature.strategiesLength(); j++) {
+        if (!builtinStrategies.contains(feature.strategies(j).name())) {
           featureStrategies.put(featureName, getFeatureStrategies(feature));
+          break;
         }
       }
     }
@@ -111,6 +108,12 @@ class CustomStrategiesEvaluator {
     return parameters;
   }
 
+  /** Whether the given feature has strategies that are evaluated here rather than by the engine. */
+  boolean hasStrategiesFor(String name) {
+    List<MappedStrategy> mappedStrategies = featureStrategies.get(name);
+    return mappedStrategies != null && !mappedStrategies.isEmpty();
+  }
+
   /**
    * Runs custom evaluators for the given feature name and context.
    *
@@ -131,6 +134,30 @@ class CustomStrategiesEvaluator {
                 mappedStrategy -> tryIsEnabled(context, mappedStrategy).orElse(false)));
   }
 
+  /**
+   * Runs custom evaluators like {@link #eval(String, Context)}, timing each of them.
+   *
+   * @param traces Where the name, result and time of every strategy run go.
+   */
+  Map<String, Boolean> evalTraced(
+      String name, Context context, List<EvaluationTrace.CustomStrategyTrace> traces) {
+    List<MappedStrategy> mappedStrategies = featureStrategies.get(name);
+    if (mappedStrategies == null || mappedStrategies.isEmpty()) {
+      return Collections.emptyMap();
+    }
+
+    Map<String, Boolean> results = new HashMap<>();
+    for (MappedStrategy mappedStrategy : mappedStrategies) {
+      long start = System.nanoTime();
+      boolean enabled = tryIsEnabled(context, mappedStrategy).orElse(false);
+      traces.add(
+          new EvaluationTrace.CustomStrategyTrace(
+              mappedStrategy.strategyDefinition.name, enabled, System.nanoTime() - start));
+      results.put(mappedStrategy.resultName, enabled);
+    }
+    return results;
+  }
+
   private static Optional<Boolean> tryIsEnabled(Context context, MappedStrategy mappedStrategy) {
     try {
       return Optional.of(
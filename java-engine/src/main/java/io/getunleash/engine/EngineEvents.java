@@ -0,0 +1,71 @@
+package io.getunleash.engine;
+
+/**
+ * Emits the engine's Flight Recorder events, when the runtime has Flight Recorder. Every begin
+ * method returns null unless a recording has the event enabled, and the matching commit method
+ * ignores null, so the engine pays a volatile read per call while nothing is recording.
+ *
+ * <p>Evaluations are sampled while the event is enabled: one in every {@value
+ * #DEFAULT_EVALUATION_SAMPLING} evaluations is recorded by default. The system property {@code
+ * io.getunleash.engine.jfr.evaluationSampling} sets another rate.
+ */
+final class EngineEvents {
+  static final String EVALUATION_SAMPLING_PROPERTY = "io.getunleash.engine.jfr.evaluationSampling";
+  static final int DEFAULT_EVALUATION_SAMPLING = 1000;
+
+  private static final boolean AVAILABLE = flightRecorderAvailable();
+  private static final int EVALUATION_SAMPLING =
+      Math.max(1, Integer.getInteger(EVALUATION_SAMPLING_PROPERTY, DEFAULT_EVALUATION_SAMPLING));
+
+  private EngineEvents() {}
+
+  static Object beginTakeState() {
+    return AVAILABLE ? JfrEvents.beginTakeState() : null;
+  }
+
+  static void commitTakeState(Object event, String source, long payloadLength, int features) {
+    if (event != null) {
+      JfrEvents.commitTakeState(event, source, payloadLength, features);
+    }
+  }
+
+  static Object beginMetricsDrain() {
+    return AVAILABLE ? JfrEvents.beginMetricsDrain() : null;
+  }
+
+  static void commitMetricsDrain(Object event, int toggles) {
+    if (event != null) {
+      JfrEvents.commitMetricsDrain(event, toggles);
+    }
+  }
+
+  static Object beginEvaluation() {
+    return AVAILABLE ? JfrEvents.beginEvaluation(EVALUATION_SAMPLING) : null;
+  }
+
+  static void commitEvaluation(
+      Object event,
+      String operation,
+      String toggleName,
+      long customStrategiesNanos,
+      long nativeNanos) {
+    if (event != null) {
+      JfrEvents.commitEvaluation(event, operation, toggleName, customStrategiesNanos, nativeNanos);
+    }
+  }
+
+  static void nativeError(String message) {
+    if (AVAILABLE) {
+      JfrEvents.nativeError(message);
+    }
+  }
+
+  private static boolean flightRecorderAvailable() {
+    try {
+      Class.forName("jdk.jfr.Event", false, EngineEvents.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package io.getunleash.engine;
+
+import io.getunleash.yggdrasil.messaging.EngineStatsResponse;
+
+/**
+ * How a native engine is doing, as counted by the engine itself since it was created. Meant for
+ * alerting on lock contention and memory growth: the lock is the one every call into the engine
+ * takes, so time spent waiting for it is time evaluations stood still.
+ *
+ * <p>Counting evaluations and timing the lock is done on every call, so it's opt in, enable it with
+ * {@code -Dio.getunleash.engine.callStats=true}. Without it those stay zero, the states taken and
+ * outstanding buffers are always counted.
+ */
+public final class EngineStats {
+  static final String CALL_STATS_PROPERTY = "io.getunleash.engine.callStats";
+
+  private final long evaluations;
+  private final long lockAcquisitions;
+  private final long contendedLockAcquisitions;
+  private final long lockWaitNanos;
+  private final long lockHoldNanos;
+  private final long takeStates;
+  private final long takeStateNanos;
+  private final long features;
+  private final long segments;
+  private final long stateBytes;
+  private final long outstandingBuffers;
+  private final long outstandingBufferBytes;
+
+  private EngineStats(EngineStatsResponse response) {
+    this.evaluations = response.evaluations();
+    this.lockAcquisitions = response.lockAcquisitions();
+    this.contendedLockAcquisitions = response.contendedLockAcquisitions();
+    this.lockWaitNanos = response.lockWaitNanos();
+    this.lockHoldNanos = response.lockHoldNanos();
+    this.takeStates = response.takeStates();
+    this.takeStateNanos = response.takeStateNanos();
+    this.features = response.features();
+    this.segments = response.segments();
+    this.stateBytes = response.stateBytes();
+    this.outstandingBuffers = response.outstandingBufs();
+    this.outstandingBufferBytes = response.outstandingBufBytes();
+  }
+
+  static EngineStats from(EngineStatsResponse response) {
+    if (response == null || response.error() != null) {
+      return null;
+    }
+    return new EngineStats(response);
+  }
+
+  /**
+   * Evaluations that reached the native engine, every context of a bulk check counts. Zero unless
+   * calls are counted.
+   */
+  public long getEvaluations() {
+    return evaluations;
+  }
+
+  /** Times the engine's lock was taken, zero unless calls are counted. */
+  public long getLockAcquisitions() {
+    return lockAcquisitions;
+  }
+
+  /** Times the engine's lock was taken after waiting for another call to let go of it. */
+  public long getContendedLockAcquisitions() {
+    return contendedLockAcquisitions;
+  }
+
+  /** Total time calls spent waiting for the engine's lock. */
+  public long getLockWaitNanos() {
+    return lockWaitNanos;
+  }
+
+  /** Total time the engine's lock was held. */
+  public long getLockHoldNanos() {
+    return lockHoldNanos;
+  }
+
+  /** States taken, including states loaded from a snapshot. */
+  public long getTakeStates() {
+    return takeStates;
+  }
+
+  /** Total time spent taking states, with the lock held. */
+  public long getTakeStateNanos() {
+    return takeStateNanos;
+  }
+
+  /** Features in the last state taken. */
+  public long getFeatures() {
+    return features;
+  }
+
+  /** Segments in the last state taken. */
+  public long getSegments() {
+    return segments;
+  }
+
+  /** Roughly the memory the last state takes up in the engine, approximated by its size as JSON. */
+  public long getStateBytes() {
+    return stateBytes;
+  }
+
+  /**
+   * Buffers the native library handed out that haven't been freed yet. Counted across every engine
+   * in the process, a number that keeps growing means buffers are leaking.
+   */
+  public long getOutstandingBuffers() {
+    return outstandingBuffers;
+  }
+
+  /** The bytes held by {@link #getOutstandingBuffers()}. */
+  public long getOutstandingBufferBytes() {
+    return outstandingBufferBytes;
+  }
+}
@@ -0,0 +1,76 @@
+package io.getunleash.engine;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Where the time of evaluations handed to the native engine goes, for isEnabled and getVariant.
+ * Every phase gets a {@link LatencyHistogram}, the counts only ever go up so they can be scraped
+ * like any other cumulative metric. Toggles answered in Java aren't timed.
+ *
+ * <p>This is opt in, enable it with {@code -Dio.getunleash.engine.timings=true}. When it's off the
+ * engine has no timings and doesn't read the clock.
+ */
+public final class EvaluationTimings {
+  static final String TIMINGS_PROPERTY = "io.getunleash.engine.timings";
+
+  /** The phases of an evaluation. */
+  public enum Phase {
+    /** Running the custom strategies of the toggle. */
+    CUSTOM_STRATEGIES,
+    /** Encoding the context into the message for the native engine. */
+    ENCODE,
+    /** The call into the native engine, including waiting for its lock. */
+    NATIVE_CALL,
+    /** Copying the answer of the native engine to the heap. */
+    DECODE,
+    /** The whole evaluation. */
+    TOTAL
+  }
+
+  private final LatencyHistogram[] histograms = new LatencyHistogram[Phase.values().length];
+  private final LongAdder errors = new LongAdder();
+  private final LongAdder fallbacks = new LongAdder();
+
+  EvaluationTimings() {
+    for (int i = 0; i < histograms.length; i++) {
+      histograms[i] = new LatencyHistogram();
+    }
+  }
+
+  /** Records the time since start into the phase and returns the current time. */
+  long record(Phase phase, long start) {
+    long now = System.nanoTime();
+    histograms[phase.ordinal()].record(now - start);
+    return now;
+  }
+
+  void record(Phase phase, long start, long end) {
+    histograms[phase.ordinal()].record(end - start);
+  }
+
+  void countError() {
+    errors.increment();
+  }
+
+  void countFallback() {
+    fallbacks.increment();
+  }
+
+  /** The durations recorded for a phase. */
+  public LatencyHistogram getHistogram(Phase phase) {
+    return histograms[phase.ordinal()];
+  }
+
+  /** Evaluations that failed, or that the native engine answered with an error. */
+  public long getErrors() {
+    return errors.sum();
+  }
+
+  /**
+   * Evaluations the native engine couldn't answer at all, which were answered with a default
+   * instead.
+   */
+  public long getFallbacks() {
+    return fallbacks.sum();
+  }
+}
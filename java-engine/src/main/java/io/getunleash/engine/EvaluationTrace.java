@@ -0,0 +1,196 @@
+package io.getunleash.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Where the time of one traced evaluation went, from the custom strategies run in Java to the
+ * native engine evaluating the toggle, and what the toggle it evaluated consists of. The native
+ * engine evaluates a toggle as a whole, so only custom strategies are timed one by one; built-in
+ * strategies are listed with the constraints they bring, which is what makes one toggle costlier
+ * than another.
+ */
+public final class EvaluationTrace {
+  private final String operation;
+  private final String toggleName;
+  private final Boolean enabled;
+  private final boolean known;
+  private final long customStrategiesNanos;
+  private final long encodeNanos;
+  private final long nativeCallNanos;
+  private final long decodeNanos;
+  private final long evaluateNanos;
+  private final long variantNanos;
+  private final List<StrategyTrace> strategies;
+  private final List<CustomStrategyTrace> customStrategies;
+  private final List<String> dependencies;
+
+  // The points in time (as System.nanoTime) the evaluation reached each phase, and the trace the
+  // native engine answered with
+  EvaluationTrace(
+      String operation,
+      String toggleName,
+      Boolean enabled,
+      List<CustomStrategyTrace> customStrategies,
+      long start,
+      long encodeStart,
+      long nativeStart,
+      long nativeEnd,
+      io.getunleash.yggdrasil.messaging.EvaluationTrace trace) {
+    this.operation = operation;
+    this.toggleName = toggleName;
+    this.enabled = enabled;
+    this.known = trace.known();
+    this.customStrategiesNanos = encodeStart - start;
+    this.encodeNanos = nativeStart - encodeStart;
+    this.nativeCallNanos = nativeEnd - nativeStart;
+    this.decodeNanos = trace.decodeNanos();
+    this.evaluateNanos = trace.evaluateNanos();
+    this.variantNanos = trace.variantNanos();
+    List<StrategyTrace> strategies = new ArrayList<>(trace.strategiesLength());
+    for (int i = 0; i < trace.strategiesLength(); i++) {
+      strategies.add(new StrategyTrace(trace.strategies(i)));
+    }
+    this.strategies = Collections.unmodifiableList(strategies);
+    this.customStrategies = Collections.unmodifiableList(customStrategies);
+    List<String> dependencies = new ArrayList<>(trace.dependenciesLength());
+    for (int i = 0; i < trace.dependenciesLength(); i++) {
+      dependencies.add(trace.dependencies(i));
+    }
+    this.dependencies = Collections.unmodifiableList(dependencies);
+  }
+
+  /** The method that evaluated the toggle, {@code isEnabled} or {@code getVariant}. */
+  public String getOperation() {
+    return operation;
+  }
+
+  public String getToggleName() {
+    return toggleName;
+  }
+
+  /** Whether the toggle was enabled, null if the engine doesn't know it. */
+  public Boolean getEnabled() {
+    return enabled;
+  }
+
+  /** Whether the toggle is in the engine's state. */
+  public boolean isKnown() {
+    return known;
+  }
+
+  /** Time from the start of the evaluation until the native engine answered. */
+  public long getTotalNanos() {
+    return customStrategiesNanos + encodeNanos + nativeCallNanos;
+  }
+
+  /** Time spent running custom strategies. */
+  public long getCustomStrategiesNanos() {
+    return customStrategiesNanos;
+  }
+
+  /** Time spent encoding the context for the native engine. */
+  public long getEncodeNanos() {
+    return encodeNanos;
+  }
+
+  /** Time spent in the call into the native engine, waiting for its lock included. */
+  public long getNativeCallNanos() {
+    return nativeCallNanos;
+  }
+
+  /** Time the native engine spent reading the context, once it had its lock. */
+  public long getDecodeNanos() {
+    return decodeNanos;
+  }
+
+  /** Time the native engine spent evaluating the toggle, its strategies and dependencies. */
+  public long getEvaluateNanos() {
+    return evaluateNanos;
+  }
+
+  /** Time the native engine spent resolving the variant, 0 unless a variant was asked for. */
+  public long getVariantNanos() {
+    return variantNanos;
+  }
+
+  /** The strategies of the toggle, in the order they're evaluated, custom strategies included. */
+  public List<StrategyTrace> getStrategies() {
+    return strategies;
+  }
+
+  /** The custom strategies run in Java before the native engine was called. */
+  public List<CustomStrategyTrace> getCustomStrategies() {
+    return customStrategies;
+  }
+
+  /** The toggles this toggle depends on, which the native engine evaluated too. */
+  public List<String> getDependencies() {
+    return dependencies;
+  }
+
+  /** One strategy of a traced toggle. */
+  public static final class StrategyTrace {
+    private final String name;
+    private final long constraints;
+    private final List<Integer> segments;
+    private final boolean missingSegments;
+
+    private StrategyTrace(io.getunleash.yggdrasil.messaging.StrategyTrace trace) {
+      this.name = trace.name();
+      this.constraints = trace.constraints();
+      List<Integer> segments = new ArrayList<>(trace.segmentsLength());
+      for (int i = 0; i < trace.segmentsLength(); i++) {
+        segments.add(trace.segments(i));
+      }
+      this.segments = Collections.unmodifiableList(segments);
+      this.missingSegments = trace.missingSegments();
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    /** The strategy's own constraints and those of its segments. */
+    public long getConstraints() {
+      return constraints;
+    }
+
+    /** Ids of the segments of the strategy. */
+    public List<Integer> getSegments() {
+      return segments;
+    }
+
+    /** Whether the strategy refers to segments the state doesn't have. */
+    public boolean hasMissingSegments() {
+      return missingSegments;
+    }
+  }
+
+  /** One custom strategy run for a traced evaluation. */
+  public static final class CustomStrategyTrace {
+    private final String name;
+    private final boolean enabled;
+    private final long nanos;
+
+    CustomStrategyTrace(String name, boolean enabled, long nanos) {
+      this.name = name;
+      this.enabled = enabled;
+      this.nanos = nanos;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    /** What the strategy answered, false if it threw. */
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public long getNanos() {
+      return nanos;
+    }
+  }
+}
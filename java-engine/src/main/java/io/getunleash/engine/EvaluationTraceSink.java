@@ -0,0 +1,12 @@
+package io.getunleash.engine;
+
+/**
+ * Given the traces of the evaluations an engine samples, see {@link
+ * UnleashEngine#traceEvaluations(EvaluationTraceSink, int, java.util.Collection)}. Called on the
+ * thread that evaluated the toggle, after the native engine answered, so a sink should hand the
+ * trace on rather than do anything slow with it.
+ */
+@FunctionalInterface
+public interface EvaluationTraceSink {
+  void onTrace(EvaluationTrace trace);
+}
@@ -1,5 +1,7 @@
 package io.getunleash.engine;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 public class FeatureDef {
@@ -7,12 +9,26 @@ public class FeatureDef {
   private final Optional<String> type;
   private final String project;
   private final boolean enabled;
+  private final boolean impressionData;
+  private final List<String> strategies;
 
   FeatureDef(String name, String featureType, String project, boolean enabled) {
+    this(name, featureType, project, enabled, false, Collections.emptyList());
+  }
+
+  FeatureDef(
+      String name,
+      String featureType,
+      String project,
+      boolean enabled,
+      boolean impressionData,
+      List<String> strategies) {
     this.name = name;
     this.project = project;
     this.type = Optional.ofNullable(featureType);
     this.enabled = enabled;
+    this.impressionData = impressionData;
+    this.strategies = strategies;
   }
 
   public String getName() {
@@ -30,4 +46,14 @@ public class FeatureDef {
   public boolean isEnabled() {
     return enabled;
   }
+
+  /** Whether the toggle has impression data turned on. */
+  public boolean hasImpressionData() {
+    return impressionData;
+  }
+
+  /** The names of the toggle's strategies, in the order they're evaluated. */
+  public List<String> getStrategies() {
+    return strategies;
+  }
 }
@@ -1,9 +1,22 @@
 package io.getunleash.engine;
 
+import com.google.flatbuffers.FlatBufferBuilder;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 
 public class FlatBuffer {
+  /**
+   * Lets a FlatBufferBuilder build straight into direct memory, so large messages can be handed to
+   * the native engine without copying them first.
+   */
+  static final FlatBufferBuilder.ByteBufferFactory DIRECT =
+      new FlatBufferBuilder.ByteBufferFactory() {
+        @Override
+        public ByteBuffer newByteBuffer(int capacity) {
+          return ByteBuffer.allocateDirect(capacity).order(ByteOrder.LITTLE_ENDIAN);
+        }
+      };
+
   /**
    * Copies the direct byte buffer to heap, and handles freeing on the rust side, so don't call
    * {@link NativeBridge#flatBufFree} after calling this.
@@ -13,10 +26,15 @@ public class FlatBuffer {
    *     deserialization
    */
   static ByteBuffer toHeap(ByteBuffer nativeBuf) {
-    ByteBuffer dup = nativeBuf.duplicate().order(ByteOrder.LITTLE_ENDIAN);
-    byte[] arr = new byte[dup.remaining()];
-    dup.get(arr);
-    NativeBridge.flatBufFree(nativeBuf); // free native memory now
-    return ByteBuffer.wrap(arr).order(ByteOrder.LITTLE_ENDIAN);
+    try {
+      ByteBuffer dup = nativeBuf.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+      byte[] arr = new byte[dup.remaining()];
+      dup.get(arr);
+      return ByteBuffer.wrap(arr).order(ByteOrder.LITTLE_ENDIAN);
+    } finally {
+      // free native memory now, even if the copy failed
+      NativeBridge.flatBufFree(nativeBuf);
+      NativeMemory.freed(nativeBuf);
+    }
   }
 }
@@ -10,20 +10,29 @@ public class FlatInterface implements NativeInterface {
   private static final Logger LOGGER = LoggerFactory.getLogger(FlatInterface.class);
 
   private final long enginePointer;
+  // Null unless evaluations are timed, set before the engine is used
+  private EvaluationTimings timings;
 
   public FlatInterface() {
     this.enginePointer = NativeBridge.newEngine();
+    NativeMemory.engineCreated();
   }
 
   @Override
   public void freeEngine() {
+    NativeMemory.engineFreed(enginePointer);
     NativeBridge.freeEngine(enginePointer);
   }
 
+  // Every buffer the engine returns goes through here, and is freed by FlatBuffer.toHeap
+  private ByteBuffer received(ByteBuffer result) {
+    return NativeMemory.received(result, enginePointer);
+  }
+
   @Override
   public TakeStateResponse takeState(String toggles) {
     try {
-      ByteBuffer result = NativeBridge.flatTakeState(enginePointer, toggles);
+      ByteBuffer result = received(NativeBridge.flatTakeState(enginePointer, toggles));
       return TakeStateResponse.getRootAsTakeStateResponse(FlatBuffer.toHeap(result));
     } catch (NativeException e) {
       LOGGER.warn(e.getMessage());
@@ -41,7 +50,17 @@ public class FlatInterface implements NativeInterface {
     }
   }
 
-  Response enabledResponse(String error) {
+  @Override
+  public ByteBuffer getStateJson() {
+    try {
+      return FlatBuffer.toHeap(received(NativeBridge.flatGetStateJson(enginePointer)));
+    } catch (NativeException e) {
+      LOGGER.warn("Failed to serialise state. Our engine said {}", e.getMessage());
+      return null;
+    }
+  }
+
+  static Response enabledResponse(String error) {
     FlatBufferBuilder flatBufferBuilder = new FlatBufferBuilder(16);
     int errorOffset = flatBufferBuilder.createString(error);
     Response.startResponse(flatBufferBuilder);
@@ -53,13 +72,40 @@ public class FlatInterface implements NativeInterface {
     return Response.getRootAsResponse(flatBufferBuilder.dataBuffer());
   }
 
+  @Override
+  public void setEvaluationTimings(EvaluationTimings timings) {
+    this.timings = timings;
+  }
+
+  @Override
+  public void setStrategyConstraints(boolean included) {
+    NativeBridge.flatSetStrategyConstraints(enginePointer, included);
+  }
+
+  @Override
+  public void setCountEvaluations(boolean counted) {
+    NativeBridge.flatSetCountEvaluations(enginePointer, counted);
+  }
+
+  @Override
+  public void setCallStats(boolean counted) {
+    NativeBridge.flatSetCallStats(enginePointer, counted);
+  }
+
   @Override
   public Response checkEnabled(ByteBuffer contextMessage) {
+    EvaluationTimings timings = this.timings;
+    long start = timings != null ? System.nanoTime() : 0;
     try {
       ByteBuffer result =
-          NativeBridge.flatCheckEnabled(enginePointer, contextMessage, contextMessage.remaining());
-      return Response.getRootAsResponse(FlatBuffer.toHeap(result));
+          received(
+              NativeBridge.flatCheckEnabled(
+                  enginePointer, contextMessage, contextMessage.remaining()));
+      return Response.getRootAsResponse(toHeap(result, timings, start));
     } catch (NativeException e) {
+      if (timings != null) {
+        timings.countFallback();
+      }
       LOGGER.warn(
           "Our native engine failed to evaluate the context. The engine said {}. Returning default response (enabled: false, impressionData: false, hasEnabled: true)",
           e.getMessage());
@@ -67,7 +113,33 @@ public class FlatInterface implements NativeInterface {
     }
   }
 
-  Variant disabledVariant(String errorMessage) {
+  static BulkResponse bulkResponse(String error) {
+    FlatBufferBuilder flatBufferBuilder = new FlatBufferBuilder(16);
+    int errorOffset = flatBufferBuilder.createString(error);
+    BulkResponse.startBulkResponse(flatBufferBuilder);
+    BulkResponse.addError(flatBufferBuilder, errorOffset);
+    BulkResponse.addHasEnabled(flatBufferBuilder, false);
+    flatBufferBuilder.finish(BulkResponse.endBulkResponse(flatBufferBuilder));
+    return BulkResponse.getRootAsBulkResponse(flatBufferBuilder.dataBuffer());
+  }
+
+  @Override
+  public BulkResponse checkEnabledBulk(ByteBuffer bulkContextMessage) {
+    try {
+      ByteBuffer result =
+          received(
+              NativeBridge.flatCheckEnabledBulk(
+                  enginePointer, bulkContextMessage, bulkContextMessage.remaining()));
+      return BulkResponse.getRootAsBulkResponse(FlatBuffer.toHeap(result));
+    } catch (NativeException e) {
+      LOGGER.warn(
+          "Our native engine failed to evaluate the contexts. The engine said {}. Returning an empty response (hasEnabled: false)",
+          e.getMessage());
+      return bulkResponse(e.getMessage());
+    }
+  }
+
+  static Variant disabledVariant(String errorMessage) {
     FlatBufferBuilder flatBufferBuilder = new FlatBufferBuilder(16);
     int errorOffset = flatBufferBuilder.createString(errorMessage);
     int nameOffset = flatBufferBuilder.createString("disabled");
@@ -83,11 +155,18 @@ public class FlatInterface implements NativeInterface {
 
   @Override
   public Variant checkVariant(ByteBuffer contextMessage) {
+    EvaluationTimings timings = this.timings;
+    long start = timings != null ? System.nanoTime() : 0;
     try {
       ByteBuffer result =
-          NativeBridge.flatCheckVariant(enginePointer, contextMessage, contextMessage.remaining());
-      return Variant.getRootAsVariant(FlatBuffer.toHeap(result));
+          received(
+              NativeBridge.flatCheckVariant(
+                  enginePointer, contextMessage, contextMessage.remaining()));
+      return Variant.getRootAsVariant(toHeap(result, timings, start));
     } catch (NativeException e) {
+      if (timings != null) {
+        timings.countFallback();
+      }
       LOGGER.warn(
           "Our native engine failed to get variant from the passed in context. The engine said {}. Returning default variant",
           e.getMessage());
@@ -95,6 +174,18 @@ public class FlatInterface implements NativeInterface {
     }
   }
 
+  // Copies the answer to the heap, recording the native call that began at start and the copy when
+  // evaluations are timed
+  private static ByteBuffer toHeap(ByteBuffer result, EvaluationTimings timings, long start) {
+    if (timings == null) {
+      return FlatBuffer.toHeap(result);
+    }
+    long called = timings.record(EvaluationTimings.Phase.NATIVE_CALL, start);
+    ByteBuffer heap = FlatBuffer.toHeap(result);
+    timings.record(EvaluationTimings.Phase.DECODE, called);
+    return heap;
+  }
+
   static MetricsResponse emptyMetrics() {
     FlatBufferBuilder builder = new FlatBufferBuilder(8);
     MetricsResponse.startMetricsResponse(builder);
@@ -105,7 +196,7 @@ public class FlatInterface implements NativeInterface {
   @Override
   public MetricsResponse getMetrics() {
     try {
-      ByteBuffer result = NativeBridge.flatGetMetrics(enginePointer);
+      ByteBuffer result = received(NativeBridge.flatGetMetrics(enginePointer));
       return MetricsResponse.getRootAsMetricsResponse(FlatBuffer.toHeap(result));
     } catch (NativeException e) {
       LOGGER.warn(
@@ -115,6 +206,39 @@ public class FlatInterface implements NativeInterface {
     }
   }
 
+  @Override
+  public EngineStatsResponse getEngineStats() {
+    try {
+      ByteBuffer result = received(NativeBridge.flatEngineStats(enginePointer));
+      return EngineStatsResponse.getRootAsEngineStatsResponse(FlatBuffer.toHeap(result));
+    } catch (NativeException e) {
+      LOGGER.warn("Failed to get engine stats. Our engine said {}", e.getMessage());
+      return null;
+    }
+  }
+
+  @Override
+  public ByteBuffer saveSnapshot() {
+    try {
+      return FlatBuffer.toHeap(received(NativeBridge.flatSaveSnapshot(enginePointer)));
+    } catch (NativeException e) {
+      LOGGER.warn("Failed to snapshot state. Our engine said {}", e.getMessage());
+      return null;
+    }
+  }
+
+  @Override
+  public TakeStateResponse loadSnapshot(ByteBuffer snapshot) {
+    try {
+      ByteBuffer result =
+          received(NativeBridge.flatLoadSnapshot(enginePointer, snapshot, snapshot.remaining()));
+      return TakeStateResponse.getRootAsTakeStateResponse(FlatBuffer.toHeap(result));
+    } catch (NativeException e) {
+      LOGGER.warn(e.getMessage());
+      return null;
+    }
+  }
+
   static FeatureDefs emptyFeatureDef() {
     FlatBufferBuilder builder = new FlatBufferBuilder(8);
     FeatureDefs.startFeatureDefs(builder);
@@ -125,7 +249,7 @@ public class FlatInterface implements NativeInterface {
   @Override
   public FeatureDefs listKnownToggles() {
     try {
-      ByteBuffer buf = NativeBridge.flatListKnownToggles(enginePointer);
+      ByteBuffer buf = received(NativeBridge.flatListKnownToggles(enginePointer));
       return FeatureDefs.getRootAsFeatureDefs(FlatBuffer.toHeap(buf));
     } catch (NativeException e) {
       LOGGER.warn(
@@ -143,7 +267,7 @@ public class FlatInterface implements NativeInterface {
 
   public static BuiltInStrategies getBuiltInStrategies() {
     try {
-      ByteBuffer byteBuffer = NativeBridge.flatBuiltInStrategies();
+      ByteBuffer byteBuffer = NativeMemory.received(NativeBridge.flatBuiltInStrategies(), 0);
       return BuiltInStrategies.getRootAsBuiltInStrategies(FlatBuffer.toHeap(byteBuffer));
     } catch (NativeException e) {
       LOGGER.warn(
@@ -0,0 +1,45 @@
+package io.getunleash.engine;
+
+/**
+ * An evaluation of a toggle that has impression data turned on, as handed to {@link
+ * ImpressionListener}s. The context is the one the evaluation was made with, not a copy, so it
+ * shouldn't be changed after the evaluation.
+ */
+public final class ImpressionEvent {
+  private final String toggleName;
+  private final boolean enabled;
+  private final String variant;
+  private final Context context;
+  private final long timestampMillis;
+
+  ImpressionEvent(String toggleName, boolean enabled, String variant, Context context) {
+    this.toggleName = toggleName;
+    this.enabled = enabled;
+    this.variant = variant;
+    this.context = context;
+    this.timestampMillis = System.currentTimeMillis();
+  }
+
+  public String getToggleName() {
+    return toggleName;
+  }
+
+  /** Whether the toggle was enabled. */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** The variant the evaluation resolved to, null for {@code isEnabled} evaluations. */
+  public String getVariant() {
+    return variant;
+  }
+
+  public Context getContext() {
+    return context;
+  }
+
+  /** When the evaluation was made, in milliseconds since the epoch. */
+  public long getTimestampMillis() {
+    return timestampMillis;
+  }
+}
@@ -0,0 +1,12 @@
+package io.getunleash.engine;
+
+import java.util.List;
+
+/**
+ * Given the impression events of an {@link ImpressionPipeline} in batches, on the pipeline's
+ * thread. Events come in the order they were published, as far as one thread's events go.
+ */
+@FunctionalInterface
+public interface ImpressionListener {
+  void onImpressions(List<ImpressionEvent> events);
+}
@@ -0,0 +1,266 @@
+package io.getunleash.engine;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Takes impression events off the evaluating threads. Engines the pipeline is set on (see {@link
+ * UnleashEngine#publishImpressions(ImpressionPipeline)}) publish an event for every evaluation of a
+ * toggle with impression data turned on into a bounded ring buffer, without taking a lock. A
+ * background thread takes them out in batches and hands each batch to the registered listeners.
+ * While there's nothing to deliver it sleeps until the next event is published.
+ *
+ * <p>When the buffer is full, the {@link OverflowPolicy} decides whether the event is dropped or
+ * the evaluating thread waits for room. Dropped events are counted.
+ */
+public final class ImpressionPipeline implements Closeable {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ImpressionPipeline.class);
+  public static final int DEFAULT_CAPACITY = 8192;
+  public static final int DEFAULT_BATCH_SIZE = 256;
+  // How long a publisher waiting for room sleeps between attempts
+  private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+  /** What publishing an event into a full buffer does. */
+  public enum OverflowPolicy {
+    /** Drops the event and counts it. Evaluations never wait. */
+    DROP,
+    /** Waits until the consumer makes room, which slows evaluations down to its pace. */
+    BLOCK
+  }
+
+  private final Ring ring;
+  private final int batchSize;
+  private final OverflowPolicy overflowPolicy;
+  private final List<ImpressionListener> listeners = new CopyOnWriteArrayList<>();
+  private final LongAdder published = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+  private final AtomicLong delivered = new AtomicLong();
+  private final AtomicLong listenerFailures = new AtomicLong();
+  // Publishers that saw the pipeline open and haven't offered their event yet. One atomic rather
+  // than an adder: close has to see every publisher that counted itself before closed was set
+  private final AtomicInteger publishing = new AtomicInteger();
+  private final Thread consumer;
+  // Set while the consumer is parked or about to park, publishers wake it when it is
+  private volatile boolean consumerIdle;
+  private volatile boolean closed;
+  // Set once no publisher will offer again, the consumer delivers what's left and stops
+  private volatile boolean stopping;
+
+  /** A pipeline with the default capacity and batch size that drops events when full. */
+  public ImpressionPipeline() {
+    this(DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE, OverflowPolicy.DROP);
+  }
+
+  /**
+   * @param capacity Events the buffer holds, rounded up to a power of two.
+   * @param batchSize Most events handed to the listeners at once.
+   * @param overflowPolicy What publishing into a full buffer does.
+   */
+  public ImpressionPipeline(int capacity, int batchSize, OverflowPolicy overflowPolicy) {
+    if (capacity < 1 || capacity > 1 << 30) {
+      throw new IllegalArgumentException("capacity must be between 1 and 2^30: " + capacity);
+    }
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("batchSize must be at least 1: " + batchSize);
+    }
+    this.ring = new Ring(capacity);
+    this.batchSize = batchSize;
+    this.overflowPolicy = Objects.requireNonNull(overflowPolicy, "overflowPolicy");
+    this.consumer = new Thread(this::consume, "unleash-impressions");
+    this.consumer.setDaemon(true);
+    this.consumer.start();
+  }
+
+  public void addListener(ImpressionListener listener) {
+    listeners.add(Objects.requireNonNull(listener, "listener"));
+  }
+
+  public void removeListener(ImpressionListener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * Publishes an event, or drops it if the buffer is full and the policy says so, or the pipeline
+   * is closed.
+   *
+   * @return Whether the event was published.
+   */
+  boolean publish(ImpressionEvent event) {
+    // Counted before closed is read, so close either waits for the offer or the event is dropped
+    publishing.incrementAndGet();
+    try {
+      while (!closed) {
+        if (ring.offer(event)) {
+          published.increment();
+          if (consumerIdle) {
+            LockSupport.unpark(consumer);
+          }
+          return true;
+        }
+        if (overflowPolicy == OverflowPolicy.DROP) {
+          break;
+        }
+        LockSupport.parkNanos(FULL_PARK_NANOS);
+      }
+    } finally {
+      publishing.decrementAndGet();
+    }
+    dropped.increment();
+    return false;
+  }
+
+  private void consume() {
+    List<ImpressionEvent> batch = new ArrayList<>(batchSize);
+    while (true) {
+      boolean last = stopping;
+      ring.drainTo(batch, batchSize);
+      if (!batch.isEmpty()) {
+        deliver(batch);
+        batch = new ArrayList<>(batchSize);
+      } else if (last) {
+        // Every event published before closing has been delivered
+        return;
+      } else {
+        consumerIdle = true;
+        // Marked idle before looking again, so a publisher either sees it idle or its event is
+        // seen here
+        if (ring.isEmpty() && !stopping) {
+          LockSupport.park(this);
+        }
+        consumerIdle = false;
+      }
+    }
+  }
+
+  private void deliver(List<ImpressionEvent> batch) {
+    List<ImpressionEvent> events = Collections.unmodifiableList(batch);
+    for (ImpressionListener listener : listeners) {
+      try {
+        listener.onImpressions(events);
+      } catch (RuntimeException e) {
+        listenerFailures.incrementAndGet();
+        LOGGER.warn("Impression listener failed: {}", e.getMessage(), e);
+      }
+    }
+    delivered.addAndGet(batch.size());
+  }
+
+  /** Events published into the buffer. */
+  public long getPublished() {
+    return published.sum();
+  }
+
+  /** Events dropped because the buffer was full or the pipeline closed. */
+  public long getDropped() {
+    return dropped.sum();
+  }
+
+  /** Events handed to the listeners. */
+  public long getDelivered() {
+    return delivered.get();
+  }
+
+  /** Times a listener threw. */
+  public long getListenerFailures() {
+    return listenerFailures.get();
+  }
+
+  /**
+   * Delivers what's been published and stops the background thread, waiting up to a second for it.
+   * Events published afterwards are dropped.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    // Publishers that saw the pipeline open are about to offer, their events are delivered too
+    while (publishing.get() != 0) {
+      Thread.onSpinWait();
+    }
+    stopping = true;
+    LockSupport.unpark(consumer);
+    try {
+      consumer.join(TimeUnit.SECONDS.toMillis(1));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * A bounded ring buffer for many producers and one consumer. Every slot has a sequence number
+   * telling whose turn it is: a producer claims the slot for position p when its sequence is p, and
+   * sets it to p + 1 once the event is in; the consumer takes the event at p + 1 and hands the slot
+   * to the next round by setting it to p + capacity.
+   */
+  static final class Ring {
+    private final AtomicReferenceArray<ImpressionEvent> events;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    // Only the consumer moves the head
+    private long head;
+
+    Ring(int capacity) {
+      int size = Integer.highestOneBit(capacity);
+      if (size < capacity) {
+        size <<= 1;
+      }
+      this.events = new AtomicReferenceArray<>(size);
+      this.sequences = new AtomicLongArray(size);
+      this.mask = size - 1;
+      for (int i = 0; i < size; i++) {
+        sequences.set(i, i);
+      }
+    }
+
+    boolean offer(ImpressionEvent event) {
+      long position = tail.get();
+      while (true) {
+        int slot = (int) position & mask;
+        long turn = sequences.get(slot) - position;
+        if (turn == 0) {
+          if (tail.compareAndSet(position, position + 1)) {
+            events.lazySet(slot, event);
+            sequences.set(slot, position + 1);
+            return true;
+          }
+          position = tail.get();
+        } else if (turn < 0) {
+          // The consumer hasn't taken the event a whole round ago yet
+          return false;
+        } else {
+          position = tail.get();
+        }
+      }
+    }
+
+    boolean isEmpty() {
+      return sequences.get((int) head & mask) != head + 1;
+    }
+
+    void drainTo(List<ImpressionEvent> batch, int max) {
+      while (batch.size() < max) {
+        int slot = (int) head & mask;
+        if (sequences.get(slot) != head + 1) {
+          return;
+        }
+        batch.add(events.get(slot));
+        events.lazySet(slot, null);
+        sequences.set(slot, head + mask + 1);
+        head++;
+      }
+    }
+  }
+}
@@ -0,0 +1,294 @@
+package io.getunleash.engine;
+
+import io.getunleash.yggdrasil.messaging.StrategyConstraint;
+import io.getunleash.yggdrasil.messaging.StrategyDefinition;
+import io.getunleash.yggdrasil.messaging.StrategyFeature;
+import io.getunleash.yggdrasil.messaging.TakeStateResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Evaluates the toggles of one state generation that only use the most common strategies directly
+ * in Java, which saves the round trip into the native engine. A toggle is only compiled when every
+ * strategy and constraint it has is one of the supported ones below, everything else is left to the
+ * native engine. Results are identical to the native engine's, including the stickiness hashing,
+ * see JavaEvaluatorTest.
+ *
+ * <p>Supported are the {@code default}, {@code userWithId}, {@code flexibleRollout} and {@code
+ * gradualRolloutUserId} strategies with {@code IN} and {@code NOT_IN} constraints, on toggles
+ * without dependencies.
+ *
+ * <p>This is opt in, enable it with {@code -Dio.getunleash.engine.evaluator.java=true}.
+ */
+final class JavaEvaluator {
+  static final String JAVA_EVALUATOR_PROPERTY = "io.getunleash.engine.evaluator.java";
+
+  static final JavaEvaluator EMPTY = new JavaEvaluator(Collections.emptyMap());
+
+  private final Map<String, Toggle> toggles;
+
+  private JavaEvaluator(Map<String, Toggle> toggles) {
+    this.toggles = toggles;
+  }
+
+  static JavaEvaluator compile(TakeStateResponse response, LocalMetrics metrics) {
+    Map<String, Toggle> toggles = new HashMap<>();
+    // Constraints with the same values share a set, a segment used by thousands of strategies
+    // is then kept in memory once
+    Map<List<String>, Set<String>> valueSets = new HashMap<>();
+    for (int i = 0; i < response.featuresLength(); i++) {
+      StrategyFeature feature = response.features(i);
+      List<Predicate<Context>> strategies = compileFeature(feature, valueSets);
+      if (strategies != null) {
+        String name = feature.featureName();
+        // Arrays of a generic type can't be created, but the list only holds context predicates
+        @SuppressWarnings("unchecked")
+        Predicate<Context>[] compiled = strategies.toArray(new Predicate[0]);
+        toggles.put(
+            name,
+            new Toggle(
+                feature.enabled(), feature.impressionData(), compiled, metrics.forToggle(name)));
+      }
+    }
+    return toggles.isEmpty() ? EMPTY : new JavaEvaluator(toggles);
+  }
+
+  Toggle get(String toggleName) {
+    return toggles.get(toggleName);
+  }
+
+  boolean contains(String toggleName) {
+    return toggles.containsKey(toggleName);
+  }
+
+  static final class Toggle {
+    private final boolean enabled;
+    private final boolean impressionData;
+    private final Predicate<Context>[] strategies;
+    private final LocalMetrics.Counter counter;
+
+    private Toggle(
+        boolean enabled,
+        boolean impressionData,
+        Predicate<Context>[] strategies,
+        LocalMetrics.Counter counter) {
+      this.enabled = enabled;
+      this.impressionData = impressionData;
+      this.strategies = strategies;
+      this.counter = counter;
+    }
+
+    FlatResponse<Boolean> isEnabled(Context context) {
+      boolean result = enabled && anyStrategyPasses(context);
+      counter.count(result);
+      return new FlatResponse<>(impressionData, result);
+    }
+
+    private boolean anyStrategyPasses(Context context) {
+      if (strategies.length == 0) {
+        return true;
+      }
+      Context evaluated = context != null ? context : new Context();
+      for (Predicate<Context> strategy : strategies) {
+        if (strategy.test(evaluated)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  // Null when the feature needs something only the native engine can do
+  private static List<Predicate<Context>> compileFeature(
+      StrategyFeature feature, Map<List<String>, Set<String>> valueSets) {
+    if (feature.featureName() == null || feature.hasDependencies()) {
+      return null;
+    }
+    List<Predicate<Context>> strategies = new ArrayList<>(feature.strategiesLength());
+    for (int i = 0; i < feature.strategiesLength(); i++) {
+      Predicate<Context> strategy =
+          compileStrategy(feature.featureName(), feature.strategies(i), valueSets);
+      if (strategy == null) {
+        return null;
+      }
+      strategies.add(strategy);
+    }
+    return strategies;
+  }
+
+  private static Predicate<Context> compileStrategy(
+      String featureName, StrategyDefinition strategy, Map<List<String>, Set<String>> valueSets) {
+    if (strategy.name() == null || strategy.missingSegments()) {
+      return null;
+    }
+    Predicate<Context> constraints = context -> true;
+    for (int i = 0; i < strategy.constraintsLength(); i++) {
+      Predicate<Context> constraint = compileConstraint(strategy.constraints(i), valueSets);
+      if (constraint == null) {
+        return null;
+      }
+      constraints = constraints.and(constraint);
+    }
+    Map<String, String> parameters = new HashMap<>();
+    for (int i = 0; i < strategy.parametersLength(); i++) {
+      parameters.put(strategy.parameters(i).key(), strategy.parameters(i).value());
+    }
+
+    Predicate<Context> rule;
+    switch (strategy.name()) {
+      case "default":
+        rule = context -> true;
+        break;
+      case "userWithId":
+        rule = userWithId(parameters);
+        break;
+      case "flexibleRollout":
+        rule = flexibleRollout(featureName, parameters);
+        break;
+      case "gradualRolloutUserId":
+        rule = gradualRolloutUserId(featureName, parameters);
+        break;
+      default:
+        return null;
+    }
+    return rule == null ? null : constraints.and(rule);
+  }
+
+  private static Predicate<Context> userWithId(Map<String, String> parameters) {
+    String userIds = parameters.get("userIds");
+    if (userIds == null) {
+      return null;
+    }
+    Set<String> ids = new HashSet<>();
+    for (String id : userIds.split(",")) {
+      ids.add(id.trim());
+    }
+    return context -> context.getUserId() != null && ids.contains(context.getUserId());
+  }
+
+  private static Predicate<Context> flexibleRollout(
+      String featureName, Map<String, String> parameters) {
+    int percentage = percentage(parameters.get("rollout"));
+    if (percentage < 0) {
+      return null;
+    }
+    String groupId = parameters.getOrDefault("groupId", featureName);
+    String stickiness = parameters.get("stickiness");
+    if (stickiness == null || stickiness.isEmpty() || stickiness.equals("default")) {
+      // Default stickiness falls back from the user to the session to a coin toss
+      return context -> {
+        String identifier =
+            context.getUserId() != null ? context.getUserId() : context.getSessionId();
+        return identifier != null
+            ? inRollout(percentage, identifier, groupId)
+            : inRandomRollout(percentage);
+      };
+    }
+    if (stickiness.equals("random")) {
+      return context -> inRandomRollout(percentage);
+    }
+    Function<Context, String> stickyField;
+    if (stickiness.equals("userId")) {
+      stickyField = Context::getUserId;
+    } else if (stickiness.equals("sessionId")) {
+      stickyField = Context::getSessionId;
+    } else {
+      return null;
+    }
+    return context -> {
+      String identifier = stickyField.apply(context);
+      return identifier != null && inRollout(percentage, identifier, groupId);
+    };
+  }
+
+  private static Predicate<Context> gradualRolloutUserId(
+      String featureName, Map<String, String> parameters) {
+    int percentage = percentage(parameters.get("percentage"));
+    if (percentage < 0) {
+      return null;
+    }
+    String groupId = parameters.getOrDefault("groupId", featureName);
+    return context ->
+        context.getUserId() != null && inRollout(percentage, context.getUserId(), groupId);
+  }
+
+  private static boolean inRollout(int percentage, String identifier, String groupId) {
+    return percentage > 0 && Murmur3.normalizedValue(identifier, groupId) <= percentage;
+  }
+
+  private static boolean inRandomRollout(int percentage) {
+    return percentage > 0 && ThreadLocalRandom.current().nextInt(1, 101) <= percentage;
+  }
+
+  // A whole percentage between 0 and 100, -1 for anything we'd rather let the engine interpret
+  private static int percentage(String value) {
+    if (value == null) {
+      return -1;
+    }
+    try {
+      int percentage = Integer.parseInt(value.trim());
+      return percentage >= 0 && percentage <= 100 ? percentage : -1;
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private static Predicate<Context> compileConstraint(
+      StrategyConstraint constraint, Map<List<String>, Set<String>> valueSets) {
+    String contextName = constraint.contextName();
+    String operator = constraint.operator();
+    if (contextName == null
+        || operator == null
+        || constraint.caseInsensitive()
+        || constraint.valuesVector() == null
+        || contextName.equals("currentTime")) {
+      return null;
+    }
+    List<String> valueList = new ArrayList<>(constraint.valuesLength());
+    for (int i = 0; i < constraint.valuesLength(); i++) {
+      valueList.add(constraint.values(i));
+    }
+    Set<String> values = valueSets.computeIfAbsent(valueList, HashSet::new);
+    Function<Context, String> field = contextField(contextName);
+
+    Predicate<Context> isIn =
+        context -> {
+          String value = field.apply(context);
+          return value != null && values.contains(value);
+        };
+    Predicate<Context> matches;
+    if (operator.equals("IN")) {
+      matches = isIn;
+    } else if (operator.equals("NOT_IN")) {
+      matches = isIn.negate();
+    } else {
+      return null;
+    }
+    return constraint.inverted() ? matches.negate() : matches;
+  }
+
+  private static Function<Context, String> contextField(String contextName) {
+    switch (contextName) {
+      case "userId":
+        return Context::getUserId;
+      case "sessionId":
+        return Context::getSessionId;
+      case "environment":
+        return Context::getEnvironment;
+      case "appName":
+        return Context::getAppName;
+      case "remoteAddress":
+        return Context::getRemoteAddress;
+      default:
+        return context -> context.propertyValue(contextName);
+    }
+  }
+}
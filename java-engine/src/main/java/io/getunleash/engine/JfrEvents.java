@@ -0,0 +1,145 @@
+package io.getunleash.engine;
+
+import java.util.concurrent.ThreadLocalRandom;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The Flight Recorder events of the engine. Only {@link EngineEvents} touches this class, and only
+ * once it has made sure the runtime has Flight Recorder, so the engine keeps working on runtimes
+ * without the jdk.jfr module.
+ */
+final class JfrEvents {
+  private static final EventType EVALUATION = EventType.getEventType(Evaluation.class);
+
+  private JfrEvents() {}
+
+  @Name("io.getunleash.engine.TakeState")
+  @Label("Take State")
+  @Category({"Unleash", "Engine"})
+  @Description("The engine taking a new state, evaluations on the engine wait for it")
+  static final class TakeState extends Event {
+    @Label("Source")
+    String source;
+
+    @Label("Payload Length")
+    @Description("Characters of JSON, or bytes of a snapshot")
+    long payloadLength;
+
+    @Label("Features")
+    int features;
+  }
+
+  @Name("io.getunleash.engine.MetricsDrain")
+  @Label("Metrics Drain")
+  @Category({"Unleash", "Engine"})
+  @Description("Collecting the metrics of the engine, which resets them")
+  static final class MetricsDrain extends Event {
+    @Label("Toggles")
+    int toggles;
+  }
+
+  @Name("io.getunleash.engine.Evaluation")
+  @Label("Evaluation")
+  @Category({"Unleash", "Engine"})
+  @Description("A sample of the evaluations handed to the native engine")
+  @StackTrace(false)
+  static final class Evaluation extends Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Toggle")
+    String toggleName;
+
+    @Label("Custom Strategies Time")
+    @Timespan
+    long customStrategiesTime;
+
+    @Label("Native Time")
+    @Description("The call into the native engine, including waiting for its lock")
+    @Timespan
+    long nativeTime;
+  }
+
+  @Name("io.getunleash.engine.NativeError")
+  @Label("Native Error")
+  @Category({"Unleash", "Engine"})
+  @Description("The native engine failed a call")
+  static final class NativeError extends Event {
+    @Label("Message")
+    String message;
+  }
+
+  static Object beginTakeState() {
+    TakeState event = new TakeState();
+    if (!event.isEnabled()) {
+      return null;
+    }
+    event.begin();
+    return event;
+  }
+
+  static void commitTakeState(Object begun, String source, long payloadLength, int features) {
+    TakeState event = (TakeState) begun;
+    event.end();
+    event.source = source;
+    event.payloadLength = payloadLength;
+    event.features = features;
+    event.commit();
+  }
+
+  static Object beginMetricsDrain() {
+    MetricsDrain event = new MetricsDrain();
+    if (!event.isEnabled()) {
+      return null;
+    }
+    event.begin();
+    return event;
+  }
+
+  static void commitMetricsDrain(Object begun, int toggles) {
+    MetricsDrain event = (MetricsDrain) begun;
+    event.end();
+    event.toggles = toggles;
+    event.commit();
+  }
+
+  static Object beginEvaluation(int sampling) {
+    if (!EVALUATION.isEnabled()
+        || (sampling > 1 && ThreadLocalRandom.current().nextInt(sampling) != 0)) {
+      return null;
+    }
+    Evaluation event = new Evaluation();
+    event.begin();
+    return event;
+  }
+
+  static void commitEvaluation(
+      Object begun,
+      String operation,
+      String toggleName,
+      long customStrategiesNanos,
+      long nativeNanos) {
+    Evaluation event = (Evaluation) begun;
+    event.end();
+    event.operation = operation;
+    event.toggleName = toggleName;
+    event.customStrategiesTime = customStrategiesNanos;
+    event.nativeTime = nativeNanos;
+    event.commit();
+  }
+
+  static void nativeError(String message) {
+    NativeError event = new NativeError();
+    if (event.isEnabled()) {
+      event.message = message;
+      event.commit();
+    }
+  }
+}
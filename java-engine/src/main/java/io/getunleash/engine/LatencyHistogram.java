@@ -0,0 +1,69 @@
+package io.getunleash.engine;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts durations into fixed buckets whose upper bounds double from 256 nanoseconds up to about 2
+ * seconds, with a last bucket for everything longer. Recording is lock free, and reading only sees
+ * the counts as they are at that moment, so a scrape may be a few recordings behind.
+ */
+public final class LatencyHistogram {
+  private static final int FIRST_BOUND_SHIFT = 8;
+  private static final int BUCKETS = 24;
+  private static final long[] UPPER_BOUNDS = new long[BUCKETS];
+
+  static {
+    for (int i = 0; i < BUCKETS - 1; i++) {
+      UPPER_BOUNDS[i] = 1L << (FIRST_BOUND_SHIFT + i);
+    }
+    UPPER_BOUNDS[BUCKETS - 1] = Long.MAX_VALUE;
+  }
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder sumNanos = new LongAdder();
+
+  LatencyHistogram() {}
+
+  void record(long nanos) {
+    counts.incrementAndGet(bucket(nanos));
+    sumNanos.add(nanos);
+  }
+
+  static int bucket(long nanos) {
+    if (nanos <= UPPER_BOUNDS[0]) {
+      return 0;
+    }
+    // The bucket of the smallest power of two that is at least nanos
+    int bits = Long.SIZE - Long.numberOfLeadingZeros(nanos - 1);
+    return Math.min(bits - FIRST_BOUND_SHIFT, BUCKETS - 1);
+  }
+
+  /** The inclusive upper bound of every bucket in nanoseconds, the last one is unbounded. */
+  public long[] getUpperBoundsNanos() {
+    return UPPER_BOUNDS.clone();
+  }
+
+  /** The number of durations recorded into every bucket so far, not cumulative. */
+  public long[] getCounts() {
+    long[] snapshot = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+    }
+    return snapshot;
+  }
+
+  /** The number of durations recorded so far. */
+  public long getCount() {
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      count += counts.get(i);
+    }
+    return count;
+  }
+
+  /** The sum of the durations recorded so far, in nanoseconds. */
+  public long getSumNanos() {
+    return sumNanos.sum();
+  }
+}
@@ -3,6 +3,13 @@ package io.getunleash.engine;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Locale;
 
 final class LibNames {
@@ -34,11 +41,62 @@ final class LibNames {
   }
 
   // Since System.getProperty("os.name") just lists 'linux'
-  // But! Because the JVM itself is dynamically linked against either libc or
-  // musl, and we know the JVM is currently running, it must have loaded ld-musl
-  // into memory in order to run on a musl system, so we can just query the list
-  // of loaded libraries and check if ld-musl is in there
+  // But! The JVM binary itself is dynamically linked against either glibc or musl, and the ELF
+  // header of the running executable names the dynamic loader it was linked against. Reading
+  // that header is a few kilobytes, where /proc/self/maps lists every mapping in the process.
+  // The maps scan stays around for when the header can't be read.
   private static boolean isMusl() {
+    String interpreter = elfInterpreter(Paths.get("/proc/self/exe"));
+    if (interpreter != null) {
+      return interpreter.contains("musl");
+    }
+    return mapsMentionMusl();
+  }
+
+  private static final int PT_INTERP = 3;
+  private static final int ELF_HEADER_READ_SIZE = 4096;
+
+  // Returns the PT_INTERP path of an ELF executable, or null if it can't be found
+  static String elfInterpreter(Path executable) {
+    try (FileChannel channel = FileChannel.open(executable, StandardOpenOption.READ)) {
+      ByteBuffer header = ByteBuffer.allocate(ELF_HEADER_READ_SIZE);
+      while (header.hasRemaining() && channel.read(header) > 0) {}
+      header.flip();
+      if (header.limit() < 0x40 || header.getInt(0) != 0x7f454c46) { // 0x7f 'E' 'L' 'F'
+        return null;
+      }
+      boolean is64Bit = header.get(4) == 2;
+      header.order(header.get(5) == 1 ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+      long programHeaderOffset = is64Bit ? header.getLong(0x20) : header.getInt(0x1C);
+      int programHeaderSize = header.getShort(is64Bit ? 0x36 : 0x2A) & 0xFFFF;
+      int programHeaderCount = header.getShort(is64Bit ? 0x38 : 0x2C) & 0xFFFF;
+      for (int i = 0; i < programHeaderCount; i++) {
+        long entry = programHeaderOffset + (long) i * programHeaderSize;
+        if (entry + programHeaderSize > header.limit()) {
+          return null;
+        }
+        int position = (int) entry;
+        if (header.getInt(position) != PT_INTERP) {
+          continue;
+        }
+        long offset = is64Bit ? header.getLong(position + 8) : header.getInt(position + 4);
+        long size = is64Bit ? header.getLong(position + 0x20) : header.getInt(position + 0x10);
+        if (size <= 0 || size > ELF_HEADER_READ_SIZE) {
+          return null;
+        }
+        ByteBuffer interpreter = ByteBuffer.allocate((int) size);
+        while (interpreter.hasRemaining()
+            && channel.read(interpreter, offset + interpreter.position()) > 0) {}
+        return new String(interpreter.array(), 0, interpreter.position(), StandardCharsets.US_ASCII)
+            .trim();
+      }
+      return null;
+    } catch (IOException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  static boolean mapsMentionMusl() {
     try (BufferedReader reader = new BufferedReader(new FileReader("/proc/self/maps"))) {
       String line;
       while ((line = reader.readLine()) != null) {
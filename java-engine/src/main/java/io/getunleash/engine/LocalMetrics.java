@@ -0,0 +1,177 @@
+package io.getunleash.engine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Evaluation counts of toggles that were answered in Java rather than by the native engine, or by a
+ * native engine that doesn't count them because other engines share it. They are kept across state
+ * generations until collected and merged into the engine's metrics bucket.
+ *
+ * <p>Counters only ever go up. Collecting remembers what was reported last and reports the
+ * difference, so counts made while collecting are reported by the next collection instead of lost.
+ * A counter that was dropped while an evaluation still had it hands itself back on its next count
+ * and is collected again, so dropping never waits for anyone and counting never takes a lock.
+ */
+final class LocalMetrics {
+  private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+  // Dropped counters that were counted into since, collected once more and dropped again
+  private final Queue<Counter> handedBack = new ConcurrentLinkedQueue<>();
+  // Goes up every time the counts are collected
+  private volatile long collections;
+
+  Counter forToggle(String toggleName) {
+    Counter counter = counters.computeIfAbsent(toggleName, name -> new Counter(this, name));
+    long collection = collections;
+    if (counter.claimedIn != collection) {
+      // Only written once per collection, so threads counting the same toggle don't contend on it
+      counter.claimedIn = collection;
+    }
+    return counter;
+  }
+
+  /**
+   * Moves the counts collected so far into the given metrics, adding to the counts the engine
+   * already has for a toggle. Counters of toggles that are no longer answered in Java are dropped
+   * once they've been collected, unless they were asked for since the collection before.
+   */
+  synchronized void drainInto(Map<String, FeatureCount> metrics, Predicate<String> stillCounted) {
+    long collection = ++collections;
+    Iterator<Counter> entries = counters.values().iterator();
+    while (entries.hasNext()) {
+      Counter counter = entries.next();
+      // A state being taken right now may have asked for the counter before its toggles are what
+      // stillCounted sees, leave counters asked for since the last collection alone
+      if (counter.claimedIn < collection - 1 && !stillCounted.test(counter.toggleName)) {
+        entries.remove();
+        counter.dropped.set(true);
+      }
+      counter.drainInto(metrics);
+    }
+    List<Counter> returned = new ArrayList<>();
+    for (Counter counter; (counter = handedBack.poll()) != null; ) {
+      returned.add(counter);
+    }
+    for (Counter counter : returned) {
+      counter.dropped.set(true);
+      counter.drainInto(metrics);
+    }
+  }
+
+  private static Map<String, Long> mergeVariants(
+      Map<String, Long> counted, Map<String, Long> local) {
+    if (local.isEmpty()) {
+      return counted;
+    }
+    Map<String, Long> merged = new HashMap<>(counted);
+    local.forEach((variant, count) -> merged.merge(variant, count, Long::sum));
+    return merged;
+  }
+
+  static final class Counter {
+    private final LocalMetrics owner;
+    private final String toggleName;
+    private final LongAdder yes = new LongAdder();
+    private final LongAdder no = new LongAdder();
+    // Only toggles checked for their variant get any
+    private volatile Map<String, LongAdder> variants;
+    // What has been reported so far, only touched while collecting
+    private long reportedYes;
+    private long reportedNo;
+    private final Map<String, Long> reportedVariants = new HashMap<>();
+    // The collection the counter was last asked for in
+    private volatile long claimedIn;
+    // Set before a dropped counter is collected for the last time. Counts check it after counting,
+    // so either that collection sees the count or the count sees the drop and hands the counter
+    // back
+    private final AtomicBoolean dropped = new AtomicBoolean();
+
+    private Counter(LocalMetrics owner, String toggleName) {
+      this.owner = owner;
+      this.toggleName = toggleName;
+    }
+
+    void count(boolean enabled) {
+      (enabled ? yes : no).increment();
+      handBackIfDropped();
+    }
+
+    void add(long enabled, long disabled) {
+      yes.add(enabled);
+      no.add(disabled);
+      handBackIfDropped();
+    }
+
+    void countVariant(String variant) {
+      variantCount(variant).increment();
+      handBackIfDropped();
+    }
+
+    private void handBackIfDropped() {
+      if (dropped.get() && dropped.compareAndSet(true, false)) {
+        owner.handedBack.add(this);
+      }
+    }
+
+    private LongAdder variantCount(String variant) {
+      Map<String, LongAdder> variants = this.variants;
+      if (variants == null) {
+        synchronized (this) {
+          variants = this.variants;
+          if (variants == null) {
+            variants = new ConcurrentHashMap<>();
+            this.variants = variants;
+          }
+        }
+      }
+      return variants.computeIfAbsent(variant, name -> new LongAdder());
+    }
+
+    private void drainInto(Map<String, FeatureCount> metrics) {
+      long yesSoFar = yes.sum();
+      long noSoFar = no.sum();
+      long newYes = yesSoFar - reportedYes;
+      long newNo = noSoFar - reportedNo;
+      reportedYes = yesSoFar;
+      reportedNo = noSoFar;
+      Map<String, Long> newVariants = drainVariants();
+      if (newYes != 0 || newNo != 0 || !newVariants.isEmpty()) {
+        metrics.merge(
+            toggleName,
+            new FeatureCount(newYes, newNo, newVariants),
+            (counted, local) ->
+                new FeatureCount(
+                    counted.getYes() + local.getYes(),
+                    counted.getNo() + local.getNo(),
+                    mergeVariants(counted.getVariants(), local.getVariants())));
+      }
+    }
+
+    private Map<String, Long> drainVariants() {
+      Map<String, LongAdder> variants = this.variants;
+      Map<String, Long> drained = new HashMap<>();
+      if (variants == null) {
+        return drained;
+      }
+      variants.forEach(
+          (variant, count) -> {
+            long soFar = count.sum();
+            Long reported = reportedVariants.put(variant, soFar);
+            long sum = soFar - (reported != null ? reported : 0);
+            if (sum != 0) {
+              drained.put(variant, sum);
+            }
+          });
+      return drained;
+    }
+  }
+}
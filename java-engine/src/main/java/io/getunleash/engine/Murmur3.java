@@ -0,0 +1,68 @@
+package io.getunleash.engine;
+
+import java.nio.charset.StandardCharsets;
+
+/** MurmurHash3 x86 32 bit, the hash every Unleash SDK uses to bucket users into rollouts. */
+final class Murmur3 {
+  private static final int C1 = 0xcc9e2d51;
+  private static final int C2 = 0x1b873593;
+
+  private Murmur3() {}
+
+  /**
+   * Where an identifier falls in a rollout, a number between 1 and 100. Matches the normalisation
+   * of the native engine and the other SDKs, so a user sees the same result everywhere.
+   */
+  static int normalizedValue(String identifier, String groupId) {
+    byte[] key = (groupId + ":" + identifier).getBytes(StandardCharsets.UTF_8);
+    return (int) (Integer.toUnsignedLong(hash32(key, 0)) % 100) + 1;
+  }
+
+  static int hash32(byte[] data, int seed) {
+    int h1 = seed;
+    int blocks = data.length / 4;
+
+    for (int i = 0; i < blocks; i++) {
+      int offset = i * 4;
+      int k1 =
+          (data[offset] & 0xff)
+              | (data[offset + 1] & 0xff) << 8
+              | (data[offset + 2] & 0xff) << 16
+              | (data[offset + 3] & 0xff) << 24;
+      h1 ^= mixK1(k1);
+      h1 = Integer.rotateLeft(h1, 13);
+      h1 = h1 * 5 + 0xe6546b64;
+    }
+
+    int tail = blocks * 4;
+    int k1 = 0;
+    switch (data.length & 3) {
+      case 3:
+        k1 ^= (data[tail + 2] & 0xff) << 16;
+        // fall through
+      case 2:
+        k1 ^= (data[tail + 1] & 0xff) << 8;
+        // fall through
+      case 1:
+        k1 ^= data[tail] & 0xff;
+        h1 ^= mixK1(k1);
+        // fall through
+      default:
+        break;
+    }
+
+    h1 ^= data.length;
+    h1 ^= h1 >>> 16;
+    h1 *= 0x85ebca6b;
+    h1 ^= h1 >>> 13;
+    h1 *= 0xc2b2ae35;
+    h1 ^= h1 >>> 16;
+    return h1;
+  }
+
+  private static int mixK1(int k1) {
+    k1 *= C1;
+    k1 = Integer.rotateLeft(k1, 15);
+    return k1 * C2;
+  }
+}
@@ -8,6 +8,9 @@ public final class NativeBridge {
         LibNames.pickForCurrentOsArch(EngineVersions.getBundledYggdrasilCoreVersion()));
   }
 
+  // Loads the native library without calling into it, for callers that bind to the C ABI directly
+  static void ensureLoaded() {}
+
   // Engine lifecycle
   public static native long newEngine();
 
@@ -19,10 +22,15 @@ public final class NativeBridge {
 
   public static native String flatGetState(long enginePtr) throws NativeException;
 
+  public static native ByteBuffer flatGetStateJson(long enginePtr) throws NativeException;
+
   // Queries (input ctx is a direct buffer; result is a direct buffer you must free)
   public static native ByteBuffer flatCheckEnabled(long enginePtr, ByteBuffer ctx, long len)
       throws NativeException;
 
+  public static native ByteBuffer flatCheckEnabledBulk(long enginePtr, ByteBuffer msg, long len)
+      throws NativeException;
+
   public static native ByteBuffer flatCheckVariant(long enginePtr, ByteBuffer ctx, long len)
       throws NativeException;
 
@@ -32,6 +40,21 @@ public final class NativeBridge {
 
   public static native ByteBuffer flatGetMetrics(long enginePtr) throws NativeException;
 
+  public static native ByteBuffer flatEngineStats(long enginePtr) throws NativeException;
+
+  public static native void flatSetStrategyConstraints(long enginePtr, boolean included);
+
+  public static native void flatSetCountEvaluations(long enginePtr, boolean counted);
+
+  public static native void flatSetCallStats(long enginePtr, boolean counted);
+
+  // Snapshots (saving returns a direct buffer you must free, loading reads the passed in direct
+  // buffer in place so it can be a memory mapped file)
+  public static native ByteBuffer flatSaveSnapshot(long enginePtr) throws NativeException;
+
+  public static native ByteBuffer flatLoadSnapshot(long enginePtr, ByteBuffer snapshot, long len)
+      throws NativeException;
+
   public static native String getCoreVersion();
 
   // Free any ByteBuffer returned by the methods above
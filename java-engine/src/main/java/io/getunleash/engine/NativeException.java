@@ -3,9 +3,11 @@ package io.getunleash.engine;
 public class NativeException extends Exception {
   public NativeException(String message) {
     super(message);
+    EngineEvents.nativeError(message);
   }
 
   public NativeException(String message, Throwable cause) {
     super(message, cause);
+    EngineEvents.nativeError(message);
   }
 }
@@ -22,6 +22,14 @@ public interface NativeInterface {
    */
   String getState();
 
+  /**
+   * Serialises the current state of the engine to JSON, as the client features {@link
+   * #takeState(String)} accepts.
+   *
+   * @return The UTF-8 encoded JSON, or null if the engine could not produce it.
+   */
+  ByteBuffer getStateJson();
+
   /**
    * Checks if a feature is enabled.
    *
@@ -30,6 +38,15 @@ public interface NativeInterface {
    */
   Response checkEnabled(ByteBuffer contextMessage);
 
+  /**
+   * Checks if a feature is enabled for every context in a batch. Unlike {@link
+   * #checkEnabled(ByteBuffer)} the engine doesn't count these checks, the caller does.
+   *
+   * @param bulkContextMessage The BulkContextMessage to use for the check.
+   * @return One bit per context, set where the feature is enabled.
+   */
+  BulkResponse checkEnabledBulk(ByteBuffer bulkContextMessage);
+
   /**
    * Get active variant for toggle
    *
@@ -45,10 +62,79 @@ public interface NativeInterface {
    */
   MetricsResponse getMetrics();
 
+  /**
+   * Get the statistics the engine keeps about itself, without waiting for calls that hold the
+   * engine.
+   *
+   * @return The statistics, or null if the engine could not produce them.
+   */
+  EngineStatsResponse getEngineStats();
+
+  /**
+   * Serialises the current state of the engine into a binary snapshot.
+   *
+   * @return The snapshot bytes, or null if the engine could not produce one.
+   */
+  ByteBuffer saveSnapshot();
+
+  /**
+   * Replaces the state of the engine with a snapshot produced by {@link #saveSnapshot()}.
+   *
+   * @param snapshot A direct buffer holding the snapshot, read in place by the engine.
+   * @return The result of loading the snapshot, in the same shape as {@link #takeState(String)}.
+   */
+  TakeStateResponse loadSnapshot(ByteBuffer snapshot);
+
   /**
    * List known toggles.
    *
    * @return The list of known toggles.
    */
   FeatureDefs listKnownToggles();
+
+  /**
+   * Records the native call and decoding phases of {@link #checkEnabled(ByteBuffer)} and {@link
+   * #checkVariant(ByteBuffer)} into the given timings from now on, and counts the evaluations it
+   * answers with a default because the native engine failed. Called before the interface is used.
+   *
+   * @param timings Where to record.
+   */
+  default void setEvaluationTimings(EvaluationTimings timings) {}
+
+  /**
+   * Whether the responses to taking a state carry the constraints of every strategy. Only the Java
+   * evaluation tier reads them, so engines leave them out unless asked for. Called before the
+   * interface takes a state.
+   *
+   * @param included true to have the constraints in the responses.
+   */
+  default void setStrategyConstraints(boolean included) {}
+
+  /**
+   * Whether the native engine counts the evaluations it answers in its metrics. A native engine
+   * shared by several engines is told not to, each of them counts its own.
+   *
+   * @param counted false to leave evaluations out of the native engine's metrics.
+   */
+  default void setCountEvaluations(boolean counted) {}
+
+  /**
+   * Whether the native engine counts and times its evaluations and its lock for {@link
+   * #getEngineStats()}. That's done on every call, so it's off unless {@link
+   * EngineStats#CALL_STATS_PROPERTY} is set. Called before the interface is used.
+   *
+   * @param counted true to count and time calls.
+   */
+  default void setCallStats(boolean counted) {}
+
+  /**
+   * Whether every call goes to the same native engine. The property key ids and variant indexes of
+   * a state only mean something to the engine that took it, they aren't sent otherwise. Engines
+   * whose interface isn't dedicated count their evaluations themselves.
+   *
+   * @return false if calls may be answered by different native engines over time.
+   */
+  default boolean isDedicated() {
+    return true;
+  }
 }
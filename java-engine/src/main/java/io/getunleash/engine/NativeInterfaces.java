@@ -0,0 +1,39 @@
+package io.getunleash.engine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Picks the {@link NativeInterface} new engines talk to the native library through. */
+final class NativeInterfaces {
+  static final String FFM_PROPERTY = "io.getunleash.engine.native.ffm";
+  static final int FFM_MINIMUM_JAVA_VERSION = 22;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(NativeInterfaces.class);
+  private static final String FFM_INTERFACE = "io.getunleash.engine.FfmInterface";
+
+  private NativeInterfaces() {}
+
+  /**
+   * Creates the JNI backed {@link FlatInterface}, or the Foreign Function &amp; Memory backed
+   * interface when the {@value #FFM_PROPERTY} system property is true and the runtime supports it.
+   * The latter is only shipped in the Java 22 section of the multi-release JAR.
+   */
+  static NativeInterface create() {
+    if (Boolean.getBoolean(FFM_PROPERTY)) {
+      if (Runtime.version().feature() >= FFM_MINIMUM_JAVA_VERSION) {
+        try {
+          return (NativeInterface)
+              Class.forName(FFM_INTERFACE).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+          LOGGER.warn("Could not create the FFM native interface, falling back to JNI", e);
+        }
+      } else {
+        LOGGER.warn(
+            "{} needs Java {} or later, falling back to JNI",
+            FFM_PROPERTY,
+            FFM_MINIMUM_JAVA_VERSION);
+      }
+    }
+    return new FlatInterface();
+  }
+}
@@ -1,29 +1,179 @@
 package io.getunleash.engine;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumSet;
+import java.util.Set;
 
 final class NativeLoader {
   static final String NATIVE_LIBRARY_PATH_PROPERTY = "io.getunleash.engine.native.path";
+  static final String NATIVE_CACHE_PATH_PROPERTY = "io.getunleash.engine.native.cache";
+
+  interface Resource {
+    InputStream open() throws IOException;
+  }
 
   static void loadFromResources(LibNames.NativeLibrary library) {
     if (loadFromConfiguredPath(library)) {
       return;
     }
 
-    try (var in = NativeLoader.class.getResourceAsStream(library.resourcePath())) {
-      if (in == null) throw new IllegalStateException("Missing " + library.resourcePath());
-      var tmp = java.nio.file.Files.createTempFile("ygg_", "_" + library.fileName());
-      tmp.toFile().deleteOnExit();
-      try (var out = java.nio.file.Files.newOutputStream(tmp)) {
-        in.transferTo(out);
+    Resource resource =
+        () -> {
+          var in = NativeLoader.class.getResourceAsStream(library.resourcePath());
+          if (in == null) throw new IllegalStateException("Missing " + library.resourcePath());
+          return in;
+        };
+    try {
+      Path extracted;
+      try {
+        extracted =
+            extractToCache(cacheDirectory(), library.fileName(), bundledHash(library), resource);
+      } catch (IOException e) {
+        // A cache we can't use shouldn't stop the engine from loading, just pay for a fresh copy
+        extracted = extractToTempFile(library.fileName(), resource);
       }
-      System.load(tmp.toAbsolutePath().toString());
+      System.load(extracted.toAbsolutePath().toString());
     } catch (Exception e) {
       throw new RuntimeException("Failed to load native lib " + library.resourcePath(), e);
     }
   }
 
+  /**
+   * Makes sure the library is present in the cache under its content hash and returns its path.
+   * When the hash is known up front and the library is already cached, nothing is read or written.
+   * Otherwise the library is written to a temporary file and atomically renamed into place, so
+   * concurrent processes extracting the same library never see a partial file.
+   */
+  static Path extractToCache(Path cacheDirectory, String fileName, String hash, Resource resource)
+      throws IOException {
+    prepareCacheDirectory(cacheDirectory);
+    if (hash != null) {
+      Path cached = cacheDirectory.resolve(hash).resolve(fileName);
+      if (Files.isRegularFile(cached)) {
+        return cached;
+      }
+    }
+
+    Path temp = Files.createTempFile(cacheDirectory, "ygg_", ".part");
+    try {
+      String actualHash = copyHashing(resource, temp);
+      Path target = cacheDirectory.resolve(actualHash).resolve(fileName);
+      Files.createDirectories(target.getParent());
+      try {
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+      } catch (FileAlreadyExistsException e) {
+        // Another process got there first, its copy has the same content
+      } catch (IOException e) {
+        // Windows refuses to replace a library another process has loaded
+        if (!Files.isRegularFile(target)) {
+          throw e;
+        }
+      }
+      return target;
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  static Path extractToTempFile(String fileName, Resource resource) throws IOException {
+    var tmp = Files.createTempFile("ygg_", "_" + fileName);
+    tmp.toFile().deleteOnExit();
+    try (var in = resource.open();
+        var out = Files.newOutputStream(tmp)) {
+      in.transferTo(out);
+    }
+    return tmp;
+  }
+
+  static Path cacheDirectory() {
+    var configured = System.getProperty(NATIVE_CACHE_PATH_PROPERTY);
+    if (configured != null && !configured.trim().isEmpty()) {
+      return Path.of(configured.trim());
+    }
+    // Per user, the directory has to be owned by whoever loads the libraries in it
+    return Path.of(
+        System.getProperty("java.io.tmpdir"),
+        "yggdrasil-native-" + System.getProperty("user.name"));
+  }
+
+  // Anyone who can write to the cache can swap the library we're about to load, so on POSIX
+  // systems the cache has to be ours and closed to everyone else
+  private static void prepareCacheDirectory(Path cacheDirectory) throws IOException {
+    if (!cacheDirectory.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+      Files.createDirectories(cacheDirectory);
+      return;
+    }
+    if (!Files.isDirectory(cacheDirectory)) {
+      Files.createDirectories(cacheDirectory.toAbsolutePath().getParent());
+      try {
+        Files.createDirectory(
+            cacheDirectory,
+            PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+      } catch (FileAlreadyExistsException e) {
+        // Created concurrently, checked below like any existing directory
+      }
+    }
+    PosixFileAttributes attributes =
+        Files.readAttributes(cacheDirectory, PosixFileAttributes.class);
+    Set<PosixFilePermission> shared =
+        EnumSet.of(PosixFilePermission.GROUP_WRITE, PosixFilePermission.OTHERS_WRITE);
+    shared.retainAll(attributes.permissions());
+    var self =
+        cacheDirectory
+            .getFileSystem()
+            .getUserPrincipalLookupService()
+            .lookupPrincipalByName(System.getProperty("user.name"));
+    if (!attributes.owner().equals(self) || !shared.isEmpty()) {
+      throw new IOException(
+          "Native library cache " + cacheDirectory + " is not private to the current user");
+    }
+  }
+
+  // Written next to each bundled library at build time, so a warm start doesn't have to read
+  // the library to find it in the cache
+  private static String bundledHash(LibNames.NativeLibrary library) {
+    try (var in = NativeLoader.class.getResourceAsStream(library.resourcePath() + ".sha256")) {
+      if (in == null) {
+        return null;
+      }
+      var hash = new String(in.readAllBytes(), StandardCharsets.US_ASCII).trim();
+      return hash.matches("[0-9a-f]{64}") ? hash : null;
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  private static String copyHashing(Resource resource, Path target) throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IOException("SHA-256 is not available", e);
+    }
+    try (InputStream in = resource.open();
+        OutputStream out = new DigestOutputStream(Files.newOutputStream(target), digest)) {
+      in.transferTo(out);
+    }
+    StringBuilder hex = new StringBuilder();
+    for (byte b : digest.digest()) {
+      hex.append(String.format("%02x", b));
+    }
+    return hex.toString();
+  }
+
   private static boolean loadFromConfiguredPath(LibNames.NativeLibrary library) {
     var configuredPath = System.getProperty(NATIVE_LIBRARY_PATH_PROPERTY);
     if (configuredPath == null || configuredPath.trim().isEmpty()) {
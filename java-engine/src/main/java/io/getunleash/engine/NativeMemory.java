@@ -0,0 +1,168 @@
+package io.getunleash.engine;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps track of the native engines and the native buffers handed to Java that haven't been freed
+ * yet, for sizing memory limits and hunting leaks. Off by default, start the JVM with {@code
+ * -Dio.getunleash.engine.trackNativeMemory=true} to turn it on, and add {@code
+ * -Dio.getunleash.engine.trackNativeMemory.stacks=true} to also record where every buffer was
+ * allocated. While tracking, freeing an engine logs the buffers it handed out that were never
+ * freed. Without tracking every total is 0.
+ *
+ * <p>Only buffers handed over as direct byte buffers are tracked here, the FFM bindings free every
+ * buffer in the call that returned it. {@link EngineStats#getOutstandingBuffers()} counts what the
+ * native library itself still holds, whichever bindings are used.
+ */
+public final class NativeMemory {
+  public static final String TRACKING_PROPERTY = "io.getunleash.engine.trackNativeMemory";
+  public static final String STACKS_PROPERTY = "io.getunleash.engine.trackNativeMemory.stacks";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(NativeMemory.class);
+  private static final Tracker TRACKER =
+      Boolean.getBoolean(TRACKING_PROPERTY)
+          ? new Tracker(Boolean.getBoolean(STACKS_PROPERTY))
+          : null;
+
+  private NativeMemory() {}
+
+  /** Whether native memory is being tracked, see the class documentation. */
+  public static boolean isTracking() {
+    return TRACKER != null;
+  }
+
+  /** Native engines created and not freed yet. */
+  public static long getLiveEngines() {
+    return TRACKER != null ? TRACKER.liveEngines.get() : 0;
+  }
+
+  /** Native buffers handed to Java and not freed yet. */
+  public static long getLiveBuffers() {
+    return TRACKER != null ? TRACKER.liveBuffers.size() : 0;
+  }
+
+  /** The bytes held by {@link #getLiveBuffers()}. */
+  public static long getLiveBufferBytes() {
+    return TRACKER != null ? TRACKER.liveBufferBytes() : 0;
+  }
+
+  /**
+   * Where the buffers that haven't been freed yet were allocated, one stack trace per buffer. Empty
+   * unless allocation stacks are recorded.
+   */
+  public static List<Throwable> getLiveBufferAllocationSites() {
+    return TRACKER != null ? TRACKER.liveBufferAllocationSites() : Collections.emptyList();
+  }
+
+  static void engineCreated() {
+    if (TRACKER != null) {
+      TRACKER.liveEngines.incrementAndGet();
+    }
+  }
+
+  static void engineFreed(long engine) {
+    if (TRACKER != null) {
+      TRACKER.engineFreed(engine);
+    }
+  }
+
+  /** Records a buffer the engine returned, to be freed with {@link NativeBridge#flatBufFree}. */
+  static ByteBuffer received(ByteBuffer buffer, long engine) {
+    if (TRACKER != null && buffer != null) {
+      TRACKER.received(buffer, engine);
+    }
+    return buffer;
+  }
+
+  static void freed(ByteBuffer buffer) {
+    if (TRACKER != null) {
+      TRACKER.liveBuffers.remove(buffer);
+    }
+  }
+
+  static final class Tracker {
+    private final boolean stacks;
+    final AtomicLong liveEngines = new AtomicLong();
+    // By identity, a buffer's equals compares its contents
+    final Map<ByteBuffer, Allocation> liveBuffers =
+        Collections.synchronizedMap(new IdentityHashMap<>());
+
+    Tracker(boolean stacks) {
+      this.stacks = stacks;
+    }
+
+    void received(ByteBuffer buffer, long engine) {
+      Throwable site = stacks ? new Throwable("Native buffer allocated here") : null;
+      liveBuffers.put(buffer, new Allocation(engine, buffer.capacity(), site));
+    }
+
+    long liveBufferBytes() {
+      synchronized (liveBuffers) {
+        long bytes = 0;
+        for (Allocation allocation : liveBuffers.values()) {
+          bytes += allocation.bytes;
+        }
+        return bytes;
+      }
+    }
+
+    List<Throwable> liveBufferAllocationSites() {
+      List<Throwable> sites = new ArrayList<>();
+      synchronized (liveBuffers) {
+        for (Allocation allocation : liveBuffers.values()) {
+          if (allocation.site != null) {
+            sites.add(allocation.site);
+          }
+        }
+      }
+      return sites;
+    }
+
+    /** Counts the engine as freed and logs the buffers it returned that are still live. */
+    List<Allocation> engineFreed(long engine) {
+      liveEngines.decrementAndGet();
+      List<Allocation> leaked = new ArrayList<>();
+      synchronized (liveBuffers) {
+        for (Allocation allocation : liveBuffers.values()) {
+          if (allocation.engine == engine) {
+            leaked.add(allocation);
+          }
+        }
+      }
+      if (leaked.isEmpty()) {
+        return leaked;
+      }
+      long bytes = leaked.stream().mapToLong(allocation -> allocation.bytes).sum();
+      LOGGER.warn(
+          "A native engine was freed with {} buffers ({} bytes) it returned never freed",
+          leaked.size(),
+          bytes);
+      for (Allocation allocation : leaked) {
+        if (allocation.site != null) {
+          LOGGER.warn("Buffer of {} bytes never freed", allocation.bytes, allocation.site);
+        }
+      }
+      return leaked;
+    }
+  }
+
+  static final class Allocation {
+    final long engine;
+    final long bytes;
+    final Throwable site;
+
+    Allocation(long engine, long bytes, Throwable site) {
+      this.engine = engine;
+      this.bytes = bytes;
+      this.site = site;
+    }
+  }
+}
@@ -1,10 +1,35 @@
 package io.getunleash.engine;
 
-/** Represents a payload for a variant definition. */
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Represents a payload for a variant definition. Payloads returned by the engine are shared between
+ * every evaluation of the same state and can't be changed.
+ */
 public class Payload {
+  private static final Function<String, Long> LONG = value -> Long.parseLong(value.trim());
+  private static final Function<String, Double> DOUBLE = value -> Double.parseDouble(value.trim());
+  private static final Function<String, List<String>> CSV = Payload::parseCsv;
 
   private String type;
   private String value;
+  private final boolean shared;
+  // What the parser used last made of a shared payload. Only one is kept, so parsers created for
+  // every call replace each other instead of piling up
+  private volatile Parsed parsed;
+
+  public Payload() {
+    this.shared = false;
+  }
+
+  Payload(String type, String value) {
+    this.type = type;
+    this.value = value;
+    this.shared = true;
+  }
 
   public String getType() {
     return type;
@@ -15,10 +40,90 @@ public class Payload {
   }
 
   public void setType(String newType) {
+    checkNotShared();
     type = newType;
   }
 
   public void setValue(String newValue) {
+    checkNotShared();
     value = newValue;
   }
+
+  /**
+   * The value parsed as a whole number, as in payloads of type {@code number}.
+   *
+   * @throws NumberFormatException if the value isn't a whole number
+   */
+  public long getValueAsLong() {
+    return getValueAs(LONG);
+  }
+
+  /**
+   * The value parsed as a decimal number.
+   *
+   * @throws NumberFormatException if the value isn't a number
+   */
+  public double getValueAsDouble() {
+    return getValueAs(DOUBLE);
+  }
+
+  /** The comma separated entries of the value, as in payloads of type {@code csv}, trimmed. */
+  public List<String> getValueAsCsv() {
+    return getValueAs(CSV);
+  }
+
+  /**
+   * The value parsed with the given parser, for example a JSON library for payloads of type {@code
+   * json}. For payloads returned by the engine the result of the parser used last is kept, so a
+   * payload read the same way every time is only parsed once until the engine takes a new state.
+   * Results are shared between threads, so the parser should return something immutable, and use
+   * the same parser instance every time.
+   *
+   * @param parser Turns the value into the type the caller wants.
+   * @return What the parser made of the value, or null if there is no value.
+   */
+  public <T> T getValueAs(Function<String, ? extends T> parser) {
+    if (value == null) {
+      return null;
+    }
+    if (!shared) {
+      return parser.apply(value);
+    }
+    Parsed last = parsed;
+    if (last == null || last.parser != parser) {
+      last = new Parsed(parser, parser.apply(value));
+      parsed = last;
+    }
+    // Only ever made by this parser, which returns a T
+    @SuppressWarnings("unchecked")
+    T typed = (T) last.value;
+    return typed;
+  }
+
+  private static List<String> parseCsv(String value) {
+    List<String> entries = new ArrayList<>();
+    for (String entry : value.split(",", -1)) {
+      String trimmed = entry.trim();
+      if (!trimmed.isEmpty()) {
+        entries.add(trimmed);
+      }
+    }
+    return Collections.unmodifiableList(entries);
+  }
+
+  private static final class Parsed {
+    final Function<String, ?> parser;
+    final Object value;
+
+    Parsed(Function<String, ?> parser, Object value) {
+      this.parser = parser;
+      this.value = value;
+    }
+  }
+
+  private void checkNotShared() {
+    if (shared) {
+      throw new UnsupportedOperationException("Payloads returned by the engine can't be changed");
+    }
+  }
 }
@@ -0,0 +1,40 @@
+package io.getunleash.engine;
+
+import io.getunleash.yggdrasil.messaging.TakeStateResponse;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The engine's property key dictionary as of one state generation. Context properties the state
+ * refers to are sent to the engine as their id in this dictionary instead of their name. Ids never
+ * change for the lifetime of an engine, so messages built with the dictionary of an older state are
+ * still understood after the engine takes a new one.
+ */
+final class PropertyKeys {
+  static final PropertyKeys EMPTY = new PropertyKeys(Collections.emptyMap());
+
+  private final Map<String, Integer> ids;
+
+  private PropertyKeys(Map<String, Integer> ids) {
+    this.ids = ids;
+  }
+
+  static PropertyKeys from(TakeStateResponse response) {
+    int count = response.propertyKeysLength();
+    if (count == 0) {
+      return EMPTY;
+    }
+    Map<String, Integer> ids = new HashMap<>(count * 2);
+    for (int i = 0; i < count; i++) {
+      ids.put(response.propertyKeys(i), i);
+    }
+    return new PropertyKeys(ids);
+  }
+
+  /** The id of the given property name, or -1 if it has none and has to be sent as a string. */
+  int idOf(String name) {
+    Integer id = ids.get(name);
+    return id != null ? id : -1;
+  }
+}
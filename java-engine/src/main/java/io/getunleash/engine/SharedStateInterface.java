@@ -0,0 +1,247 @@
+package io.getunleash.engine;
+
+import com.google.flatbuffers.FlatBufferBuilder;
+import io.getunleash.yggdrasil.messaging.BulkResponse;
+import io.getunleash.yggdrasil.messaging.EngineStatsResponse;
+import io.getunleash.yggdrasil.messaging.FeatureDefs;
+import io.getunleash.yggdrasil.messaging.MetricsResponse;
+import io.getunleash.yggdrasil.messaging.Response;
+import io.getunleash.yggdrasil.messaging.TakeStateResponse;
+import io.getunleash.yggdrasil.messaging.Variant;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * The native interface of an engine from an {@link UnleashEngineRegistry}. Calls go to the native
+ * engine of the shared state the engine currently has. That native engine doesn't count
+ * evaluations, it answers those of every engine sharing it, so the engine counts its own.
+ *
+ * <p>Calls hold a reference to this interface's lease of the state rather than to the shared state,
+ * so engines sharing a state don't all contend on one counter. Moving to another state ends the
+ * lease of the previous one, and whichever of the lease and the calls still in it lets go last lets
+ * go of the state.
+ */
+final class SharedStateInterface implements NativeInterface {
+  private final UnleashEngineRegistry registry;
+  private volatile Lease lease;
+  private volatile long windowStart = System.currentTimeMillis();
+  private volatile EvaluationTimings timings;
+  private volatile boolean strategyConstraints;
+
+  SharedStateInterface(UnleashEngineRegistry registry) {
+    this.registry = registry;
+    this.lease = new Lease(registry.share(UnleashEngineRegistry.StateKey.EMPTY));
+  }
+
+  @Override
+  public synchronized void freeEngine() {
+    Lease last = lease;
+    if (!last.ended) {
+      last.end();
+    }
+  }
+
+  @Override
+  public TakeStateResponse takeState(String toggles) {
+    return take(
+        UnleashEngineRegistry.StateKey.ofJson(toggles, strategyConstraints),
+        engine -> engine.takeState(toggles));
+  }
+
+  @Override
+  public TakeStateResponse loadSnapshot(ByteBuffer snapshot) {
+    return take(
+        UnleashEngineRegistry.StateKey.ofSnapshot(snapshot, strategyConstraints),
+        engine -> engine.loadSnapshot(snapshot));
+  }
+
+  private synchronized TakeStateResponse take(
+      UnleashEngineRegistry.StateKey key, Function<NativeInterface, TakeStateResponse> take) {
+    Lease previous = lease;
+    if (previous.ended) {
+      throw new IllegalStateException("The engine has been freed");
+    }
+    if (previous.state.key.equals(key)) {
+      return previous.state.take(take);
+    }
+    UnleashEngineRegistry.SharedState next = registry.share(key);
+    TakeStateResponse response;
+    try {
+      response = next.take(take);
+    } catch (RuntimeException e) {
+      registry.discard(next);
+      throw e;
+    }
+    if (response == null || response.error() != null) {
+      // Keeps the state it had, like a native engine that fails to take a state
+      registry.discard(next);
+      return response;
+    }
+    lease = new Lease(next);
+    previous.end();
+    return response;
+  }
+
+  // The current lease, with a reference held for the call. A lease that ended while the call read
+  // it is only retained if calls still in it keep its state alive, otherwise the call takes the
+  // lease that replaced it
+  private Lease enter() {
+    while (true) {
+      Lease current = lease;
+      if (!current.ended && current.retain()) {
+        return current;
+      }
+      // Only an engine moving to another state ends the lease it had
+      if (current == lease) {
+        throw new IllegalStateException("The engine has been freed");
+      }
+    }
+  }
+
+  private <T> T call(Function<NativeInterface, T> call) {
+    Lease current = enter();
+    try {
+      return call.apply(current.state.engine);
+    } finally {
+      current.release();
+    }
+  }
+
+  @Override
+  public String getState() {
+    return call(NativeInterface::getState);
+  }
+
+  @Override
+  public ByteBuffer getStateJson() {
+    return call(NativeInterface::getStateJson);
+  }
+
+  @Override
+  public Response checkEnabled(ByteBuffer contextMessage) {
+    EvaluationTimings timings = this.timings;
+    long start = timings != null ? System.nanoTime() : 0;
+    Lease current = enter();
+    Response response;
+    try {
+      response = current.state.engine.checkEnabled(contextMessage);
+    } finally {
+      current.release();
+    }
+    if (timings != null) {
+      timings.record(EvaluationTimings.Phase.NATIVE_CALL, start);
+    }
+    return response;
+  }
+
+  @Override
+  public BulkResponse checkEnabledBulk(ByteBuffer bulkContextMessage) {
+    Lease current = enter();
+    try {
+      return current.state.engine.checkEnabledBulk(bulkContextMessage);
+    } finally {
+      current.release();
+    }
+  }
+
+  @Override
+  public Variant checkVariant(ByteBuffer contextMessage) {
+    EvaluationTimings timings = this.timings;
+    long start = timings != null ? System.nanoTime() : 0;
+    Lease current = enter();
+    Variant variant;
+    try {
+      variant = current.state.engine.checkVariant(contextMessage);
+    } finally {
+      current.release();
+    }
+    if (timings != null) {
+      timings.record(EvaluationTimings.Phase.NATIVE_CALL, start);
+    }
+    return variant;
+  }
+
+  @Override
+  public MetricsResponse getMetrics() {
+    long start = windowStart;
+    long stop = System.currentTimeMillis();
+    windowStart = stop;
+    // The engine counts its own evaluations, there's nothing to ask the shared native engine for
+    return metricsResponse(start, stop);
+  }
+
+  private static MetricsResponse metricsResponse(long start, long stop) {
+    FlatBufferBuilder builder = new FlatBufferBuilder(64);
+    int response =
+        MetricsResponse.createMetricsResponse(
+            builder, start, stop, MetricsResponse.createTogglesVector(builder, new int[0]));
+    builder.finish(response);
+    return MetricsResponse.getRootAsMetricsResponse(builder.dataBuffer());
+  }
+
+  @Override
+  public EngineStatsResponse getEngineStats() {
+    return call(NativeInterface::getEngineStats);
+  }
+
+  @Override
+  public ByteBuffer saveSnapshot() {
+    return call(NativeInterface::saveSnapshot);
+  }
+
+  @Override
+  public FeatureDefs listKnownToggles() {
+    return call(NativeInterface::listKnownToggles);
+  }
+
+  @Override
+  public void setEvaluationTimings(EvaluationTimings timings) {
+    this.timings = timings;
+  }
+
+  @Override
+  public void setStrategyConstraints(boolean included) {
+    this.strategyConstraints = included;
+  }
+
+  @Override
+  public boolean isDedicated() {
+    return false;
+  }
+
+  // One state as this interface has it. It holds one reference while it's the interface's lease
+  // and every call in it holds one more, the last one to let go lets go of the state
+  private static final class Lease {
+    final UnleashEngineRegistry.SharedState state;
+    private final AtomicInteger references = new AtomicInteger(1);
+    volatile boolean ended;
+
+    Lease(UnleashEngineRegistry.SharedState state) {
+      this.state = state;
+    }
+
+    // Adds a reference, unless the state has already been let go of
+    boolean retain() {
+      int count;
+      do {
+        count = references.get();
+        if (count == 0) {
+          return false;
+        }
+      } while (!references.compareAndSet(count, count + 1));
+      return true;
+    }
+
+    void release() {
+      if (references.decrementAndGet() == 0) {
+        state.release();
+      }
+    }
+
+    void end() {
+      ended = true;
+      release();
+    }
+  }
+}
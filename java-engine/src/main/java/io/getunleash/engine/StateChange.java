@@ -0,0 +1,92 @@
+package io.getunleash.engine;
+
+import io.getunleash.yggdrasil.messaging.TakeStateResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * The toggles a new state added, removed or changed, as worked out by the native engine when it
+ * took the state. A toggle also counts as changed when a segment it uses or a toggle it depends on
+ * changed, since either can change what it evaluates to.
+ */
+public final class StateChange {
+  private final long generation;
+  private final List<String> added;
+  private final List<String> removed;
+  private final List<String> changed;
+
+  private StateChange(
+      long generation, List<String> added, List<String> removed, List<String> changed) {
+    this.generation = generation;
+    this.added = Collections.unmodifiableList(added);
+    this.removed = Collections.unmodifiableList(removed);
+    this.changed = Collections.unmodifiableList(changed);
+  }
+
+  /** The change the engine reported, or null if it didn't report one. */
+  static StateChange from(TakeStateResponse response) {
+    if (response.stateGeneration() == 0) {
+      return null;
+    }
+    return new StateChange(
+        response.stateGeneration(),
+        names(response.addedLength(), response::added),
+        names(response.removedLength(), response::removed),
+        names(response.changedLength(), response::changed));
+  }
+
+  private static List<String> names(int length, IntFunction<String> name) {
+    List<String> names = new ArrayList<>(length);
+    for (int i = 0; i < length; i++) {
+      names.add(name.apply(i));
+    }
+    return names;
+  }
+
+  /** Only the part of the change about the given toggles. */
+  StateChange narrowedTo(Set<String> toggles) {
+    return new StateChange(
+        generation, only(added, toggles), only(removed, toggles), only(changed, toggles));
+  }
+
+  private static List<String> only(List<String> names, Set<String> toggles) {
+    List<String> kept = new ArrayList<>();
+    for (String name : names) {
+      if (toggles.contains(name)) {
+        kept.add(name);
+      }
+    }
+    return kept;
+  }
+
+  /**
+   * Goes up by one with every state the engine takes, so listeners can tell whether they missed
+   * one.
+   */
+  public long getGeneration() {
+    return generation;
+  }
+
+  /** The toggles that weren't in the previous state, sorted by name. */
+  public List<String> getAdded() {
+    return added;
+  }
+
+  /** The toggles that are gone from the new state, sorted by name. */
+  public List<String> getRemoved() {
+    return removed;
+  }
+
+  /** The toggles that are in both states but may evaluate differently now, sorted by name. */
+  public List<String> getChanged() {
+    return changed;
+  }
+
+  /** Whether the new state left every toggle as it was. */
+  public boolean isEmpty() {
+    return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+  }
+}
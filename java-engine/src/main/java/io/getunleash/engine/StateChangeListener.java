@@ -0,0 +1,10 @@
+package io.getunleash.engine;
+
+/**
+ * Told which toggles changed whenever the engine takes a state. Listeners are called on the thread
+ * that took the state, after the engine answers with the new state.
+ */
+@FunctionalInterface
+public interface StateChangeListener {
+  void onStateChange(StateChange change);
+}
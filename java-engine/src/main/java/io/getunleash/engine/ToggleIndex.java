@@ -0,0 +1,91 @@
+package io.getunleash.engine;
+
+import io.getunleash.yggdrasil.messaging.FeatureDefs;
+import io.getunleash.yggdrasil.messaging.StrategyFeature;
+import io.getunleash.yggdrasil.messaging.TakeStateResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What the engine knows about the toggles of one state, built once when the engine takes the state
+ * so listing and looking up toggles doesn't have to ask the native engine every time.
+ */
+final class ToggleIndex {
+  private final List<FeatureDef> toggles;
+  private final Map<String, FeatureDef> byName;
+  private final Map<String, List<FeatureDef>> byProject;
+  private final Map<String, List<FeatureDef>> byType;
+
+  private ToggleIndex(List<FeatureDef> toggles) {
+    this.toggles = Collections.unmodifiableList(toggles);
+    this.byName = new HashMap<>(toggles.size() * 2);
+    Map<String, List<FeatureDef>> byProject = new HashMap<>();
+    Map<String, List<FeatureDef>> byType = new HashMap<>();
+    for (FeatureDef toggle : toggles) {
+      byName.put(toggle.getName(), toggle);
+      byProject.computeIfAbsent(toggle.getProject(), p -> new ArrayList<>()).add(toggle);
+      toggle
+          .getType()
+          .ifPresent(type -> byType.computeIfAbsent(type, t -> new ArrayList<>()).add(toggle));
+    }
+    this.byProject = unmodifiable(byProject);
+    this.byType = unmodifiable(byType);
+  }
+
+  static ToggleIndex from(TakeStateResponse response) {
+    List<FeatureDef> toggles = new ArrayList<>(response.featuresLength());
+    for (int i = 0; i < response.featuresLength(); i++) {
+      StrategyFeature feature = response.features(i);
+      List<String> strategies = new ArrayList<>(feature.strategiesLength());
+      for (int j = 0; j < feature.strategiesLength(); j++) {
+        strategies.add(feature.strategies(j).name());
+      }
+      toggles.add(
+          new FeatureDef(
+              feature.featureName(),
+              feature.featureType(),
+              feature.project(),
+              feature.enabled(),
+              feature.impressionData(),
+              Collections.unmodifiableList(strategies)));
+    }
+    return new ToggleIndex(toggles);
+  }
+
+  /**
+   * An index of what the native engine lists, which doesn't include impression data or strategies.
+   */
+  static ToggleIndex from(FeatureDefs knownToggles) {
+    List<FeatureDef> toggles = new ArrayList<>(knownToggles.itemsLength());
+    for (int i = 0; i < knownToggles.itemsLength(); i++) {
+      var feature = knownToggles.items(i);
+      toggles.add(
+          new FeatureDef(feature.name(), feature.type(), feature.project(), feature.enabled()));
+    }
+    return new ToggleIndex(toggles);
+  }
+
+  List<FeatureDef> all() {
+    return toggles;
+  }
+
+  FeatureDef get(String name) {
+    return byName.get(name);
+  }
+
+  List<FeatureDef> inProject(String project) {
+    return byProject.getOrDefault(project, Collections.emptyList());
+  }
+
+  List<FeatureDef> ofType(String type) {
+    return byType.getOrDefault(type, Collections.emptyList());
+  }
+
+  private static Map<String, List<FeatureDef>> unmodifiable(Map<String, List<FeatureDef>> groups) {
+    groups.replaceAll((key, group) -> Collections.unmodifiableList(group));
+    return groups;
+  }
+}
@@ -0,0 +1,208 @@
+package io.getunleash.engine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records a sample of the evaluations engines hand to the native engine into an append-only log, to
+ * replay them offline against a snapshot of the same state ({@code TrafficReplayBenchmark} does).
+ * What's recorded is the context message the native engine got, which carries the toggle name, the
+ * context and the results of custom strategies. Toggles answered in Java aren't recorded.
+ *
+ * <p>The log stops growing once it reaches its size limit, later evaluations aren't recorded. One
+ * recorder can be shared by several engines.
+ *
+ * <p>The log is a header of {@link #MAGIC} and {@link #VERSION}, followed by one record per
+ * evaluation: the kind of evaluation as a byte ({@link #IS_ENABLED} or {@link #GET_VARIANT}), the
+ * length of the message as an int and the message itself, all little endian.
+ */
+public final class TrafficRecorder implements Closeable {
+  private static final Logger LOGGER = LoggerFactory.getLogger(TrafficRecorder.class);
+  static final int MAGIC = 0x544c4e55; // "UNLT"
+  static final int VERSION = 1;
+  static final byte IS_ENABLED = 0;
+  static final byte GET_VARIANT = 1;
+  private static final int HEADER_BYTES = 8;
+  private static final int RECORD_HEADER_BYTES = 5;
+  // Records are collected here and written out when it's full, so a record is rarely a write
+  private static final int BUFFER_BYTES = 64 * 1024;
+
+  private final FileChannel channel;
+  private final long maxBytes;
+  private final int sampling;
+  // Guarded by this
+  private final ByteBuffer buffer =
+      ByteBuffer.allocate(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+  private long bytes = HEADER_BYTES;
+  private long records;
+  private volatile boolean stopped;
+
+  private TrafficRecorder(FileChannel channel, long maxBytes, int sampling) {
+    this.channel = channel;
+    this.maxBytes = maxBytes;
+    this.sampling = sampling;
+  }
+
+  /**
+   * Starts a new log, replacing the file if there is one.
+   *
+   * @param path Where the log goes.
+   * @param maxBytes The size the log is allowed to grow to, header included.
+   * @param sampling Record one in every this many evaluations, 1 to record all of them.
+   * @return The recorder, to hand to {@link UnleashEngine#recordTraffic(TrafficRecorder)}.
+   * @throws IOException If the file couldn't be created.
+   */
+  public static TrafficRecorder open(Path path, long maxBytes, int sampling) throws IOException {
+    if (sampling < 1) {
+      throw new IllegalArgumentException("sampling must be at least 1: " + sampling);
+    }
+    if (maxBytes < HEADER_BYTES) {
+      throw new IllegalArgumentException("maxBytes can't hold the header: " + maxBytes);
+    }
+    FileChannel channel =
+        FileChannel.open(
+            path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+    TrafficRecorder recorder = new TrafficRecorder(channel, maxBytes, sampling);
+    synchronized (recorder) {
+      recorder.buffer.putInt(MAGIC).putInt(VERSION);
+    }
+    return recorder;
+  }
+
+  /** Whether the next evaluation should be recorded. */
+  boolean sample() {
+    return !stopped && (sampling == 1 || ThreadLocalRandom.current().nextInt(sampling) == 0);
+  }
+
+  /** Appends an evaluation to the log, unless that would grow it past its size limit. */
+  synchronized void record(byte kind, ByteBuffer message) {
+    if (stopped) {
+      return;
+    }
+    int length = message.remaining();
+    if (bytes + RECORD_HEADER_BYTES + length > maxBytes) {
+      stopped = true;
+      return;
+    }
+    try {
+      if (buffer.remaining() < RECORD_HEADER_BYTES + length) {
+        flush();
+      }
+      ByteBuffer target = buffer;
+      if (target.remaining() < RECORD_HEADER_BYTES + length) {
+        // Too big to collect, goes out on its own
+        target = ByteBuffer.allocate(RECORD_HEADER_BYTES + length).order(ByteOrder.LITTLE_ENDIAN);
+      }
+      target.put(kind).putInt(length).put(message.duplicate());
+      if (target != buffer) {
+        target.flip();
+        write(target);
+      }
+      bytes += RECORD_HEADER_BYTES + length;
+      records++;
+    } catch (IOException e) {
+      LOGGER.warn("Could not record traffic, stopped recording: {}", e.getMessage(), e);
+      stopped = true;
+    }
+  }
+
+  private void flush() throws IOException {
+    buffer.flip();
+    write(buffer);
+    buffer.clear();
+  }
+
+  private void write(ByteBuffer source) throws IOException {
+    while (source.hasRemaining()) {
+      channel.write(source);
+    }
+  }
+
+  /** Evaluations recorded so far. */
+  public synchronized long getRecords() {
+    return records;
+  }
+
+  /** Size of the log so far, header included. */
+  public synchronized long getBytes() {
+    return bytes;
+  }
+
+  /** Whether the log reached its size limit, or couldn't be written, and records nothing more. */
+  public boolean isStopped() {
+    return stopped;
+  }
+
+  /** Writes out what's recorded and closes the log. Engines still using it record nothing more. */
+  @Override
+  public synchronized void close() throws IOException {
+    if (!channel.isOpen()) {
+      return;
+    }
+    stopped = true;
+    try {
+      flush();
+      channel.force(false);
+    } finally {
+      channel.close();
+    }
+  }
+
+  /** One recorded evaluation. */
+  static final class Entry {
+    final byte kind;
+    // A direct buffer, like the messages the engine sends
+    final ByteBuffer message;
+
+    Entry(byte kind, ByteBuffer message) {
+      this.kind = kind;
+      this.message = message;
+    }
+  }
+
+  /** Reads back every evaluation of a log. */
+  static List<Entry> read(Path path) throws IOException {
+    ByteBuffer log;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      log = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    log.order(ByteOrder.LITTLE_ENDIAN);
+    if (log.remaining() < HEADER_BYTES || log.getInt() != MAGIC) {
+      throw new IOException("Not a traffic log: " + path);
+    }
+    int version = log.getInt();
+    if (version != VERSION) {
+      throw new IOException("Unsupported traffic log version " + version + ": " + path);
+    }
+    List<Entry> entries = new ArrayList<>();
+    while (log.remaining() >= RECORD_HEADER_BYTES) {
+      byte kind = log.get();
+      int length = log.getInt();
+      if (length < 0 || length > log.remaining()) {
+        // Cut off while it was written
+        break;
+      }
+      ByteBuffer message = ByteBuffer.allocateDirect(length).order(ByteOrder.LITTLE_ENDIAN);
+      ByteBuffer slice = log.slice();
+      slice.limit(length);
+      message.put(slice).flip();
+      log.position(log.position() + length);
+      entries.add(new Entry(kind, message));
+    }
+    return Collections.unmodifiableList(entries);
+  }
+}
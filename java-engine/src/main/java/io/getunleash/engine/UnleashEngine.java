@@ -2,13 +2,26 @@ package io.getunleash.engine;
 
 import com.google.flatbuffers.FlatBufferBuilder;
 import io.getunleash.yggdrasil.messaging.*;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.ref.Cleaner;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,14 +29,48 @@ import org.slf4j.LoggerFactory;
 public class UnleashEngine {
   private static final Logger LOGGER = LoggerFactory.getLogger(UnleashEngine.class);
   private static final Cleaner CLEANER = Cleaner.create();
+  // Values of TypedPropertyEntry.kind
+  private static final int TYPED_WHOLE_NUMBER = 0;
+  private static final int TYPED_DECIMAL = 1;
+  private static final int TYPED_TIMESTAMP = 2;
+  // writeState hands the JSON over in pieces of this size, so streams can flush as they go
+  private static final int STATE_CHUNK_SIZE = 64 * 1024;
   private final NativeInterface nativeEngine;
   private final CustomStrategiesEvaluator customStrategiesEvaluator;
+  // The snapshot file the current state came from, null when it came from somewhere else
+  private volatile LoadedSnapshot loadedSnapshot;
+  // Toggles of the current state that are answered without calling the native engine
+  private volatile ConstantToggles constantToggles = ConstantToggles.EMPTY;
+  private volatile JavaEvaluator javaEvaluator = JavaEvaluator.EMPTY;
+  private volatile PropertyKeys propertyKeys = PropertyKeys.EMPTY;
+  private volatile ContextUsageTable contextUsage = ContextUsageTable.EMPTY;
+  private volatile VariantTable variantTable = VariantTable.EMPTY;
+  // Null until a state is taken, or when we don't know what the engine ended up with
+  private volatile ToggleIndex toggleIndex;
+  // The response of the state taken last, only kept for engines sharing their state
+  private volatile TakeStateResponse sharedStateResponse;
+  private final List<StateChangeSubscription> stateChangeListeners = new CopyOnWriteArrayList<>();
+  // Goes up every time the engine takes a state, serialised states of older versions are stale
+  private final AtomicLong stateVersion = new AtomicLong();
+  private volatile SerialisedState serialisedState;
+  private final boolean javaEvaluation;
+  // Null unless evaluations are timed
+  private final EvaluationTimings timings;
+  // Null unless evaluations are traced
+  private volatile TraceSubscription tracing;
+  // Null unless evaluations are recorded
+  private volatile TrafficRecorder recorder;
+  // Null unless impression events are published
+  private volatile ImpressionPipeline impressions;
+  private final LocalMetrics localMetrics = new LocalMetrics();
+  // Start of the current metrics window as far as the toggles answered in Java are concerned
+  private volatile Instant localWindowStart = Instant.now();
 
   /*
    * Default constructor for UnleashEngine. Used when no custom strategies are needed.
    */
   public UnleashEngine() {
-    this(new FlatInterface(), null, null);
+    this(NativeInterfaces.create(), null, null);
   }
 
   /*
@@ -32,7 +79,7 @@ public class UnleashEngine {
    * @param customStrategies List of custom strategies to be used.
    */
   public UnleashEngine(List<IStrategy> customStrategies) {
-    this(new FlatInterface(), customStrategies, null);
+    this(NativeInterfaces.create(), customStrategies, null);
   }
 
   /*
@@ -42,7 +89,7 @@ public class UnleashEngine {
    * @param fallbackStrategy Fallback strategy to be used when no other strategy matches.
    */
   public UnleashEngine(List<IStrategy> customStrategies, IStrategy fallbackStrategy) {
-    this(new FlatInterface(), customStrategies, fallbackStrategy);
+    this(NativeInterfaces.create(), customStrategies, fallbackStrategy);
   }
 
   // Only visible for testing
@@ -50,7 +97,32 @@ public class UnleashEngine {
       NativeInterface nativeInterface,
       List<IStrategy> customStrategies,
       IStrategy fallbackStrategy) {
+    this(
+        nativeInterface,
+        customStrategies,
+        fallbackStrategy,
+        Boolean.getBoolean(JavaEvaluator.JAVA_EVALUATOR_PROPERTY));
+  }
+
+  // Only visible for testing
+  UnleashEngine(
+      NativeInterface nativeInterface,
+      List<IStrategy> customStrategies,
+      IStrategy fallbackStrategy,
+      boolean javaEvaluation) {
     this.nativeEngine = nativeInterface;
+    this.javaEvaluation = javaEvaluation;
+    this.timings =
+        Boolean.getBoolean(EvaluationTimings.TIMINGS_PROPERTY) ? new EvaluationTimings() : null;
+    if (this.timings != null) {
+      nativeInterface.setEvaluationTimings(this.timings);
+    }
+    if (Boolean.getBoolean(EngineStats.CALL_STATS_PROPERTY)) {
+      nativeInterface.setCallStats(true);
+    }
+    if (javaEvaluation) {
+      nativeInterface.setStrategyConstraints(true);
+    }
     if (customStrategies != null && !customStrategies.isEmpty()) {
       List<String> builtInStrategies = getBuiltInStrategies();
       this.customStrategiesEvaluator =
@@ -76,19 +148,95 @@ public class UnleashEngine {
     return hostname;
   }
 
-  private static int[] buildProperties(FlatBufferBuilder builder, Map<String, String> properties) {
-    List<Map.Entry<String, String>> entries = new ArrayList<>(properties.entrySet());
-    List<Integer> offsets = new ArrayList<>();
-    for (Map.Entry<String, String> entry : entries) {
-      if (entry.getValue() == null) {
+  /** Offsets of the properties of a context, 0 where there are none of that kind. */
+  private static final class PropertyOffsets {
+    int named;
+    int keyIds;
+    int keyValues;
+  }
+
+  // Properties in the engine's property key dictionary are sent as their id, the rest by name.
+  // Only the properties the toggle reads are sent at all.
+  private static PropertyOffsets buildProperties(
+      FlatBufferBuilder builder,
+      Map<String, String> properties,
+      PropertyKeys propertyKeys,
+      ContextUsage usage) {
+    PropertyOffsets offsets = new PropertyOffsets();
+    if (properties == null || properties.isEmpty()) {
+      return offsets;
+    }
+    Collection<String> names =
+        usage.readsWholeContext() ? properties.keySet() : usage.getProperties();
+    List<Integer> named = new ArrayList<>();
+    int[] keyIds = new int[properties.size()];
+    int[] keyValues = new int[properties.size()];
+    int identified = 0;
+    for (String name : names) {
+      String value = properties.get(name);
+      if (value == null) {
         continue;
       }
+      int id = propertyKeys.idOf(name);
+      if (id >= 0) {
+        keyIds[identified] = id;
+        keyValues[identified] = builder.createString(value);
+        identified++;
+      } else {
+        int keyOffset = builder.createString(name);
+        int valueOffset = builder.createString(value);
+        named.add(PropertyEntry.createPropertyEntry(builder, keyOffset, valueOffset));
+      }
+    }
+    if (!named.isEmpty()) {
+      offsets.named =
+          ContextMessage.createPropertiesVector(
+              builder, named.stream().mapToInt(Integer::intValue).toArray());
+    }
+    if (identified > 0) {
+      offsets.keyIds =
+          ContextMessage.createPropertyKeyIdsVector(builder, Arrays.copyOf(keyIds, identified));
+      offsets.keyValues =
+          ContextMessage.createPropertyKeyValuesVector(
+              builder, Arrays.copyOf(keyValues, identified));
+    }
+    return offsets;
+  }
+
+  // Typed properties are always sent by name, there are few of them
+  private static int buildTypedProperties(
+      FlatBufferBuilder builder, Map<String, Object> properties, ContextUsage usage) {
+    if (properties.isEmpty()) {
+      return 0;
+    }
+    int[] offsets = new int[properties.size()];
+    int count = 0;
+    for (Map.Entry<String, Object> entry : properties.entrySet()) {
+      if (!usage.readsWholeContext() && !usage.getProperties().contains(entry.getKey())) {
+        continue;
+      }
+      Object value = entry.getValue();
+      int kind;
+      long longValue = 0;
+      double doubleValue = 0;
+      if (value instanceof Instant) {
+        kind = TYPED_TIMESTAMP;
+        longValue = ((Instant) value).toEpochMilli();
+      } else if (value instanceof Double) {
+        kind = TYPED_DECIMAL;
+        doubleValue = (Double) value;
+      } else {
+        kind = TYPED_WHOLE_NUMBER;
+        longValue = ((Number) value).longValue();
+      }
       int keyOffset = builder.createString(entry.getKey());
-      int valueOffset = builder.createString(entry.getValue());
-      int propOffset = PropertyEntry.createPropertyEntry(builder, keyOffset, valueOffset);
-      offsets.add(propOffset);
+      offsets[count++] =
+          TypedPropertyEntry.createTypedPropertyEntry(
+              builder, keyOffset, kind, longValue, doubleValue);
     }
-    return offsets.stream().mapToInt(Integer::intValue).toArray();
+    return count > 0
+        ? ContextMessage.createTypedPropertiesVector(builder, Arrays.copyOf(offsets, count))
+        : 0;
   }
 
   private static int[] buildCustomStrategyResults(
@@ -108,35 +256,66 @@ public class UnleashEngine {
   }
 
   private static ByteBuffer buildMessage(
-      String toggleName, Context context, Map<String, Boolean> customStrategyResults) {
+      String toggleName,
+      Context context,
+      Map<String, Boolean> customStrategyResults,
+      PropertyKeys propertyKeys,
+      ContextUsage usage,
+      long usageGeneration,
+      long variantGeneration,
+      boolean trace) {
     ByteBuffer buffer = ByteBuffer.allocateDirect(1024).order(ByteOrder.LITTLE_ENDIAN);
     FlatBufferBuilder builder = new FlatBufferBuilder(buffer);
 
     int toggleNameOffset = builder.createString(toggleName);
 
     if (context != null) {
+      // Fields the toggle doesn't read are left out of the message
       int userIdOffset =
-          context.getUserId() != null ? builder.createString(context.getUserId()) : 0;
+          usage.userId && context.getUserId() != null
+              ? builder.createString(context.getUserId())
+              : 0;
 
       int sessionIdOffset =
-          context.getSessionId() != null ? builder.createString(context.getSessionId()) : 0;
+          usage.sessionId && context.getSessionId() != null
+              ? builder.createString(context.getSessionId())
+              : 0;
 
       int appNameOffset =
-          context.getAppName() != null ? builder.createString(context.getAppName()) : 0;
+          usage.appName && context.getAppName() != null
+              ? builder.createString(context.getAppName())
+              : 0;
 
       int remoteAddressOffset =
-          context.getRemoteAddress() != null ? builder.createString(context.getRemoteAddress()) : 0;
+          usage.remoteAddress && context.getRemoteAddress() != null
+              ? builder.createString(context.getRemoteAddress())
+              : 0;
 
-      String currentTime =
-          context.getCurrentTime() != null
-              ? context.getCurrentTime()
-              : java.time.Instant.now().toString();
-      int currentTimeOffset = builder.createString(currentTime);
+      // The current time goes over as milliseconds unless the caller set a formatted one
+      int currentTimeOffset = 0;
+      boolean sendCurrentTimeMillis = false;
+      long currentTimeMillis = 0;
+      if (usage.currentTime) {
+        if (context.hasCurrentTimeMillis()) {
+          sendCurrentTimeMillis = true;
+          currentTimeMillis = context.getCurrentTimeMillis();
+        } else if (context.getCurrentTime() != null) {
+          currentTimeOffset = builder.createString(context.getCurrentTime());
+        } else {
+          sendCurrentTimeMillis = true;
+          currentTimeMillis = System.currentTimeMillis();
+        }
+      }
 
       int environmentOffset =
-          context.getEnvironment() != null ? builder.createString(context.getEnvironment()) : 0;
+          usage.environment && context.getEnvironment() != null
+              ? builder.createString(context.getEnvironment())
+              : 0;
 
-      int[] propertyOffsets = buildProperties(builder, context.getProperties());
+      PropertyOffsets properties =
+          buildProperties(builder, context.getProperties(), propertyKeys, usage);
+      int typedPropertiesOffset =
+          buildTypedProperties(builder, context.getTypedProperties(), usage);
       int[] customStrategyResultsOffsets =
           buildCustomStrategyResults(builder, customStrategyResults);
 
@@ -146,7 +325,6 @@ public class UnleashEngine {
               ? builder.createString(runtimeHostname)
               : builder.createString(getRuntimeHostname());
 
-      int propsVec = ContextMessage.createPropertiesVector(builder, propertyOffsets);
       int customStrategyResultsVec =
           ContextMessage.createCustomStrategiesResultsVector(builder, customStrategyResultsOffsets);
 
@@ -160,9 +338,20 @@ public class UnleashEngine {
       if (runtimeHostnameOffset != 0)
         ContextMessage.addRuntimeHostname(builder, runtimeHostnameOffset);
 
-      ContextMessage.addCurrentTime(builder, currentTimeOffset);
-      if (propertyOffsets.length > 0) {
-        ContextMessage.addProperties(builder, propsVec);
+      if (currentTimeOffset != 0) ContextMessage.addCurrentTime(builder, currentTimeOffset);
+      if (sendCurrentTimeMillis) {
+        ContextMessage.addCurrentTimeMs(builder, currentTimeMillis);
+        ContextMessage.addHasCurrentTimeMs(builder, true);
+      }
+      if (properties.named != 0) {
+        ContextMessage.addProperties(builder, properties.named);
+      }
+      if (properties.keyIds != 0) {
+        ContextMessage.addPropertyKeyIds(builder, properties.keyIds);
+        ContextMessage.addPropertyKeyValues(builder, properties.keyValues);
+      }
+      if (typedPropertiesOffset != 0) {
+        ContextMessage.addTypedProperties(builder, typedPropertiesOffset);
       }
 
       if (customStrategyResultsOffsets.length > 0) {
@@ -170,6 +359,16 @@ public class UnleashEngine {
       }
     }
     ContextMessage.addToggleName(builder, toggleNameOffset);
+    if (variantGeneration != 0) {
+      ContextMessage.addVariantGeneration(builder, variantGeneration);
+    }
+    // A trimmed context is only evaluated by the state it was trimmed for
+    if (usageGeneration != 0 && !usage.readsWholeContext()) {
+      ContextMessage.addUsageGeneration(builder, usageGeneration);
+    }
+    if (trace) {
+      ContextMessage.addTrace(builder, true);
+    }
 
     int ctx = ContextMessage.endContextMessage(builder);
     builder.finish(ctx);
@@ -183,15 +382,379 @@ public class UnleashEngine {
   }
 
   public void takeState(String clientFeatures) throws YggdrasilInvalidInputException {
+    tryTakeState(clientFeatures);
+  }
+
+  /**
+   * Takes the state like {@link #takeState(String)}, and tells whether the native engine accepted
+   * it. State the native engine rejects leaves it with the state it had.
+   *
+   * @return true if the engine now holds the state, false if it was rejected.
+   */
+  boolean tryTakeState(String clientFeatures) throws YggdrasilInvalidInputException {
     if (clientFeatures == null) {
-      return;
+      return false;
     }
+    TakeStateResponse takeStateResponse;
+    boolean changed;
+    Object event = EngineEvents.beginTakeState();
     try {
-      TakeStateResponse takeStateResponse = this.nativeEngine.takeState(clientFeatures);
-      customStrategiesEvaluator.loadStrategiesFor(takeStateResponse);
+      takeStateResponse = this.nativeEngine.takeState(clientFeatures);
+      changed = !isSharedStateAlreadyTaken(takeStateResponse);
+      if (changed) {
+        updateLocalEvaluation(takeStateResponse);
+        customStrategiesEvaluator.loadStrategiesFor(takeStateResponse);
+        this.loadedSnapshot = null;
+      }
     } catch (RuntimeException e) {
       throw new YggdrasilInvalidInputException("Failed to take state:", e);
     }
+    EngineEvents.commitTakeState(
+        event, "json", clientFeatures.length(), featureCount(takeStateResponse));
+    if (changed) {
+      notifyStateChange(takeStateResponse);
+    }
+    return takeStateResponse != null && takeStateResponse.error() == null;
+  }
+
+  // Engines from a registry get the very response they already have back when they take the state
+  // they already have, there's nothing to rebuild or report then
+  private boolean isSharedStateAlreadyTaken(TakeStateResponse takeStateResponse) {
+    if (this.nativeEngine.isDedicated()
+        || takeStateResponse == null
+        || takeStateResponse.error() != null) {
+      return false;
+    }
+    if (takeStateResponse == this.sharedStateResponse) {
+      return true;
+    }
+    this.sharedStateResponse = takeStateResponse;
+    return false;
+  }
+
+  /**
+   * Registers a listener that's told which toggles were added, removed or changed every time the
+   * engine takes a state, including states loaded from a snapshot.
+   *
+   * @param listener The listener to tell.
+   */
+  public void addStateChangeListener(StateChangeListener listener) {
+    addStateChangeListener(listener, null);
+  }
+
+  /**
+   * Registers a listener that's only told about changes to the given toggles, and not at all when a
+   * new state leaves all of them as they were.
+   *
+   * @param listener The listener to tell.
+   * @param watchedToggles The toggles the listener cares about, null for all of them.
+   */
+  public void addStateChangeListener(
+      StateChangeListener listener, Collection<String> watchedToggles) {
+    Objects.requireNonNull(listener, "listener");
+    Set<String> watched = watchedToggles != null ? new HashSet<>(watchedToggles) : null;
+    stateChangeListeners.add(new StateChangeSubscription(listener, watched));
+  }
+
+  /**
+   * Stops telling a listener about state changes.
+   *
+   * @param listener The listener, as it was registered.
+   */
+  public void removeStateChangeListener(StateChangeListener listener) {
+    stateChangeListeners.removeIf(subscription -> subscription.listener == listener);
+  }
+
+  /**
+   * Traces a sample of the evaluations that reach the native engine and hands the traces to the
+   * sink, replacing any sink set before. Toggles answered without the native engine, like toggles
+   * that are always on or off, aren't traced. Evaluations that aren't sampled work as if tracing
+   * was off.
+   *
+   * @param sink Where the traces go.
+   * @param sampling Trace one in every this many evaluations, 0 to only trace the given toggles.
+   * @param toggleNames Toggles whose every evaluation is traced, null for none.
+   */
+  public void traceEvaluations(
+      EvaluationTraceSink sink, int sampling, Collection<String> toggleNames) {
+    Objects.requireNonNull(sink, "sink");
+    if (sampling < 0) {
+      throw new IllegalArgumentException("sampling must not be negative: " + sampling);
+    }
+    Set<String> toggles = toggleNames != null ? new HashSet<>(toggleNames) : Collections.emptySet();
+    this.tracing = new TraceSubscription(sink, sampling, toggles);
+  }
+
+  /** Stops tracing evaluations. */
+  public void stopTracingEvaluations() {
+    this.tracing = null;
+  }
+
+  /**
+   * Records a sample of the evaluations this engine hands to the native engine, see {@link
+   * TrafficRecorder}. Replaces any recorder set before.
+   *
+   * @param recorder The recorder, closing it stops the recording too.
+   */
+  public void recordTraffic(TrafficRecorder recorder) {
+    this.recorder = Objects.requireNonNull(recorder, "recorder");
+  }
+
+  /** Stops recording evaluations, the recorder is left open. */
+  public void stopRecordingTraffic() {
+    this.recorder = null;
+  }
+
+  /**
+   * Publishes an {@link ImpressionEvent} into the pipeline for every evaluation of a toggle with
+   * impression data turned on, replacing any pipeline set before. The pipeline isn't closed with
+   * the engine, several engines can share one.
+   *
+   * @param pipeline The pipeline, null to stop publishing.
+   */
+  public void publishImpressions(ImpressionPipeline pipeline) {
+    this.impressions = pipeline;
+  }
+
+  private static final class TraceSubscription {
+    final EvaluationTraceSink sink;
+    final int sampling;
+    final Set<String> toggles;
+
+    TraceSubscription(EvaluationTraceSink sink, int sampling, Set<String> toggles) {
+      this.sink = sink;
+      this.sampling = sampling;
+      this.toggles = toggles;
+    }
+
+    boolean sample(String toggleName) {
+      return toggles.contains(toggleName)
+          || (sampling > 0 && ThreadLocalRandom.current().nextInt(sampling) == 0);
+    }
+
+    void emit(EvaluationTrace trace) {
+      try {
+        sink.onTrace(trace);
+      } catch (RuntimeException e) {
+        LOGGER.warn("Evaluation trace sink failed: {}", e.getMessage(), e);
+      }
+    }
+  }
+
+  private void notifyStateChange(TakeStateResponse takeStateResponse) {
+    if (stateChangeListeners.isEmpty()
+        || takeStateResponse == null
+        || takeStateResponse.error() != null) {
+      return;
+    }
+    StateChange change = StateChange.from(takeStateResponse);
+    if (change == null) {
+      return;
+    }
+    for (StateChangeSubscription subscription : stateChangeListeners) {
+      StateChange delivered = change;
+      if (subscription.watched != null) {
+        delivered = change.narrowedTo(subscription.watched);
+        if (delivered.isEmpty()) {
+          continue;
+        }
+      }
+      try {
+        subscription.listener.onStateChange(delivered);
+      } catch (RuntimeException e) {
+        LOGGER.warn("State change listener failed: {}", e.getMessage(), e);
+      }
+    }
+  }
+
+  private static final class StateChangeSubscription {
+    final StateChangeListener listener;
+    final Set<String> watched;
+
+    StateChangeSubscription(StateChangeListener listener, Set<String> watched) {
+      this.listener = listener;
+      this.watched = watched;
+    }
+  }
+
+  /**
+   * Writes the current state of the engine to a binary snapshot file. Loading the snapshot with
+   * {@link #loadSnapshot(Path)} skips JSON parsing entirely, which makes it a much faster warm
+   * start than keeping a backup of the JSON state around. The file is written to a temporary file
+   * next to the target and moved into place, so readers never observe a partial snapshot.
+   *
+   * @param path Where to write the snapshot.
+   * @throws IOException If the snapshot could not be produced or written.
+   */
+  public void saveSnapshot(Path path) throws IOException {
+    ByteBuffer snapshot = this.nativeEngine.saveSnapshot();
+    if (snapshot == null) {
+      throw new IOException("The engine could not produce a snapshot of its state");
+    }
+    Path target = path.toAbsolutePath();
+    Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+        while (snapshot.hasRemaining()) {
+          channel.write(snapshot);
+        }
+        channel.force(true);
+      }
+      Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /**
+   * Replaces the state of the engine with a snapshot written by {@link #saveSnapshot(Path)}. The
+   * file is memory mapped and read in place by the native engine. Snapshots are tied to the version
+   * of Yggdrasil that wrote them (see {@link #getCoreVersion()}), a snapshot from another version
+   * is rejected and the current state is kept.
+   *
+   * @param path The snapshot to load.
+   * @throws IOException If the file could not be read.
+   * @throws YggdrasilInvalidInputException If the file is not a snapshot this engine can load.
+   */
+  public void loadSnapshot(Path path) throws IOException, YggdrasilInvalidInputException {
+    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+    ByteBuffer snapshot = mapSnapshot(path);
+    loadSnapshot(path, snapshot, new LoadedSnapshot(path, attributes, snapshotHash(snapshot)));
+  }
+
+  /**
+   * Loads a snapshot written by {@link #saveSnapshot(Path)}, unless this engine already holds the
+   * exact state it contains. Meant for hosts running several processes with the same state: one
+   * process saves the snapshot to a shared location such as {@code /dev/shm}, the others poll it
+   * with this method. Polling a file the engine already loaded costs reading its attributes: since
+   * {@link #saveSnapshot(Path)} moves a new file into place, a snapshot that was saved again has a
+   * new file key or modification time. Only then is the file mapped, and its state hash decides
+   * whether the engine takes it.
+   *
+   * <p>Each process still builds its own copy of the state from the snapshot, only the file is
+   * shared.
+   *
+   * @param path The snapshot to load.
+   * @return true if the state was replaced, false if the snapshot held the current state.
+   * @throws IOException If the file could not be read.
+   * @throws YggdrasilInvalidInputException If the file is not a snapshot this engine can load.
+   */
+  public boolean loadSnapshotIfChanged(Path path)
+      throws IOException, YggdrasilInvalidInputException {
+    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+    LoadedSnapshot loaded = this.loadedSnapshot;
+    if (loaded != null && loaded.isSameFile(path, attributes)) {
+      return false;
+    }
+    ByteBuffer snapshot = mapSnapshot(path);
+    LoadedSnapshot file = new LoadedSnapshot(path, attributes, snapshotHash(snapshot));
+    if (loaded != null && file.stateHash != 0 && file.stateHash == loaded.stateHash) {
+      // Saved again with the same state, remember the new file so the next poll doesn't map it
+      this.loadedSnapshot = file;
+      return false;
+    }
+    loadSnapshot(path, snapshot, file);
+    return true;
+  }
+
+  private static ByteBuffer mapSnapshot(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+  }
+
+  private static final class LoadedSnapshot {
+    final Path path;
+    final long size;
+    final FileTime lastModified;
+    final Object fileKey;
+    final long stateHash;
+
+    LoadedSnapshot(Path path, BasicFileAttributes attributes, long stateHash) {
+      this.path = path.toAbsolutePath();
+      this.size = attributes.size();
+      this.lastModified = attributes.lastModifiedTime();
+      this.fileKey = attributes.fileKey();
+      this.stateHash = stateHash;
+    }
+
+    boolean isSameFile(Path path, BasicFileAttributes attributes) {
+      return this.path.equals(path.toAbsolutePath())
+          && size == attributes.size()
+          && lastModified.equals(attributes.lastModifiedTime())
+          && Objects.equals(fileKey, attributes.fileKey());
+    }
+  }
+
+  private static long snapshotHash(ByteBuffer snapshot) {
+    try {
+      return StateSnapshot.getRootAsStateSnapshot(snapshot.duplicate()).stateHash();
+    } catch (RuntimeException e) {
+      // Not something we can read a header from, let the engine reject it properly
+      return 0;
+    }
+  }
+
+  private void loadSnapshot(Path path, ByteBuffer snapshot, LoadedSnapshot file)
+      throws YggdrasilInvalidInputException {
+    Object event = EngineEvents.beginTakeState();
+    long size = snapshot.remaining();
+    TakeStateResponse takeStateResponse = this.nativeEngine.loadSnapshot(snapshot);
+    if (takeStateResponse == null) {
+      throw new YggdrasilInvalidInputException("Failed to load snapshot from " + path);
+    }
+    if (takeStateResponse.error() != null) {
+      throw new YggdrasilInvalidInputException(takeStateResponse.error());
+    }
+    boolean changed = !isSharedStateAlreadyTaken(takeStateResponse);
+    if (changed) {
+      updateLocalEvaluation(takeStateResponse);
+      customStrategiesEvaluator.loadStrategiesFor(takeStateResponse);
+      this.loadedSnapshot = file.stateHash != 0 ? file : null;
+    }
+    EngineEvents.commitTakeState(event, "snapshot", size, featureCount(takeStateResponse));
+    if (changed) {
+      notifyStateChange(takeStateResponse);
+    }
+  }
+
+  private static int featureCount(TakeStateResponse takeStateResponse) {
+    return takeStateResponse != null ? takeStateResponse.featuresLength() : -1;
+  }
+
+  private void updateLocalEvaluation(TakeStateResponse takeStateResponse) {
+    this.stateVersion.incrementAndGet();
+    if (takeStateResponse == null) {
+      // We don't know what the engine ended up with, so ask it about everything
+      this.constantToggles = ConstantToggles.EMPTY;
+      this.javaEvaluator = JavaEvaluator.EMPTY;
+      this.contextUsage = ContextUsageTable.EMPTY;
+      this.variantTable = VariantTable.EMPTY;
+      this.toggleIndex = null;
+    } else if (takeStateResponse.error() == null) {
+      this.toggleIndex = ToggleIndex.from(takeStateResponse);
+      this.contextUsage =
+          ContextUsageTable.from(takeStateResponse, this.nativeEngine.isDedicated());
+      if (this.nativeEngine.isDedicated()) {
+        this.propertyKeys = PropertyKeys.from(takeStateResponse);
+        this.variantTable = VariantTable.from(takeStateResponse);
+      }
+      this.constantToggles = ConstantToggles.from(takeStateResponse, localMetrics);
+      if (javaEvaluation) {
+        this.javaEvaluator = JavaEvaluator.compile(takeStateResponse, localMetrics);
+      }
+    }
+  }
+
+  /**
+   * Which parts of the context evaluating a toggle can read, as far as the engine can tell from the
+   * current state. Only those parts of a context are sent to the native engine.
+   *
+   * @param toggleName The name of the toggle.
+   * @return The context usage of the toggle, or null if the toggle is not known.
+   */
+  public ContextUsage getContextUsage(String toggleName) {
+    return toggleName != null ? this.contextUsage.get(toggleName) : null;
   }
 
   /**
@@ -204,18 +767,101 @@ public class UnleashEngine {
    */
   public FlatResponse<Boolean> isEnabled(String toggleName, Context context)
       throws YggdrasilInvalidInputException {
+    FlatResponse<Boolean> response = evaluateEnabled(toggleName, context);
+    ImpressionPipeline impressions = this.impressions;
+    if (impressions != null && response.impressionData && response.value != null) {
+      impressions.publish(new ImpressionEvent(toggleName, response.value, null, context));
+    }
+    return response;
+  }
+
+  private FlatResponse<Boolean> evaluateEnabled(String toggleName, Context context)
+      throws YggdrasilInvalidInputException {
     if (toggleName == null) {
       return new FlatResponse<>(false, false);
     }
+    ConstantToggles.Toggle constant = this.constantToggles.get(toggleName);
+    if (constant != null) {
+      return constant.isEnabled();
+    }
+    JavaEvaluator.Toggle compiled = this.javaEvaluator.get(toggleName);
+    if (compiled != null) {
+      return compiled.isEnabled(context);
+    }
+    EvaluationTimings timings = this.timings;
+    Object event = EngineEvents.beginEvaluation();
+    TraceSubscription tracing = this.tracing;
+    boolean traced = tracing != null && tracing.sample(toggleName);
+    boolean timed = timings != null || event != null || traced;
+    long start = timed ? System.nanoTime() : 0;
     try {
-      Map<String, Boolean> strategyResults = customStrategiesEvaluator.eval(toggleName, context);
-      ByteBuffer contextBytes = buildMessage(toggleName, context, strategyResults);
+      List<EvaluationTrace.CustomStrategyTrace> customTraces = traced ? new ArrayList<>() : null;
+      Map<String, Boolean> strategyResults =
+          traced
+              ? customStrategiesEvaluator.evalTraced(toggleName, context, customTraces)
+              : customStrategiesEvaluator.eval(toggleName, context);
+      long encodeStart = timed ? System.nanoTime() : 0;
+      TrafficRecorder recorder = this.recorder;
+      boolean recorded = recorder != null && recorder.sample();
+      // Recorded messages name their properties and carry the whole context, property key ids and
+      // state generations only mean something to this native engine
+      PropertyKeys propertyKeys = recorded ? PropertyKeys.EMPTY : this.propertyKeys;
+      ContextUsageTable usage = recorded ? ContextUsageTable.EMPTY : this.contextUsage;
+      ByteBuffer contextBytes =
+          buildMessage(
+              toggleName,
+              context,
+              strategyResults,
+              propertyKeys,
+              usage.usageOf(toggleName),
+              usage.generation(),
+              0,
+              traced);
+      if (recorded) {
+        recorder.record(TrafficRecorder.IS_ENABLED, contextBytes);
+      }
+      long nativeStart = timed ? System.nanoTime() : 0;
       Response response = this.nativeEngine.checkEnabled(contextBytes);
+      if (response.staleContext()) {
+        // The engine took another state since the context was trimmed, so all of it goes this time
+        response =
+            this.nativeEngine.checkEnabled(
+                buildMessage(
+                    toggleName,
+                    context,
+                    strategyResults,
+                    propertyKeys,
+                    ContextUsage.WHOLE_CONTEXT,
+                    0,
+                    0,
+                    traced));
+      }
+      if (timed) {
+        recordEvaluation(timings, event, "isEnabled", toggleName, start, encodeStart, nativeStart);
+      }
+      if (traced && response.trace() != null) {
+        tracing.emit(
+            new EvaluationTrace(
+                "isEnabled",
+                toggleName,
+                response.hasEnabled() ? response.enabled() : null,
+                customTraces,
+                start,
+                encodeStart,
+                nativeStart,
+                System.nanoTime(),
+                response.trace()));
+      }
 
       if (response.error() != null) {
+        countError(timings);
         String error = response.error();
         throw new YggdrasilInvalidInputException(error);
       }
+      if (!this.nativeEngine.isDedicated()) {
+        // A native engine shared with other engines doesn't count evaluations for any of them
+        localMetrics.forToggle(toggleName).count(response.enabled());
+      }
 
       if (response.hasEnabled()) {
         return new FlatResponse<>(response.impressionData(), response.enabled());
@@ -223,9 +869,228 @@ public class UnleashEngine {
         return new FlatResponse<>(response.impressionData(), null);
       }
     } catch (RuntimeException e) {
+      countError(timings);
       LOGGER.warn("Could not check if toggle is enabled: {}", e.getMessage(), e);
       return new FlatResponse<>(false, null);
+    } finally {
+      if (timings != null) {
+        timings.record(EvaluationTimings.Phase.TOTAL, start);
+      }
+    }
+  }
+
+  private static void recordEvaluation(
+      EvaluationTimings timings,
+      Object event,
+      String operation,
+      String toggleName,
+      long start,
+      long encodeStart,
+      long nativeStart) {
+    long nativeEnd = System.nanoTime();
+    if (timings != null) {
+      timings.record(EvaluationTimings.Phase.CUSTOM_STRATEGIES, start, encodeStart);
+      timings.record(EvaluationTimings.Phase.ENCODE, encodeStart, nativeStart);
     }
+    EngineEvents.commitEvaluation(
+        event, operation, toggleName, encodeStart - start, nativeEnd - nativeStart);
+  }
+
+  private static void countError(EvaluationTimings timings) {
+    if (timings != null) {
+      timings.countError();
+    }
+  }
+
+  /**
+   * Where the time of evaluations handed to the native engine goes, see {@link EvaluationTimings}.
+   *
+   * @return The timings of this engine, or null if evaluations aren't timed.
+   */
+  public EvaluationTimings getEvaluationTimings() {
+    return this.timings;
+  }
+
+  /**
+   * Evaluates one feature toggle for a whole batch of contexts with a single call into the native
+   * engine, which is much cheaper per context than calling {@link #isEnabled(String, Context)} in a
+   * loop. The evaluations are counted in the metrics just like single checks.
+   *
+   * @param toggleName The name of the feature toggle to evaluate.
+   * @param contexts The contexts to evaluate the feature toggle for.
+   * @return A response holding one bit per context, set where the toggle is enabled, or a null
+   *     value if the toggle is not known.
+   * @throws YggdrasilInvalidInputException If there is an error evaluating the feature toggle.
+   */
+  public FlatResponse<BitSet> isEnabledBulk(String toggleName, ContextColumns contexts)
+      throws YggdrasilInvalidInputException {
+    return isEnabledBulk(toggleName, contexts, 1);
+  }
+
+  /**
+   * Like {@link #isEnabledBulk(String, ContextColumns)}, but lets the native engine spread large
+   * batches over up to {@code parallelism} threads.
+   */
+  public FlatResponse<BitSet> isEnabledBulk(
+      String toggleName, ContextColumns contexts, int parallelism)
+      throws YggdrasilInvalidInputException {
+    if (toggleName == null || contexts == null) {
+      return new FlatResponse<>(false, null);
+    }
+    ConstantToggles.Toggle constant = this.constantToggles.get(toggleName);
+    if (constant != null) {
+      return constant.isEnabled(contexts.size());
+    }
+    if (customStrategiesEvaluator.hasStrategiesFor(toggleName)) {
+      // Custom strategies run in Java for each context anyway
+      return isEnabledOneByOne(toggleName, contexts);
+    }
+    try {
+      ContextUsageTable usage = this.contextUsage;
+      BulkResponse response =
+          this.nativeEngine.checkEnabledBulk(
+              buildBulkMessage(
+                  toggleName,
+                  contexts,
+                  parallelism,
+                  usage.usageOf(toggleName),
+                  usage.generation()));
+      if (response.staleContext()) {
+        // Like isEnabled, the columns were picked for the state the engine had before
+        response =
+            this.nativeEngine.checkEnabledBulk(
+                buildBulkMessage(toggleName, contexts, parallelism, ContextUsage.WHOLE_CONTEXT, 0));
+      }
+
+      if (response.error() != null) {
+        String error = response.error();
+        throw new YggdrasilInvalidInputException(error);
+      }
+
+      BitSet enabled =
+          response.hasEnabled() ? BitSet.valueOf(response.enabledAsByteBuffer()) : null;
+      long yes = enabled != null ? enabled.cardinality() : 0;
+      localMetrics.forToggle(toggleName).add(yes, contexts.size() - yes);
+      return new FlatResponse<>(response.impressionData(), enabled);
+    } catch (RuntimeException e) {
+      LOGGER.warn("Could not check if toggle is enabled: {}", e.getMessage(), e);
+      return new FlatResponse<>(false, null);
+    }
+  }
+
+  private FlatResponse<BitSet> isEnabledOneByOne(String toggleName, ContextColumns contexts)
+      throws YggdrasilInvalidInputException {
+    BitSet enabled = new BitSet(contexts.size());
+    boolean impressionData = false;
+    for (int i = 0; i < contexts.size(); i++) {
+      FlatResponse<Boolean> response = isEnabled(toggleName, contexts.get(i));
+      if (response.value == null) {
+        return new FlatResponse<>(response.impressionData, null);
+      }
+      enabled.set(i, response.value);
+      impressionData = response.impressionData;
+    }
+    return new FlatResponse<>(impressionData, enabled);
+  }
+
+  private static ByteBuffer buildBulkMessage(
+      String toggleName,
+      ContextColumns contexts,
+      int parallelism,
+      ContextUsage usage,
+      long usageGeneration) {
+    FlatBufferBuilder builder = new FlatBufferBuilder(1024, FlatBuffer.DIRECT);
+    // Batches tend to repeat values, like a handful of regions for many users
+    Map<String, Integer> strings = new HashMap<>();
+
+    // Like single checks, columns the toggle doesn't read are left out
+    List<Integer> columns = new ArrayList<>();
+    if (usage.userId) {
+      addColumn(builder, strings, columns, "userId", contexts.getUserIds());
+    }
+    if (usage.sessionId) {
+      addColumn(builder, strings, columns, "sessionId", contexts.getSessionIds());
+    }
+    if (usage.remoteAddress) {
+      addColumn(builder, strings, columns, "remoteAddress", contexts.getRemoteAddresses());
+    }
+    for (Map.Entry<String, String[]> property : contexts.getProperties().entrySet()) {
+      if (usage.readsWholeContext() || usage.getProperties().contains(property.getKey())) {
+        addColumn(builder, strings, columns, property.getKey(), property.getValue());
+      }
+    }
+    int columnsOffset =
+        BulkContextMessage.createColumnsVector(
+            builder, columns.stream().mapToInt(Integer::intValue).toArray());
+
+    int toggleNameOffset = builder.createString(toggleName);
+    int environmentOffset =
+        usage.environment && contexts.getEnvironment() != null
+            ? builder.createString(contexts.getEnvironment())
+            : 0;
+    int appNameOffset =
+        usage.appName && contexts.getAppName() != null
+            ? builder.createString(contexts.getAppName())
+            : 0;
+    // Like single checks, the current time goes over as milliseconds unless the caller set one
+    int currentTimeOffset = 0;
+    boolean sendCurrentTimeMillis = false;
+    if (usage.currentTime) {
+      if (contexts.getCurrentTime() != null) {
+        currentTimeOffset = builder.createString(contexts.getCurrentTime());
+      } else {
+        sendCurrentTimeMillis = true;
+      }
+    }
+    int runtimeHostnameOffset = builder.createString(getRuntimeHostname());
+
+    BulkContextMessage.startBulkContextMessage(builder);
+    BulkContextMessage.addToggleName(builder, toggleNameOffset);
+    BulkContextMessage.addCount(builder, contexts.size());
+    BulkContextMessage.addColumns(builder, columnsOffset);
+    if (environmentOffset != 0) BulkContextMessage.addEnvironment(builder, environmentOffset);
+    if (appNameOffset != 0) BulkContextMessage.addAppName(builder, appNameOffset);
+    if (currentTimeOffset != 0) BulkContextMessage.addCurrentTime(builder, currentTimeOffset);
+    if (sendCurrentTimeMillis) {
+      BulkContextMessage.addCurrentTimeMs(builder, System.currentTimeMillis());
+      BulkContextMessage.addHasCurrentTimeMs(builder, true);
+    }
+    BulkContextMessage.addRuntimeHostname(builder, runtimeHostnameOffset);
+    BulkContextMessage.addParallelism(builder, Math.max(parallelism, 1));
+    if (usageGeneration != 0 && !usage.readsWholeContext()) {
+      BulkContextMessage.addUsageGeneration(builder, usageGeneration);
+    }
+    builder.finish(BulkContextMessage.endBulkContextMessage(builder));
+
+    // The builder writes back to front, slicing gives the engine a buffer that starts at the data
+    return builder.dataBuffer().slice().order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  private static void addColumn(
+      FlatBufferBuilder builder,
+      Map<String, Integer> strings,
+      List<Integer> columns,
+      String name,
+      String[] values) {
+    if (values == null) {
+      return;
+    }
+    int[] valueOffsets = new int[values.length];
+    BitSet missing = new BitSet(values.length);
+    for (int i = 0; i < values.length; i++) {
+      String value = values[i];
+      if (value == null) {
+        missing.set(i);
+        value = "";
+      }
+      valueOffsets[i] = strings.computeIfAbsent(value, builder::createString);
+    }
+    int nameOffset = builder.createString(name);
+    int valuesOffset = ContextColumn.createValuesVector(builder, valueOffsets);
+    int missingOffset =
+        missing.isEmpty() ? 0 : ContextColumn.createMissingVector(builder, missing.toLongArray());
+    columns.add(
+        ContextColumn.createContextColumn(builder, nameOffset, valuesOffset, missingOffset));
   }
 
   /**
@@ -238,23 +1103,115 @@ public class UnleashEngine {
    */
   public FlatResponse<VariantDef> getVariant(String toggleName, Context context)
       throws YggdrasilInvalidInputException {
+    FlatResponse<VariantDef> response = evaluateVariant(toggleName, context);
+    ImpressionPipeline impressions = this.impressions;
+    if (impressions != null && response.impressionData && response.value != null) {
+      VariantDef variant = response.value;
+      impressions.publish(
+          new ImpressionEvent(
+              toggleName,
+              Boolean.TRUE.equals(variant.isFeatureEnabled()),
+              variant.getName(),
+              context));
+    }
+    return response;
+  }
+
+  private FlatResponse<VariantDef> evaluateVariant(String toggleName, Context context)
+      throws YggdrasilInvalidInputException {
+    EvaluationTimings timings = this.timings;
+    Object event = EngineEvents.beginEvaluation();
+    TraceSubscription tracing = this.tracing;
+    boolean traced = tracing != null && tracing.sample(toggleName);
+    boolean timed = timings != null || event != null || traced;
+    long start = timed ? System.nanoTime() : 0;
     try {
-      Map<String, Boolean> strategyResults = customStrategiesEvaluator.eval(toggleName, context);
-      ByteBuffer contextBytes = buildMessage(toggleName, context, strategyResults);
+      List<EvaluationTrace.CustomStrategyTrace> customTraces = traced ? new ArrayList<>() : null;
+      Map<String, Boolean> strategyResults =
+          traced
+              ? customStrategiesEvaluator.evalTraced(toggleName, context, customTraces)
+              : customStrategiesEvaluator.eval(toggleName, context);
+      long encodeStart = timed ? System.nanoTime() : 0;
+      VariantTable variants = this.variantTable;
+      TrafficRecorder recorder = this.recorder;
+      boolean recorded = recorder != null && recorder.sample();
+      // Like the property key ids and the state generation, the variant table is only this native
+      // engine's
+      PropertyKeys propertyKeys = recorded ? PropertyKeys.EMPTY : this.propertyKeys;
+      ContextUsageTable usage = recorded ? ContextUsageTable.EMPTY : this.contextUsage;
+      long variantGeneration = recorded ? 0 : variants.generation();
+      ByteBuffer contextBytes =
+          buildMessage(
+              toggleName,
+              context,
+              strategyResults,
+              propertyKeys,
+              usage.usageOf(toggleName),
+              usage.generation(),
+              variantGeneration,
+              traced);
+      if (recorded) {
+        recorder.record(TrafficRecorder.GET_VARIANT, contextBytes);
+      }
+      long nativeStart = timed ? System.nanoTime() : 0;
 
       Variant variant = this.nativeEngine.checkVariant(contextBytes);
+      if (variant.staleContext()) {
+        // Like isEnabled, the context was trimmed for the state the engine had before
+        variant =
+            this.nativeEngine.checkVariant(
+                buildMessage(
+                    toggleName,
+                    context,
+                    strategyResults,
+                    propertyKeys,
+                    ContextUsage.WHOLE_CONTEXT,
+                    0,
+                    variantGeneration,
+                    traced));
+      }
+      if (timed) {
+        recordEvaluation(timings, event, "getVariant", toggleName, start, encodeStart, nativeStart);
+      }
+      if (traced && variant.trace() != null) {
+        tracing.emit(
+            new EvaluationTrace(
+                "getVariant",
+                toggleName,
+                variant.trace().known() ? variant.featureEnabled() : null,
+                customTraces,
+                start,
+                encodeStart,
+                nativeStart,
+                System.nanoTime(),
+                variant.trace()));
+      }
+      if (variant.error() == null && !this.nativeEngine.isDedicated()) {
+        LocalMetrics.Counter counter = localMetrics.forToggle(toggleName);
+        counter.count(variant.featureEnabled());
+        if (variant.name() != null) {
+          counter.countVariant(variant.name());
+        }
+      }
+      if (variant.hasVariantIndex()) {
+        VariantDef shared =
+            variants.get(
+                toggleName, variant.variantIndex(), variant.enabled(), variant.featureEnabled());
+        if (shared != null) {
+          return new FlatResponse<>(variant.impressionData(), shared);
+        }
+      }
       if (variant.name() != null) {
         Payload payload = null;
 
         VariantPayload variantPayload = variant.payload();
 
         if (variantPayload != null) {
-          payload = new Payload();
-          payload.setType(variant.payload().payloadType());
-          payload.setValue(variant.payload().value());
+          payload = new Payload(variantPayload.payloadType(), variantPayload.value());
         }
 
         if (variant.error() != null) {
+          countError(timings);
           String error = variant.error();
           throw new YggdrasilInvalidInputException(error);
         }
@@ -266,8 +1223,13 @@ public class UnleashEngine {
         return new FlatResponse<>(false, null);
       }
     } catch (RuntimeException e) {
+      countError(timings);
       LOGGER.warn("Could not get variant for toggle '{}': {}", toggleName, e.getMessage(), e);
       return new FlatResponse<>(false, null);
+    } finally {
+      if (timings != null) {
+        timings.record(EvaluationTimings.Phase.TOTAL, start);
+      }
     }
   }
 
@@ -303,37 +1265,147 @@ public class UnleashEngine {
   }
 
   /**
-   * Get all toggles that is loaded in the engine.
+   * Writes the current state of the engine as JSON, in the shape {@link #takeState(String)}
+   * accepts, so the output makes a backup the engine can be started from. The state is serialised
+   * once and kept until the engine takes another state, writing it again only copies bytes.
+   *
+   * @param out Where to write the UTF-8 encoded JSON, left open.
+   * @throws IOException If the state could not be serialised or written.
+   */
+  public void writeState(OutputStream out) throws IOException {
+    byte[] json = serialisedState();
+    for (int offset = 0; offset < json.length; offset += STATE_CHUNK_SIZE) {
+      out.write(json, offset, Math.min(STATE_CHUNK_SIZE, json.length - offset));
+    }
+  }
+
+  /**
+   * Writes the current state of the engine as JSON, see {@link #writeState(OutputStream)}.
+   *
+   * @param channel Where to write the UTF-8 encoded JSON, left open.
+   * @throws IOException If the state could not be serialised or written.
+   */
+  public void writeState(WritableByteChannel channel) throws IOException {
+    ByteBuffer json = ByteBuffer.wrap(serialisedState());
+    while (json.hasRemaining()) {
+      channel.write(json);
+    }
+  }
+
+  private byte[] serialisedState() throws IOException {
+    long version = this.stateVersion.get();
+    SerialisedState serialised = this.serialisedState;
+    if (serialised != null && serialised.version == version) {
+      return serialised.json;
+    }
+    ByteBuffer json = this.nativeEngine.getStateJson();
+    if (json == null) {
+      throw new IOException("The engine could not serialise its state");
+    }
+    byte[] bytes;
+    if (json.hasArray() && json.arrayOffset() == 0 && json.remaining() == json.array().length) {
+      bytes = json.array();
+    } else {
+      bytes = new byte[json.remaining()];
+      json.duplicate().get(bytes);
+    }
+    // Tagged with the version from before asking the engine, so a state taken meanwhile makes it
+    // stale instead of it passing for the newer state
+    this.serialisedState = new SerialisedState(version, bytes);
+    return bytes;
+  }
+
+  private static final class SerialisedState {
+    final long version;
+    final byte[] json;
+
+    SerialisedState(long version, byte[] json) {
+      this.version = version;
+      this.json = json;
+    }
+  }
+
+  /**
+   * Get all toggles that is loaded in the engine. The list is built once per state and can't be
+   * changed.
    *
    * @return A list of FeatureDef objects representing the loaded toggles.
    */
   public List<io.getunleash.engine.FeatureDef> listKnownToggles() {
+    ToggleIndex index = toggleIndex();
+    return index != null ? index.all() : Collections.emptyList();
+  }
+
+  /**
+   * Looks up a toggle of the current state by name.
+   *
+   * @param toggleName The name of the toggle.
+   * @return The toggle, or null if the engine doesn't know it.
+   */
+  public FeatureDef getToggle(String toggleName) {
+    ToggleIndex index = toggleIndex();
+    return index != null && toggleName != null ? index.get(toggleName) : null;
+  }
+
+  /**
+   * Whether the current state has a toggle with the given name.
+   *
+   * @param toggleName The name of the toggle.
+   * @return true if the engine knows the toggle.
+   */
+  public boolean isKnown(String toggleName) {
+    return getToggle(toggleName) != null;
+  }
+
+  /**
+   * The toggles of the current state that belong to a project.
+   *
+   * @param project The name of the project.
+   * @return The toggles of the project, empty if there are none.
+   */
+  public List<FeatureDef> getTogglesInProject(String project) {
+    ToggleIndex index = toggleIndex();
+    return index != null ? index.inProject(project) : Collections.emptyList();
+  }
+
+  /**
+   * The toggles of the current state of a type, such as {@code release} or {@code experiment}.
+   *
+   * @param type The toggle type.
+   * @return The toggles of the type, empty if there are none.
+   */
+  public List<FeatureDef> getTogglesOfType(String type) {
+    ToggleIndex index = toggleIndex();
+    return index != null ? index.ofType(type) : Collections.emptyList();
+  }
+
+  private ToggleIndex toggleIndex() {
+    ToggleIndex index = this.toggleIndex;
+    if (index != null) {
+      return index;
+    }
     try {
-      var knownToggles = this.nativeEngine.listKnownToggles();
-      var toggleList = new ArrayList<FeatureDef>(knownToggles.itemsLength());
-      for (int i = 0; i < knownToggles.itemsLength(); i++) {
-        var tempFeature = knownToggles.items(i);
-        toggleList.add(
-            new FeatureDef(
-                tempFeature.name(),
-                tempFeature.type(),
-                tempFeature.project(),
-                tempFeature.enabled()));
-      }
-      return toggleList;
+      // Nothing to go on but what the engine lists. Not kept, a state taken meanwhile would be
+      // overwritten by what may be an older list
+      return ToggleIndex.from(this.nativeEngine.listKnownToggles());
     } catch (RuntimeException e) {
       LOGGER.warn("Could not list known toggles: {}", e.getMessage(), e);
-      return Collections.emptyList();
+      return null;
     }
   }
 
   /**
    * Get the metrics for the engine. Metrics are collected during evaluation of feature toggles as
-   * well as when getVariant is called.
+   * well as when getVariant is called. Toggles that are answered in Java, like those that are
+   * always on or always off, are counted there and merged into the bucket here.
    *
    * @return A MetricsBucket object representing the engine's metrics.
    */
   public MetricsBucket getMetrics() {
+    Instant now = Instant.now();
+    Instant localStart = this.localWindowStart;
+    this.localWindowStart = now;
+    Object event = EngineEvents.beginMetricsDrain();
     var metrics = this.nativeEngine.getMetrics();
     Map<String, FeatureCount> toggles = new HashMap<>();
     for (int i = 0; i < metrics.togglesLength(); i++) {
@@ -349,10 +1421,32 @@ public class UnleashEngine {
 
       toggles.put(toggleEntry.key(), featureCount);
     }
+    boolean nativeWindowEmpty = toggles.isEmpty();
+    ConstantToggles constants = this.constantToggles;
+    JavaEvaluator evaluator = this.javaEvaluator;
+    localMetrics.drainInto(toggles, name -> constants.contains(name) || evaluator.contains(name));
+    EngineEvents.commitMetricsDrain(event, toggles.size());
+    if (nativeWindowEmpty && !toggles.isEmpty()) {
+      // Only toggles answered in Java were checked, the engine has no window to report for them
+      return new MetricsBucket(localStart, now, toggles);
+    }
     return new MetricsBucket(
         Instant.ofEpochMilli(metrics.start()), Instant.ofEpochMilli(metrics.stop()), toggles);
   }
 
+  /**
+   * Get the statistics the native engine keeps about itself: evaluations, time spent waiting for
+   * and holding its lock, the states it took and how big the last one is, and native buffers that
+   * haven't been freed. Evaluations and the lock are only counted with {@link
+   * EngineStats#CALL_STATS_PROPERTY} set. Asking doesn't wait for evaluations or a state update in
+   * progress.
+   *
+   * @return The statistics, or null if the native engine could not produce them.
+   */
+  public EngineStats getEngineStats() {
+    return EngineStats.from(this.nativeEngine.getEngineStats());
+  }
+
   // Only visible for testing.
   Map<String, Boolean> customStrategiesEvaluatorEval(String featureName, Context context) {
     return this.customStrategiesEvaluator.eval(featureName, context);
@@ -0,0 +1,437 @@
+package io.getunleash.engine;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A set of {@link UnleashEngine}s that behaves like a single one. Each native engine serialises the
+ * evaluations made against it, so under heavy concurrent load a single engine becomes the
+ * bottleneck. The pool keeps every engine on the same state and spreads evaluations over them by
+ * calling thread, so threads mostly don't contend on the same engine.
+ *
+ * <p>State updates go to every engine in the pool, metrics are collected from every engine and
+ * merged into one bucket.
+ */
+public class UnleashEnginePool {
+  private final UnleashEngine[] engines;
+
+  /*
+   * Creates a pool with one engine per available processor. Used when no custom strategies are
+   * needed.
+   */
+  public UnleashEnginePool() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  /*
+   * Creates a pool of the given size.
+   *
+   * @param size Number of engines in the pool.
+   */
+  public UnleashEnginePool(int size) {
+    this(size, null, null);
+  }
+
+  /*
+   * Creates a pool of the given size with custom strategies.
+   *
+   * @param size Number of engines in the pool.
+   * @param customStrategies List of custom strategies to be used.
+   */
+  public UnleashEnginePool(int size, List<IStrategy> customStrategies) {
+    this(size, customStrategies, null);
+  }
+
+  /*
+   * Creates a pool of the given size with custom strategies and a fallback strategy.
+   *
+   * @param size Number of engines in the pool.
+   * @param customStrategies List of custom strategies to be used.
+   * @param fallbackStrategy Fallback strategy to be used when no other strategy matches.
+   */
+  public UnleashEnginePool(int size, List<IStrategy> customStrategies, IStrategy fallbackStrategy) {
+    this(createEngines(size, customStrategies, fallbackStrategy));
+  }
+
+  // Only visible for testing
+  UnleashEnginePool(List<UnleashEngine> engines) {
+    if (engines.isEmpty()) {
+      throw new IllegalArgumentException("An engine pool needs at least one engine");
+    }
+    this.engines = engines.toArray(new UnleashEngine[0]);
+  }
+
+  private static List<UnleashEngine> createEngines(
+      int size, List<IStrategy> customStrategies, IStrategy fallbackStrategy) {
+    if (size < 1) {
+      throw new IllegalArgumentException("An engine pool needs at least one engine, got " + size);
+    }
+    List<UnleashEngine> engines = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      engines.add(new UnleashEngine(customStrategies, fallbackStrategy));
+    }
+    return engines;
+  }
+
+  /**
+   * Number of engines in the pool.
+   *
+   * @return The pool size.
+   */
+  public int size() {
+    return engines.length;
+  }
+
+  // Thread ids are handed out sequentially, so a plain modulo spreads threads evenly
+  private UnleashEngine engineForCurrentThread() {
+    return engines[(int) Math.floorMod(Thread.currentThread().getId(), (long) engines.length)];
+  }
+
+  /**
+   * Loads state into every engine in the pool. The first engine takes the state on its own, so
+   * state it rejects never reaches the other engines and the pool keeps the state it had.
+   *
+   * @param clientFeatures The raw JSON response from the Unleash client features endpoint.
+   * @throws YggdrasilInvalidInputException If the state could not be taken.
+   */
+  public void takeState(String clientFeatures) throws YggdrasilInvalidInputException {
+    if (clientFeatures == null) {
+      return;
+    }
+    if (!engines[0].tryTakeState(clientFeatures)) {
+      throw new YggdrasilInvalidInputException(
+          "The engine rejected the state, the pool keeps the state it had");
+    }
+    for (int i = 1; i < engines.length; i++) {
+      engines[i].takeState(clientFeatures);
+    }
+  }
+
+  /**
+   * Registers a listener for state changes, see {@link
+   * UnleashEngine#addStateChangeListener(StateChangeListener)}. The listener is told once the last
+   * engine of the pool has the new state.
+   */
+  public void addStateChangeListener(StateChangeListener listener) {
+    engines[engines.length - 1].addStateChangeListener(listener);
+  }
+
+  /**
+   * Registers a listener for changes to some toggles, see {@link
+   * UnleashEngine#addStateChangeListener(StateChangeListener, Collection)}.
+   */
+  public void addStateChangeListener(
+      StateChangeListener listener, Collection<String> watchedToggles) {
+    engines[engines.length - 1].addStateChangeListener(listener, watchedToggles);
+  }
+
+  /** Stops telling a listener about state changes. */
+  public void removeStateChangeListener(StateChangeListener listener) {
+    engines[engines.length - 1].removeStateChangeListener(listener);
+  }
+
+  /**
+   * Writes the state of the pool to a binary snapshot file, see {@link
+   * UnleashEngine#saveSnapshot(Path)}.
+   *
+   * @param path Where to write the snapshot.
+   * @throws IOException If the snapshot could not be produced or written.
+   */
+  public void saveSnapshot(Path path) throws IOException {
+    engines[0].saveSnapshot(path);
+  }
+
+  /**
+   * Loads a snapshot into every engine in the pool, see {@link UnleashEngine#loadSnapshot(Path)}. A
+   * snapshot the first engine rejects leaves the whole pool untouched.
+   *
+   * @param path The snapshot to load.
+   * @throws IOException If the file could not be read.
+   * @throws YggdrasilInvalidInputException If the file is not a snapshot this engine can load.
+   */
+  public void loadSnapshot(Path path) throws IOException, YggdrasilInvalidInputException {
+    for (UnleashEngine engine : engines) {
+      engine.loadSnapshot(path);
+    }
+  }
+
+  /**
+   * Loads a snapshot into every engine in the pool that doesn't hold its state yet, see {@link
+   * UnleashEngine#loadSnapshotIfChanged(Path)}.
+   *
+   * @param path The snapshot to load.
+   * @return true if the state of any engine was replaced.
+   * @throws IOException If the file could not be read.
+   * @throws YggdrasilInvalidInputException If the file is not a snapshot this engine can load.
+   */
+  public boolean loadSnapshotIfChanged(Path path)
+      throws IOException, YggdrasilInvalidInputException {
+    boolean changed = false;
+    for (UnleashEngine engine : engines) {
+      changed |= engine.loadSnapshotIfChanged(path);
+    }
+    return changed;
+  }
+
+  /**
+   * Traces a sample of the evaluations of every engine in the pool, see {@link
+   * UnleashEngine#traceEvaluations(EvaluationTraceSink, int, Collection)}. The sink is called from
+   * every engine, so it has to be thread safe.
+   */
+  public void traceEvaluations(
+      EvaluationTraceSink sink, int sampling, Collection<String> toggleNames) {
+    for (UnleashEngine engine : engines) {
+      engine.traceEvaluations(sink, sampling, toggleNames);
+    }
+  }
+
+  /** Stops tracing the evaluations of every engine in the pool. */
+  public void stopTracingEvaluations() {
+    for (UnleashEngine engine : engines) {
+      engine.stopTracingEvaluations();
+    }
+  }
+
+  /**
+   * Records a sample of the evaluations of every engine in the pool into one recorder, see {@link
+   * UnleashEngine#recordTraffic(TrafficRecorder)}.
+   */
+  public void recordTraffic(TrafficRecorder recorder) {
+    for (UnleashEngine engine : engines) {
+      engine.recordTraffic(recorder);
+    }
+  }
+
+  /** Stops recording the evaluations of every engine in the pool, the recorder is left open. */
+  public void stopRecordingTraffic() {
+    for (UnleashEngine engine : engines) {
+      engine.stopRecordingTraffic();
+    }
+  }
+
+  /**
+   * Publishes the impression events of every engine in the pool into one pipeline, see {@link
+   * UnleashEngine#publishImpressions(ImpressionPipeline)}.
+   *
+   * @param pipeline The pipeline, null to stop publishing.
+   */
+  public void publishImpressions(ImpressionPipeline pipeline) {
+    for (UnleashEngine engine : engines) {
+      engine.publishImpressions(pipeline);
+    }
+  }
+
+  /** See {@link UnleashEngine#getContextUsage(String)}. */
+  public ContextUsage getContextUsage(String toggleName) {
+    return engines[0].getContextUsage(toggleName);
+  }
+
+  /**
+   * Used to evaluate a feature toggle, on the engine assigned to the calling thread.
+   *
+   * @param toggleName The name of the feature toggle to evaluate.
+   * @param context The context in which to evaluate the feature toggle.
+   * @return A response containing the evaluation result and impression data.
+   * @throws YggdrasilInvalidInputException If there is an error evaluating the feature toggle.
+   */
+  public FlatResponse<Boolean> isEnabled(String toggleName, Context context)
+      throws YggdrasilInvalidInputException {
+    return engineForCurrentThread().isEnabled(toggleName, context);
+  }
+
+  /**
+   * Evaluates a feature toggle for a batch of contexts, on the engine assigned to the calling
+   * thread. See {@link UnleashEngine#isEnabledBulk(String, ContextColumns, int)}.
+   */
+  public FlatResponse<BitSet> isEnabledBulk(
+      String toggleName, ContextColumns contexts, int parallelism)
+      throws YggdrasilInvalidInputException {
+    return engineForCurrentThread().isEnabledBulk(toggleName, contexts, parallelism);
+  }
+
+  /**
+   * Evaluates a feature toggle for a batch of contexts, on the engine assigned to the calling
+   * thread. See {@link UnleashEngine#isEnabledBulk(String, ContextColumns)}.
+   */
+  public FlatResponse<BitSet> isEnabledBulk(String toggleName, ContextColumns contexts)
+      throws YggdrasilInvalidInputException {
+    return engineForCurrentThread().isEnabledBulk(toggleName, contexts);
+  }
+
+  /**
+   * Used to get the active variant for a toggle and the current context, on the engine assigned to
+   * the calling thread.
+   *
+   * @param toggleName The name of the toggle to check.
+   * @param context The context to use for the toggle check.
+   * @return A FlatResponse containing the impression data and the active variant.
+   * @throws YggdrasilInvalidInputException If the input is invalid.
+   */
+  public FlatResponse<VariantDef> getVariant(String toggleName, Context context)
+      throws YggdrasilInvalidInputException {
+    return engineForCurrentThread().getVariant(toggleName, context);
+  }
+
+  /**
+   * Returns a list of built-in strategies that Yggdrasil supports.
+   *
+   * @return A list of built-in strategies.
+   */
+  public List<String> getBuiltInStrategies() {
+    return engines[0].getBuiltInStrategies();
+  }
+
+  /**
+   * Which version of Yggdrasil is being used.
+   *
+   * @return The version string.
+   */
+  public static String getCoreVersion() {
+    return UnleashEngine.getCoreVersion();
+  }
+
+  public String getState() {
+    return engines[0].getState();
+  }
+
+  /** Writes the state of the pool as JSON, see {@link UnleashEngine#writeState(OutputStream)}. */
+  public void writeState(OutputStream out) throws IOException {
+    engines[0].writeState(out);
+  }
+
+  /**
+   * Writes the state of the pool as JSON, see {@link
+   * UnleashEngine#writeState(WritableByteChannel)}.
+   */
+  public void writeState(WritableByteChannel channel) throws IOException {
+    engines[0].writeState(channel);
+  }
+
+  /**
+   * Get all toggles that is loaded in the pool.
+   *
+   * @return A list of FeatureDef objects representing the loaded toggles.
+   */
+  public List<FeatureDef> listKnownToggles() {
+    return engines[0].listKnownToggles();
+  }
+
+  /** See {@link UnleashEngine#getToggle(String)}. */
+  public FeatureDef getToggle(String toggleName) {
+    return engines[0].getToggle(toggleName);
+  }
+
+  /** See {@link UnleashEngine#isKnown(String)}. */
+  public boolean isKnown(String toggleName) {
+    return engines[0].isKnown(toggleName);
+  }
+
+  /** See {@link UnleashEngine#getTogglesInProject(String)}. */
+  public List<FeatureDef> getTogglesInProject(String project) {
+    return engines[0].getTogglesInProject(project);
+  }
+
+  /** See {@link UnleashEngine#getTogglesOfType(String)}. */
+  public List<FeatureDef> getTogglesOfType(String type) {
+    return engines[0].getTogglesOfType(type);
+  }
+
+  /**
+   * Get the metrics for the pool, collected from every engine and merged into one bucket spanning
+   * all of them.
+   *
+   * @return A MetricsBucket object representing the pool's metrics.
+   */
+  public MetricsBucket getMetrics() {
+    List<MetricsBucket> buckets = new ArrayList<>(engines.length);
+    for (UnleashEngine engine : engines) {
+      buckets.add(engine.getMetrics());
+    }
+    return merge(buckets);
+  }
+
+  /**
+   * Get the statistics of every engine in the pool, see {@link UnleashEngine#getEngineStats()}.
+   *
+   * @return The statistics of each engine, in pool order, null where an engine could not produce
+   *     them.
+   */
+  public List<EngineStats> getEngineStats() {
+    List<EngineStats> stats = new ArrayList<>(engines.length);
+    for (UnleashEngine engine : engines) {
+      stats.add(engine.getEngineStats());
+    }
+    return stats;
+  }
+
+  /**
+   * Get the evaluation timings of every engine in the pool, see {@link
+   * UnleashEngine#getEvaluationTimings()}.
+   *
+   * @return The timings of each engine, in pool order, or an empty list if evaluations aren't
+   *     timed.
+   */
+  public List<EvaluationTimings> getEvaluationTimings() {
+    List<EvaluationTimings> timings = new ArrayList<>(engines.length);
+    for (UnleashEngine engine : engines) {
+      EvaluationTimings engineTimings = engine.getEvaluationTimings();
+      if (engineTimings == null) {
+        return Collections.emptyList();
+      }
+      timings.add(engineTimings);
+    }
+    return timings;
+  }
+
+  static MetricsBucket merge(List<MetricsBucket> buckets) {
+    Instant start = null;
+    Instant stop = null;
+    Map<String, FeatureCount> toggles = new HashMap<>();
+    for (MetricsBucket bucket : buckets) {
+      if (bucket.getToggles() == null || bucket.getToggles().isEmpty()) {
+        // Engines that saw no traffic report an empty window, don't let it stretch the bucket
+        continue;
+      }
+      start = start == null || bucket.getStart().isBefore(start) ? bucket.getStart() : start;
+      stop = stop == null || bucket.getStop().isAfter(stop) ? bucket.getStop() : stop;
+      bucket
+          .getToggles()
+          .forEach((name, count) -> toggles.merge(name, count, UnleashEnginePool::add));
+    }
+    if (start == null) {
+      MetricsBucket first = buckets.get(0);
+      return new MetricsBucket(first.getStart(), first.getStop(), toggles);
+    }
+    return new MetricsBucket(start, stop, toggles);
+  }
+
+  private static FeatureCount add(FeatureCount a, FeatureCount b) {
+    Map<String, Long> variants = new HashMap<>();
+    addAll(variants, a.getVariants());
+    addAll(variants, b.getVariants());
+    return new FeatureCount(
+        nullToZero(a.getYes()) + nullToZero(b.getYes()),
+        nullToZero(a.getNo()) + nullToZero(b.getNo()),
+        variants);
+  }
+
+  private static void addAll(Map<String, Long> into, Map<String, Long> counts) {
+    if (counts != null) {
+      counts.forEach((variant, count) -> into.merge(variant, nullToZero(count), Long::sum));
+    }
+  }
+
+  private static long nullToZero(Long value) {
+    return value == null ? 0 : value;
+  }
+}
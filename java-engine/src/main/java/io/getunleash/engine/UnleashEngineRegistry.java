@@ -0,0 +1,217 @@
+package io.getunleash.engine;
+
+import io.getunleash.yggdrasil.messaging.TakeStateResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Creates engines that share their native state with every other engine of the registry that took a
+ * byte-identical state, for hosting many engines in one process that mostly get the same toggles. A
+ * state is parsed once and kept once however many engines took it, an engine that takes a different
+ * state moves to its own (or to one another engine already has), the shared state itself never
+ * changes. The native state is freed when the last engine using it moves on or is garbage
+ * collected.
+ *
+ * <p>Metrics and custom strategies stay with each engine. What's shared shows in a few places:
+ *
+ * <ul>
+ *   <li>{@link UnleashEngine#getEngineStats()} describes the shared native engine, evaluations of
+ *       every engine using it included.
+ *   <li>Moving to a different state reports every toggle of that state as added to state change
+ *       listeners, the shared state was never diffed against this engine's previous one. Taking the
+ *       state an engine already has reports nothing.
+ *   <li>Evaluations send the whole context with properties by name and get variants in full,
+ *       property key ids, state generations and variant indexes belong to one native engine.
+ *   <li>Engines evaluating toggles in Java only share with each other, their states carry the
+ *       constraints of every strategy.
+ * </ul>
+ *
+ * <p>Sharing saves memory and parsing, not evaluation time. The engines sharing a state call into
+ * one native engine, and a native engine answers one call at a time, so their evaluations queue on
+ * the same lock where separate engines would each have their own. The native engine doesn't count
+ * evaluations, each engine counts its own in Java. Where evaluations from many threads matter more
+ * than memory, separate engines or an {@link UnleashEnginePool} do better, {@code
+ * RegistryBenchmark} compares the two.
+ */
+public final class UnleashEngineRegistry {
+  private final Supplier<NativeInterface> nativeInterfaces;
+  // Guarded by itself
+  private final Map<StateKey, SharedState> states = new HashMap<>();
+
+  public UnleashEngineRegistry() {
+    this(NativeInterfaces::create);
+  }
+
+  // Only visible for testing
+  UnleashEngineRegistry(Supplier<NativeInterface> nativeInterfaces) {
+    this.nativeInterfaces = nativeInterfaces;
+  }
+
+  /** Creates an engine without custom strategies that shares its state through this registry. */
+  public UnleashEngine newEngine() {
+    return newEngine(null, null);
+  }
+
+  /**
+   * Creates an engine that shares its state through this registry.
+   *
+   * @param customStrategies Custom strategies of the engine, may be null.
+   * @param fallbackStrategy Fallback strategy of the engine, may be null.
+   * @return The engine.
+   */
+  public UnleashEngine newEngine(List<IStrategy> customStrategies, IStrategy fallbackStrategy) {
+    return new UnleashEngine(new SharedStateInterface(this), customStrategies, fallbackStrategy);
+  }
+
+  /** Native states held for the engines of this registry, the state of new engines included. */
+  public int getSharedStates() {
+    synchronized (states) {
+      return states.size();
+    }
+  }
+
+  /** A reference to the shared state with the given key, created if no engine has it. */
+  SharedState share(StateKey key) {
+    synchronized (states) {
+      SharedState state = states.get(key);
+      if (state == null || !state.retain()) {
+        NativeInterface engine = nativeInterfaces.get();
+        engine.setStrategyConstraints(key.strategyConstraints);
+        engine.setCountEvaluations(false);
+        if (Boolean.getBoolean(EngineStats.CALL_STATS_PROPERTY)) {
+          engine.setCallStats(true);
+        }
+        state = new SharedState(this, key, engine);
+        states.put(key, state);
+      }
+      return state;
+    }
+  }
+
+  /** Lets go of a reference to a state that shouldn't be handed out again. */
+  void discard(SharedState state) {
+    forget(state);
+    state.release();
+  }
+
+  private void forget(SharedState state) {
+    synchronized (states) {
+      states.remove(state.key, state);
+    }
+  }
+
+  /**
+   * What a shared state is known by: a hash of the payload it was taken from, and whether its
+   * responses carry strategy constraints. A JSON state and a snapshot of the same state don't
+   * share, they hash differently.
+   */
+  static final class StateKey {
+    static final StateKey EMPTY = new StateKey(new byte[0], false);
+
+    private final byte[] digest;
+    final boolean strategyConstraints;
+
+    private StateKey(byte[] digest, boolean strategyConstraints) {
+      this.digest = digest;
+      this.strategyConstraints = strategyConstraints;
+    }
+
+    static StateKey ofJson(String json, boolean strategyConstraints) {
+      MessageDigest digest = sha256();
+      digest.update((byte) 'j');
+      digest.update(json.getBytes(StandardCharsets.UTF_8));
+      return new StateKey(digest.digest(), strategyConstraints);
+    }
+
+    static StateKey ofSnapshot(ByteBuffer snapshot, boolean strategyConstraints) {
+      MessageDigest digest = sha256();
+      digest.update((byte) 's');
+      digest.update(snapshot.duplicate());
+      return new StateKey(digest.digest(), strategyConstraints);
+    }
+
+    private static MessageDigest sha256() {
+      try {
+        return MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException e) {
+        // Every Java runtime has to support it
+        throw new IllegalStateException(e);
+      }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof StateKey
+          && Arrays.equals(digest, ((StateKey) other).digest)
+          && strategyConstraints == ((StateKey) other).strategyConstraints;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * Arrays.hashCode(digest) + Boolean.hashCode(strategyConstraints);
+    }
+  }
+
+  /**
+   * One native engine and the state it took, counted by the engines using it. The native engine is
+   * freed when the count drops to 0. Engines keep calls into it from outliving their reference, see
+   * {@link SharedStateInterface}.
+   */
+  static final class SharedState {
+    final StateKey key;
+    final NativeInterface engine;
+    private final UnleashEngineRegistry registry;
+    private final AtomicInteger references = new AtomicInteger(1);
+    // Guarded by this
+    private boolean taken;
+    private TakeStateResponse response;
+
+    SharedState(UnleashEngineRegistry registry, StateKey key, NativeInterface engine) {
+      this.registry = registry;
+      this.key = key;
+      this.engine = engine;
+      // The state of new engines is no state at all
+      this.taken = key == StateKey.EMPTY;
+    }
+
+    /**
+     * Has the native engine take its state, unless it already did, in which case the response of
+     * the first take comes back.
+     */
+    synchronized TakeStateResponse take(Function<NativeInterface, TakeStateResponse> take) {
+      if (!taken) {
+        response = take.apply(engine);
+        taken = true;
+      }
+      return response;
+    }
+
+    /** Adds a reference, unless the state has already been freed. */
+    boolean retain() {
+      int count;
+      do {
+        count = references.get();
+        if (count == 0) {
+          return false;
+        }
+      } while (!references.compareAndSet(count, count + 1));
+      return true;
+    }
+
+    void release() {
+      if (references.decrementAndGet() == 0) {
+        registry.forget(this);
+        engine.freeEngine();
+      }
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package io.getunleash.engine;
 
 import java.util.Optional;
+import java.util.function.Function;
 
 /** Represents a variant definition. */
 public class VariantDef {
@@ -34,6 +35,16 @@ public class VariantDef {
     return payload;
   }
 
+  /**
+   * Returns the value of the payload parsed with the given parser, see {@link
+   * Payload#getValueAs(Function)}.
+   *
+   * @return the parsed payload, or null if the variant has no payload
+   */
+  public <T> T getPayloadAs(Function<String, ? extends T> parser) {
+    return payload != null ? payload.getValueAs(parser) : null;
+  }
+
   /**
    * Returns whether the variant is enabled.
    *
@@ -0,0 +1,74 @@
+package io.getunleash.engine;
+
+import io.getunleash.yggdrasil.messaging.FeatureVariant;
+import io.getunleash.yggdrasil.messaging.StrategyFeature;
+import io.getunleash.yggdrasil.messaging.TakeStateResponse;
+import io.getunleash.yggdrasil.messaging.VariantPayload;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Every variant the toggles of one state can resolve to, built once when the engine takes the
+ * state. The native engine answers a variant check with the variant's index in this table when the
+ * caller's table is of its current generation, so getVariant hands out these shared instances
+ * instead of decoding the name and payload of the variant every time.
+ */
+final class VariantTable {
+  static final VariantTable EMPTY = new VariantTable(0, Collections.emptyMap());
+
+  private final long generation;
+  private final Map<String, VariantDef[]> variants;
+
+  private VariantTable(long generation, Map<String, VariantDef[]> variants) {
+    this.generation = generation;
+    this.variants = variants;
+  }
+
+  static VariantTable from(TakeStateResponse response) {
+    if (response.variantGeneration() == 0) {
+      return EMPTY;
+    }
+    Map<String, VariantDef[]> variants = new HashMap<>();
+    for (int i = 0; i < response.featuresLength(); i++) {
+      StrategyFeature feature = response.features(i);
+      if (feature.variantsLength() == 0) {
+        continue;
+      }
+      VariantDef[] defs = new VariantDef[feature.variantsLength()];
+      for (int j = 0; j < defs.length; j++) {
+        FeatureVariant variant = feature.variants(j);
+        VariantPayload payload = variant.payload();
+        defs[j] =
+            new VariantDef(
+                variant.name(),
+                payload != null ? new Payload(payload.payloadType(), payload.value()) : null,
+                true,
+                true);
+      }
+      variants.put(feature.featureName(), defs);
+    }
+    return new VariantTable(response.variantGeneration(), variants);
+  }
+
+  /** The generation to send with variant checks, 0 if there is no table. */
+  long generation() {
+    return generation;
+  }
+
+  /**
+   * The variant at the given index for the toggle, or null if the table doesn't have it. Variants
+   * are nearly always enabled, for the rest a new definition shares the payload.
+   */
+  VariantDef get(String toggleName, long index, boolean enabled, boolean featureEnabled) {
+    VariantDef[] defs = variants.get(toggleName);
+    if (defs == null || index >= defs.length) {
+      return null;
+    }
+    VariantDef def = defs[(int) index];
+    if (enabled && featureEnabled) {
+      return def;
+    }
+    return new VariantDef(def.getName(), def.getPayload(), enabled, featureEnabled);
+  }
+}
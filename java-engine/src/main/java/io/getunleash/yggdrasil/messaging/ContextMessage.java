@@ -5,6 +5,8 @@ package io.getunleash.yggdrasil.messaging;
 import com.google.flatbuffers.BaseVector;
 import com.google.flatbuffers.Constants;
 import com.google.flatbuffers.FlatBufferBuilder;
+import com.google.flatbuffers.IntVector;
+import com.google.flatbuffers.StringVector;
 import com.google.flatbuffers.Table;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
@@ -224,6 +226,102 @@ public final class ContextMessage extends Table {
     return o != 0 ? obj.__assign(__vector(o), 4, bb) : null;
   }
 
+  public long propertyKeyIds(int j) {
+    int o = __offset(24);
+    return o != 0 ? (long) bb.getInt(__vector(o) + j * 4) & 0xFFFFFFFFL : 0;
+  }
+
+  public int propertyKeyIdsLength() {
+    int o = __offset(24);
+    return o != 0 ? __vector_len(o) : 0;
+  }
+
+  public IntVector propertyKeyIdsVector() {
+    return propertyKeyIdsVector(new IntVector());
+  }
+
+  public IntVector propertyKeyIdsVector(IntVector obj) {
+    int o = __offset(24);
+    return o != 0 ? obj.__assign(__vector(o), bb) : null;
+  }
+
+  public ByteBuffer propertyKeyIdsAsByteBuffer() {
+    return __vector_as_bytebuffer(24, 4);
+  }
+
+  public ByteBuffer propertyKeyIdsInByteBuffer(ByteBuffer _bb) {
+    return __vector_in_bytebuffer(_bb, 24, 4);
+  }
+
+  public String propertyKeyValues(int j) {
+    int o = __offset(26);
+    return o != 0 ? __string(__vector(o) + j * 4) : null;
+  }
+
+  public int propertyKeyValuesLength() {
+    int o = __offset(26);
+    return o != 0 ? __vector_len(o) : 0;
+  }
+
+  public StringVector propertyKeyValuesVector() {
+    return propertyKeyValuesVector(new StringVector());
+  }
+
+  public StringVector propertyKeyValuesVector(StringVector obj) {
+    int o = __offset(26);
+    return o != 0 ? obj.__assign(__vector(o), 4, bb) : null;
+  }
+
+  public long currentTimeMs() {
+    int o = __offset(28);
+    return o != 0 ? bb.getLong(o + bb_pos) : 0L;
+  }
+
+  public boolean hasCurrentTimeMs() {
+    int o = __offset(30);
+    return o != 0 ? 0 != bb.get(o + bb_pos) : false;
+  }
+
+  public io.getunleash.yggdrasil.messaging.TypedPropertyEntry typedProperties(int j) {
+    return typedProperties(new io.getunleash.yggdrasil.messaging.TypedPropertyEntry(), j);
+  }
+
+  public io.getunleash.yggdrasil.messaging.TypedPropertyEntry typedProperties(
+      io.getunleash.yggdrasil.messaging.TypedPropertyEntry obj, int j) {
+    int o = __offset(32);
+    return o != 0 ? obj.__assign(__indirect(__vector(o) + j * 4), bb) : null;
+  }
+
+  public int typedPropertiesLength() {
+    int o = __offset(32);
+    return o != 0 ? __vector_len(o) : 0;
+  }
+
+  public io.getunleash.yggdrasil.messaging.TypedPropertyEntry.Vector typedPropertiesVector() {
+    return typedPropertiesVector(new io.getunleash.yggdrasil.messaging.TypedPropertyEntry.Vector());
+  }
+
+  public io.getunleash.yggdrasil.messaging.TypedPropertyEntry.Vector typedPropertiesVector(
+      io.getunleash.yggdrasil.messaging.TypedPropertyEntry.Vector obj) {
+    int o = __offset(32);
+    return o != 0 ? obj.__assign(__vector(o), 4, bb) : null;
+  }
+
+  public long variantGeneration() {
+    int o = __offset(34);
+    return o != 0 ? bb.getLong(o + bb_pos) : 0L;
+  }
+
+  public boolean trace() {
+    int o = __offset(36);
+    return o != 0 ? 0 != bb.get(o + bb_pos) : false;
+  }
+
+  public long usageGeneration() {
+    int o = __offset(38);
+    return o != 0 ? bb.getLong(o + bb_pos) : 0L;
+  }
+
   public static int createContextMessage(
       FlatBufferBuilder builder,
       int toggleNameOffset,
@@ -235,8 +333,22 @@ public final class ContextMessage extends Table {
       int remoteAddressOffset,
       int runtimeHostnameOffset,
       int propertiesOffset,
-      int customStrategiesResultsOffset) {
-    builder.startTable(10);
+      int customStrategiesResultsOffset,
+      int propertyKeyIdsOffset,
+      int propertyKeyValuesOffset,
+      long currentTimeMs,
+      boolean hasCurrentTimeMs,
+      int typedPropertiesOffset,
+      long variantGeneration,
+      boolean trace,
+      long usageGeneration) {
+    builder.startTable(18);
+    ContextMessage.addUsageGeneration(builder, usageGeneration);
+    ContextMessage.addVariantGeneration(builder, variantGeneration);
+    ContextMessage.addCurrentTimeMs(builder, currentTimeMs);
+    ContextMessage.addTypedProperties(builder, typedPropertiesOffset);
+    ContextMessage.addPropertyKeyValues(builder, propertyKeyValuesOffset);
+    ContextMessage.addPropertyKeyIds(builder, propertyKeyIdsOffset);
     ContextMessage.addCustomStrategiesResults(builder, customStrategiesResultsOffset);
     ContextMessage.addProperties(builder, propertiesOffset);
     ContextMessage.addRuntimeHostname(builder, runtimeHostnameOffset);
@@ -247,11 +359,13 @@ public final class ContextMessage extends Table {
     ContextMessage.addSessionId(builder, sessionIdOffset);
     ContextMessage.addUserId(builder, userIdOffset);
     ContextMessage.addToggleName(builder, toggleNameOffset);
+    ContextMessage.addTrace(builder, trace);
+    ContextMessage.addHasCurrentTimeMs(builder, hasCurrentTimeMs);
     return ContextMessage.endContextMessage(builder);
   }
 
   public static void startContextMessage(FlatBufferBuilder builder) {
-    builder.startTable(10);
+    builder.startTable(18);
   }
 
   public static void addToggleName(FlatBufferBuilder builder, int toggleNameOffset) {
@@ -315,6 +429,68 @@ public final class ContextMessage extends Table {
     builder.startVector(4, numElems, 4);
   }
 
+  public static void addPropertyKeyIds(FlatBufferBuilder builder, int propertyKeyIdsOffset) {
+    builder.addOffset(10, propertyKeyIdsOffset, 0);
+  }
+
+  public static int createPropertyKeyIdsVector(FlatBufferBuilder builder, int[] data) {
+    builder.startVector(4, data.length, 4);
+    for (int i = data.length - 1; i >= 0; i--) builder.addInt(data[i]);
+    return builder.endVector();
+  }
+
+  public static void startPropertyKeyIdsVector(FlatBufferBuilder builder, int numElems) {
+    builder.startVector(4, numElems, 4);
+  }
+
+  public static void addPropertyKeyValues(FlatBufferBuilder builder, int propertyKeyValuesOffset) {
+    builder.addOffset(11, propertyKeyValuesOffset, 0);
+  }
+
+  public static int createPropertyKeyValuesVector(FlatBufferBuilder builder, int[] data) {
+    builder.startVector(4, data.length, 4);
+    for (int i = data.length - 1; i >= 0; i--) builder.addOffset(data[i]);
+    return builder.endVector();
+  }
+
+  public static void startPropertyKeyValuesVector(FlatBufferBuilder builder, int numElems) {
+    builder.startVector(4, numElems, 4);
+  }
+
+  public static void addCurrentTimeMs(FlatBufferBuilder builder, long currentTimeMs) {
+    builder.addLong(12, currentTimeMs, 0L);
+  }
+
+  public static void addHasCurrentTimeMs(FlatBufferBuilder builder, boolean hasCurrentTimeMs) {
+    builder.addBoolean(13, hasCurrentTimeMs, false);
+  }
+
+  public static void addTypedProperties(FlatBufferBuilder builder, int typedPropertiesOffset) {
+    builder.addOffset(14, typedPropertiesOffset, 0);
+  }
+
+  public static int createTypedPropertiesVector(FlatBufferBuilder builder, int[] data) {
+    builder.startVector(4, data.length, 4);
+    for (int i = data.length - 1; i >= 0; i--) builder.addOffset(data[i]);
+    return builder.endVector();
+  }
+
+  public static void startTypedPropertiesVector(FlatBufferBuilder builder, int numElems) {
+    builder.startVector(4, numElems, 4);
+  }
+
+  public static void addVariantGeneration(FlatBufferBuilder builder, long variantGeneration) {
+    builder.addLong(15, variantGeneration, 0L);
+  }
+
+  public static void addTrace(FlatBufferBuilder builder, boolean trace) {
+    builder.addBoolean(16, trace, false);
+  }
+
+  public static void addUsageGeneration(FlatBufferBuilder builder, long usageGeneration) {
+    builder.addLong(17, usageGeneration, 0L);
+  }
+
   public static int endContextMessage(FlatBufferBuilder builder) {
     int o = builder.endTable();
     return o;
@@ -61,14 +61,33 @@ public final class Response extends Table {
     return __vector_in_bytebuffer(_bb, 10, 1);
   }
 
+  public io.getunleash.yggdrasil.messaging.EvaluationTrace trace() {
+    return trace(new io.getunleash.yggdrasil.messaging.EvaluationTrace());
+  }
+
+  public io.getunleash.yggdrasil.messaging.EvaluationTrace trace(
+      io.getunleash.yggdrasil.messaging.EvaluationTrace obj) {
+    int o = __offset(12);
+    return o != 0 ? obj.__assign(__indirect(o + bb_pos), bb) : null;
+  }
+
+  public boolean staleContext() {
+    int o = __offset(14);
+    return o != 0 ? 0 != bb.get(o + bb_pos) : false;
+  }
+
   public static int createResponse(
       FlatBufferBuilder builder,
       boolean enabled,
       boolean impressionData,
       boolean hasEnabled,
-      int errorOffset) {
-    builder.startTable(4);
+      int errorOffset,
+      int traceOffset,
+      boolean staleContext) {
+    builder.startTable(6);
+    Response.addTrace(builder, traceOffset);
     Response.addError(builder, errorOffset);
+    Response.addStaleContext(builder, staleContext);
     Response.addHasEnabled(builder, hasEnabled);
     Response.addImpressionData(builder, impressionData);
     Response.addEnabled(builder, enabled);
@@ -76,7 +95,7 @@ public final class Response extends Table {
   }
 
   public static void startResponse(FlatBufferBuilder builder) {
-    builder.startTable(4);
+    builder.startTable(6);
   }
 
   public static void addEnabled(FlatBufferBuilder builder, boolean enabled) {
@@ -95,6 +114,14 @@ public final class Response extends Table {
     builder.addOffset(3, errorOffset, 0);
   }
 
+  public static void addTrace(FlatBufferBuilder builder, int traceOffset) {
+    builder.addOffset(4, traceOffset, 0);
+  }
+
+  public static void addStaleContext(FlatBufferBuilder builder, boolean staleContext) {
+    builder.addBoolean(5, staleContext, false);
+  }
+
   public static int endResponse(FlatBufferBuilder builder) {
     int o = builder.endTable();
     return o;
@@ -72,16 +72,52 @@ public final class StrategyDefinition extends Table {
     return o != 0 ? obj.__assign(__vector(o), 4, bb) : null;
   }
 
+  public io.getunleash.yggdrasil.messaging.StrategyConstraint constraints(int j) {
+    return constraints(new io.getunleash.yggdrasil.messaging.StrategyConstraint(), j);
+  }
+
+  public io.getunleash.yggdrasil.messaging.StrategyConstraint constraints(
+      io.getunleash.yggdrasil.messaging.StrategyConstraint obj, int j) {
+    int o = __offset(8);
+    return o != 0 ? obj.__assign(__indirect(__vector(o) + j * 4), bb) : null;
+  }
+
+  public int constraintsLength() {
+    int o = __offset(8);
+    return o != 0 ? __vector_len(o) : 0;
+  }
+
+  public io.getunleash.yggdrasil.messaging.StrategyConstraint.Vector constraintsVector() {
+    return constraintsVector(new io.getunleash.yggdrasil.messaging.StrategyConstraint.Vector());
+  }
+
+  public io.getunleash.yggdrasil.messaging.StrategyConstraint.Vector constraintsVector(
+      io.getunleash.yggdrasil.messaging.StrategyConstraint.Vector obj) {
+    int o = __offset(8);
+    return o != 0 ? obj.__assign(__vector(o), 4, bb) : null;
+  }
+
+  public boolean missingSegments() {
+    int o = __offset(10);
+    return o != 0 ? 0 != bb.get(o + bb_pos) : false;
+  }
+
   public static int createStrategyDefinition(
-      FlatBufferBuilder builder, int nameOffset, int parametersOffset) {
-    builder.startTable(2);
+      FlatBufferBuilder builder,
+      int nameOffset,
+      int parametersOffset,
+      int constraintsOffset,
+      boolean missingSegments) {
+    builder.startTable(4);
+    StrategyDefinition.addConstraints(builder, constraintsOffset);
     StrategyDefinition.addParameters(builder, parametersOffset);
     StrategyDefinition.addName(builder, nameOffset);
+    StrategyDefinition.addMissingSegments(builder, missingSegments);
     return StrategyDefinition.endStrategyDefinition(builder);
   }
 
   public static void startStrategyDefinition(FlatBufferBuilder builder) {
-    builder.startTable(2);
+    builder.startTable(4);
   }
 
   public static void addName(FlatBufferBuilder builder, int nameOffset) {
@@ -102,6 +138,24 @@ public final class StrategyDefinition extends Table {
     builder.startVector(4, numElems, 4);
   }
 
+  public static void addConstraints(FlatBufferBuilder builder, int constraintsOffset) {
+    builder.addOffset(2, constraintsOffset, 0);
+  }
+
+  public static int createConstraintsVector(FlatBufferBuilder builder, int[] data) {
+    builder.startVector(4, data.length, 4);
+    for (int i = data.length - 1; i >= 0; i--) builder.addOffset(data[i]);
+    return builder.endVector();
+  }
+
+  public static void startConstraintsVector(FlatBufferBuilder builder, int numElems) {
+    builder.startVector(4, numElems, 4);
+  }
+
+  public static void addMissingSegments(FlatBufferBuilder builder, boolean missingSegments) {
+    builder.addBoolean(3, missingSegments, false);
+  }
+
   public static int endStrategyDefinition(FlatBufferBuilder builder) {
     int o = builder.endTable();
     return o;
@@ -5,6 +5,7 @@ package io.getunleash.yggdrasil.messaging;
 import com.google.flatbuffers.BaseVector;
 import com.google.flatbuffers.Constants;
 import com.google.flatbuffers.FlatBufferBuilder;
+import com.google.flatbuffers.StringVector;
 import com.google.flatbuffers.Table;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
@@ -71,16 +72,152 @@ public final class StrategyFeature extends Table {
     return o != 0 ? obj.__assign(__vector(o), 4, bb) : null;
   }
 
+  public int kind() {
+    int o = __offset(8);
+    return o != 0 ? bb.get(o + bb_pos) & 0xFF : 0;
+  }
+
+  public boolean impressionData() {
+    int o = __offset(10);
+    return o != 0 ? 0 != bb.get(o + bb_pos) : false;
+  }
+
+  public boolean enabled() {
+    int o = __offset(12);
+    return o != 0 ? 0 != bb.get(o + bb_pos) : false;
+  }
+
+  public boolean hasDependencies() {
+    int o = __offset(14);
+    return o != 0 ? 0 != bb.get(o + bb_pos) : false;
+  }
+
+  public String contextFields(int j) {
+    int o = __offset(16);
+    return o != 0 ? __string(__vector(o) + j * 4) : null;
+  }
+
+  public int contextFieldsLength() {
+    int o = __offset(16);
+    return o != 0 ? __vector_len(o) : 0;
+  }
+
+  public StringVector contextFieldsVector() {
+    return contextFieldsVector(new StringVector());
+  }
+
+  public StringVector contextFieldsVector(StringVector obj) {
+    int o = __offset(16);
+    return o != 0 ? obj.__assign(__vector(o), 4, bb) : null;
+  }
+
+  public String contextProperties(int j) {
+    int o = __offset(18);
+    return o != 0 ? __string(__vector(o) + j * 4) : null;
+  }
+
+  public int contextPropertiesLength() {
+    int o = __offset(18);
+    return o != 0 ? __vector_len(o) : 0;
+  }
+
+  public StringVector contextPropertiesVector() {
+    return contextPropertiesVector(new StringVector());
+  }
+
+  public StringVector contextPropertiesVector(StringVector obj) {
+    int o = __offset(18);
+    return o != 0 ? obj.__assign(__vector(o), 4, bb) : null;
+  }
+
+  public boolean readsWholeContext() {
+    int o = __offset(20);
+    return o != 0 ? 0 != bb.get(o + bb_pos) : false;
+  }
+
+  public io.getunleash.yggdrasil.messaging.FeatureVariant variants(int j) {
+    return variants(new io.getunleash.yggdrasil.messaging.FeatureVariant(), j);
+  }
+
+  public io.getunleash.yggdrasil.messaging.FeatureVariant variants(
+      io.getunleash.yggdrasil.messaging.FeatureVariant obj, int j) {
+    int o = __offset(22);
+    return o != 0 ? obj.__assign(__indirect(__vector(o) + j * 4), bb) : null;
+  }
+
+  public int variantsLength() {
+    int o = __offset(22);
+    return o != 0 ? __vector_len(o) : 0;
+  }
+
+  public io.getunleash.yggdrasil.messaging.FeatureVariant.Vector variantsVector() {
+    return variantsVector(new io.getunleash.yggdrasil.messaging.FeatureVariant.Vector());
+  }
+
+  public io.getunleash.yggdrasil.messaging.FeatureVariant.Vector variantsVector(
+      io.getunleash.yggdrasil.messaging.FeatureVariant.Vector obj) {
+    int o = __offset(22);
+    return o != 0 ? obj.__assign(__vector(o), 4, bb) : null;
+  }
+
+  public String featureType() {
+    int o = __offset(24);
+    return o != 0 ? __string(o + bb_pos) : null;
+  }
+
+  public ByteBuffer featureTypeAsByteBuffer() {
+    return __vector_as_bytebuffer(24, 1);
+  }
+
+  public ByteBuffer featureTypeInByteBuffer(ByteBuffer _bb) {
+    return __vector_in_bytebuffer(_bb, 24, 1);
+  }
+
+  public String project() {
+    int o = __offset(26);
+    return o != 0 ? __string(o + bb_pos) : null;
+  }
+
+  public ByteBuffer projectAsByteBuffer() {
+    return __vector_as_bytebuffer(26, 1);
+  }
+
+  public ByteBuffer projectInByteBuffer(ByteBuffer _bb) {
+    return __vector_in_bytebuffer(_bb, 26, 1);
+  }
+
   public static int createStrategyFeature(
-      FlatBufferBuilder builder, int featureNameOffset, int strategiesOffset) {
-    builder.startTable(2);
+      FlatBufferBuilder builder,
+      int featureNameOffset,
+      int strategiesOffset,
+      int kind,
+      boolean impressionData,
+      boolean enabled,
+      boolean hasDependencies,
+      int contextFieldsOffset,
+      int contextPropertiesOffset,
+      boolean readsWholeContext,
+      int variantsOffset,
+      int featureTypeOffset,
+      int projectOffset) {
+    builder.startTable(12);
+    StrategyFeature.addProject(builder, projectOffset);
+    StrategyFeature.addFeatureType(builder, featureTypeOffset);
+    StrategyFeature.addVariants(builder, variantsOffset);
+    StrategyFeature.addContextProperties(builder, contextPropertiesOffset);
+    StrategyFeature.addContextFields(builder, contextFieldsOffset);
     StrategyFeature.addStrategies(builder, strategiesOffset);
     StrategyFeature.addFeatureName(builder, featureNameOffset);
+    StrategyFeature.addReadsWholeContext(builder, readsWholeContext);
+    StrategyFeature.addHasDependencies(builder, hasDependencies);
+    StrategyFeature.addEnabled(builder, enabled);
+    StrategyFeature.addImpressionData(builder, impressionData);
+    StrategyFeature.addKind(builder, kind);
     return StrategyFeature.endStrategyFeature(builder);
   }
 
   public static void startStrategyFeature(FlatBufferBuilder builder) {
-    builder.startTable(2);
+    builder.startTable(12);
   }
 
   public static void addFeatureName(FlatBufferBuilder builder, int featureNameOffset) {
@@ -101,6 +238,76 @@ public final class StrategyFeature extends Table {
     builder.startVector(4, numElems, 4);
   }
 
+  public static void addKind(FlatBufferBuilder builder, int kind) {
+    builder.addByte(2, (byte) kind, (byte) 0);
+  }
+
+  public static void addImpressionData(FlatBufferBuilder builder, boolean impressionData) {
+    builder.addBoolean(3, impressionData, false);
+  }
+
+  public static void addEnabled(FlatBufferBuilder builder, boolean enabled) {
+    builder.addBoolean(4, enabled, false);
+  }
+
+  public static void addHasDependencies(FlatBufferBuilder builder, boolean hasDependencies) {
+    builder.addBoolean(5, hasDependencies, false);
+  }
+
+  public static void addContextFields(FlatBufferBuilder builder, int contextFieldsOffset) {
+    builder.addOffset(6, contextFieldsOffset, 0);
+  }
+
+  public static int createContextFieldsVector(FlatBufferBuilder builder, int[] data) {
+    builder.startVector(4, data.length, 4);
+    for (int i = data.length - 1; i >= 0; i--) builder.addOffset(data[i]);
+    return builder.endVector();
+  }
+
+  public static void startContextFieldsVector(FlatBufferBuilder builder, int numElems) {
+    builder.startVector(4, numElems, 4);
+  }
+
+  public static void addContextProperties(FlatBufferBuilder builder, int contextPropertiesOffset) {
+    builder.addOffset(7, contextPropertiesOffset, 0);
+  }
+
+  public static int createContextPropertiesVector(FlatBufferBuilder builder, int[] data) {
+    builder.startVector(4, data.length, 4);
+    for (int i = data.length - 1; i >= 0; i--) builder.addOffset(data[i]);
+    return builder.endVector();
+  }
+
+  public static void startContextPropertiesVector(FlatBufferBuilder builder, int numElems) {
+    builder.startVector(4, numElems, 4);
+  }
+
+  public static void addReadsWholeContext(FlatBufferBuilder builder, boolean readsWholeContext) {
+    builder.addBoolean(8, readsWholeContext, false);
+  }
+
+  public static void addVariants(FlatBufferBuilder builder, int variantsOffset) {
+    builder.addOffset(9, variantsOffset, 0);
+  }
+
+  public static int createVariantsVector(FlatBufferBuilder builder, int[] data) {
+    builder.startVector(4, data.length, 4);
+    for (int i = data.length - 1; i >= 0; i--) builder.addOffset(data[i]);
+    return builder.endVector();
+  }
+
+  public static void startVariantsVector(FlatBufferBuilder builder, int numElems) {
+    builder.startVector(4, numElems, 4);
+  }
+
+  public static void addFeatureType(FlatBufferBuilder builder, int featureTypeOffset) {
+    builder.addOffset(10, featureTypeOffset, 0);
+  }
+
+  public static void addProject(FlatBufferBuilder builder, int projectOffset) {
+    builder.addOffset(11, projectOffset, 0);
+  }
+
   public static int endStrategyFeature(FlatBufferBuilder builder) {
     int o = builder.endTable();
     return o;
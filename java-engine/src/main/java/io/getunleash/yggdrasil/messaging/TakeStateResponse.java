@@ -92,9 +92,110 @@ public final class TakeStateResponse extends Table {
     return __vector_in_bytebuffer(_bb, 8, 1);
   }
 
+  public String propertyKeys(int j) {
+    int o = __offset(10);
+    return o != 0 ? __string(__vector(o) + j * 4) : null;
+  }
+
+  public int propertyKeysLength() {
+    int o = __offset(10);
+    return o != 0 ? __vector_len(o) : 0;
+  }
+
+  public StringVector propertyKeysVector() {
+    return propertyKeysVector(new StringVector());
+  }
+
+  public StringVector propertyKeysVector(StringVector obj) {
+    int o = __offset(10);
+    return o != 0 ? obj.__assign(__vector(o), 4, bb) : null;
+  }
+
+  public long variantGeneration() {
+    int o = __offset(12);
+    return o != 0 ? bb.getLong(o + bb_pos) : 0L;
+  }
+
+  public long stateGeneration() {
+    int o = __offset(14);
+    return o != 0 ? bb.getLong(o + bb_pos) : 0L;
+  }
+
+  public String added(int j) {
+    int o = __offset(16);
+    return o != 0 ? __string(__vector(o) + j * 4) : null;
+  }
+
+  public int addedLength() {
+    int o = __offset(16);
+    return o != 0 ? __vector_len(o) : 0;
+  }
+
+  public StringVector addedVector() {
+    return addedVector(new StringVector());
+  }
+
+  public StringVector addedVector(StringVector obj) {
+    int o = __offset(16);
+    return o != 0 ? obj.__assign(__vector(o), 4, bb) : null;
+  }
+
+  public String removed(int j) {
+    int o = __offset(18);
+    return o != 0 ? __string(__vector(o) + j * 4) : null;
+  }
+
+  public int removedLength() {
+    int o = __offset(18);
+    return o != 0 ? __vector_len(o) : 0;
+  }
+
+  public StringVector removedVector() {
+    return removedVector(new StringVector());
+  }
+
+  public StringVector removedVector(StringVector obj) {
+    int o = __offset(18);
+    return o != 0 ? obj.__assign(__vector(o), 4, bb) : null;
+  }
+
+  public String changed(int j) {
+    int o = __offset(20);
+    return o != 0 ? __string(__vector(o) + j * 4) : null;
+  }
+
+  public int changedLength() {
+    int o = __offset(20);
+    return o != 0 ? __vector_len(o) : 0;
+  }
+
+  public StringVector changedVector() {
+    return changedVector(new StringVector());
+  }
+
+  public StringVector changedVector(StringVector obj) {
+    int o = __offset(20);
+    return o != 0 ? obj.__assign(__vector(o), 4, bb) : null;
+  }
+
   public static int createTakeStateResponse(
-      FlatBufferBuilder builder, int featuresOffset, int warningsOffset, int errorOffset) {
-    builder.startTable(3);
+      FlatBufferBuilder builder,
+      int featuresOffset,
+      int warningsOffset,
+      int errorOffset,
+      int propertyKeysOffset,
+      long variantGeneration,
+      long stateGeneration,
+      int addedOffset,
+      int removedOffset,
+      int changedOffset) {
+    builder.startTable(9);
+    TakeStateResponse.addStateGeneration(builder, stateGeneration);
+    TakeStateResponse.addVariantGeneration(builder, variantGeneration);
+    TakeStateResponse.addChanged(builder, changedOffset);
+    TakeStateResponse.addRemoved(builder, removedOffset);
+    TakeStateResponse.addAdded(builder, addedOffset);
+    TakeStateResponse.addPropertyKeys(builder, propertyKeysOffset);
     TakeStateResponse.addError(builder, errorOffset);
     TakeStateResponse.addWarnings(builder, warningsOffset);
     TakeStateResponse.addFeatures(builder, featuresOffset);
@@ -102,7 +203,7 @@ public final class TakeStateResponse extends Table {
   }
 
   public static void startTakeStateResponse(FlatBufferBuilder builder) {
-    builder.startTable(3);
+    builder.startTable(9);
   }
 
   public static void addFeatures(FlatBufferBuilder builder, int featuresOffset) {
@@ -137,6 +238,70 @@ public final class TakeStateResponse extends Table {
     builder.addOffset(2, errorOffset, 0);
   }
 
+  public static void addPropertyKeys(FlatBufferBuilder builder, int propertyKeysOffset) {
+    builder.addOffset(3, propertyKeysOffset, 0);
+  }
+
+  public static int createPropertyKeysVector(FlatBufferBuilder builder, int[] data) {
+    builder.startVector(4, data.length, 4);
+    for (int i = data.length - 1; i >= 0; i--) builder.addOffset(data[i]);
+    return builder.endVector();
+  }
+
+  public static void startPropertyKeysVector(FlatBufferBuilder builder, int numElems) {
+    builder.startVector(4, numElems, 4);
+  }
+
+  public static void addVariantGeneration(FlatBufferBuilder builder, long variantGeneration) {
+    builder.addLong(4, variantGeneration, 0L);
+  }
+
+  public static void addStateGeneration(FlatBufferBuilder builder, long stateGeneration) {
+    builder.addLong(5, stateGeneration, 0L);
+  }
+
+  public static void addAdded(FlatBufferBuilder builder, int addedOffset) {
+    builder.addOffset(6, addedOffset, 0);
+  }
+
+  public static int createAddedVector(FlatBufferBuilder builder, int[] data) {
+    builder.startVector(4, data.length, 4);
+    for (int i = data.length - 1; i >= 0; i--) builder.addOffset(data[i]);
+    return builder.endVector();
+  }
+
+  public static void startAddedVector(FlatBufferBuilder builder, int numElems) {
+    builder.startVector(4, numElems, 4);
+  }
+
+  public static void addRemoved(FlatBufferBuilder builder, int removedOffset) {
+    builder.addOffset(7, removedOffset, 0);
+  }
+
+  public static int createRemovedVector(FlatBufferBuilder builder, int[] data) {
+    builder.startVector(4, data.length, 4);
+    for (int i = data.length - 1; i >= 0; i--) builder.addOffset(data[i]);
+    return builder.endVector();
+  }
+
+  public static void startRemovedVector(FlatBufferBuilder builder, int numElems) {
+    builder.startVector(4, numElems, 4);
+  }
+
+  public static void addChanged(FlatBufferBuilder builder, int changedOffset) {
+    builder.addOffset(8, changedOffset, 0);
+  }
+
+  public static int createChangedVector(FlatBufferBuilder builder, int[] data) {
+    builder.startVector(4, data.length, 4);
+    for (int i = data.length - 1; i >= 0; i--) builder.addOffset(data[i]);
+    return builder.endVector();
+  }
+
+  public static void startChangedVector(FlatBufferBuilder builder, int numElems) {
+    builder.startVector(4, numElems, 4);
+  }
+
   public static int endTakeStateResponse(FlatBufferBuilder builder) {
     int o = builder.endTable();
     return o;
@@ -84,6 +84,31 @@ public final class Variant extends Table {
     return __vector_in_bytebuffer(_bb, 14, 1);
   }
 
+  public long variantIndex() {
+    int o = __offset(16);
+    return o != 0 ? (long) bb.getInt(o + bb_pos) & 0xFFFFFFFFL : 0L;
+  }
+
+  public boolean hasVariantIndex() {
+    int o = __offset(18);
+    return o != 0 ? 0 != bb.get(o + bb_pos) : false;
+  }
+
+  public io.getunleash.yggdrasil.messaging.EvaluationTrace trace() {
+    return trace(new io.getunleash.yggdrasil.messaging.EvaluationTrace());
+  }
+
+  public io.getunleash.yggdrasil.messaging.EvaluationTrace trace(
+      io.getunleash.yggdrasil.messaging.EvaluationTrace obj) {
+    int o = __offset(20);
+    return o != 0 ? obj.__assign(__indirect(o + bb_pos), bb) : null;
+  }
+
+  public boolean staleContext() {
+    int o = __offset(22);
+    return o != 0 ? 0 != bb.get(o + bb_pos) : false;
+  }
+
   public static int createVariant(
       FlatBufferBuilder builder,
       boolean enabled,
@@ -91,11 +116,19 @@ public final class Variant extends Table {
       boolean featureEnabled,
       int nameOffset,
       int payloadOffset,
-      int errorOffset) {
-    builder.startTable(6);
+      int errorOffset,
+      long variantIndex,
+      boolean hasVariantIndex,
+      int traceOffset,
+      boolean staleContext) {
+    builder.startTable(10);
+    Variant.addTrace(builder, traceOffset);
+    Variant.addVariantIndex(builder, variantIndex);
     Variant.addError(builder, errorOffset);
     Variant.addPayload(builder, payloadOffset);
     Variant.addName(builder, nameOffset);
+    Variant.addStaleContext(builder, staleContext);
+    Variant.addHasVariantIndex(builder, hasVariantIndex);
     Variant.addFeatureEnabled(builder, featureEnabled);
     Variant.addImpressionData(builder, impressionData);
     Variant.addEnabled(builder, enabled);
@@ -103,7 +136,7 @@ public final class Variant extends Table {
   }
 
   public static void startVariant(FlatBufferBuilder builder) {
-    builder.startTable(6);
+    builder.startTable(10);
   }
 
   public static void addEnabled(FlatBufferBuilder builder, boolean enabled) {
@@ -130,6 +163,22 @@ public final class Variant extends Table {
     builder.addOffset(5, errorOffset, 0);
   }
 
+  public static void addVariantIndex(FlatBufferBuilder builder, long variantIndex) {
+    builder.addInt(6, (int) variantIndex, (int) 0L);
+  }
+
+  public static void addHasVariantIndex(FlatBufferBuilder builder, boolean hasVariantIndex) {
+    builder.addBoolean(7, hasVariantIndex, false);
+  }
+
+  public static void addTrace(FlatBufferBuilder builder, int traceOffset) {
+    builder.addOffset(8, traceOffset, 0);
+  }
+
+  public static void addStaleContext(FlatBufferBuilder builder, boolean staleContext) {
+    builder.addBoolean(9, staleContext, false);
+  }
+
   public static int endVariant(FlatBufferBuilder builder) {
     int o = builder.endTable();
     return o;
@@ -0,0 +1,423 @@
+package io.getunleash.engine;
+
+import static java.lang.foreign.ValueLayout.ADDRESS;
+import static java.lang.foreign.ValueLayout.JAVA_BOOLEAN;
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+
+import io.getunleash.yggdrasil.messaging.*;
+import java.lang.foreign.Arena;
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SegmentAllocator;
+import java.lang.foreign.StructLayout;
+import java.lang.foreign.SymbolLookup;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.MethodHandle;
+import java.lang.ref.Reference;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Talks to the engine through its C ABI using the Foreign Function &amp; Memory API instead of JNI.
+ * Direct buffers are passed to the engine by address and every call gets its own confined arena for
+ * the returned buffer, which is copied to the heap and freed before the call returns.
+ *
+ * <p>Enable it with {@code -Dio.getunleash.engine.native.ffm=true} on Java 22 or later, ideally
+ * together with {@code --enable-native-access=ALL-UNNAMED} to keep the JVM from warning about it.
+ */
+public class FfmInterface implements NativeInterface {
+  private static final Logger LOGGER = LoggerFactory.getLogger(FfmInterface.class);
+
+  private static final Linker LINKER = Linker.nativeLinker();
+  private static final SymbolLookup SYMBOLS = loadSymbols();
+  private static final ValueLayout SIZE_T = (ValueLayout) LINKER.canonicalLayouts().get("size_t");
+
+  // Mirrors Buf in serialisation.rs, returned and freed by value
+  private static final StructLayout BUF =
+      MemoryLayout.structLayout(
+          ADDRESS.withName("ptr"), SIZE_T.withName("len"), SIZE_T.withName("cap"));
+  private static final long BUF_LEN_OFFSET =
+      BUF.byteOffset(MemoryLayout.PathElement.groupElement("len"));
+
+  private static final MethodHandle NEW_ENGINE =
+      downcall("new_engine", FunctionDescriptor.of(ADDRESS));
+  private static final MethodHandle FREE_ENGINE =
+      downcall("free_engine", FunctionDescriptor.ofVoid(ADDRESS));
+  private static final MethodHandle TAKE_STATE =
+      downcall("flat_take_state", FunctionDescriptor.of(BUF, ADDRESS, ADDRESS));
+  private static final MethodHandle GET_STATE =
+      downcall("get_state", FunctionDescriptor.of(ADDRESS, ADDRESS));
+  private static final MethodHandle GET_STATE_JSON =
+      downcall("flat_get_state_json", FunctionDescriptor.of(BUF, ADDRESS));
+  private static final MethodHandle FREE_RESPONSE =
+      downcall("free_response", FunctionDescriptor.ofVoid(ADDRESS));
+  private static final MethodHandle CHECK_ENABLED =
+      downcall("flat_check_enabled", FunctionDescriptor.of(BUF, ADDRESS, JAVA_LONG, JAVA_LONG));
+  private static final MethodHandle CHECK_ENABLED_BULK =
+      downcall(
+          "flat_check_enabled_bulk", FunctionDescriptor.of(BUF, ADDRESS, JAVA_LONG, JAVA_LONG));
+  private static final MethodHandle CHECK_VARIANT =
+      downcall("flat_check_variant", FunctionDescriptor.of(BUF, ADDRESS, JAVA_LONG, JAVA_LONG));
+  private static final MethodHandle GET_METRICS =
+      downcall("flat_get_metrics", FunctionDescriptor.of(BUF, ADDRESS));
+  private static final MethodHandle ENGINE_STATS =
+      downcall("flat_engine_stats", FunctionDescriptor.of(BUF, ADDRESS));
+  private static final MethodHandle SET_STRATEGY_CONSTRAINTS =
+      downcall("flat_set_strategy_constraints", FunctionDescriptor.ofVoid(ADDRESS, JAVA_BOOLEAN));
+  private static final MethodHandle SET_COUNT_EVALUATIONS =
+      downcall("flat_set_count_evaluations", FunctionDescriptor.ofVoid(ADDRESS, JAVA_BOOLEAN));
+  private static final MethodHandle SET_CALL_STATS =
+      downcall("flat_set_call_stats", FunctionDescriptor.ofVoid(ADDRESS, JAVA_BOOLEAN));
+  private static final MethodHandle SAVE_SNAPSHOT =
+      downcall("flat_save_snapshot", FunctionDescriptor.of(BUF, ADDRESS));
+  private static final MethodHandle LOAD_SNAPSHOT =
+      downcall("flat_load_snapshot", FunctionDescriptor.of(BUF, ADDRESS, JAVA_LONG, JAVA_LONG));
+  private static final MethodHandle LIST_KNOWN_TOGGLES =
+      downcall("flat_list_known_toggles", FunctionDescriptor.of(BUF, ADDRESS));
+  private static final MethodHandle BUF_FREE =
+      downcall("flat_buf_free", FunctionDescriptor.ofVoid(BUF));
+
+  private final MemorySegment engine;
+  // Null unless evaluations are timed, set before the engine is used
+  private EvaluationTimings timings;
+
+  public FfmInterface() {
+    try {
+      this.engine = (MemorySegment) NEW_ENGINE.invokeExact();
+    } catch (Throwable t) {
+      throw new IllegalStateException("Could not create a native engine", t);
+    }
+    NativeMemory.engineCreated();
+  }
+
+  @Override
+  public void freeEngine() {
+    NativeMemory.engineFreed(engine.address());
+    try {
+      FREE_ENGINE.invokeExact(engine);
+    } catch (Throwable t) {
+      LOGGER.warn("Failed to free the native engine", t);
+    }
+  }
+
+  @Override
+  public TakeStateResponse takeState(String toggles) {
+    try {
+      ByteBuffer result =
+          call(
+              arena ->
+                  (MemorySegment)
+                      TAKE_STATE.invokeExact(
+                          (SegmentAllocator) arena, engine, arena.allocateFrom(toggles)));
+      return TakeStateResponse.getRootAsTakeStateResponse(result);
+    } catch (NativeException e) {
+      LOGGER.warn(e.getMessage());
+      return null;
+    }
+  }
+
+  @Override
+  public String getState() {
+    try {
+      MemorySegment json = (MemorySegment) GET_STATE.invokeExact(engine);
+      if (json.equals(MemorySegment.NULL)) {
+        throw new NativeException("get_state returned null");
+      }
+      try {
+        return json.reinterpret(Long.MAX_VALUE).getString(0);
+      } finally {
+        FREE_RESPONSE.invokeExact(json);
+      }
+    } catch (Throwable t) {
+      LOGGER.warn("Failed to get state. Our engine said {}", t.getMessage());
+      return "{}";
+    }
+  }
+
+  @Override
+  public ByteBuffer getStateJson() {
+    try {
+      return call(
+          arena -> (MemorySegment) GET_STATE_JSON.invokeExact((SegmentAllocator) arena, engine));
+    } catch (NativeException e) {
+      LOGGER.warn("Failed to serialise state. Our engine said {}", e.getMessage());
+      return null;
+    }
+  }
+
+  @Override
+  public Response checkEnabled(ByteBuffer contextMessage) {
+    try {
+      ByteBuffer result =
+          evaluate(
+              arena ->
+                  (MemorySegment)
+                      CHECK_ENABLED.invokeExact(
+                          (SegmentAllocator) arena,
+                          engine,
+                          address(contextMessage, arena),
+                          (long) contextMessage.remaining()));
+      return Response.getRootAsResponse(result);
+    } catch (NativeException e) {
+      countFallback();
+      LOGGER.warn(
+          "Our native engine failed to evaluate the context. The engine said {}. Returning default response (enabled: false, impressionData: false, hasEnabled: true)",
+          e.getMessage());
+      return FlatInterface.enabledResponse(e.getMessage());
+    } finally {
+      Reference.reachabilityFence(contextMessage);
+    }
+  }
+
+  @Override
+  public BulkResponse checkEnabledBulk(ByteBuffer bulkContextMessage) {
+    try {
+      ByteBuffer result =
+          call(
+              arena ->
+                  (MemorySegment)
+                      CHECK_ENABLED_BULK.invokeExact(
+                          (SegmentAllocator) arena,
+                          engine,
+                          address(bulkContextMessage, arena),
+                          (long) bulkContextMessage.remaining()));
+      return BulkResponse.getRootAsBulkResponse(result);
+    } catch (NativeException e) {
+      LOGGER.warn(
+          "Our native engine failed to evaluate the contexts. The engine said {}. Returning an empty response (hasEnabled: false)",
+          e.getMessage());
+      return FlatInterface.bulkResponse(e.getMessage());
+    } finally {
+      Reference.reachabilityFence(bulkContextMessage);
+    }
+  }
+
+  @Override
+  public Variant checkVariant(ByteBuffer contextMessage) {
+    try {
+      ByteBuffer result =
+          evaluate(
+              arena ->
+                  (MemorySegment)
+                      CHECK_VARIANT.invokeExact(
+                          (SegmentAllocator) arena,
+                          engine,
+                          address(contextMessage, arena),
+                          (long) contextMessage.remaining()));
+      return Variant.getRootAsVariant(result);
+    } catch (NativeException e) {
+      countFallback();
+      LOGGER.warn(
+          "Our native engine failed to get variant from the passed in context. The engine said {}. Returning default variant",
+          e.getMessage());
+      return FlatInterface.disabledVariant(e.getMessage());
+    } finally {
+      Reference.reachabilityFence(contextMessage);
+    }
+  }
+
+  @Override
+  public MetricsResponse getMetrics() {
+    try {
+      ByteBuffer result =
+          call(arena -> (MemorySegment) GET_METRICS.invokeExact((SegmentAllocator) arena, engine));
+      return MetricsResponse.getRootAsMetricsResponse(result);
+    } catch (NativeException e) {
+      LOGGER.warn(
+          "Our native engine failed to get metrics. The error was [{}]. Returning an empty metrics response",
+          e.getMessage());
+      return FlatInterface.emptyMetrics();
+    }
+  }
+
+  @Override
+  public EngineStatsResponse getEngineStats() {
+    try {
+      ByteBuffer result =
+          call(arena -> (MemorySegment) ENGINE_STATS.invokeExact((SegmentAllocator) arena, engine));
+      return EngineStatsResponse.getRootAsEngineStatsResponse(result);
+    } catch (NativeException e) {
+      LOGGER.warn("Failed to get engine stats. Our engine said {}", e.getMessage());
+      return null;
+    }
+  }
+
+  @Override
+  public ByteBuffer saveSnapshot() {
+    try {
+      return call(
+          arena -> (MemorySegment) SAVE_SNAPSHOT.invokeExact((SegmentAllocator) arena, engine));
+    } catch (NativeException e) {
+      LOGGER.warn("Failed to snapshot state. Our engine said {}", e.getMessage());
+      return null;
+    }
+  }
+
+  @Override
+  public TakeStateResponse loadSnapshot(ByteBuffer snapshot) {
+    try {
+      ByteBuffer result =
+          call(
+              arena ->
+                  (MemorySegment)
+                      LOAD_SNAPSHOT.invokeExact(
+                          (SegmentAllocator) arena,
+                          engine,
+                          address(snapshot, arena),
+                          (long) snapshot.remaining()));
+      return TakeStateResponse.getRootAsTakeStateResponse(result);
+    } catch (NativeException e) {
+      LOGGER.warn(e.getMessage());
+      return null;
+    } finally {
+      Reference.reachabilityFence(snapshot);
+    }
+  }
+
+  @Override
+  public FeatureDefs listKnownToggles() {
+    try {
+      ByteBuffer result =
+          call(
+              arena ->
+                  (MemorySegment) LIST_KNOWN_TOGGLES.invokeExact((SegmentAllocator) arena, engine));
+      return FeatureDefs.getRootAsFeatureDefs(result);
+    } catch (NativeException e) {
+      LOGGER.warn(
+          "Could get known toggles from the native engine. The error was [{}]", e.getMessage());
+      return FlatInterface.emptyFeatureDef();
+    }
+  }
+
+  @Override
+  public void setEvaluationTimings(EvaluationTimings timings) {
+    this.timings = timings;
+  }
+
+  @Override
+  public void setStrategyConstraints(boolean included) {
+    try {
+      SET_STRATEGY_CONSTRAINTS.invokeExact(engine, included);
+    } catch (Throwable t) {
+      LOGGER.warn("Failed to tell the native engine about strategy constraints", t);
+    }
+  }
+
+  @Override
+  public void setCountEvaluations(boolean counted) {
+    try {
+      SET_COUNT_EVALUATIONS.invokeExact(engine, counted);
+    } catch (Throwable t) {
+      LOGGER.warn("Failed to tell the native engine whether to count evaluations", t);
+    }
+  }
+
+  @Override
+  public void setCallStats(boolean counted) {
+    try {
+      SET_CALL_STATS.invokeExact(engine, counted);
+    } catch (Throwable t) {
+      LOGGER.warn("Failed to tell the native engine whether to count calls", t);
+    }
+  }
+
+  private void countFallback() {
+    if (timings != null) {
+      timings.countFallback();
+    }
+  }
+
+  @FunctionalInterface
+  private interface Downcall {
+    MemorySegment invoke(Arena arena) throws Throwable;
+  }
+
+  // Runs a call returning a Buf and copies the result to the heap, where JNI would throw for an
+  // empty buffer this throws a NativeException
+  private static ByteBuffer call(Downcall downcall) throws NativeException {
+    try (Arena arena = Arena.ofConfined()) {
+      MemorySegment buf;
+      try {
+        buf = downcall.invoke(arena);
+      } catch (Throwable t) {
+        throw new NativeException("native call failed: " + t, t);
+      }
+      return toHeap(buf);
+    }
+  }
+
+  // Like call, but records the native call and the copy to the heap when evaluations are timed
+  private ByteBuffer evaluate(Downcall downcall) throws NativeException {
+    EvaluationTimings timings = this.timings;
+    if (timings == null) {
+      return call(downcall);
+    }
+    try (Arena arena = Arena.ofConfined()) {
+      long start = System.nanoTime();
+      MemorySegment buf;
+      try {
+        buf = downcall.invoke(arena);
+      } catch (Throwable t) {
+        throw new NativeException("native call failed: " + t, t);
+      }
+      long called = timings.record(EvaluationTimings.Phase.NATIVE_CALL, start);
+      ByteBuffer result = toHeap(buf);
+      timings.record(EvaluationTimings.Phase.DECODE, called);
+      return result;
+    }
+  }
+
+  private static ByteBuffer toHeap(MemorySegment buf) throws NativeException {
+    try {
+      long len = bufLength(buf);
+      MemorySegment ptr = buf.get(ADDRESS, 0);
+      if (len == 0 || ptr.equals(MemorySegment.NULL)) {
+        throw new NativeException("native returned empty buffer");
+      }
+      byte[] bytes = ptr.reinterpret(len).toArray(JAVA_BYTE);
+      return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    } finally {
+      try {
+        BUF_FREE.invokeExact(buf);
+      } catch (Throwable t) {
+        LOGGER.warn("Failed to free a native buffer", t);
+      }
+    }
+  }
+
+  private static long bufLength(MemorySegment buf) {
+    return SIZE_T.byteSize() == Long.BYTES
+        ? buf.get(JAVA_LONG, BUF_LEN_OFFSET)
+        : Integer.toUnsignedLong(buf.get(JAVA_INT, BUF_LEN_OFFSET));
+  }
+
+  // Direct and memory mapped buffers are passed in place, heap buffers are copied into the
+  // call's arena first
+  private static long address(ByteBuffer buffer, Arena arena) {
+    MemorySegment segment = MemorySegment.ofBuffer(buffer);
+    if (!segment.isNative()) {
+      segment = arena.allocate(segment.byteSize()).copyFrom(segment);
+    }
+    return segment.address();
+  }
+
+  private static SymbolLookup loadSymbols() {
+    // The library is loaded through the same class loader, so its symbols are visible here
+    NativeBridge.ensureLoaded();
+    return SymbolLookup.loaderLookup();
+  }
+
+  private static MethodHandle downcall(String name, FunctionDescriptor descriptor) {
+    MemorySegment symbol =
+        SYMBOLS
+            .find(name)
+            .orElseThrow(() -> new UnsatisfiedLinkError("Native engine has no symbol " + name));
+    return LINKER.downcallHandle(symbol, descriptor);
+  }
+}
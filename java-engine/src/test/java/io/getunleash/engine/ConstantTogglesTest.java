@@ -0,0 +1,162 @@
+package io.getunleash.engine;
+
+import static io.getunleash.engine.TakeStateResponses.feature;
+import static io.getunleash.engine.TakeStateResponses.state;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.flatbuffers.FlatBufferBuilder;
+import io.getunleash.yggdrasil.messaging.MetricsResponse;
+import io.getunleash.yggdrasil.messaging.Response;
+import io.getunleash.yggdrasil.messaging.ToggleEntry;
+import io.getunleash.yggdrasil.messaging.ToggleStats;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConstantTogglesTest {
+  private NativeInterface nativeInterface;
+  private UnleashEngine engine;
+
+  @BeforeEach
+  void setUp() {
+    nativeInterface = mock(NativeInterface.class);
+    when(nativeInterface.checkEnabled(any(ByteBuffer.class))).thenReturn(enabled(true));
+    when(nativeInterface.getMetrics()).thenReturn(metrics(0, 0, null, 0, 0));
+    engine = new UnleashEngine(nativeInterface, null, null);
+  }
+
+  @Test
+  void constantTogglesAreAnsweredWithoutTheNativeEngine() throws Exception {
+    when(nativeInterface.takeState(any(String.class)))
+        .thenReturn(
+            state()
+                .features(
+                    feature("always-on").kind(ConstantToggles.CONSTANT_TRUE).impressionData(true),
+                    feature("always-off").kind(ConstantToggles.CONSTANT_FALSE))
+                .build());
+    engine.takeState("{}");
+
+    FlatResponse<Boolean> on = engine.isEnabled("always-on", new Context());
+    FlatResponse<Boolean> off = engine.isEnabled("always-off", new Context());
+
+    assertTrue(on.value);
+    assertTrue(on.impressionData);
+    assertFalse(off.value);
+    assertFalse(off.impressionData);
+    verify(nativeInterface, never()).checkEnabled(any(ByteBuffer.class));
+  }
+
+  @Test
+  void contextDependentTogglesStillGoToTheNativeEngine() throws Exception {
+    when(nativeInterface.takeState(any(String.class)))
+        .thenReturn(
+            state()
+                .features(
+                    feature("depends"), feature("custom").kind(ConstantToggles.CUSTOM_STRATEGIES))
+                .build());
+    engine.takeState("{}");
+
+    engine.isEnabled("depends", new Context());
+    engine.isEnabled("custom", new Context());
+    engine.isEnabled("unknown", new Context());
+
+    verify(nativeInterface, times(3)).checkEnabled(any(ByteBuffer.class));
+  }
+
+  @Test
+  void aNewStateReplacesTheConstantToggles() throws Exception {
+    when(nativeInterface.takeState(any(String.class)))
+        .thenReturn(
+            state().features(feature("toggle").kind(ConstantToggles.CONSTANT_FALSE)).build())
+        .thenReturn(
+            state().features(feature("toggle").kind(ConstantToggles.CONTEXT_DEPENDENT)).build());
+    engine.takeState("{}");
+    assertFalse(engine.isEnabled("toggle", new Context()).value);
+
+    engine.takeState("{}");
+    assertTrue(engine.isEnabled("toggle", new Context()).value);
+  }
+
+  @Test
+  void constantToggleCountsAreMergedIntoTheMetrics() throws Exception {
+    when(nativeInterface.takeState(any(String.class)))
+        .thenReturn(
+            state().features(feature("toggle").kind(ConstantToggles.CONSTANT_TRUE)).build());
+    when(nativeInterface.getMetrics()).thenReturn(metrics(1000, 2000, "toggle", 2, 1));
+    engine.takeState("{}");
+
+    engine.isEnabled("toggle", new Context());
+    engine.isEnabled("toggle", new Context());
+    MetricsBucket bucket = engine.getMetrics();
+
+    assertThat(bucket.getStart()).isEqualTo(Instant.ofEpochMilli(1000));
+    assertThat(bucket.getStop()).isEqualTo(Instant.ofEpochMilli(2000));
+    assertThat(bucket.getToggles().get("toggle").getYes()).isEqualTo(4L);
+    assertThat(bucket.getToggles().get("toggle").getNo()).isEqualTo(1L);
+  }
+
+  @Test
+  void constantToggleCountsAreOnlyReportedOnce() throws Exception {
+    when(nativeInterface.takeState(any(String.class)))
+        .thenReturn(
+            state().features(feature("toggle").kind(ConstantToggles.CONSTANT_FALSE)).build());
+    engine.takeState("{}");
+
+    engine.isEnabled("toggle", new Context());
+    MetricsBucket first = engine.getMetrics();
+    MetricsBucket second = engine.getMetrics();
+
+    assertThat(first.getToggles().get("toggle").getNo()).isEqualTo(1L);
+    assertThat(first.getStart()).isBeforeOrEqualTo(first.getStop());
+    assertThat(second.getToggles()).isEmpty();
+  }
+
+  @Test
+  void countsFromAPreviousStateAreNotLost() throws Exception {
+    when(nativeInterface.takeState(any(String.class)))
+        .thenReturn(state().features(feature("toggle").kind(ConstantToggles.CONSTANT_TRUE)).build())
+        .thenReturn(state().features(feature("other").kind(ConstantToggles.CONSTANT_TRUE)).build());
+    engine.takeState("{}");
+    engine.isEnabled("toggle", new Context());
+    engine.takeState("{}");
+
+    assertThat(engine.getMetrics().getToggles().get("toggle").getYes()).isEqualTo(1L);
+  }
+
+  private static Response enabled(boolean enabled) {
+    FlatBufferBuilder builder = new FlatBufferBuilder(32);
+    Response.startResponse(builder);
+    Response.addEnabled(builder, enabled);
+    Response.addHasEnabled(builder, true);
+    builder.finish(Response.endResponse(builder));
+    return Response.getRootAsResponse(builder.dataBuffer());
+  }
+
+  private static MetricsResponse metrics(long start, long stop, String toggle, long yes, long no) {
+    FlatBufferBuilder builder = new FlatBufferBuilder(128);
+    int toggles = 0;
+    if (toggle != null) {
+      int stats = ToggleStats.createToggleStats(builder, no, yes, 0);
+      int key = builder.createString(toggle);
+      int entry = ToggleEntry.createToggleEntry(builder, key, stats);
+      toggles = MetricsResponse.createTogglesVector(builder, new int[] {entry});
+    }
+    MetricsResponse.startMetricsResponse(builder);
+    MetricsResponse.addStart(builder, start);
+    MetricsResponse.addStop(builder, stop);
+    if (toggles != 0) {
+      MetricsResponse.addToggles(builder, toggles);
+    }
+    builder.finish(MetricsResponse.endMetricsResponse(builder));
+    return MetricsResponse.getRootAsMetricsResponse(builder.dataBuffer());
+  }
+}
@@ -0,0 +1,150 @@
+package io.getunleash.engine;
+
+import static io.getunleash.engine.TakeStateResponses.feature;
+import static io.getunleash.engine.TakeStateResponses.state;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.flatbuffers.FlatBufferBuilder;
+import io.getunleash.yggdrasil.messaging.BulkContextMessage;
+import io.getunleash.yggdrasil.messaging.BulkResponse;
+import io.getunleash.yggdrasil.messaging.ContextColumn;
+import io.getunleash.yggdrasil.messaging.MetricsResponse;
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class ContextColumnsTest {
+  private NativeInterface nativeInterface;
+  private UnleashEngine engine;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    nativeInterface = mock(NativeInterface.class);
+    when(nativeInterface.getMetrics()).thenReturn(emptyMetrics());
+    when(nativeInterface.takeState(any(String.class)))
+        .thenReturn(
+            state()
+                .features(
+                    feature("depends"), feature("always-on").kind(ConstantToggles.CONSTANT_TRUE))
+                .build());
+    engine = new UnleashEngine(nativeInterface, null, null);
+    engine.takeState("{}");
+  }
+
+  @Test
+  void columnsMustHaveOneValuePerContext() {
+    ContextColumns contexts = new ContextColumns(2);
+
+    assertThrows(IllegalArgumentException.class, () -> contexts.setUserIds(new String[3]));
+    assertThrows(
+        IllegalArgumentException.class, () -> contexts.setProperty("region", new String[1]));
+  }
+
+  @Test
+  void singleContextsCanBeReadBack() {
+    ContextColumns contexts =
+        new ContextColumns(2)
+            .setUserIds(new String[] {"1", null})
+            .setProperty("region", new String[] {null, "eu"})
+            .setEnvironment("prod");
+
+    Context second = contexts.get(1);
+
+    assertNull(second.getUserId());
+    assertEquals("prod", second.getEnvironment());
+    assertEquals("eu", second.getProperties().get("region"));
+    assertThat(contexts.get(0).getProperties()).isEmpty();
+  }
+
+  @Test
+  void aBatchIsOneNativeCallWithOneColumnPerField() throws Exception {
+    when(nativeInterface.checkEnabledBulk(any(ByteBuffer.class))).thenReturn(bulkResponse(0b101L));
+    ContextColumns contexts =
+        new ContextColumns(3)
+            .setUserIds(new String[] {"1", "2", "3"})
+            .setProperty("region", new String[] {"eu", null, "eu"})
+            .setAppName("app");
+
+    FlatResponse<BitSet> response = engine.isEnabledBulk("depends", contexts, 4);
+
+    ArgumentCaptor<ByteBuffer> sent = ArgumentCaptor.forClass(ByteBuffer.class);
+    verify(nativeInterface).checkEnabledBulk(sent.capture());
+    BulkContextMessage message = BulkContextMessage.getRootAsBulkContextMessage(sent.getValue());
+    assertEquals("depends", message.toggleName());
+    assertEquals(3, message.count());
+    assertEquals(4, message.parallelism());
+    assertEquals("app", message.appName());
+    // Like single checks, the current time isn't formatted for every batch
+    assertNull(message.currentTime());
+    assertTrue(message.hasCurrentTimeMs());
+    assertEquals(2, message.columnsLength());
+    ContextColumn region = message.columns(1);
+    assertEquals("region", region.name());
+    assertEquals("eu", region.values(2));
+    assertEquals(0b010L, region.missing(0));
+
+    assertThat(response.value.stream()).containsExactly(0, 2);
+    assertTrue(response.impressionData);
+  }
+
+  @Test
+  void batchesAreCountedInTheMetrics() throws Exception {
+    when(nativeInterface.checkEnabledBulk(any(ByteBuffer.class))).thenReturn(bulkResponse(0b110L));
+    engine.isEnabledBulk("depends", new ContextColumns(3));
+
+    MetricsBucket bucket = engine.getMetrics();
+
+    assertThat(bucket.getToggles().get("depends").getYes()).isEqualTo(2L);
+    assertThat(bucket.getToggles().get("depends").getNo()).isEqualTo(1L);
+  }
+
+  @Test
+  void constantTogglesAreAnsweredForTheWholeBatch() throws Exception {
+    FlatResponse<BitSet> response = engine.isEnabledBulk("always-on", new ContextColumns(70));
+
+    assertEquals(70, response.value.cardinality());
+    verify(nativeInterface, never()).checkEnabledBulk(any(ByteBuffer.class));
+    assertThat(engine.getMetrics().getToggles().get("always-on").getYes()).isEqualTo(70L);
+  }
+
+  @Test
+  void unknownTogglesHaveNoValue() throws Exception {
+    FlatBufferBuilder builder = new FlatBufferBuilder(32);
+    BulkResponse.startBulkResponse(builder);
+    BulkResponse.addHasEnabled(builder, false);
+    builder.finish(BulkResponse.endBulkResponse(builder));
+    when(nativeInterface.checkEnabledBulk(any(ByteBuffer.class)))
+        .thenReturn(BulkResponse.getRootAsBulkResponse(builder.dataBuffer()));
+
+    assertNull(engine.isEnabledBulk("unknown", new ContextColumns(2)).value);
+  }
+
+  private static BulkResponse bulkResponse(long enabled) {
+    FlatBufferBuilder builder = new FlatBufferBuilder(64);
+    int vector = BulkResponse.createEnabledVector(builder, new long[] {enabled});
+    BulkResponse.startBulkResponse(builder);
+    BulkResponse.addEnabled(builder, vector);
+    BulkResponse.addHasEnabled(builder, true);
+    BulkResponse.addImpressionData(builder, true);
+    builder.finish(BulkResponse.endBulkResponse(builder));
+    return BulkResponse.getRootAsBulkResponse(builder.dataBuffer());
+  }
+
+  private static MetricsResponse emptyMetrics() {
+    FlatBufferBuilder builder = new FlatBufferBuilder(32);
+    MetricsResponse.startMetricsResponse(builder);
+    builder.finish(MetricsResponse.endMetricsResponse(builder));
+    return MetricsResponse.getRootAsMetricsResponse(builder.dataBuffer());
+  }
+}
@@ -0,0 +1,108 @@
+package io.getunleash.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.flatbuffers.FlatBufferBuilder;
+import io.getunleash.yggdrasil.messaging.ContextMessage;
+import io.getunleash.yggdrasil.messaging.Response;
+import io.getunleash.yggdrasil.messaging.TypedPropertyEntry;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class ContextTest {
+  private NativeInterface nativeInterface;
+  private UnleashEngine engine;
+
+  @BeforeEach
+  void setUp() {
+    nativeInterface = mock(NativeInterface.class);
+    when(nativeInterface.checkEnabled(any(ByteBuffer.class))).thenReturn(enabled());
+    engine = new UnleashEngine(nativeInterface, null, null);
+  }
+
+  @Test
+  void typedPropertiesAreSentWithoutFormattingThem() throws Exception {
+    Context context = new Context();
+    context.setProperty("age", 31L);
+    context.setProperty("ratio", 0.5);
+    context.setProperty("since", Instant.ofEpochMilli(1500));
+    engine.isEnabled("toggle", context);
+
+    ContextMessage message = sentMessage();
+    assertEquals(0, message.propertiesLength());
+    Map<String, TypedPropertyEntry> typed = new HashMap<>();
+    for (int i = 0; i < message.typedPropertiesLength(); i++) {
+      typed.put(message.typedProperties(i).key(), message.typedProperties(i));
+    }
+    assertEquals(3, typed.size());
+    assertEquals(31L, typed.get("age").longValue());
+    assertEquals(0.5, typed.get("ratio").doubleValue());
+    assertEquals(2, typed.get("since").kind());
+    assertEquals(1500L, typed.get("since").longValue());
+  }
+
+  @Test
+  void theCurrentTimeIsSentInMillis() throws Exception {
+    long before = System.currentTimeMillis();
+    engine.isEnabled("toggle", new Context());
+
+    ContextMessage message = sentMessage();
+    assertNull(message.currentTime());
+    assertTrue(message.hasCurrentTimeMs());
+    assertTrue(message.currentTimeMs() >= before);
+  }
+
+  @Test
+  void aFormattedCurrentTimeIsSentAsItIs() throws Exception {
+    Context context = new Context();
+    context.setCurrentTimeMillis(1500);
+    context.setCurrentTime("2024-01-01T00:00:00Z");
+    engine.isEnabled("toggle", context);
+
+    ContextMessage message = sentMessage();
+    assertEquals("2024-01-01T00:00:00Z", message.currentTime());
+    assertFalse(message.hasCurrentTimeMs());
+  }
+
+  @Test
+  void typedValuesReadTheWayTheEngineSeesThem() {
+    Context context = new Context();
+    context.getProperties().put("ratio", "text");
+    context.setProperty("ratio", 2.0);
+    context.setProperty("small", 0.25);
+    context.setProperty("since", Instant.ofEpochMilli(1_700_000_000_123L));
+    context.setCurrentTimeMillis(0);
+
+    assertEquals("2", context.propertyValue("ratio"));
+    assertEquals("0.25", context.propertyValue("small"));
+    assertEquals("2023-11-14T22:13:20.123Z", context.propertyValue("since"));
+    assertEquals("1970-01-01T00:00:00Z", context.getCurrentTime());
+  }
+
+  private ContextMessage sentMessage() {
+    ArgumentCaptor<ByteBuffer> sent = ArgumentCaptor.forClass(ByteBuffer.class);
+    verify(nativeInterface).checkEnabled(sent.capture());
+    return ContextMessage.getRootAsContextMessage(sent.getValue());
+  }
+
+  private static Response enabled() {
+    FlatBufferBuilder builder = new FlatBufferBuilder(32);
+    Response.startResponse(builder);
+    Response.addEnabled(builder, true);
+    Response.addHasEnabled(builder, true);
+    builder.finish(Response.endResponse(builder));
+    return Response.getRootAsResponse(builder.dataBuffer());
+  }
+}
@@ -0,0 +1,150 @@
+package io.getunleash.engine;
+
+import static io.getunleash.engine.TakeStateResponses.feature;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.flatbuffers.FlatBufferBuilder;
+import io.getunleash.yggdrasil.messaging.ContextMessage;
+import io.getunleash.yggdrasil.messaging.Response;
+import io.getunleash.yggdrasil.messaging.TakeStateResponse;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class ContextUsageTest {
+  private static final long GENERATION = 3;
+  private NativeInterface nativeInterface;
+  private UnleashEngine engine;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    nativeInterface = mock(NativeInterface.class);
+    when(nativeInterface.isDedicated()).thenReturn(true);
+    when(nativeInterface.checkEnabled(any(ByteBuffer.class))).thenReturn(enabled());
+    when(nativeInterface.takeState(any(String.class))).thenReturn(state());
+    engine = new UnleashEngine(nativeInterface, null, null);
+    engine.takeState("{}");
+  }
+
+  @Test
+  void theUsageOfEveryToggleIsPublished() {
+    ContextUsage usage = engine.getContextUsage("by-user");
+
+    assertThat(usage.getFields()).containsExactly("userId");
+    assertThat(usage.getProperties()).containsExactly("region");
+    assertFalse(usage.readsWholeContext());
+    assertTrue(engine.getContextUsage("anything").readsWholeContext());
+    assertNull(engine.getContextUsage("unknown"));
+  }
+
+  @Test
+  void onlyWhatTheToggleReadsIsSent() throws Exception {
+    engine.isEnabled("by-user", fullContext());
+
+    ContextMessage message = sentMessage();
+    assertEquals("7", message.userId());
+    assertNull(message.sessionId());
+    assertNull(message.environment());
+    assertNull(message.currentTime());
+    assertEquals(1, message.propertiesLength());
+    assertEquals("region", message.properties(0).key());
+    assertEquals(GENERATION, message.usageGeneration());
+  }
+
+  @Test
+  void togglesThatMayReadAnythingGetTheWholeContext() throws Exception {
+    engine.isEnabled("anything", fullContext());
+
+    ContextMessage message = sentMessage();
+    assertEquals("7", message.userId());
+    assertEquals("session", message.sessionId());
+    assertEquals("production", message.environment());
+    assertEquals(2, message.propertiesLength());
+    assertEquals(0, message.usageGeneration());
+  }
+
+  @Test
+  void aContextTrimmedForAnOlderStateIsSentAgainWhole() throws Exception {
+    when(nativeInterface.checkEnabled(any(ByteBuffer.class))).thenReturn(stale(), enabled());
+
+    assertTrue(engine.isEnabled("by-user", fullContext()).value);
+
+    ArgumentCaptor<ByteBuffer> sent = ArgumentCaptor.forClass(ByteBuffer.class);
+    verify(nativeInterface, times(2)).checkEnabled(sent.capture());
+    ContextMessage retried = ContextMessage.getRootAsContextMessage(sent.getAllValues().get(1));
+    assertEquals("session", retried.sessionId());
+    assertEquals(2, retried.propertiesLength());
+    assertEquals(0, retried.usageGeneration());
+  }
+
+  @Test
+  void enginesSharingTheirStateSendTheWholeContext() throws Exception {
+    NativeInterface shared = mock(NativeInterface.class);
+    when(shared.checkEnabled(any(ByteBuffer.class))).thenReturn(enabled());
+    when(shared.takeState(any(String.class))).thenReturn(state());
+    UnleashEngine sharing = new UnleashEngine(shared, null, null);
+    sharing.takeState("{}");
+
+    sharing.isEnabled("by-user", fullContext());
+
+    ArgumentCaptor<ByteBuffer> sent = ArgumentCaptor.forClass(ByteBuffer.class);
+    verify(shared).checkEnabled(sent.capture());
+    ContextMessage message = ContextMessage.getRootAsContextMessage(sent.getValue());
+    assertEquals("session", message.sessionId());
+    assertEquals(0, message.usageGeneration());
+    // What the state reports is still there to look at
+    assertThat(sharing.getContextUsage("by-user").getFields()).containsExactly("userId");
+  }
+
+  private ContextMessage sentMessage() {
+    ArgumentCaptor<ByteBuffer> sent = ArgumentCaptor.forClass(ByteBuffer.class);
+    verify(nativeInterface).checkEnabled(sent.capture());
+    return ContextMessage.getRootAsContextMessage(sent.getValue());
+  }
+
+  private static Context fullContext() {
+    Context context = new Context();
+    context.setUserId("7");
+    context.setSessionId("session");
+    context.setEnvironment("production");
+    context.getProperties().put("region", "eu");
+    context.getProperties().put("plan", "pro");
+    return context;
+  }
+
+  private static TakeStateResponse state() {
+    return TakeStateResponses.state()
+        .features(
+            feature("by-user").contextFields("userId").contextProperties("region"),
+            feature("anything").readsWholeContext())
+        .stateGeneration(GENERATION)
+        .build();
+  }
+
+  private static Response enabled() {
+    FlatBufferBuilder builder = new FlatBufferBuilder(32);
+    Response.startResponse(builder);
+    Response.addEnabled(builder, true);
+    Response.addHasEnabled(builder, true);
+    builder.finish(Response.endResponse(builder));
+    return Response.getRootAsResponse(builder.dataBuffer());
+  }
+
+  private static Response stale() {
+    FlatBufferBuilder builder = new FlatBufferBuilder(32);
+    Response.startResponse(builder);
+    Response.addStaleContext(builder, true);
+    builder.finish(Response.endResponse(builder));
+    return Response.getRootAsResponse(builder.dataBuffer());
+  }
+}
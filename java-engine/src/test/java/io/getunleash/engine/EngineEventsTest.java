@@ -0,0 +1,78 @@
+package io.getunleash.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.flatbuffers.FlatBufferBuilder;
+import io.getunleash.yggdrasil.messaging.TakeStateResponse;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EngineEventsTest {
+  @TempDir Path dir;
+
+  @Test
+  void takingStateIsRecorded() throws Exception {
+    NativeInterface nativeInterface = mock(NativeInterface.class);
+    when(nativeInterface.takeState(any(String.class))).thenReturn(emptyState());
+    UnleashEngine engine = new UnleashEngine(nativeInterface, null, null);
+
+    List<RecordedEvent> events =
+        record("io.getunleash.engine.TakeState", () -> engine.takeState("{\"features\":[]}"));
+
+    assertEquals(1, events.size());
+    assertEquals("json", events.get(0).getString("source"));
+    assertEquals(15, events.get(0).getLong("payloadLength"));
+    assertEquals(0, events.get(0).getInt("features"));
+  }
+
+  @Test
+  void nativeErrorsAreRecorded() throws Exception {
+    List<RecordedEvent> events =
+        record("io.getunleash.engine.NativeError", () -> new NativeException("engine is gone"));
+
+    assertEquals(1, events.size());
+    assertEquals("engine is gone", events.get(0).getString("message"));
+  }
+
+  @Test
+  void nothingIsBegunWhileNotRecording() {
+    assertEquals(null, EngineEvents.beginTakeState());
+    assertEquals(null, EngineEvents.beginEvaluation());
+  }
+
+  private List<RecordedEvent> record(String eventName, Action action) throws Exception {
+    Path file = dir.resolve("recording.jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable(eventName);
+      recording.start();
+      action.run();
+      recording.stop();
+      recording.dump(file);
+    }
+    return RecordingFile.readAllEvents(file).stream()
+        .filter(event -> event.getEventType().getName().equals(eventName))
+        .collect(Collectors.toList());
+  }
+
+  private static TakeStateResponse emptyState() {
+    FlatBufferBuilder builder = new FlatBufferBuilder(64);
+    int features = TakeStateResponse.createFeaturesVector(builder, new int[0]);
+    TakeStateResponse.startTakeStateResponse(builder);
+    TakeStateResponse.addFeatures(builder, features);
+    builder.finish(TakeStateResponse.endTakeStateResponse(builder));
+    return TakeStateResponse.getRootAsTakeStateResponse(builder.dataBuffer());
+  }
+
+  private interface Action {
+    void run() throws Exception;
+  }
+}
@@ -0,0 +1,69 @@
+package io.getunleash.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.flatbuffers.FlatBufferBuilder;
+import io.getunleash.yggdrasil.messaging.EngineStatsResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class EngineStatsTest {
+
+  @AfterEach
+  void tearDown() {
+    System.clearProperty(EngineStats.CALL_STATS_PROPERTY);
+  }
+
+  @Test
+  void callsAreOnlyCountedWhenAskedFor() {
+    NativeInterface uncounted = mock(NativeInterface.class);
+    new UnleashEngine(uncounted, null, null);
+    System.setProperty(EngineStats.CALL_STATS_PROPERTY, "true");
+    NativeInterface counted = mock(NativeInterface.class);
+    new UnleashEngine(counted, null, null);
+
+    verify(uncounted, never()).setCallStats(true);
+    verify(counted).setCallStats(true);
+  }
+
+  @Test
+  void statsAreReadFromTheEngine() {
+    FlatBufferBuilder builder = new FlatBufferBuilder(128);
+    builder.finish(
+        EngineStatsResponse.createEngineStatsResponse(
+            builder, 1000, 1002, 3, 4500, 900000, 2, 120000, 40, 5, 65536, 1, 128, 0));
+    NativeInterface nativeInterface = mock(NativeInterface.class);
+    when(nativeInterface.getEngineStats())
+        .thenReturn(EngineStatsResponse.getRootAsEngineStatsResponse(builder.dataBuffer()));
+
+    EngineStats stats = new UnleashEngine(nativeInterface, null, null).getEngineStats();
+
+    assertEquals(1000, stats.getEvaluations());
+    assertEquals(3, stats.getContendedLockAcquisitions());
+    assertEquals(4500, stats.getLockWaitNanos());
+    assertEquals(2, stats.getTakeStates());
+    assertEquals(40, stats.getFeatures());
+    assertEquals(5, stats.getSegments());
+    assertEquals(65536, stats.getStateBytes());
+    assertEquals(128, stats.getOutstandingBufferBytes());
+  }
+
+  @Test
+  void engineErrorsReportNoStats() {
+    FlatBufferBuilder builder = new FlatBufferBuilder(64);
+    int error = builder.createString("Null error detected");
+    EngineStatsResponse.startEngineStatsResponse(builder);
+    EngineStatsResponse.addError(builder, error);
+    builder.finish(EngineStatsResponse.endEngineStatsResponse(builder));
+    NativeInterface nativeInterface = mock(NativeInterface.class);
+    when(nativeInterface.getEngineStats())
+        .thenReturn(EngineStatsResponse.getRootAsEngineStatsResponse(builder.dataBuffer()));
+
+    assertNull(new UnleashEngine(nativeInterface, null, null).getEngineStats());
+  }
+}
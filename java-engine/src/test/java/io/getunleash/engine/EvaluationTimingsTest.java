@@ -0,0 +1,90 @@
+package io.getunleash.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.flatbuffers.FlatBufferBuilder;
+import io.getunleash.engine.EvaluationTimings.Phase;
+import io.getunleash.yggdrasil.messaging.Response;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class EvaluationTimingsTest {
+
+  @AfterEach
+  void tearDown() {
+    System.clearProperty(EvaluationTimings.TIMINGS_PROPERTY);
+  }
+
+  @Test
+  void evaluationsAreTimedPerPhaseWhenEnabled() throws Exception {
+    System.setProperty(EvaluationTimings.TIMINGS_PROPERTY, "true");
+    NativeInterface nativeInterface = mock(NativeInterface.class);
+    when(nativeInterface.checkEnabled(any(ByteBuffer.class)))
+        .thenReturn(response(null), response("broken"));
+    UnleashEngine engine = new UnleashEngine(nativeInterface, null, null);
+
+    engine.isEnabled("toggle", new Context());
+    try {
+      engine.isEnabled("toggle", new Context());
+    } catch (YggdrasilInvalidInputException expected) {
+      // The error is what's counted
+    }
+
+    EvaluationTimings timings = engine.getEvaluationTimings();
+    verify(nativeInterface).setEvaluationTimings(timings);
+    assertEquals(2, timings.getHistogram(Phase.CUSTOM_STRATEGIES).getCount());
+    assertEquals(2, timings.getHistogram(Phase.ENCODE).getCount());
+    assertEquals(2, timings.getHistogram(Phase.TOTAL).getCount());
+    assertEquals(1, timings.getErrors());
+    assertEquals(0, timings.getFallbacks());
+  }
+
+  @Test
+  void nothingIsTimedByDefault() throws Exception {
+    NativeInterface nativeInterface = mock(NativeInterface.class);
+    UnleashEngine engine = new UnleashEngine(nativeInterface, null, null);
+
+    assertNull(engine.getEvaluationTimings());
+    verify(nativeInterface, never()).setEvaluationTimings(any());
+  }
+
+  @Test
+  void durationsGoToTheSmallestBucketThatHoldsThem() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(1);
+    histogram.record(256);
+    histogram.record(257);
+    histogram.record(1_000_000);
+    histogram.record(Long.MAX_VALUE / 2);
+
+    long[] bounds = histogram.getUpperBoundsNanos();
+    long[] counts = histogram.getCounts();
+    assertEquals(2, counts[0]);
+    assertEquals(512, bounds[1]);
+    assertEquals(1, counts[1]);
+    assertEquals(1, counts[LatencyHistogram.bucket(1_000_000)]);
+    assertEquals(1 << 20, bounds[LatencyHistogram.bucket(1_000_000)]);
+    assertEquals(1, counts[counts.length - 1]);
+    assertEquals(5, histogram.getCount());
+  }
+
+  private static Response response(String error) {
+    FlatBufferBuilder builder = new FlatBufferBuilder(32);
+    int errorOffset = error != null ? builder.createString(error) : 0;
+    Response.startResponse(builder);
+    Response.addEnabled(builder, true);
+    Response.addHasEnabled(builder, true);
+    if (error != null) {
+      Response.addError(builder, errorOffset);
+    }
+    builder.finish(Response.endResponse(builder));
+    return Response.getRootAsResponse(builder.dataBuffer());
+  }
+}
@@ -0,0 +1,125 @@
+package io.getunleash.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.flatbuffers.FlatBufferBuilder;
+import io.getunleash.yggdrasil.messaging.ContextMessage;
+import io.getunleash.yggdrasil.messaging.EvaluationTrace;
+import io.getunleash.yggdrasil.messaging.Response;
+import io.getunleash.yggdrasil.messaging.StrategyTrace;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EvaluationTraceTest {
+  private final List<io.getunleash.engine.EvaluationTrace> traces = new ArrayList<>();
+  private final List<Boolean> askedForTrace = new ArrayList<>();
+  private UnleashEngine engine;
+
+  @BeforeEach
+  void setUp() {
+    NativeInterface nativeInterface = mock(NativeInterface.class);
+    when(nativeInterface.checkEnabled(any(ByteBuffer.class)))
+        .thenAnswer(
+            invocation -> {
+              ByteBuffer message =
+                  invocation.<ByteBuffer>getArgument(0).duplicate().order(ByteOrder.LITTLE_ENDIAN);
+              boolean trace = ContextMessage.getRootAsContextMessage(message).trace();
+              askedForTrace.add(trace);
+              return response(trace);
+            });
+    engine = new UnleashEngine(nativeInterface, null, null);
+  }
+
+  @Test
+  void everyEvaluationOfTheGivenTogglesIsTraced() throws Exception {
+    engine.traceEvaluations(traces::add, 0, Collections.singletonList("traced"));
+
+    engine.isEnabled("traced", new Context());
+    engine.isEnabled("other", new Context());
+    engine.isEnabled("traced", new Context());
+
+    assertThat(askedForTrace).containsExactly(true, false, true);
+    assertThat(traces).hasSize(2);
+    io.getunleash.engine.EvaluationTrace trace = traces.get(0);
+    assertThat(trace.getOperation()).isEqualTo("isEnabled");
+    assertThat(trace.getToggleName()).isEqualTo("traced");
+    assertThat(trace.getEnabled()).isTrue();
+    assertThat(trace.isKnown()).isTrue();
+    assertThat(trace.getEvaluateNanos()).isEqualTo(2_000L);
+    assertThat(trace.getTotalNanos()).isGreaterThanOrEqualTo(trace.getNativeCallNanos());
+    assertThat(trace.getStrategies()).hasSize(1);
+    assertThat(trace.getStrategies().get(0).getName()).isEqualTo("flexibleRollout");
+    assertThat(trace.getStrategies().get(0).getConstraints()).isEqualTo(3L);
+    assertThat(trace.getStrategies().get(0).getSegments()).containsExactly(7);
+    assertThat(trace.getDependencies()).containsExactly("parent");
+    assertThat(trace.getCustomStrategies()).isEmpty();
+  }
+
+  @Test
+  void samplingOneInOneTracesEverything() throws Exception {
+    engine.traceEvaluations(traces::add, 1, null);
+
+    engine.isEnabled("first", new Context());
+    engine.isEnabled("second", new Context());
+
+    assertThat(traces)
+        .extracting(io.getunleash.engine.EvaluationTrace::getToggleName)
+        .containsExactly("first", "second");
+  }
+
+  @Test
+  void nothingIsTracedByDefaultOrAfterStopping() throws Exception {
+    engine.isEnabled("traced", new Context());
+    engine.traceEvaluations(traces::add, 1, null);
+    engine.stopTracingEvaluations();
+    engine.isEnabled("traced", new Context());
+
+    assertThat(askedForTrace).containsExactly(false, false);
+    assertThat(traces).isEmpty();
+  }
+
+  @Test
+  void aFailingSinkDoesNotFailTheEvaluation() throws Exception {
+    engine.traceEvaluations(
+        trace -> {
+          throw new IllegalStateException("full");
+        },
+        1,
+        null);
+
+    assertThat(engine.isEnabled("traced", new Context()).value).isTrue();
+  }
+
+  private static Response response(boolean traced) {
+    FlatBufferBuilder builder = new FlatBufferBuilder(128);
+    int trace = 0;
+    if (traced) {
+      int name = builder.createString("flexibleRollout");
+      int segments = StrategyTrace.createSegmentsVector(builder, new int[] {7});
+      int strategy = StrategyTrace.createStrategyTrace(builder, name, 3, segments, false);
+      int strategies = EvaluationTrace.createStrategiesVector(builder, new int[] {strategy});
+      int dependencies =
+          EvaluationTrace.createDependenciesVector(
+              builder, new int[] {builder.createString("parent")});
+      trace =
+          EvaluationTrace.createEvaluationTrace(
+              builder, true, 1_000, 2_000, 0, strategies, dependencies);
+    }
+    Response.startResponse(builder);
+    Response.addEnabled(builder, true);
+    Response.addHasEnabled(builder, true);
+    if (trace != 0) {
+      Response.addTrace(builder, trace);
+    }
+    builder.finish(Response.endResponse(builder));
+    return Response.getRootAsResponse(builder.dataBuffer());
+  }
+}
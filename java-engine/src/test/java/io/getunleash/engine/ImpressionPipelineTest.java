@@ -0,0 +1,186 @@
+package io.getunleash.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.flatbuffers.FlatBufferBuilder;
+import io.getunleash.yggdrasil.messaging.ContextMessage;
+import io.getunleash.yggdrasil.messaging.Response;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.Test;
+
+class ImpressionPipelineTest {
+
+  @Test
+  void evaluationsWithImpressionDataArePublished() throws Exception {
+    NativeInterface nativeInterface = mock(NativeInterface.class);
+    when(nativeInterface.checkEnabled(any(ByteBuffer.class)))
+        .thenAnswer(invocation -> response(toggleName(invocation.getArgument(0)).equals("seen")));
+    UnleashEngine engine = new UnleashEngine(nativeInterface, null, null);
+    List<ImpressionEvent> received = new ArrayList<>();
+    try (ImpressionPipeline pipeline = new ImpressionPipeline()) {
+      pipeline.addListener(received::addAll);
+      engine.publishImpressions(pipeline);
+      Context context = new Context();
+
+      engine.isEnabled("seen", context);
+      engine.isEnabled("unseen", context);
+      engine.isEnabled("seen", context);
+      pipeline.close();
+
+      assertThat(pipeline.getPublished()).isEqualTo(2);
+      assertThat(pipeline.getDelivered()).isEqualTo(2);
+    }
+    assertThat(received).extracting(ImpressionEvent::getToggleName).containsExactly("seen", "seen");
+    assertThat(received.get(0).isEnabled()).isTrue();
+    assertThat(received.get(0).getVariant()).isNull();
+  }
+
+  @Test
+  void eventsAreDeliveredInBatchesOfAtMostTheBatchSize() {
+    List<Integer> batchSizes = new ArrayList<>();
+    ImpressionPipeline pipeline =
+        new ImpressionPipeline(64, 4, ImpressionPipeline.OverflowPolicy.BLOCK);
+    pipeline.addListener(events -> batchSizes.add(events.size()));
+
+    for (int i = 0; i < 50; i++) {
+      assertThat(pipeline.publish(event(i))).isTrue();
+    }
+    pipeline.close();
+
+    assertThat(batchSizes).allMatch(size -> size <= 4);
+    assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(50);
+  }
+
+  @Test
+  void aFullBufferDropsEventsAndCountsThem() throws Exception {
+    CountDownLatch consuming = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ImpressionPipeline pipeline =
+        new ImpressionPipeline(4, 1, ImpressionPipeline.OverflowPolicy.DROP);
+    pipeline.addListener(
+        events -> {
+          consuming.countDown();
+          try {
+            release.await(5, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        });
+    pipeline.publish(event(0));
+    assertThat(consuming.await(5, TimeUnit.SECONDS)).isTrue();
+
+    // The consumer holds on to the first event, so four fit and the rest are dropped
+    for (int i = 1; i <= 10; i++) {
+      pipeline.publish(event(i));
+    }
+    release.countDown();
+    pipeline.close();
+
+    assertThat(pipeline.getPublished()).isEqualTo(5);
+    assertThat(pipeline.getDropped()).isEqualTo(6);
+    assertThat(pipeline.getDelivered()).isEqualTo(5);
+  }
+
+  @Test
+  void anIdleConsumerIsWokenByTheNextEvent() throws Exception {
+    CountDownLatch first = new CountDownLatch(1);
+    CountDownLatch second = new CountDownLatch(2);
+    try (ImpressionPipeline pipeline = new ImpressionPipeline()) {
+      pipeline.addListener(
+          events ->
+              events.forEach(
+                  event -> {
+                    first.countDown();
+                    second.countDown();
+                  }));
+      pipeline.publish(event(0));
+      assertThat(first.await(5, TimeUnit.SECONDS)).isTrue();
+      // Long enough for the consumer to have gone to sleep
+      Thread.sleep(50);
+
+      pipeline.publish(event(1));
+
+      assertThat(second.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+  }
+
+  @Test
+  void eventsPublishedWhileClosingAreDeliveredOrDropped() throws Exception {
+    ImpressionPipeline pipeline =
+        new ImpressionPipeline(1 << 16, 64, ImpressionPipeline.OverflowPolicy.DROP);
+    LongAdder received = new LongAdder();
+    pipeline.addListener(events -> received.add(events.size()));
+    AtomicBoolean done = new AtomicBoolean();
+    List<Thread> publishers = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      Thread publisher =
+          new Thread(
+              () -> {
+                for (int i = 0; !done.get(); i++) {
+                  pipeline.publish(event(i));
+                }
+              });
+      publisher.start();
+      publishers.add(publisher);
+    }
+    while (pipeline.getPublished() < 10_000) {
+      Thread.onSpinWait();
+    }
+
+    pipeline.close();
+    done.set(true);
+    for (Thread publisher : publishers) {
+      publisher.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    assertThat(pipeline.getDelivered()).isEqualTo(pipeline.getPublished());
+    assertThat(received.sum()).isEqualTo(pipeline.getPublished());
+  }
+
+  @Test
+  void theRingHandsEventsOverInOrderAndKnowsWhenItIsFull() {
+    ImpressionPipeline.Ring ring = new ImpressionPipeline.Ring(3);
+    for (int i = 0; i < 4; i++) {
+      assertThat(ring.offer(event(i))).isTrue();
+    }
+    assertThat(ring.offer(event(4))).isFalse();
+
+    List<ImpressionEvent> drained = new ArrayList<>();
+    ring.drainTo(drained, 10);
+
+    assertThat(drained)
+        .extracting(ImpressionEvent::getToggleName)
+        .containsExactly("toggle-0", "toggle-1", "toggle-2", "toggle-3");
+    assertThat(ring.offer(event(5))).isTrue();
+  }
+
+  private static ImpressionEvent event(int i) {
+    return new ImpressionEvent("toggle-" + i, true, null, null);
+  }
+
+  private static String toggleName(ByteBuffer message) {
+    return ContextMessage.getRootAsContextMessage(
+            message.duplicate().order(ByteOrder.LITTLE_ENDIAN))
+        .toggleName();
+  }
+
+  private static Response response(boolean impressionData) {
+    FlatBufferBuilder builder = new FlatBufferBuilder(32);
+    Response.startResponse(builder);
+    Response.addEnabled(builder, true);
+    Response.addHasEnabled(builder, true);
+    Response.addImpressionData(builder, impressionData);
+    builder.finish(Response.endResponse(builder));
+    return Response.getRootAsResponse(builder.dataBuffer());
+  }
+}
@@ -0,0 +1,222 @@
+package io.getunleash.engine;
+
+import static io.getunleash.engine.TakeStateResponses.constraint;
+import static io.getunleash.engine.TakeStateResponses.feature;
+import static io.getunleash.engine.TakeStateResponses.state;
+import static io.getunleash.engine.TakeStateResponses.strategy;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class JavaEvaluatorTest {
+  @Test
+  void murmurMatchesTheReferenceImplementation() {
+    assertEquals(0, Murmur3.hash32(new byte[0], 0));
+    assertEquals(0x248bfa47, Murmur3.hash32(bytes("hello"), 0));
+    assertEquals(
+        0x2e4ff723, Murmur3.hash32(bytes("The quick brown fox jumps over the lazy dog"), 0));
+  }
+
+  @Test
+  void normalizedValuesMatchTheOtherSdks() {
+    assertEquals(73, Murmur3.normalizedValue("123", "gr1"));
+    assertEquals(25, Murmur3.normalizedValue("999", "groupX"));
+  }
+
+  @Test
+  void userWithIdMatchesTrimmedIds() {
+    JavaEvaluator evaluator =
+        compile(
+            feature("toggle").strategies(strategy("userWithId").parameter("userIds", "1, 2 ,3")));
+
+    assertTrue(isEnabled(evaluator, "toggle", userId("2")));
+    assertFalse(isEnabled(evaluator, "toggle", userId("4")));
+    assertFalse(isEnabled(evaluator, "toggle", new Context()));
+  }
+
+  @Test
+  void rolloutsBucketUsersLikeTheEngine() {
+    // "123" lands in bucket 73 of group gr1
+    JavaEvaluator evaluator =
+        compile(
+            feature("above")
+                .strategies(
+                    strategy("flexibleRollout")
+                        .parameter("rollout", "73")
+                        .parameter("stickiness", "userId")
+                        .parameter("groupId", "gr1")),
+            feature("below")
+                .strategies(
+                    strategy("gradualRolloutUserId")
+                        .parameter("percentage", "72")
+                        .parameter("groupId", "gr1")));
+
+    assertTrue(isEnabled(evaluator, "above", userId("123")));
+    assertFalse(isEnabled(evaluator, "below", userId("123")));
+    assertFalse(isEnabled(evaluator, "above", new Context()));
+  }
+
+  @Test
+  void constraintsHaveToPassToo() {
+    JavaEvaluator evaluator =
+        compile(
+            feature("toggle")
+                .strategies(
+                    strategy("default")
+                        .constraints(
+                            constraint("environment", "IN", "prod"),
+                            constraint("region", "NOT_IN", "blocked"))));
+
+    Context context = new Context();
+    context.setEnvironment("prod");
+    assertTrue(isEnabled(evaluator, "toggle", context));
+    context.getProperties().put("region", "blocked");
+    assertFalse(isEnabled(evaluator, "toggle", context));
+    context.setEnvironment("dev");
+    context.getProperties().remove("region");
+    assertFalse(isEnabled(evaluator, "toggle", context));
+  }
+
+  @Test
+  void invertedConstraintsAreNegated() {
+    JavaEvaluator evaluator =
+        compile(
+            feature("toggle")
+                .strategies(
+                    strategy("default").constraints(constraint("userId", "IN", "7").inverted())));
+
+    assertFalse(isEnabled(evaluator, "toggle", userId("7")));
+    assertTrue(isEnabled(evaluator, "toggle", userId("8")));
+  }
+
+  @Test
+  void featuresNeedingTheEngineAreNotCompiled() {
+    JavaEvaluator evaluator =
+        compile(
+            feature("custom").strategies(strategy("myCustomStrategy")),
+            feature("semver")
+                .strategies(
+                    strategy("default").constraints(constraint("version", "SEMVER_GT", "1.0.0"))),
+            feature("sticky")
+                .strategies(
+                    strategy("flexibleRollout")
+                        .parameter("rollout", "50")
+                        .parameter("stickiness", "orgId")),
+            feature("segmented").strategies(strategy("default").missingSegments()),
+            feature("plain").strategies(strategy("default")));
+
+    assertFalse(evaluator.contains("custom"));
+    assertFalse(evaluator.contains("semver"));
+    assertFalse(evaluator.contains("sticky"));
+    assertFalse(evaluator.contains("segmented"));
+    assertTrue(evaluator.contains("plain"));
+  }
+
+  @Test
+  void theEngineOnlyAsksTheNativeEngineForWhatJavaCannotAnswer() throws Exception {
+    NativeInterface nativeInterface = mock(NativeInterface.class);
+    when(nativeInterface.takeState(any(String.class)))
+        .thenReturn(
+            state()
+                .features(
+                    feature("java").strategies(strategy("userWithId").parameter("userIds", "1")),
+                    feature("native").strategies(strategy("myCustomStrategy")))
+                .build());
+    UnleashEngine engine = new UnleashEngine(nativeInterface, null, null, true);
+    engine.takeState("{}");
+
+    assertTrue(engine.isEnabled("java", userId("1")).value);
+    verify(nativeInterface, never()).checkEnabled(any(ByteBuffer.class));
+    engine.isEnabled("native", userId("1"));
+    verify(nativeInterface, times(1)).checkEnabled(any(ByteBuffer.class));
+  }
+
+  @Test
+  void theJavaTierIsOffByDefault() throws Exception {
+    NativeInterface nativeInterface = mock(NativeInterface.class);
+    when(nativeInterface.takeState(any(String.class)))
+        .thenReturn(
+            state()
+                .features(
+                    feature("java").strategies(strategy("userWithId").parameter("userIds", "1")))
+                .build());
+    UnleashEngine engine = new UnleashEngine(nativeInterface, null, null);
+    engine.takeState("{}");
+
+    engine.isEnabled("java", userId("1"));
+    verify(nativeInterface, times(1)).checkEnabled(any(ByteBuffer.class));
+  }
+
+  @Test
+  void bothTiersAgreeOnTheClientSpecification() throws Exception {
+    ObjectMapper objectMapper = new ObjectMapper();
+    objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    File basePath = Paths.get("client-specification/specifications").toFile();
+    List<String> testSuites =
+        objectMapper.readValue(new File(basePath, "index.json"), new TypeReference<>() {});
+
+    UnleashEngine nativeOnly = new UnleashEngine(NativeInterfaces.create(), null, null, false);
+    UnleashEngine withJava = new UnleashEngine(NativeInterfaces.create(), null, null, true);
+    for (String suite : testSuites) {
+      TestSuite suiteData =
+          objectMapper.readValue(new File(basePath, suite), new TypeReference<>() {});
+      String state = objectMapper.writeValueAsString(suiteData.state);
+      nativeOnly.takeState(state);
+      withJava.takeState(state);
+      if (suiteData.tests == null) {
+        continue;
+      }
+      for (Map<String, Object> test : suiteData.tests) {
+        String contextJson = objectMapper.writeValueAsString(test.get("context"));
+        Context context = objectMapper.readValue(contextJson, Context.class);
+        String toggleName = (String) test.get("toggleName");
+
+        FlatResponse<Boolean> expected = nativeOnly.isEnabled(toggleName, context);
+        FlatResponse<Boolean> actual = withJava.isEnabled(toggleName, context);
+
+        assertThat(actual.value)
+            .as("[%s] %s", suiteData.name, test.get("description"))
+            .isEqualTo(expected.value);
+        assertThat(actual.impressionData)
+            .as("[%s] %s", suiteData.name, test.get("description"))
+            .isEqualTo(expected.impressionData);
+      }
+    }
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static Context userId(String userId) {
+    Context context = new Context();
+    context.setUserId(userId);
+    return context;
+  }
+
+  private static boolean isEnabled(JavaEvaluator evaluator, String toggle, Context context) {
+    return evaluator.get(toggle).isEnabled(context).value;
+  }
+
+  private static JavaEvaluator compile(TakeStateResponses.Feature... features) {
+    return JavaEvaluator.compile(state().features(features).build(), new LocalMetrics());
+  }
+}
@@ -0,0 +1,110 @@
+package io.getunleash.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.Test;
+
+class LocalMetricsTest {
+
+  @Test
+  void countsMadeWhileCollectingAreNeverLost() throws Exception {
+    LocalMetrics metrics = new LocalMetrics();
+    LocalMetrics.Counter cached = metrics.forToggle("constant");
+    int threads = 4;
+    int countsPerThread = 200_000;
+
+    Map<String, FeatureCount> collected =
+        countWhileCollecting(
+            metrics,
+            threads,
+            () -> {
+              for (int i = 0; i < countsPerThread; i++) {
+                cached.count(i % 2 == 0);
+                if (i % 10 == 0) {
+                  cached.countVariant("blue");
+                }
+                // Like bulk evaluations of a toggle the native engine answers
+                metrics.forToggle("bulk").add(2, 1);
+              }
+            },
+            name -> name.equals("constant"));
+
+    FeatureCount constant = collected.get("constant");
+    assertThat(constant.getYes() + constant.getNo()).isEqualTo((long) threads * countsPerThread);
+    assertThat(constant.getVariants().get("blue")).isEqualTo((long) threads * countsPerThread / 10);
+    FeatureCount bulk = collected.get("bulk");
+    assertThat(bulk.getYes()).isEqualTo(2L * threads * countsPerThread);
+    assertThat(bulk.getNo()).isEqualTo((long) threads * countsPerThread);
+  }
+
+  @Test
+  void countsIntoADroppedCounterAreStillCollected() {
+    LocalMetrics metrics = new LocalMetrics();
+    LocalMetrics.Counter counter = metrics.forToggle("gone");
+    counter.count(true);
+
+    Map<String, FeatureCount> first = new HashMap<>();
+    metrics.drainInto(first, name -> false);
+    counter.count(true);
+    Map<String, FeatureCount> second = new HashMap<>();
+    metrics.drainInto(second, name -> false);
+    // Dropped by now, but still in use by an evaluation on the old state
+    counter.count(true);
+    Map<String, FeatureCount> third = new HashMap<>();
+    metrics.drainInto(third, name -> false);
+
+    assertThat(first.get("gone").getYes()).isEqualTo(1L);
+    assertThat(second.get("gone").getYes()).isEqualTo(1L);
+    assertThat(third.get("gone").getYes()).isEqualTo(1L);
+    assertThat(metrics.forToggle("gone")).isNotSameAs(counter);
+  }
+
+  private static Map<String, FeatureCount> countWhileCollecting(
+      LocalMetrics metrics, int threads, Runnable counting, Predicate<String> stillCounted)
+      throws Exception {
+    Map<String, FeatureCount> collected = new HashMap<>();
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch started = new CountDownLatch(threads);
+    AtomicBoolean done = new AtomicBoolean();
+    try {
+      List<Future<?>> results = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        results.add(
+            executor.submit(
+                () -> {
+                  started.countDown();
+                  counting.run();
+                }));
+      }
+      started.await(5, TimeUnit.SECONDS);
+      Thread collector =
+          new Thread(
+              () -> {
+                while (!done.get()) {
+                  metrics.drainInto(collected, stillCounted);
+                }
+              });
+      collector.start();
+      for (Future<?> result : results) {
+        result.get(30, TimeUnit.SECONDS);
+      }
+      done.set(true);
+      collector.join();
+    } finally {
+      executor.shutdownNow();
+    }
+    metrics.drainInto(collected, stillCounted);
+    return collected;
+  }
+}
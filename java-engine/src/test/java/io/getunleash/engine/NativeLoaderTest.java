@@ -1,8 +1,26 @@
 package io.getunleash.engine;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
@@ -24,4 +42,99 @@ class NativeLoaderTest {
     assertThat(NativeLoader.configuredLibraryPath(dir.toString(), NATIVE_LIBRARY))
         .isEqualTo(dir.resolve("libyggdrasilffi-0.20.8.so"));
   }
+
+  @Test
+  void extractToCacheReusesTheCachedLibraryWhenTheHashIsKnown(@TempDir Path dir) throws Exception {
+    byte[] library = "not really a library".getBytes(StandardCharsets.UTF_8);
+    AtomicInteger opens = new AtomicInteger();
+    NativeLoader.Resource resource =
+        () -> {
+          opens.incrementAndGet();
+          return new ByteArrayInputStream(library);
+        };
+    Path cache = dir.resolve("cache");
+
+    Path extracted = NativeLoader.extractToCache(cache, "libyggdrasilffi.so", null, resource);
+    String hash = extracted.getParent().getFileName().toString();
+    Path reused = NativeLoader.extractToCache(cache, "libyggdrasilffi.so", hash, resource);
+
+    assertThat(reused).isEqualTo(extracted);
+    assertThat(Files.readAllBytes(reused)).isEqualTo(library);
+    assertThat(hash).matches("[0-9a-f]{64}");
+    assertThat(opens.get()).isEqualTo(1);
+  }
+
+  @Test
+  void concurrentExtractionsEndUpWithOneCompleteCopy(@TempDir Path dir) throws Exception {
+    byte[] library = new byte[4 * 1024 * 1024];
+    for (int i = 0; i < library.length; i++) {
+      library[i] = (byte) i;
+    }
+    Path cache = dir.resolve("cache");
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Callable<Path>> extractions = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        extractions.add(
+            () ->
+                NativeLoader.extractToCache(
+                    cache, "libyggdrasilffi.so", null, () -> new ByteArrayInputStream(library)));
+      }
+      List<Path> extracted = new ArrayList<>();
+      for (Future<Path> result : executor.invokeAll(extractions)) {
+        extracted.add(result.get());
+      }
+
+      assertThat(extracted).containsOnly(extracted.get(0));
+      assertThat(Files.readAllBytes(extracted.get(0))).isEqualTo(library);
+      try (Stream<Path> files = Files.list(cache)) {
+        assertThat(files.collect(Collectors.toList())).containsOnly(extracted.get(0).getParent());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void cacheWritableByOthersIsRefused(@TempDir Path dir) throws IOException {
+    assumeTrue(dir.getFileSystem().supportedFileAttributeViews().contains("posix"));
+    Path cache =
+        Files.createDirectory(
+            dir.resolve("cache"),
+            PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+    Files.setPosixFilePermissions(cache, PosixFilePermissions.fromString("rwxrwxrwx"));
+
+    assertThatThrownBy(
+            () ->
+                NativeLoader.extractToCache(
+                    cache, "libyggdrasilffi.so", null, () -> new ByteArrayInputStream(new byte[0])))
+        .isInstanceOf(IOException.class);
+  }
+
+  @Test
+  void elfInterpreterIsReadFromTheProgramHeaders(@TempDir Path dir) throws IOException {
+    String interpreter = "/lib/ld-musl-x86_64.so.1";
+    ByteBuffer elf = ByteBuffer.allocate(0x100).order(ByteOrder.LITTLE_ENDIAN);
+    elf.put(new byte[] {0x7f, 'E', 'L', 'F', 2, 1, 1});
+    elf.putLong(0x20, 0x40); // program headers right after the ELF header
+    elf.putShort(0x36, (short) 0x38);
+    elf.putShort(0x38, (short) 2);
+    elf.putInt(0x40, 6); // PT_PHDR
+    elf.putInt(0x78, 3); // PT_INTERP
+    elf.putLong(0x78 + 8, 0xB0);
+    elf.putLong(0x78 + 0x20, interpreter.length() + 1);
+    elf.position(0xB0);
+    elf.put(interpreter.getBytes(StandardCharsets.US_ASCII));
+    Path executable = Files.write(dir.resolve("java"), elf.array());
+
+    assertThat(LibNames.elfInterpreter(executable)).isEqualTo(interpreter);
+  }
+
+  @Test
+  void elfInterpreterOfSomethingElseIsNull(@TempDir Path dir) throws IOException {
+    Path script = Files.write(dir.resolve("java"), "#!/bin/sh\n".getBytes(StandardCharsets.UTF_8));
+
+    assertThat(LibNames.elfInterpreter(script)).isNull();
+    assertThat(LibNames.elfInterpreter(dir.resolve("missing"))).isNull();
+  }
 }
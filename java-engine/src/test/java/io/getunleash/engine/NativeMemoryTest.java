@@ -0,0 +1,59 @@
+package io.getunleash.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class NativeMemoryTest {
+
+  @Test
+  void buffersLeftLiveAreReportedWhenTheirEngineIsFreed() {
+    NativeMemory.Tracker tracker = new NativeMemory.Tracker(true);
+    tracker.liveEngines.incrementAndGet();
+    tracker.liveEngines.incrementAndGet();
+    ByteBuffer freed = ByteBuffer.allocateDirect(16);
+    ByteBuffer leaked = ByteBuffer.allocateDirect(32);
+    ByteBuffer otherEngine = ByteBuffer.allocateDirect(64);
+    tracker.received(freed, 1);
+    tracker.received(leaked, 1);
+    tracker.received(otherEngine, 2);
+    tracker.liveBuffers.remove(freed);
+
+    assertEquals(96, tracker.liveBufferBytes());
+    List<NativeMemory.Allocation> report = tracker.engineFreed(1);
+
+    assertEquals(1, report.size());
+    assertEquals(32, report.get(0).bytes);
+    assertNotNull(report.get(0).site);
+    assertEquals(1, tracker.liveEngines.get());
+    assertEquals(2, tracker.liveBufferAllocationSites().size());
+  }
+
+  @Test
+  void buffersWithTheSameContentsAreTrackedApart() {
+    NativeMemory.Tracker tracker = new NativeMemory.Tracker(false);
+    ByteBuffer first = ByteBuffer.allocateDirect(8);
+    ByteBuffer second = ByteBuffer.allocateDirect(8);
+    tracker.received(first, 1);
+    tracker.received(second, 1);
+    tracker.liveBuffers.remove(first);
+
+    assertEquals(1, tracker.liveBuffers.size());
+    assertNull(tracker.liveBuffers.get(second).site);
+    assertTrue(tracker.liveBufferAllocationSites().isEmpty());
+  }
+
+  @Test
+  void nothingIsTrackedByDefault() {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(8);
+
+    assertEquals(buffer, NativeMemory.received(buffer, 1));
+    assertEquals(0, NativeMemory.getLiveBuffers());
+    assertEquals(0, NativeMemory.getLiveEngines());
+  }
+}
@@ -0,0 +1,87 @@
+package io.getunleash.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+class PayloadTest {
+
+  @Test
+  void sharedPayloadsAreParsedOnce() {
+    AtomicInteger parses = new AtomicInteger();
+    Function<String, String> parser =
+        value -> {
+          parses.incrementAndGet();
+          return value.toUpperCase();
+        };
+    Payload payload = new Payload("json", "{\"big\": true}");
+
+    String first = payload.getValueAs(parser);
+    String second = payload.getValueAs(parser);
+
+    assertEquals("{\"BIG\": TRUE}", first);
+    assertSame(first, second);
+    assertEquals(1, parses.get());
+  }
+
+  @Test
+  void onlyTheResultOfTheParserUsedLastIsKept() {
+    AtomicInteger parses = new AtomicInteger();
+    Payload payload = new Payload("number", "7");
+
+    for (int i = 0; i < 3; i++) {
+      // A new parser every call, like a lambda capturing something
+      int offset = i;
+      assertEquals(
+          7 + offset,
+          payload.<Integer>getValueAs(
+              value -> {
+                parses.incrementAndGet();
+                return Integer.parseInt(value) + offset;
+              }));
+    }
+    assertEquals(7L, payload.getValueAsLong());
+    assertSame(payload.getValueAsCsv(), payload.getValueAsCsv());
+
+    assertEquals(3, parses.get());
+  }
+
+  @Test
+  void payloadsMadeByCallersAreParsedEveryTime() {
+    AtomicInteger parses = new AtomicInteger();
+    Payload payload = new Payload();
+    payload.setValue("1");
+    Function<String, Integer> parser =
+        value -> {
+          parses.incrementAndGet();
+          return Integer.valueOf(value);
+        };
+
+    payload.getValueAs(parser);
+    payload.setValue("2");
+
+    assertEquals(2, payload.getValueAs(parser));
+    assertEquals(2, parses.get());
+  }
+
+  @Test
+  void numbersAndCsvHaveTypedAccessors() {
+    assertEquals(42L, new Payload("number", " 42 ").getValueAsLong());
+    assertEquals(0.5, new Payload("number", "0.5").getValueAsDouble());
+    assertEquals(Arrays.asList("a", "b", "c"), new Payload("csv", "a, b,,c ").getValueAsCsv());
+    assertThrows(NumberFormatException.class, () -> new Payload("string", "x").getValueAsLong());
+  }
+
+  @Test
+  void variantsWithoutPayloadParseToNull() {
+    VariantDef variant = new VariantDef("disabled", null, false, false);
+
+    assertNull(variant.getPayloadAs(Function.identity()));
+  }
+}
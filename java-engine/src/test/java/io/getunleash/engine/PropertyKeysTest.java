@@ -0,0 +1,99 @@
+package io.getunleash.engine;
+
+import static io.getunleash.engine.TakeStateResponses.state;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.flatbuffers.FlatBufferBuilder;
+import io.getunleash.yggdrasil.messaging.ContextMessage;
+import io.getunleash.yggdrasil.messaging.Response;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class PropertyKeysTest {
+  private NativeInterface nativeInterface;
+  private UnleashEngine engine;
+
+  @BeforeEach
+  void setUp() {
+    nativeInterface = mock(NativeInterface.class);
+    when(nativeInterface.isDedicated()).thenReturn(true);
+    when(nativeInterface.checkEnabled(any(ByteBuffer.class))).thenReturn(enabled());
+    engine = new UnleashEngine(nativeInterface, null, null);
+  }
+
+  @Test
+  void knownKeysAreSentAsIdsAndTheRestByName() throws Exception {
+    when(nativeInterface.takeState(any(String.class)))
+        .thenReturn(state().propertyKeys("tenantId", "region").build());
+    engine.takeState("{}");
+
+    Context context = new Context();
+    context.getProperties().put("region", "eu");
+    context.getProperties().put("plan", "pro");
+    engine.isEnabled("toggle", context);
+
+    ContextMessage message = sentMessages().get(0);
+    assertEquals(1, message.propertyKeyIdsLength());
+    assertEquals(1, message.propertyKeyIds(0));
+    assertEquals("eu", message.propertyKeyValues(0));
+    assertEquals(1, message.propertiesLength());
+    assertEquals("plan", message.properties(0).key());
+  }
+
+  @Test
+  void withoutADictionaryEverythingIsSentByName() throws Exception {
+    Context context = new Context();
+    context.getProperties().put("region", "eu");
+    engine.isEnabled("toggle", context);
+
+    ContextMessage message = sentMessages().get(0);
+    assertEquals(0, message.propertyKeyIdsLength());
+    assertEquals("region", message.properties(0).key());
+  }
+
+  @Test
+  void aNewStatePublishesANewDictionary() throws Exception {
+    when(nativeInterface.takeState(any(String.class)))
+        .thenReturn(state().propertyKeys("tenantId").build())
+        .thenReturn(state().propertyKeys("tenantId", "region").build());
+    Context context = new Context();
+    context.getProperties().put("region", "eu");
+
+    engine.takeState("{}");
+    engine.isEnabled("toggle", context);
+    engine.takeState("{}");
+    engine.isEnabled("toggle", context);
+
+    verify(nativeInterface, times(2)).checkEnabled(any(ByteBuffer.class));
+    List<ContextMessage> messages = sentMessages();
+    assertEquals(0, messages.get(0).propertyKeyIdsLength());
+    assertEquals(1, messages.get(1).propertyKeyIds(0));
+  }
+
+  private List<ContextMessage> sentMessages() {
+    ArgumentCaptor<ByteBuffer> sent = ArgumentCaptor.forClass(ByteBuffer.class);
+    verify(nativeInterface, atLeastOnce()).checkEnabled(sent.capture());
+    return sent.getAllValues().stream()
+        .map(ContextMessage::getRootAsContextMessage)
+        .collect(Collectors.toList());
+  }
+
+  private static Response enabled() {
+    FlatBufferBuilder builder = new FlatBufferBuilder(32);
+    Response.startResponse(builder);
+    Response.addEnabled(builder, true);
+    Response.addHasEnabled(builder, true);
+    builder.finish(Response.endResponse(builder));
+    return Response.getRootAsResponse(builder.dataBuffer());
+  }
+}
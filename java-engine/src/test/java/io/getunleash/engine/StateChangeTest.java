@@ -0,0 +1,76 @@
+package io.getunleash.engine;
+
+import static io.getunleash.engine.TakeStateResponses.state;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StateChangeTest {
+  private NativeInterface nativeInterface;
+  private UnleashEngine engine;
+
+  @BeforeEach
+  void setUp() {
+    nativeInterface = mock(NativeInterface.class);
+    when(nativeInterface.takeState(any(String.class)))
+        .thenReturn(
+            state().stateGeneration(3).added("new").removed("gone").changed("a", "b").build());
+    engine = new UnleashEngine(nativeInterface, null, null);
+  }
+
+  @Test
+  void listenersAreToldWhatTheStateChanged() throws Exception {
+    List<StateChange> changes = new ArrayList<>();
+    engine.addStateChangeListener(changes::add);
+
+    engine.takeState("{}");
+
+    assertEquals(1, changes.size());
+    StateChange change = changes.get(0);
+    assertEquals(3, change.getGeneration());
+    assertThat(change.getAdded()).containsExactly("new");
+    assertThat(change.getRemoved()).containsExactly("gone");
+    assertThat(change.getChanged()).containsExactly("a", "b");
+  }
+
+  @Test
+  void watchingListenersOnlyHearAboutTheirToggles() throws Exception {
+    List<StateChange> watchingB = new ArrayList<>();
+    List<StateChange> watchingOther = new ArrayList<>();
+    engine.addStateChangeListener(watchingB::add, Arrays.asList("b", "gone"));
+    engine.addStateChangeListener(watchingOther::add, Arrays.asList("other"));
+
+    engine.takeState("{}");
+
+    assertEquals(1, watchingB.size());
+    assertThat(watchingB.get(0).getChanged()).containsExactly("b");
+    assertThat(watchingB.get(0).getRemoved()).containsExactly("gone");
+    assertTrue(watchingB.get(0).getAdded().isEmpty());
+    assertTrue(watchingOther.isEmpty());
+  }
+
+  @Test
+  void aFailingListenerDoesNotFailTakingState() throws Exception {
+    List<StateChange> changes = new ArrayList<>();
+    StateChangeListener failing =
+        change -> {
+          throw new IllegalStateException("broken");
+        };
+    engine.addStateChangeListener(failing);
+    engine.addStateChangeListener(changes::add);
+
+    engine.takeState("{}");
+    engine.removeStateChangeListener(failing);
+
+    assertEquals(1, changes.size());
+  }
+}
@@ -0,0 +1,394 @@
+package io.getunleash.engine;
+
+import com.google.flatbuffers.FlatBufferBuilder;
+import io.getunleash.yggdrasil.messaging.FeatureVariant;
+import io.getunleash.yggdrasil.messaging.StrategyConstraint;
+import io.getunleash.yggdrasil.messaging.StrategyDefinition;
+import io.getunleash.yggdrasil.messaging.StrategyFeature;
+import io.getunleash.yggdrasil.messaging.StrategyParameter;
+import io.getunleash.yggdrasil.messaging.TakeStateResponse;
+import io.getunleash.yggdrasil.messaging.VariantPayload;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the {@link TakeStateResponse} a mocked native engine answers takeState with. Features are
+ * context dependent and enabled unless told otherwise, and anything left unset stays out of the
+ * message.
+ */
+class TakeStateResponses {
+  static State state() {
+    return new State();
+  }
+
+  static Feature feature(String name) {
+    return new Feature(name);
+  }
+
+  static Strategy strategy(String name) {
+    return new Strategy(name);
+  }
+
+  static Constraint constraint(String contextName, String operator, String... values) {
+    return new Constraint(contextName, operator, values);
+  }
+
+  static final class State {
+    private final List<Feature> features = new ArrayList<>();
+    private List<String> propertyKeys;
+    private List<String> added;
+    private List<String> removed;
+    private List<String> changed;
+    private long stateGeneration;
+    private long variantGeneration;
+    private String error;
+
+    private State() {}
+
+    State features(Feature... features) {
+      this.features.addAll(Arrays.asList(features));
+      return this;
+    }
+
+    State propertyKeys(String... propertyKeys) {
+      this.propertyKeys = Arrays.asList(propertyKeys);
+      return this;
+    }
+
+    State stateGeneration(long stateGeneration) {
+      this.stateGeneration = stateGeneration;
+      return this;
+    }
+
+    State variantGeneration(long variantGeneration) {
+      this.variantGeneration = variantGeneration;
+      return this;
+    }
+
+    State added(String... toggles) {
+      this.added = Arrays.asList(toggles);
+      return this;
+    }
+
+    State removed(String... toggles) {
+      this.removed = Arrays.asList(toggles);
+      return this;
+    }
+
+    State changed(String... toggles) {
+      this.changed = Arrays.asList(toggles);
+      return this;
+    }
+
+    State error(String error) {
+      this.error = error;
+      return this;
+    }
+
+    TakeStateResponse build() {
+      FlatBufferBuilder builder = new FlatBufferBuilder(256);
+      int[] featureOffsets = new int[features.size()];
+      for (int i = 0; i < featureOffsets.length; i++) {
+        featureOffsets[i] = features.get(i).write(builder);
+      }
+      int featuresVector =
+          features.isEmpty() ? 0 : TakeStateResponse.createFeaturesVector(builder, featureOffsets);
+      int propertyKeysVector =
+          propertyKeys == null
+              ? 0
+              : TakeStateResponse.createPropertyKeysVector(builder, strings(builder, propertyKeys));
+      int addedVector =
+          added == null ? 0 : TakeStateResponse.createAddedVector(builder, strings(builder, added));
+      int removedVector =
+          removed == null
+              ? 0
+              : TakeStateResponse.createRemovedVector(builder, strings(builder, removed));
+      int changedVector =
+          changed == null
+              ? 0
+              : TakeStateResponse.createChangedVector(builder, strings(builder, changed));
+      int errorOffset = error == null ? 0 : builder.createString(error);
+
+      TakeStateResponse.startTakeStateResponse(builder);
+      if (featuresVector != 0) {
+        TakeStateResponse.addFeatures(builder, featuresVector);
+      }
+      if (propertyKeysVector != 0) {
+        TakeStateResponse.addPropertyKeys(builder, propertyKeysVector);
+      }
+      if (addedVector != 0) {
+        TakeStateResponse.addAdded(builder, addedVector);
+      }
+      if (removedVector != 0) {
+        TakeStateResponse.addRemoved(builder, removedVector);
+      }
+      if (changedVector != 0) {
+        TakeStateResponse.addChanged(builder, changedVector);
+      }
+      if (errorOffset != 0) {
+        TakeStateResponse.addError(builder, errorOffset);
+      }
+      TakeStateResponse.addStateGeneration(builder, stateGeneration);
+      TakeStateResponse.addVariantGeneration(builder, variantGeneration);
+      builder.finish(TakeStateResponse.endTakeStateResponse(builder));
+      return TakeStateResponse.getRootAsTakeStateResponse(builder.dataBuffer());
+    }
+  }
+
+  static final class Feature {
+    private final String name;
+    private int kind = ConstantToggles.CONTEXT_DEPENDENT;
+    private boolean enabled = true;
+    private boolean impressionData;
+    private boolean readsWholeContext;
+    private final List<Strategy> strategies = new ArrayList<>();
+    private final List<String> contextFields = new ArrayList<>();
+    private final List<String> contextProperties = new ArrayList<>();
+    private final List<VariantDef> variants = new ArrayList<>();
+    private String type;
+    private String project;
+
+    private Feature(String name) {
+      this.name = name;
+    }
+
+    Feature kind(int kind) {
+      this.kind = kind;
+      return this;
+    }
+
+    Feature enabled(boolean enabled) {
+      this.enabled = enabled;
+      return this;
+    }
+
+    Feature impressionData(boolean impressionData) {
+      this.impressionData = impressionData;
+      return this;
+    }
+
+    Feature readsWholeContext() {
+      this.readsWholeContext = true;
+      return this;
+    }
+
+    Feature strategies(Strategy... strategies) {
+      this.strategies.addAll(Arrays.asList(strategies));
+      return this;
+    }
+
+    Feature contextFields(String... fields) {
+      contextFields.addAll(Arrays.asList(fields));
+      return this;
+    }
+
+    Feature contextProperties(String... properties) {
+      contextProperties.addAll(Arrays.asList(properties));
+      return this;
+    }
+
+    Feature variant(String name) {
+      variants.add(new VariantDef(name, null, null));
+      return this;
+    }
+
+    Feature variant(String name, String payloadType, String payloadValue) {
+      variants.add(new VariantDef(name, payloadType, payloadValue));
+      return this;
+    }
+
+    Feature type(String type) {
+      this.type = type;
+      return this;
+    }
+
+    Feature project(String project) {
+      this.project = project;
+      return this;
+    }
+
+    private int write(FlatBufferBuilder builder) {
+      int nameOffset = builder.createString(name);
+      int strategiesVector = 0;
+      if (!strategies.isEmpty()) {
+        int[] offsets = new int[strategies.size()];
+        for (int i = 0; i < offsets.length; i++) {
+          offsets[i] = strategies.get(i).write(builder);
+        }
+        strategiesVector = StrategyFeature.createStrategiesVector(builder, offsets);
+      }
+      int fieldsVector =
+          contextFields.isEmpty()
+              ? 0
+              : StrategyFeature.createContextFieldsVector(builder, strings(builder, contextFields));
+      int propertiesVector =
+          contextProperties.isEmpty()
+              ? 0
+              : StrategyFeature.createContextPropertiesVector(
+                  builder, strings(builder, contextProperties));
+      int variantsVector = 0;
+      if (!variants.isEmpty()) {
+        int[] offsets = new int[variants.size()];
+        for (int i = 0; i < offsets.length; i++) {
+          offsets[i] = writeVariant(builder, variants.get(i));
+        }
+        variantsVector = StrategyFeature.createVariantsVector(builder, offsets);
+      }
+      int typeOffset = type == null ? 0 : builder.createString(type);
+      int projectOffset = project == null ? 0 : builder.createString(project);
+
+      StrategyFeature.startStrategyFeature(builder);
+      StrategyFeature.addFeatureName(builder, nameOffset);
+      if (strategiesVector != 0) {
+        StrategyFeature.addStrategies(builder, strategiesVector);
+      }
+      if (fieldsVector != 0) {
+        StrategyFeature.addContextFields(builder, fieldsVector);
+      }
+      if (propertiesVector != 0) {
+        StrategyFeature.addContextProperties(builder, propertiesVector);
+      }
+      if (variantsVector != 0) {
+        StrategyFeature.addVariants(builder, variantsVector);
+      }
+      if (typeOffset != 0) {
+        StrategyFeature.addFeatureType(builder, typeOffset);
+      }
+      if (projectOffset != 0) {
+        StrategyFeature.addProject(builder, projectOffset);
+      }
+      StrategyFeature.addKind(builder, kind);
+      StrategyFeature.addEnabled(builder, enabled);
+      StrategyFeature.addImpressionData(builder, impressionData);
+      StrategyFeature.addReadsWholeContext(builder, readsWholeContext);
+      return StrategyFeature.endStrategyFeature(builder);
+    }
+
+    private static int writeVariant(FlatBufferBuilder builder, VariantDef variant) {
+      int nameOffset = builder.createString(variant.name);
+      int payloadOffset = 0;
+      if (variant.payloadType != null) {
+        int payloadType = builder.createString(variant.payloadType);
+        int payloadValue = builder.createString(variant.payloadValue);
+        VariantPayload.startVariantPayload(builder);
+        VariantPayload.addPayloadType(builder, payloadType);
+        VariantPayload.addValue(builder, payloadValue);
+        payloadOffset = VariantPayload.endVariantPayload(builder);
+      }
+      FeatureVariant.startFeatureVariant(builder);
+      FeatureVariant.addName(builder, nameOffset);
+      if (payloadOffset != 0) {
+        FeatureVariant.addPayload(builder, payloadOffset);
+      }
+      return FeatureVariant.endFeatureVariant(builder);
+    }
+  }
+
+  static final class Strategy {
+    private final String name;
+    private final Map<String, String> parameters = new LinkedHashMap<>();
+    private final List<Constraint> constraints = new ArrayList<>();
+    private boolean missingSegments;
+
+    private Strategy(String name) {
+      this.name = name;
+    }
+
+    Strategy parameter(String key, String value) {
+      parameters.put(key, value);
+      return this;
+    }
+
+    Strategy constraints(Constraint... constraints) {
+      this.constraints.addAll(Arrays.asList(constraints));
+      return this;
+    }
+
+    Strategy missingSegments() {
+      this.missingSegments = true;
+      return this;
+    }
+
+    private int write(FlatBufferBuilder builder) {
+      int nameOffset = builder.createString(name);
+      int[] parameterOffsets = new int[parameters.size()];
+      int i = 0;
+      for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+        int key = builder.createString(parameter.getKey());
+        int value = builder.createString(parameter.getValue());
+        StrategyParameter.startStrategyParameter(builder);
+        StrategyParameter.addKey(builder, key);
+        StrategyParameter.addValue(builder, value);
+        parameterOffsets[i++] = StrategyParameter.endStrategyParameter(builder);
+      }
+      int parametersVector = StrategyDefinition.createParametersVector(builder, parameterOffsets);
+      int[] constraintOffsets = new int[constraints.size()];
+      for (i = 0; i < constraintOffsets.length; i++) {
+        constraintOffsets[i] = constraints.get(i).write(builder);
+      }
+      int constraintsVector =
+          StrategyDefinition.createConstraintsVector(builder, constraintOffsets);
+
+      StrategyDefinition.startStrategyDefinition(builder);
+      StrategyDefinition.addName(builder, nameOffset);
+      StrategyDefinition.addParameters(builder, parametersVector);
+      StrategyDefinition.addConstraints(builder, constraintsVector);
+      StrategyDefinition.addMissingSegments(builder, missingSegments);
+      return StrategyDefinition.endStrategyDefinition(builder);
+    }
+  }
+
+  static final class Constraint {
+    private final String contextName;
+    private final String operator;
+    private final List<String> values;
+    private boolean inverted;
+
+    private Constraint(String contextName, String operator, String[] values) {
+      this.contextName = contextName;
+      this.operator = operator;
+      this.values = Arrays.asList(values);
+    }
+
+    Constraint inverted() {
+      this.inverted = true;
+      return this;
+    }
+
+    private int write(FlatBufferBuilder builder) {
+      int contextNameOffset = builder.createString(contextName);
+      int operatorOffset = builder.createString(operator);
+      int valuesVector = StrategyConstraint.createValuesVector(builder, strings(builder, values));
+
+      StrategyConstraint.startStrategyConstraint(builder);
+      StrategyConstraint.addContextName(builder, contextNameOffset);
+      StrategyConstraint.addOperator(builder, operatorOffset);
+      StrategyConstraint.addValues(builder, valuesVector);
+      StrategyConstraint.addInverted(builder, inverted);
+      return StrategyConstraint.endStrategyConstraint(builder);
+    }
+  }
+
+  private static final class VariantDef {
+    private final String name;
+    private final String payloadType;
+    private final String payloadValue;
+
+    private VariantDef(String name, String payloadType, String payloadValue) {
+      this.name = name;
+      this.payloadType = payloadType;
+      this.payloadValue = payloadValue;
+    }
+  }
+
+  private static int[] strings(FlatBufferBuilder builder, List<String> values) {
+    int[] offsets = new int[values.size()];
+    for (int i = 0; i < offsets.length; i++) {
+      offsets[i] = builder.createString(values.get(i));
+    }
+    return offsets;
+  }
+}
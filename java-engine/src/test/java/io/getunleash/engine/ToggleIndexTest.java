@@ -0,0 +1,77 @@
+package io.getunleash.engine;
+
+import static io.getunleash.engine.TakeStateResponses.feature;
+import static io.getunleash.engine.TakeStateResponses.state;
+import static io.getunleash.engine.TakeStateResponses.strategy;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ToggleIndexTest {
+  private NativeInterface nativeInterface;
+  private UnleashEngine engine;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    nativeInterface = mock(NativeInterface.class);
+    when(nativeInterface.takeState(any(String.class)))
+        .thenReturn(
+            state()
+                .features(
+                    feature("checkout")
+                        .strategies(strategy("default"), strategy("userWithId"))
+                        .impressionData(true)
+                        .readsWholeContext()
+                        .type("release")
+                        .project("shop"),
+                    feature("basket")
+                        .kind(ConstantToggles.CONSTANT_FALSE)
+                        .enabled(false)
+                        .readsWholeContext()
+                        .project("shop"))
+                .build());
+    engine = new UnleashEngine(nativeInterface, null, null);
+    engine.takeState("{}");
+  }
+
+  @Test
+  void togglesAreLookedUpWithoutAskingTheEngine() {
+    FeatureDef checkout = engine.getToggle("checkout");
+
+    assertEquals("release", checkout.getType().get());
+    assertEquals("shop", checkout.getProject());
+    assertTrue(checkout.isEnabled());
+    assertTrue(checkout.hasImpressionData());
+    assertThat(checkout.getStrategies()).containsExactly("default", "userWithId");
+    assertTrue(engine.isKnown("checkout"));
+    assertFalse(engine.isKnown("unknown"));
+    assertNull(engine.getToggle(null));
+    assertSame(engine.listKnownToggles(), engine.listKnownToggles());
+    verify(nativeInterface, never()).listKnownToggles();
+  }
+
+  @Test
+  void togglesAreGroupedByProjectAndType() {
+    assertThat(names(engine.getTogglesInProject("shop"))).containsExactly("checkout", "basket");
+    assertThat(names(engine.getTogglesOfType("release"))).containsExactly("checkout");
+    assertThat(engine.getTogglesOfType("kill-switch")).isEmpty();
+    assertThat(engine.getTogglesInProject("other")).isEmpty();
+  }
+
+  private static List<String> names(List<FeatureDef> toggles) {
+    return toggles.stream().map(FeatureDef::getName).collect(Collectors.toList());
+  }
+}
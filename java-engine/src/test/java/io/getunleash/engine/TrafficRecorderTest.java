@@ -0,0 +1,103 @@
+package io.getunleash.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.flatbuffers.FlatBufferBuilder;
+import io.getunleash.yggdrasil.messaging.ContextMessage;
+import io.getunleash.yggdrasil.messaging.Response;
+import io.getunleash.yggdrasil.messaging.Variant;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TrafficRecorderTest {
+  @TempDir Path directory;
+  private UnleashEngine engine;
+
+  @BeforeEach
+  void setUp() {
+    NativeInterface nativeInterface = mock(NativeInterface.class);
+    when(nativeInterface.checkEnabled(any(ByteBuffer.class))).thenReturn(enabled());
+    when(nativeInterface.checkVariant(any(ByteBuffer.class))).thenReturn(noVariant());
+    engine = new UnleashEngine(nativeInterface, null, null);
+  }
+
+  @Test
+  void recordedEvaluationsAreReadBackInOrder() throws Exception {
+    Path log = directory.resolve("traffic.log");
+    TrafficRecorder recorder = TrafficRecorder.open(log, 1 << 20, 1);
+    engine.recordTraffic(recorder);
+    Context context = new Context();
+    context.setUserId("7");
+    context.setProperties(Collections.singletonMap("region", "eu"));
+
+    engine.isEnabled("first", context);
+    engine.getVariant("second", context);
+    recorder.close();
+
+    List<TrafficRecorder.Entry> entries = TrafficRecorder.read(log);
+    assertThat(entries).hasSize(2);
+    assertThat(entries.get(0).kind).isEqualTo(TrafficRecorder.IS_ENABLED);
+    assertThat(entries.get(1).kind).isEqualTo(TrafficRecorder.GET_VARIANT);
+    ContextMessage first = ContextMessage.getRootAsContextMessage(entries.get(0).message);
+    assertThat(first.toggleName()).isEqualTo("first");
+    assertThat(first.userId()).isEqualTo("7");
+    assertThat(first.propertiesLength()).isEqualTo(1);
+    assertThat(first.properties(0).key()).isEqualTo("region");
+    assertThat(recorder.getRecords()).isEqualTo(2);
+    assertThat(Files.size(log)).isEqualTo(recorder.getBytes());
+  }
+
+  @Test
+  void theLogStopsGrowingAtItsSizeLimit() throws Exception {
+    Path log = directory.resolve("traffic.log");
+    TrafficRecorder recorder = TrafficRecorder.open(log, 200, 1);
+    engine.recordTraffic(recorder);
+
+    for (int i = 0; i < 100; i++) {
+      engine.isEnabled("toggle", new Context());
+    }
+    recorder.close();
+
+    assertThat(recorder.isStopped()).isTrue();
+    assertThat(Files.size(log)).isLessThanOrEqualTo(200);
+    assertThat(TrafficRecorder.read(log)).hasSize((int) recorder.getRecords()).isNotEmpty();
+  }
+
+  @Test
+  void nothingIsRecordedAfterStopping() throws Exception {
+    Path log = directory.resolve("traffic.log");
+    TrafficRecorder recorder = TrafficRecorder.open(log, 1 << 20, 1);
+    engine.recordTraffic(recorder);
+    engine.stopRecordingTraffic();
+
+    engine.isEnabled("toggle", new Context());
+    recorder.close();
+
+    assertThat(TrafficRecorder.read(log)).isEmpty();
+  }
+
+  private static Response enabled() {
+    FlatBufferBuilder builder = new FlatBufferBuilder(32);
+    Response.startResponse(builder);
+    Response.addEnabled(builder, true);
+    Response.addHasEnabled(builder, true);
+    builder.finish(Response.endResponse(builder));
+    return Response.getRootAsResponse(builder.dataBuffer());
+  }
+
+  private static Variant noVariant() {
+    FlatBufferBuilder builder = new FlatBufferBuilder(32);
+    Variant.startVariant(builder);
+    builder.finish(Variant.endVariant(builder));
+    return Variant.getRootAsVariant(builder.dataBuffer());
+  }
+}
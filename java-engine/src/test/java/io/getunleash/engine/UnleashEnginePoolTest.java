@@ -0,0 +1,211 @@
+package io.getunleash.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.flatbuffers.FlatBufferBuilder;
+import io.getunleash.yggdrasil.messaging.MetricsResponse;
+import io.getunleash.yggdrasil.messaging.Response;
+import io.getunleash.yggdrasil.messaging.TakeStateResponse;
+import io.getunleash.yggdrasil.messaging.ToggleEntry;
+import io.getunleash.yggdrasil.messaging.ToggleStats;
+import io.getunleash.yggdrasil.messaging.VariantEntry;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class UnleashEnginePoolTest {
+
+  @Test
+  void takeStateGoesToEveryEngine() throws Exception {
+    NativeInterface first = mock(NativeInterface.class);
+    NativeInterface second = mock(NativeInterface.class);
+    when(first.takeState(any(String.class))).thenReturn(takeStateResponse(null));
+    UnleashEnginePool pool = poolOf(first, second);
+
+    pool.takeState("{}");
+
+    verify(first, times(1)).takeState("{}");
+    verify(second, times(1)).takeState("{}");
+  }
+
+  @Test
+  void stateTheFirstEngineRejectsNeverReachesTheOthers() {
+    NativeInterface first = mock(NativeInterface.class);
+    NativeInterface second = mock(NativeInterface.class);
+    when(first.takeState(any(String.class))).thenThrow(new IllegalStateException("nope"));
+    UnleashEnginePool pool = poolOf(first, second);
+
+    assertThrows(YggdrasilInvalidInputException.class, () -> pool.takeState("not json"));
+    verify(second, never()).takeState(any(String.class));
+  }
+
+  @Test
+  void stateTheFirstEngineAnswersWithAnErrorNeverReachesTheOthers() {
+    NativeInterface first = mock(NativeInterface.class);
+    NativeInterface second = mock(NativeInterface.class);
+    when(first.takeState(any(String.class))).thenReturn(takeStateResponse("invalid state"));
+    UnleashEnginePool pool = poolOf(first, second);
+
+    assertThrows(YggdrasilInvalidInputException.class, () -> pool.takeState("[]"));
+    verify(second, never()).takeState(any(String.class));
+  }
+
+  @Test
+  void stateTheFirstEngineFailsToTakeNeverReachesTheOthers() {
+    NativeInterface first = mock(NativeInterface.class);
+    NativeInterface second = mock(NativeInterface.class);
+    when(first.takeState(any(String.class))).thenReturn(null);
+    UnleashEnginePool pool = poolOf(first, second);
+
+    assertThrows(YggdrasilInvalidInputException.class, () -> pool.takeState("{}"));
+    verify(second, never()).takeState(any(String.class));
+  }
+
+  @Test
+  void impressionsOfEveryEngineArePublished() throws Exception {
+    NativeInterface first = mock(NativeInterface.class);
+    NativeInterface second = mock(NativeInterface.class);
+    when(first.checkEnabled(any(ByteBuffer.class))).thenAnswer(invocation -> impression());
+    when(second.checkEnabled(any(ByteBuffer.class))).thenAnswer(invocation -> impression());
+    UnleashEngine firstEngine = new UnleashEngine(first, null, null);
+    UnleashEngine secondEngine = new UnleashEngine(second, null, null);
+    UnleashEnginePool pool = new UnleashEnginePool(Arrays.asList(firstEngine, secondEngine));
+
+    ImpressionPipeline pipeline = new ImpressionPipeline();
+    pool.publishImpressions(pipeline);
+    firstEngine.isEnabled("toggle", new Context());
+    secondEngine.isEnabled("toggle", new Context());
+    pool.publishImpressions(null);
+    secondEngine.isEnabled("toggle", new Context());
+    pipeline.close();
+
+    assertThat(pipeline.getPublished()).isEqualTo(2);
+  }
+
+  @Test
+  void metricsFromEveryEngineAreMergedIntoOneBucket() {
+    NativeInterface first = mock(NativeInterface.class);
+    NativeInterface second = mock(NativeInterface.class);
+    NativeInterface idle = mock(NativeInterface.class);
+    when(first.getMetrics()).thenReturn(metrics(1000, 2000, "toggle", 3, 1, "blue", 2));
+    when(second.getMetrics()).thenReturn(metrics(1500, 2500, "toggle", 1, 4, "blue", 1));
+    when(idle.getMetrics()).thenReturn(noMetrics());
+    UnleashEnginePool pool = poolOf(first, second, idle);
+
+    MetricsBucket bucket = pool.getMetrics();
+
+    assertThat(bucket.getStart()).isEqualTo(Instant.ofEpochMilli(1000));
+    assertThat(bucket.getStop()).isEqualTo(Instant.ofEpochMilli(2500));
+    FeatureCount toggle = bucket.getToggles().get("toggle");
+    assertThat(toggle.getYes()).isEqualTo(4L);
+    assertThat(toggle.getNo()).isEqualTo(5L);
+    assertThat(toggle.getVariants()).isEqualTo(Map.of("blue", 3L));
+  }
+
+  @Test
+  void poolOfNothingIsRejected() {
+    assertThrows(IllegalArgumentException.class, () -> new UnleashEnginePool(0));
+    assertThrows(
+        IllegalArgumentException.class, () -> new UnleashEnginePool(Collections.emptyList()));
+  }
+
+  @Test
+  void evaluationsFromManyThreadsAreAllCounted() throws Exception {
+    UnleashEnginePool pool = new UnleashEnginePool(4);
+    pool.takeState(ResourceReader.readResourceAsString("01-simple-examples.json"));
+
+    int threads = 8;
+    int checksPerThread = 1000;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> results = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        results.add(
+            executor.submit(
+                () -> {
+                  for (int i = 0; i < checksPerThread; i++) {
+                    pool.isEnabled("Feature.A", new Context());
+                  }
+                  return null;
+                }));
+      }
+      for (Future<?> result : results) {
+        result.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    FeatureCount count = pool.getMetrics().getToggles().get("Feature.A");
+    assertThat(count.getYes() + count.getNo()).isEqualTo((long) threads * checksPerThread);
+  }
+
+  private static UnleashEnginePool poolOf(NativeInterface... nativeInterfaces) {
+    List<UnleashEngine> engines = new ArrayList<>();
+    Arrays.stream(nativeInterfaces)
+        .forEach(nativeInterface -> engines.add(new UnleashEngine(nativeInterface, null, null)));
+    return new UnleashEnginePool(engines);
+  }
+
+  private static Response impression() {
+    FlatBufferBuilder builder = new FlatBufferBuilder(32);
+    Response.startResponse(builder);
+    Response.addEnabled(builder, true);
+    Response.addHasEnabled(builder, true);
+    Response.addImpressionData(builder, true);
+    builder.finish(Response.endResponse(builder));
+    return Response.getRootAsResponse(builder.dataBuffer());
+  }
+
+  private static TakeStateResponse takeStateResponse(String error) {
+    FlatBufferBuilder builder = new FlatBufferBuilder(64);
+    int errorOffset = error != null ? builder.createString(error) : 0;
+    TakeStateResponse.startTakeStateResponse(builder);
+    if (error != null) {
+      TakeStateResponse.addError(builder, errorOffset);
+    }
+    builder.finish(TakeStateResponse.endTakeStateResponse(builder));
+    return TakeStateResponse.getRootAsTakeStateResponse(builder.dataBuffer());
+  }
+
+  private static MetricsResponse noMetrics() {
+    FlatBufferBuilder builder = new FlatBufferBuilder(16);
+    MetricsResponse.startMetricsResponse(builder);
+    builder.finish(MetricsResponse.endMetricsResponse(builder));
+    return MetricsResponse.getRootAsMetricsResponse(builder.dataBuffer());
+  }
+
+  private static MetricsResponse metrics(
+      long start, long stop, String toggle, long yes, long no, String variant, long variantCount) {
+    FlatBufferBuilder builder = new FlatBufferBuilder(128);
+    int variantKey = builder.createString(variant);
+    int variantEntry = VariantEntry.createVariantEntry(builder, variantKey, variantCount);
+    int variants = ToggleStats.createVariantsVector(builder, new int[] {variantEntry});
+    int stats = ToggleStats.createToggleStats(builder, no, yes, variants);
+    int toggleKey = builder.createString(toggle);
+    int toggleEntry = ToggleEntry.createToggleEntry(builder, toggleKey, stats);
+    int toggles = MetricsResponse.createTogglesVector(builder, new int[] {toggleEntry});
+    MetricsResponse.startMetricsResponse(builder);
+    MetricsResponse.addStart(builder, start);
+    MetricsResponse.addStop(builder, stop);
+    MetricsResponse.addToggles(builder, toggles);
+    builder.finish(MetricsResponse.endMetricsResponse(builder));
+    return MetricsResponse.getRootAsMetricsResponse(builder.dataBuffer());
+  }
+}
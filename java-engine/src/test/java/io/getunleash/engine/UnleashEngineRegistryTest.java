@@ -0,0 +1,200 @@
+package io.getunleash.engine;
+
+import static io.getunleash.engine.TakeStateResponses.feature;
+import static io.getunleash.engine.TakeStateResponses.state;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.flatbuffers.FlatBufferBuilder;
+import io.getunleash.yggdrasil.messaging.MetricsResponse;
+import io.getunleash.yggdrasil.messaging.Response;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UnleashEngineRegistryTest {
+  private final List<NativeInterface> created = new ArrayList<>();
+  private UnleashEngineRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    registry =
+        new UnleashEngineRegistry(
+            () -> {
+              NativeInterface nativeInterface = mock(NativeInterface.class);
+              when(nativeInterface.takeState(any(String.class)))
+                  .thenAnswer(
+                      invocation ->
+                          state()
+                              .features(feature(invocation.getArgument(0)))
+                              .stateGeneration(1)
+                              .build());
+              when(nativeInterface.checkEnabled(any(ByteBuffer.class))).thenReturn(enabled(true));
+              when(nativeInterface.getMetrics()).thenReturn(emptyMetrics());
+              created.add(nativeInterface);
+              return nativeInterface;
+            });
+  }
+
+  @Test
+  void enginesTakingTheSameStateShareOneNativeEngine() throws Exception {
+    UnleashEngine first = registry.newEngine();
+    UnleashEngine second = registry.newEngine();
+
+    first.takeState("toggle");
+    second.takeState("toggle");
+
+    // The engine new engines start out with, and the one holding the state
+    assertThat(created).hasSize(2);
+    verify(created.get(1), times(1)).takeState("toggle");
+    verify(created.get(0)).freeEngine();
+    assertThat(registry.getSharedStates()).isEqualTo(1);
+    assertThat(second.listKnownToggles()).extracting(FeatureDef::getName).containsExactly("toggle");
+  }
+
+  @Test
+  void anEngineTakingADifferentStateMovesToItsOwn() throws Exception {
+    UnleashEngine first = registry.newEngine();
+    UnleashEngine second = registry.newEngine();
+    first.takeState("toggle");
+    second.takeState("toggle");
+
+    second.takeState("other");
+
+    assertThat(registry.getSharedStates()).isEqualTo(2);
+    assertThat(first.listKnownToggles()).extracting(FeatureDef::getName).containsExactly("toggle");
+    assertThat(second.listKnownToggles()).extracting(FeatureDef::getName).containsExactly("other");
+    verify(created.get(1), never()).takeState("other");
+
+    first.takeState("other");
+
+    assertThat(registry.getSharedStates()).isEqualTo(1);
+    verify(created.get(1)).freeEngine();
+  }
+
+  @Test
+  void enginesEvaluatingInJavaOnlyShareWithEachOther() throws Exception {
+    UnleashEngine nativeOnly = registry.newEngine();
+    UnleashEngine javaEvaluating =
+        new UnleashEngine(new SharedStateInterface(registry), null, null, true);
+
+    nativeOnly.takeState("toggle");
+    javaEvaluating.takeState("toggle");
+
+    assertThat(registry.getSharedStates()).isEqualTo(2);
+    verify(created.get(1)).setStrategyConstraints(false);
+    verify(created.get(2)).setStrategyConstraints(true);
+    verify(created.get(2)).takeState("toggle");
+  }
+
+  @Test
+  void metricsAreCountedPerEngine() throws Exception {
+    UnleashEngine first = registry.newEngine();
+    UnleashEngine second = registry.newEngine();
+    first.takeState("toggle");
+    second.takeState("toggle");
+
+    first.isEnabled("toggle", new Context());
+    first.isEnabled("toggle", new Context());
+    second.isEnabled("toggle", new Context());
+
+    assertThat(first.getMetrics().getToggles().get("toggle").getYes()).isEqualTo(2L);
+    assertThat(second.getMetrics().getToggles().get("toggle").getYes()).isEqualTo(1L);
+    assertThat(first.getMetrics().getToggles()).isEmpty();
+    verify(created.get(1)).setCountEvaluations(false);
+    verify(created.get(1), never()).getMetrics();
+  }
+
+  @Test
+  void aFreedEngineRefusesCallsAndLetsGoOfItsState() throws Exception {
+    SharedStateInterface engine = new SharedStateInterface(registry);
+    engine.takeState("toggle");
+
+    engine.freeEngine();
+
+    verify(created.get(1)).freeEngine();
+    assertThat(registry.getSharedStates()).isZero();
+    assertThatThrownBy(engine::getState).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void aCallStillInAStateKeepsItUntilTheCallIsDone() throws Exception {
+    SharedStateInterface engine = new SharedStateInterface(registry);
+    engine.takeState("toggle");
+    CountDownLatch called = new CountDownLatch(1);
+    CountDownLatch answer = new CountDownLatch(1);
+    when(created.get(1).checkEnabled(any(ByteBuffer.class)))
+        .thenAnswer(
+            invocation -> {
+              called.countDown();
+              answer.await(5, TimeUnit.SECONDS);
+              return enabled(true);
+            });
+    Thread caller = new Thread(() -> engine.checkEnabled(ByteBuffer.allocate(0)));
+    caller.start();
+    called.await(5, TimeUnit.SECONDS);
+
+    engine.takeState("other");
+
+    verify(created.get(1), never()).freeEngine();
+    answer.countDown();
+    caller.join(5000);
+    verify(created.get(1)).freeEngine();
+  }
+
+  @Test
+  void takingTheStateAnEngineAlreadyHasReportsNothing() throws Exception {
+    UnleashEngine engine = registry.newEngine();
+    List<StateChange> changes = new ArrayList<>();
+    engine.addStateChangeListener(changes::add);
+
+    engine.takeState("toggle");
+    engine.takeState("toggle");
+
+    assertThat(changes).hasSize(1);
+  }
+
+  @Test
+  void aStateTheEngineFailsToTakeIsNotShared() throws Exception {
+    UnleashEngineRegistry failing =
+        new UnleashEngineRegistry(
+            () -> {
+              NativeInterface nativeInterface = mock(NativeInterface.class);
+              when(nativeInterface.takeState(any(String.class)))
+                  .thenReturn(state().error("invalid state").build());
+              created.add(nativeInterface);
+              return nativeInterface;
+            });
+    UnleashEngine other = failing.newEngine();
+    other.takeState("broken");
+
+    assertThat(failing.getSharedStates()).isEqualTo(1);
+    verify(created.get(created.size() - 1)).freeEngine();
+  }
+
+  private static Response enabled(boolean enabled) {
+    FlatBufferBuilder builder = new FlatBufferBuilder(32);
+    Response.startResponse(builder);
+    Response.addEnabled(builder, enabled);
+    Response.addHasEnabled(builder, true);
+    builder.finish(Response.endResponse(builder));
+    return Response.getRootAsResponse(builder.dataBuffer());
+  }
+
+  private static MetricsResponse emptyMetrics() {
+    FlatBufferBuilder builder = new FlatBufferBuilder(32);
+    MetricsResponse.startMetricsResponse(builder);
+    builder.finish(MetricsResponse.endMetricsResponse(builder));
+    return MetricsResponse.getRootAsMetricsResponse(builder.dataBuffer());
+  }
+}
@@ -14,6 +14,9 @@ import static org.mockito.Mockito.when;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.flatbuffers.FlatBufferBuilder;
+import io.getunleash.yggdrasil.messaging.StateSnapshot;
+import io.getunleash.yggdrasil.messaging.TakeStateResponse;
 import java.io.File;
 import java.io.IOException;
 import java.lang.ref.PhantomReference;
@@ -24,6 +27,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
@@ -33,6 +37,8 @@ import java.util.concurrent.CountDownLatch;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.*;
 import org.mockito.Mockito;
@@ -81,6 +87,45 @@ class UnleashEngineTest {
     assertTrue(retrievedState.contains("\"version\":1"));
   }
 
+  @Test
+  void testSnapshotRoundtrip(@TempDir Path tempDir) throws Exception {
+    engine.takeState(simpleFeatures);
+    Path snapshot = tempDir.resolve("state.snapshot");
+    engine.saveSnapshot(snapshot);
+
+    UnleashEngine restored = new UnleashEngine(Collections.singletonList(alwaysTrue("custom")));
+    restored.loadSnapshot(snapshot);
+
+    assertEquals(engine.getState(), restored.getState());
+    assertTrue(restored.isEnabled("Feature.A", new Context()).value);
+  }
+
+  @Test
+  void testLoadingSomethingThatIsNotASnapshotKeepsState(@TempDir Path tempDir) throws Exception {
+    engine.takeState(simpleFeatures);
+    Path notASnapshot = tempDir.resolve("state.json");
+    Files.write(notASnapshot, simpleFeatures.getBytes(StandardCharsets.UTF_8));
+
+    assertThrows(YggdrasilInvalidInputException.class, () -> engine.loadSnapshot(notASnapshot));
+    assertTrue(engine.isEnabled("Feature.A", new Context()).value);
+  }
+
+  @Test
+  void testUnchangedSnapshotIsOnlyLoadedOnce(@TempDir Path tempDir) throws Exception {
+    engine.takeState(simpleFeatures);
+    Path snapshot = tempDir.resolve("state.snapshot");
+    engine.saveSnapshot(snapshot);
+
+    UnleashEngine follower = new UnleashEngine(Collections.singletonList(alwaysTrue("custom")));
+    assertTrue(follower.loadSnapshotIfChanged(snapshot));
+    assertFalse(follower.loadSnapshotIfChanged(snapshot));
+
+    engine.takeState(ResourceReader.readResourceAsString("impression-data-tests.json"));
+    engine.saveSnapshot(snapshot);
+    assertTrue(follower.loadSnapshotIfChanged(snapshot));
+    assertEquals(engine.getState(), follower.getState());
+  }
+
   @ParameterizedTest
   @ValueSource(strings = {"", "[]", "{}", "{\"version\": 2, \"features\": []}"})
   @NullSource
@@ -556,4 +601,56 @@ class UnleashEngineTest {
 
     engine.listKnownToggles();
   }
+
+  @Test
+  public void loadSnapshotIfChangedSkipsTheEngineWhenTheStateHashMatches(@TempDir Path tempDir)
+      throws Exception {
+    NativeInterface mockNativeInterface = mock(NativeInterface.class);
+    when(mockNativeInterface.loadSnapshot(any(ByteBuffer.class)))
+        .thenReturn(emptyTakeStateResponse());
+    when(mockNativeInterface.takeState(any(String.class))).thenReturn(emptyTakeStateResponse());
+    UnleashEngine engine = new UnleashEngine(mockNativeInterface, null, null);
+
+    Path snapshot = tempDir.resolve("state.snapshot");
+    FlatBufferBuilder builder = new FlatBufferBuilder(64);
+    StateSnapshot.startStateSnapshot(builder);
+    StateSnapshot.addStateHash(builder, 42L);
+    builder.finish(StateSnapshot.endStateSnapshot(builder));
+    Files.write(snapshot, builder.sizedByteArray());
+
+    assertTrue(engine.loadSnapshotIfChanged(snapshot));
+    assertFalse(engine.loadSnapshotIfChanged(snapshot));
+    Mockito.verify(mockNativeInterface, Mockito.times(1)).loadSnapshot(any(ByteBuffer.class));
+
+    // Saved again with the same state
+    Path resaved = tempDir.resolve("resaved.snapshot");
+    Files.write(resaved, builder.sizedByteArray());
+    Files.move(resaved, snapshot, StandardCopyOption.REPLACE_EXISTING);
+    assertFalse(engine.loadSnapshotIfChanged(snapshot));
+    Mockito.verify(mockNativeInterface, Mockito.times(1)).loadSnapshot(any(ByteBuffer.class));
+
+    engine.takeState("{}");
+    assertTrue(engine.loadSnapshotIfChanged(snapshot));
+    Mockito.verify(mockNativeInterface, Mockito.times(2)).loadSnapshot(any(ByteBuffer.class));
+  }
+
+  @Test
+  @EnabledIfSystemProperty(named = NativeInterfaces.FFM_PROPERTY, matches = "true")
+  void ffmInterfaceIsUsedWhenAskedFor() {
+    NativeInterface nativeInterface = NativeInterfaces.create();
+    try {
+      assertThat(nativeInterface.getClass().getSimpleName()).isEqualTo("FfmInterface");
+      assertNotNull(nativeInterface.takeState(simpleFeatures));
+      assertThat(nativeInterface.getState()).contains("Feature.A");
+    } finally {
+      nativeInterface.freeEngine();
+    }
+  }
+
+  private static TakeStateResponse emptyTakeStateResponse() {
+    FlatBufferBuilder builder = new FlatBufferBuilder(16);
+    TakeStateResponse.startTakeStateResponse(builder);
+    builder.finish(TakeStateResponse.endTakeStateResponse(builder));
+    return TakeStateResponse.getRootAsTakeStateResponse(builder.dataBuffer());
+  }
 }
@@ -0,0 +1,84 @@
+package io.getunleash.engine;
+
+import static io.getunleash.engine.TakeStateResponses.feature;
+import static io.getunleash.engine.TakeStateResponses.state;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.flatbuffers.FlatBufferBuilder;
+import io.getunleash.yggdrasil.messaging.ContextMessage;
+import io.getunleash.yggdrasil.messaging.Variant;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class VariantTableTest {
+  private NativeInterface nativeInterface;
+  private UnleashEngine engine;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    nativeInterface = mock(NativeInterface.class);
+    when(nativeInterface.isDedicated()).thenReturn(true);
+    when(nativeInterface.takeState(any(String.class)))
+        .thenReturn(
+            state()
+                .features(
+                    feature("coloured").variant("blue").variant("red", "json", "{\"big\": true}"))
+                .variantGeneration(7)
+                .build());
+    engine = new UnleashEngine(nativeInterface, null, null);
+    engine.takeState("{}");
+  }
+
+  @Test
+  void indexedVariantsAreSharedInstances() throws Exception {
+    when(nativeInterface.checkVariant(any(ByteBuffer.class))).thenReturn(indexed(1, true));
+
+    VariantDef first = engine.getVariant("coloured", new Context()).value;
+    VariantDef second = engine.getVariant("coloured", new Context()).value;
+
+    assertSame(first, second);
+    assertEquals("red", first.getName());
+    assertEquals("{\"big\": true}", first.getPayload().getValue());
+    assertThrows(UnsupportedOperationException.class, () -> first.getPayload().setValue("x"));
+  }
+
+  @Test
+  void theVariantGenerationIsSentWithTheCheck() throws Exception {
+    when(nativeInterface.checkVariant(any(ByteBuffer.class))).thenReturn(indexed(0, true));
+    engine.getVariant("coloured", new Context());
+
+    ArgumentCaptor<ByteBuffer> sent = ArgumentCaptor.forClass(ByteBuffer.class);
+    verify(nativeInterface).checkVariant(sent.capture());
+    assertEquals(7, ContextMessage.getRootAsContextMessage(sent.getValue()).variantGeneration());
+  }
+
+  @Test
+  void disabledVariantsShareThePayload() throws Exception {
+    when(nativeInterface.checkVariant(any(ByteBuffer.class))).thenReturn(indexed(1, false));
+
+    VariantDef disabled = engine.getVariant("coloured", new Context()).value;
+
+    assertFalse(disabled.isEnabled());
+    assertEquals("red", disabled.getName());
+  }
+
+  private static Variant indexed(int index, boolean enabled) {
+    FlatBufferBuilder builder = new FlatBufferBuilder(64);
+    Variant.startVariant(builder);
+    Variant.addEnabled(builder, enabled);
+    Variant.addFeatureEnabled(builder, true);
+    Variant.addVariantIndex(builder, index);
+    Variant.addHasVariantIndex(builder, true);
+    builder.finish(Variant.endVariant(builder));
+    return Variant.getRootAsVariant(builder.dataBuffer());
+  }
+}
@@ -0,0 +1,66 @@
+package io.getunleash.engine;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class WriteStateTest {
+  private static final byte[] STATE =
+      "{\"version\":2,\"features\":[{\"name\":\"räksmörgås\"}]}".getBytes(StandardCharsets.UTF_8);
+
+  private NativeInterface nativeInterface;
+  private UnleashEngine engine;
+
+  @BeforeEach
+  void setUp() {
+    nativeInterface = mock(NativeInterface.class);
+    when(nativeInterface.getStateJson()).thenAnswer(invocation -> ByteBuffer.wrap(STATE));
+    engine = new UnleashEngine(nativeInterface, null, null);
+  }
+
+  @Test
+  void theStateIsSerialisedOncePerState() throws Exception {
+    assertArrayEquals(STATE, written());
+    assertArrayEquals(STATE, written());
+    verify(nativeInterface, times(1)).getStateJson();
+
+    when(nativeInterface.takeState(any(String.class))).thenReturn(null);
+    engine.takeState("{}");
+
+    assertArrayEquals(STATE, written());
+    verify(nativeInterface, times(2)).getStateJson();
+  }
+
+  @Test
+  void theStateCanBeWrittenToAChannel() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    engine.writeState(Channels.newChannel(out));
+
+    assertArrayEquals(STATE, out.toByteArray());
+  }
+
+  @Test
+  void aStateTheEngineCannotSerialiseFailsTheWrite() {
+    when(nativeInterface.getStateJson()).thenReturn(null);
+
+    assertThrows(IOException.class, () -> engine.writeState(new ByteArrayOutputStream()));
+  }
+
+  private byte[] written() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    engine.writeState(out);
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,184 @@
+use std::borrow::Cow;
+use std::thread;
+
+use flatbuffers::{ForwardsUOffset, Vector};
+use unleash_yggdrasil::state::{EnrichedContext, PropertiesCow, PropertiesRef};
+use unleash_yggdrasil::EngineState;
+
+use crate::flat::messaging::yggdrasil::messaging::{BulkContextMessage, ContextColumn};
+use crate::flat::serialisation::FlatError;
+use crate::flat::typed_values;
+
+const BITS: usize = u64::BITS as usize;
+
+/// One context field of a bulk check, either the same for every context or a column of values
+#[derive(Clone, Copy)]
+enum Field<'a> {
+    Shared(Option<&'a str>),
+    Column(Column<'a>),
+}
+
+#[derive(Clone, Copy)]
+struct Column<'a> {
+    values: Vector<'a, ForwardsUOffset<&'a str>>,
+    missing: Option<Vector<'a, u64>>,
+}
+
+impl<'a> Column<'a> {
+    fn read(column: ContextColumn<'a>, count: usize) -> Result<Column<'a>, FlatError> {
+        let values = column.values().ok_or_else(|| {
+            FlatError::InvalidContext(format!("column {:?} has no values", column.name()))
+        })?;
+        if values.len() != count {
+            return Err(FlatError::InvalidContext(format!(
+                "column {:?} has {} values for {} contexts",
+                column.name(),
+                values.len(),
+                count
+            )));
+        }
+        Ok(Column {
+            values,
+            missing: column.missing(),
+        })
+    }
+
+    fn get(&self, row: usize) -> Option<&'a str> {
+        let missing = self.missing.is_some_and(|missing| {
+            let word = row / BITS;
+            word < missing.len() && missing.get(word) & (1 << (row % BITS)) != 0
+        });
+        if missing {
+            None
+        } else {
+            Some(self.values.get(row))
+        }
+    }
+}
+
+impl<'a> Field<'a> {
+    fn get(&self, row: usize) -> Option<&'a str> {
+        match self {
+            Field::Shared(value) => *value,
+            Field::Column(column) => column.get(row),
+        }
+    }
+}
+
+/// The contexts of a BulkContextMessage, read without copying any of the strings
+pub struct BulkContexts<'a> {
+    pub toggle_name: &'a str,
+    count: usize,
+    user_id: Field<'a>,
+    session_id: Field<'a>,
+    remote_address: Field<'a>,
+    environment: Field<'a>,
+    app_name: Field<'a>,
+    current_time: Option<Cow<'a, str>>,
+    runtime_hostname: Option<&'a str>,
+    properties: Vec<(&'a str, Column<'a>)>,
+}
+
+impl<'a> BulkContexts<'a> {
+    pub fn read(message: BulkContextMessage<'a>) -> Result<BulkContexts<'a>, FlatError> {
+        let count = message.count() as usize;
+        let mut contexts = BulkContexts {
+            toggle_name: message.toggle_name().ok_or(FlatError::MissingFlagName)?,
+            count,
+            user_id: Field::Shared(None),
+            session_id: Field::Shared(None),
+            remote_address: Field::Shared(None),
+            environment: Field::Shared(message.environment()),
+            app_name: Field::Shared(message.app_name()),
+            current_time: typed_values::bulk_current_time(&message)?,
+            runtime_hostname: message.runtime_hostname(),
+            properties: vec![],
+        };
+        for column in message.columns().into_iter().flatten() {
+            let name = column
+                .name()
+                .ok_or_else(|| FlatError::InvalidContext("column without a name".into()))?;
+            let values = Column::read(column, count)?;
+            match name {
+                "userId" => contexts.user_id = Field::Column(values),
+                "sessionId" => contexts.session_id = Field::Column(values),
+                "remoteAddress" => contexts.remote_address = Field::Column(values),
+                "environment" => contexts.environment = Field::Column(values),
+                "appName" => contexts.app_name = Field::Column(values),
+                _ => contexts.properties.push((name, values)),
+            }
+        }
+        Ok(contexts)
+    }
+
+    /// Evaluates the toggle for every context, using up to `parallelism` threads. Returns one bit
+    /// per context, or None if the engine doesn't know the toggle.
+    pub fn check_enabled(
+        &self,
+        engine: &EngineState,
+        parallelism: usize,
+    ) -> Result<Option<Vec<u64>>, FlatError> {
+        let mut enabled = vec![0u64; self.count.div_ceil(BITS)];
+        if enabled.is_empty() {
+            return Ok(None);
+        }
+        let threads = parallelism.clamp(1, enabled.len());
+        if threads == 1 {
+            let known = self.check_rows(engine, 0, &mut enabled);
+            return Ok(known.then_some(enabled));
+        }
+
+        // Every thread owns whole words of the result, so they never write to the same one
+        let words_per_thread = enabled.len().div_ceil(threads);
+        let known = thread::scope(|scope| {
+            let handles: Vec<_> = enabled
+                .chunks_mut(words_per_thread)
+                .enumerate()
+                .map(|(i, words)| {
+                    scope.spawn(move || self.check_rows(engine, i * words_per_thread * BITS, words))
+                })
+                .collect();
+            handles
+                .into_iter()
+                .try_fold(false, |known, handle| match handle.join() {
+                    Ok(chunk_known) => Ok(known || chunk_known),
+                    Err(_) => Err(FlatError::Panic),
+                })
+        })?;
+        Ok(known.then_some(enabled))
+    }
+
+    fn check_rows(&self, engine: &EngineState, first_row: usize, words: &mut [u64]) -> bool {
+        let last_row = (first_row + words.len() * BITS).min(self.count);
+        let mut known = false;
+        let mut properties = PropertiesCow::with_capacity(self.properties.len());
+        for row in first_row..last_row {
+            properties.clear();
+            for (name, column) in &self.properties {
+                if let Some(value) = column.get(row) {
+                    properties.insert(Cow::Borrowed(*name), Cow::Borrowed(value));
+                }
+            }
+            let context = EnrichedContext {
+                toggle_name: self.toggle_name,
+                user_id: self.user_id.get(row),
+                session_id: self.session_id.get(row),
+                environment: self.environment.get(row),
+                app_name: self.app_name.get(row),
+                current_time: self.current_time.as_deref(),
+                remote_address: self.remote_address.get(row),
+                properties: Some(PropertiesRef::Cows(&properties)),
+                external_results: None,
+                runtime_hostname: self.runtime_hostname,
+            };
+            if let Some(enabled) = engine.check_enabled(&context) {
+                known = true;
+                if enabled {
+                    let offset = row - first_row;
+                    words[offset / BITS] |= 1 << (offset % BITS);
+                }
+            }
+        }
+        known
+    }
+}
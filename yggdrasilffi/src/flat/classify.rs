@@ -0,0 +1,226 @@
+use std::collections::HashMap;
+
+use unleash_types::client_features::{ClientFeature, Strategy};
+use unleash_yggdrasil::KNOWN_STRATEGIES;
+
+/// What a caller needs to know about a feature to decide whether it has to ask the engine at all.
+/// The discriminants are what goes over the wire as StrategyFeature.kind.
+#[derive(Debug, Clone, Copy, PartialEq, Eq)]
+#[repr(u8)]
+pub enum FeatureKind {
+    ContextDependent = 0,
+    ConstantTrue = 1,
+    ConstantFalse = 2,
+    CustomStrategies = 3,
+}
+
+#[derive(Debug, Clone, Copy, PartialEq, Eq)]
+pub struct FeatureClass {
+    pub kind: FeatureKind,
+    pub impression_data: bool,
+    pub enabled: bool,
+    pub has_dependencies: bool,
+}
+
+pub fn classify(feature: &ClientFeature) -> FeatureClass {
+    FeatureClass {
+        kind: feature_kind(feature),
+        impression_data: feature.impression_data.unwrap_or(false),
+        enabled: feature.enabled,
+        has_dependencies: !feature.dependencies.as_deref().unwrap_or_default().is_empty(),
+    }
+}
+
+fn feature_kind(feature: &ClientFeature) -> FeatureKind {
+    if !feature.enabled {
+        return FeatureKind::ConstantFalse;
+    }
+    let strategies = feature.strategies.as_deref().unwrap_or_default();
+    if strategies
+        .iter()
+        .any(|strategy| !KNOWN_STRATEGIES.contains(&strategy.name.as_str()))
+    {
+        return FeatureKind::CustomStrategies;
+    }
+    if !feature.dependencies.as_deref().unwrap_or_default().is_empty() {
+        return FeatureKind::ContextDependent;
+    }
+    if strategies.is_empty() {
+        return FeatureKind::ConstantTrue;
+    }
+
+    // Strategies are or'ed together, so one that always passes makes the whole feature constant,
+    // and the feature is only constantly off if every single strategy is
+    let outcomes: Vec<Option<bool>> = strategies.iter().map(constant_outcome).collect();
+    if outcomes.contains(&Some(true)) {
+        FeatureKind::ConstantTrue
+    } else if outcomes.iter().all(|outcome| *outcome == Some(false)) {
+        FeatureKind::ConstantFalse
+    } else {
+        FeatureKind::ContextDependent
+    }
+}
+
+// The result of a strategy that doesn't look at the context, None if it might
+fn constant_outcome(strategy: &Strategy) -> Option<bool> {
+    let unconditional = strategy.constraints.as_deref().unwrap_or_default().is_empty()
+        && strategy.segments.as_deref().unwrap_or_default().is_empty();
+    if !unconditional {
+        return None;
+    }
+    let empty = HashMap::new();
+    let parameters = strategy.parameters.as_ref().unwrap_or(&empty);
+    match strategy.name.as_str() {
+        "default" => Some(true),
+        "flexibleRollout" => {
+            // A rollout sticky on a field the context doesn't have is off, default and random
+            // stickiness always find something to hash
+            let always_sticks = matches!(
+                parameters.get("stickiness").map(String::as_str),
+                None | Some("" | "default" | "random")
+            );
+            match percentage(parameters, "rollout")? {
+                0 => Some(false),
+                100 if always_sticks => Some(true),
+                _ => None,
+            }
+        }
+        "gradualRolloutRandom" => match percentage(parameters, "percentage")? {
+            0 => Some(false),
+            100 => Some(true),
+            _ => None,
+        },
+        "gradualRolloutUserId" | "gradualRolloutSessionId" => {
+            match percentage(parameters, "percentage")? {
+                0 => Some(false),
+                _ => None,
+            }
+        }
+        _ => None,
+    }
+}
+
+fn percentage(parameters: &HashMap<String, String>, name: &str) -> Option<u32> {
+    parameters.get(name)?.trim().parse().ok()
+}
+
+#[cfg(test)]
+mod tests {
+    use super::*;
+    use unleash_types::client_features::{Constraint, FeatureDependency, Operator};
+
+    fn feature(enabled: bool, strategies: Vec<Strategy>) -> ClientFeature {
+        ClientFeature {
+            name: "toggle".into(),
+            enabled,
+            strategies: Some(strategies),
+            ..ClientFeature::default()
+        }
+    }
+
+    fn strategy(name: &str, parameters: &[(&str, &str)]) -> Strategy {
+        Strategy {
+            name: name.into(),
+            sort_order: None,
+            segments: None,
+            constraints: None,
+            parameters: Some(
+                parameters
+                    .iter()
+                    .map(|(k, v)| (k.to_string(), v.to_string()))
+                    .collect(),
+            ),
+            variants: None,
+        }
+    }
+
+    #[test]
+    fn disabled_features_are_constantly_off() {
+        let class = classify(&feature(false, vec![strategy("default", &[])]));
+        assert_eq!(class.kind, FeatureKind::ConstantFalse);
+    }
+
+    #[test]
+    fn enabled_features_without_strategies_are_constantly_on() {
+        assert_eq!(classify(&feature(true, vec![])).kind, FeatureKind::ConstantTrue);
+    }
+
+    #[test]
+    fn full_and_empty_rollouts_are_constant() {
+        let on = feature(
+            true,
+            vec![strategy(
+                "flexibleRollout",
+                &[("rollout", "100"), ("stickiness", "default")],
+            )],
+        );
+        let off = feature(
+            true,
+            vec![
+                strategy("flexibleRollout", &[("rollout", "0")]),
+                strategy("gradualRolloutUserId", &[("percentage", "0")]),
+            ],
+        );
+        assert_eq!(classify(&on).kind, FeatureKind::ConstantTrue);
+        assert_eq!(classify(&off).kind, FeatureKind::ConstantFalse);
+    }
+
+    #[test]
+    fn rollouts_sticky_on_a_context_field_depend_on_the_context() {
+        let sticky = feature(
+            true,
+            vec![strategy(
+                "flexibleRollout",
+                &[("rollout", "100"), ("stickiness", "userId")],
+            )],
+        );
+        assert_eq!(classify(&sticky).kind, FeatureKind::ContextDependent);
+    }
+
+    #[test]
+    fn constraints_segments_and_dependencies_depend_on_the_context() {
+        let mut constrained = strategy("default", &[]);
+        constrained.constraints = Some(vec![Constraint {
+            context_name: "userId".into(),
+            operator: Operator::In,
+            case_insensitive: false,
+            inverted: false,
+            values: Some(vec!["7".into()]),
+            value: None,
+        }]);
+        let mut segmented = strategy("default", &[]);
+        segmented.segments = Some(vec![1]);
+        let mut dependent = feature(true, vec![strategy("default", &[])]);
+        dependent.dependencies = Some(vec![FeatureDependency {
+            feature: "parent".into(),
+            enabled: None,
+            variants: None,
+        }]);
+
+        assert_eq!(
+            classify(&feature(true, vec![constrained])).kind,
+            FeatureKind::ContextDependent
+        );
+        assert_eq!(
+            classify(&feature(true, vec![segmented])).kind,
+            FeatureKind::ContextDependent
+        );
+        assert_eq!(classify(&dependent).kind, FeatureKind::ContextDependent);
+    }
+
+    #[test]
+    fn unknown_strategies_are_custom() {
+        let custom = feature(
+            true,
+            vec![strategy("default", &[]), strategy("myCustomStrategy", &[])],
+        );
+        assert_eq!(classify(&custom).kind, FeatureKind::CustomStrategies);
+    }
+
+    #[test]
+    fn impression_data_is_reported() {
+        let mut impressive = feature(true, vec![]);
+        impressive.impression_data = Some(true);
+        assert!(classify(&impressive).impression_data);
+    }
+}
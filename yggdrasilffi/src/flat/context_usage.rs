@@ -0,0 +1,258 @@
+use std::collections::{BTreeMap, BTreeSet, HashMap, HashSet};
+
+use unleash_types::client_features::{ClientFeature, ClientFeatures, Constraint, Strategy};
+use unleash_yggdrasil::KNOWN_STRATEGIES;
+
+use crate::flat::property_keys::CONTEXT_FIELDS;
+
+// What default stickiness hashes on, it takes the first of these the context has
+const DEFAULT_STICKINESS: [&str; 3] = ["userId", "sessionId", "remoteAddress"];
+
+/// The parts of the context evaluating a feature can read, so a caller can leave everything else
+/// out of the context it sends. Reading more than needed is harmless, missing something isn't, so
+/// whenever it isn't clear what a strategy reads the whole context is needed.
+#[derive(Debug, Clone, Default, PartialEq, Eq)]
+pub struct ContextUsage {
+    pub fields: BTreeSet<&'static str>,
+    pub properties: BTreeSet<String>,
+    pub whole_context: bool,
+}
+
+impl ContextUsage {
+    fn read(&mut self, name: &str) {
+        match CONTEXT_FIELDS.iter().find(|field| **field == name) {
+            Some(field) => {
+                self.fields.insert(*field);
+            }
+            None => {
+                self.properties.insert(name.to_string());
+            }
+        }
+    }
+
+    fn read_stickiness(&mut self, stickiness: Option<&str>) {
+        match stickiness {
+            None | Some("" | "default") => self.fields.extend(DEFAULT_STICKINESS),
+            Some("random") => {}
+            Some(name) => self.read(name),
+        }
+    }
+
+    fn read_constraints<'a>(&mut self, constraints: impl Iterator<Item = &'a Constraint>) {
+        for constraint in constraints {
+            self.read(&constraint.context_name);
+        }
+    }
+}
+
+/// The context usage of every feature in the state, including that of the features it depends on
+pub fn context_usage(state: &ClientFeatures) -> BTreeMap<String, ContextUsage> {
+    let segments: HashMap<i32, &Vec<Constraint>> = state
+        .segments
+        .as_deref()
+        .unwrap_or_default()
+        .iter()
+        .map(|segment| (segment.id, &segment.constraints))
+        .collect();
+    let features: HashMap<&str, &ClientFeature> = state
+        .features
+        .iter()
+        .map(|feature| (feature.name.as_str(), feature))
+        .collect();
+    state
+        .features
+        .iter()
+        .map(|feature| {
+            let mut usage = ContextUsage::default();
+            let mut visited = HashSet::new();
+            add_feature(&feature.name, &features, &segments, &mut visited, &mut usage);
+            (feature.name.clone(), usage)
+        })
+        .collect()
+}
+
+fn add_feature<'a>(
+    name: &'a str,
+    features: &HashMap<&'a str, &'a ClientFeature>,
+    segments: &HashMap<i32, &Vec<Constraint>>,
+    visited: &mut HashSet<&'a str>,
+    usage: &mut ContextUsage,
+) {
+    if !visited.insert(name) {
+        return;
+    }
+    // A disabled feature is off before anything looks at the context
+    let Some(feature) = features.get(name).copied().filter(|feature| feature.enabled) else {
+        return;
+    };
+    for strategy in feature.strategies.as_deref().unwrap_or_default() {
+        add_strategy(strategy, segments, usage);
+    }
+    for variant in feature.variants.as_deref().unwrap_or_default() {
+        usage.read_stickiness(variant.stickiness.as_deref());
+        for variant_override in variant.overrides.as_deref().unwrap_or_default() {
+            usage.read(&variant_override.context_name);
+        }
+    }
+    for dependency in feature.dependencies.as_deref().unwrap_or_default() {
+        add_feature(&dependency.feature, features, segments, visited, usage);
+    }
+}
+
+fn add_strategy(
+    strategy: &Strategy,
+    segments: &HashMap<i32, &Vec<Constraint>>,
+    usage: &mut ContextUsage,
+) {
+    usage.read_constraints(strategy.constraints.as_deref().unwrap_or_default().iter());
+    for id in strategy.segments.as_deref().unwrap_or_default() {
+        if let Some(constraints) = segments.get(id) {
+            usage.read_constraints(constraints.iter());
+        }
+    }
+    let stickiness = strategy
+        .parameters
+        .as_ref()
+        .and_then(|parameters| parameters.get("stickiness"))
+        .map(String::as_str);
+    match strategy.name.as_str() {
+        "default" | "gradualRolloutRandom" => {}
+        "userWithId" | "gradualRolloutUserId" => usage.read("userId"),
+        "gradualRolloutSessionId" => usage.read("sessionId"),
+        "remoteAddress" => usage.read("remoteAddress"),
+        "flexibleRollout" => usage.read_stickiness(stickiness),
+        name if KNOWN_STRATEGIES.contains(&name) => usage.whole_context = true,
+        // Custom strategies run in the caller against its own context, the engine only gets
+        // their results
+        _ => {}
+    }
+    for variant in strategy.variants.as_deref().unwrap_or_default() {
+        usage.read_stickiness(variant.stickiness.as_deref());
+    }
+}
+
+#[cfg(test)]
+mod tests {
+    use super::*;
+    use unleash_types::client_features::{FeatureDependency, Operator, Segment};
+
+    fn strategy(name: &str, parameters: &[(&str, &str)]) -> Strategy {
+        Strategy {
+            name: name.into(),
+            sort_order: None,
+            segments: None,
+            constraints: None,
+            parameters: Some(
+                parameters
+                    .iter()
+                    .map(|(k, v)| (k.to_string(), v.to_string()))
+                    .collect(),
+            ),
+            variants: None,
+        }
+    }
+
+    fn constraint(context_name: &str) -> Constraint {
+        Constraint {
+            context_name: context_name.into(),
+            operator: Operator::In,
+            case_insensitive: false,
+            inverted: false,
+            values: Some(vec!["a".into()]),
+            value: None,
+        }
+    }
+
+    fn feature(name: &str, strategies: Vec<Strategy>) -> ClientFeature {
+        ClientFeature {
+            name: name.into(),
+            enabled: true,
+            strategies: Some(strategies),
+            ..ClientFeature::default()
+        }
+    }
+
+    fn state(features: Vec<ClientFeature>) -> ClientFeatures {
+        ClientFeatures {
+            version: 2,
+            features,
+            segments: None,
+            query: None,
+            meta: None,
+        }
+    }
+
+    #[test]
+    fn constraints_and_segments_read_their_context_names() {
+        let mut constrained = strategy("default", &[]);
+        constrained.constraints = Some(vec![constraint("region"), constraint("environment")]);
+        constrained.segments = Some(vec![1]);
+        let mut features = state(vec![feature("toggle", vec![constrained])]);
+        features.segments = Some(vec![Segment {
+            id: 1,
+            constraints: vec![constraint("tier")],
+        }]);
+
+        let usage = &context_usage(&features)["toggle"];
+
+        assert_eq!(usage.fields, BTreeSet::from(["environment"]));
+        assert_eq!(
+            usage.properties,
+            BTreeSet::from(["region".to_string(), "tier".to_string()])
+        );
+        assert!(!usage.whole_context);
+    }
+
+    #[test]
+    fn rollouts_read_what_they_are_sticky_on() {
+        let features = state(vec![
+            feature("plain", vec![strategy("default", &[])]),
+            feature(
+                "sticky",
+                vec![strategy("flexibleRollout", &[("stickiness", "tenant")])],
+            ),
+            feature(
+                "default-sticky",
+                vec![strategy("flexibleRollout", &[("stickiness", "default")])],
+            ),
+            feature("users", vec![strategy("gradualRolloutUserId", &[])]),
+        ]);
+
+        let usage = context_usage(&features);
+
+        assert_eq!(usage["plain"], ContextUsage::default());
+        assert_eq!(usage["sticky"].properties, BTreeSet::from(["tenant".to_string()]));
+        assert_eq!(usage["default-sticky"].fields, BTreeSet::from(DEFAULT_STICKINESS));
+        assert_eq!(usage["users"].fields, BTreeSet::from(["userId"]));
+    }
+
+    #[test]
+    fn features_read_what_their_parents_read() {
+        let mut child = feature("child", vec![strategy("default", &[])]);
+        child.dependencies = Some(vec![FeatureDependency {
+            feature: "parent".into(),
+            enabled: None,
+            variants: None,
+        }]);
+        let mut parent = feature("parent", vec![strategy("userWithId", &[])]);
+        parent.dependencies = Some(vec![FeatureDependency {
+            feature: "child".into(),
+            enabled: None,
+            variants: None,
+        }]);
+
+        let usage = context_usage(&state(vec![child, parent]));
+
+        assert_eq!(usage["child"].fields, BTreeSet::from(["userId"]));
+    }
+
+    #[test]
+    fn disabled_features_read_nothing() {
+        let mut disabled = feature("toggle", vec![strategy("userWithId", &[])]);
+        disabled.enabled = false;
+
+        let usage = context_usage(&state(vec![disabled]));
+
+        assert_eq!(usage["toggle"], ContextUsage::default());
+    }
+}
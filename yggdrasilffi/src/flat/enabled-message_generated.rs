@@ -272,6 +272,14 @@ impl<'a> ContextMessage<'a> {
   pub const VT_RUNTIME_HOSTNAME: flatbuffers::VOffsetT = 18;
   pub const VT_PROPERTIES: flatbuffers::VOffsetT = 20;
   pub const VT_CUSTOM_STRATEGIES_RESULTS: flatbuffers::VOffsetT = 22;
+  pub const VT_PROPERTY_KEY_IDS: flatbuffers::VOffsetT = 24;
+  pub const VT_PROPERTY_KEY_VALUES: flatbuffers::VOffsetT = 26;
+  pub const VT_CURRENT_TIME_MS: flatbuffers::VOffsetT = 28;
+  pub const VT_HAS_CURRENT_TIME_MS: flatbuffers::VOffsetT = 30;
+  pub const VT_TYPED_PROPERTIES: flatbuffers::VOffsetT = 32;
+  pub const VT_VARIANT_GENERATION: flatbuffers::VOffsetT = 34;
+  pub const VT_TRACE: flatbuffers::VOffsetT = 36;
+  pub const VT_USAGE_GENERATION: flatbuffers::VOffsetT = 38;
 
   #[inline]
   pub unsafe fn init_from_table(table: flatbuffers::Table<'a>) -> Self {
@@ -283,6 +291,12 @@ impl<'a> ContextMessage<'a> {
     args: &'args ContextMessageArgs<'args>
   ) -> flatbuffers::WIPOffset<ContextMessage<'bldr>> {
     let mut builder = ContextMessageBuilder::new(_fbb);
+    builder.add_usage_generation(args.usage_generation);
+    builder.add_variant_generation(args.variant_generation);
+    builder.add_current_time_ms(args.current_time_ms);
+    if let Some(x) = args.typed_properties { builder.add_typed_properties(x); }
+    if let Some(x) = args.property_key_values { builder.add_property_key_values(x); }
+    if let Some(x) = args.property_key_ids { builder.add_property_key_ids(x); }
     if let Some(x) = args.custom_strategies_results { builder.add_custom_strategies_results(x); }
     if let Some(x) = args.properties { builder.add_properties(x); }
     if let Some(x) = args.runtime_hostname { builder.add_runtime_hostname(x); }
@@ -293,6 +307,8 @@ impl<'a> ContextMessage<'a> {
     if let Some(x) = args.session_id { builder.add_session_id(x); }
     if let Some(x) = args.user_id { builder.add_user_id(x); }
     if let Some(x) = args.toggle_name { builder.add_toggle_name(x); }
+    builder.add_trace(args.trace);
+    builder.add_has_current_time_ms(args.has_current_time_ms);
     builder.finish()
   }
 
@@ -367,6 +383,62 @@ impl<'a> ContextMessage<'a> {
     // which contains a valid value in this slot
     unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<CustomStrategyResult>>>>(ContextMessage::VT_CUSTOM_STRATEGIES_RESULTS, None)}
   }
+  #[inline]
+  pub fn property_key_ids(&self) -> Option<flatbuffers::Vector<'a, u32>> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'a, u32>>>(ContextMessage::VT_PROPERTY_KEY_IDS, None)}
+  }
+  #[inline]
+  pub fn property_key_values(&self) -> Option<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>>>(ContextMessage::VT_PROPERTY_KEY_VALUES, None)}
+  }
+  #[inline]
+  pub fn current_time_ms(&self) -> i64 {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<i64>(ContextMessage::VT_CURRENT_TIME_MS, Some(0)).unwrap()}
+  }
+  #[inline]
+  pub fn has_current_time_ms(&self) -> bool {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<bool>(ContextMessage::VT_HAS_CURRENT_TIME_MS, Some(false)).unwrap()}
+  }
+  #[inline]
+  pub fn typed_properties(&self) -> Option<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<TypedPropertyEntry<'a>>>> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<TypedPropertyEntry>>>>(ContextMessage::VT_TYPED_PROPERTIES, None)}
+  }
+  #[inline]
+  pub fn variant_generation(&self) -> u64 {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<u64>(ContextMessage::VT_VARIANT_GENERATION, Some(0)).unwrap()}
+  }
+  #[inline]
+  pub fn trace(&self) -> bool {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<bool>(ContextMessage::VT_TRACE, Some(false)).unwrap()}
+  }
+  #[inline]
+  pub fn usage_generation(&self) -> u64 {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<u64>(ContextMessage::VT_USAGE_GENERATION, Some(0)).unwrap()}
+  }
 }
 
 impl flatbuffers::Verifiable for ContextMessage<'_> {
@@ -386,6 +458,14 @@ impl flatbuffers::Verifiable for ContextMessage<'_> {
      .visit_field::<flatbuffers::ForwardsUOffset<&str>>("runtime_hostname", Self::VT_RUNTIME_HOSTNAME, false)?
      .visit_field::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'_, flatbuffers::ForwardsUOffset<PropertyEntry>>>>("properties", Self::VT_PROPERTIES, false)?
      .visit_field::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'_, flatbuffers::ForwardsUOffset<CustomStrategyResult>>>>("custom_strategies_results", Self::VT_CUSTOM_STRATEGIES_RESULTS, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'_, u32>>>("property_key_ids", Self::VT_PROPERTY_KEY_IDS, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'_, flatbuffers::ForwardsUOffset<&'_ str>>>>("property_key_values", Self::VT_PROPERTY_KEY_VALUES, false)?
+     .visit_field::<i64>("current_time_ms", Self::VT_CURRENT_TIME_MS, false)?
+     .visit_field::<bool>("has_current_time_ms", Self::VT_HAS_CURRENT_TIME_MS, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'_, flatbuffers::ForwardsUOffset<TypedPropertyEntry>>>>("typed_properties", Self::VT_TYPED_PROPERTIES, false)?
+     .visit_field::<u64>("variant_generation", Self::VT_VARIANT_GENERATION, false)?
+     .visit_field::<bool>("trace", Self::VT_TRACE, false)?
+     .visit_field::<u64>("usage_generation", Self::VT_USAGE_GENERATION, false)?
      .finish();
     Ok(())
   }
@@ -401,6 +481,14 @@ pub struct ContextMessageArgs<'a> {
     pub runtime_hostname: Option<flatbuffers::WIPOffset<&'a str>>,
     pub properties: Option<flatbuffers::WIPOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<PropertyEntry<'a>>>>>,
     pub custom_strategies_results: Option<flatbuffers::WIPOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<CustomStrategyResult<'a>>>>>,
+    pub property_key_ids: Option<flatbuffers::WIPOffset<flatbuffers::Vector<'a, u32>>>,
+    pub property_key_values: Option<flatbuffers::WIPOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>>>,
+    pub current_time_ms: i64,
+    pub has_current_time_ms: bool,
+    pub typed_properties: Option<flatbuffers::WIPOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<TypedPropertyEntry<'a>>>>>,
+    pub variant_generation: u64,
+    pub trace: bool,
+    pub usage_generation: u64,
 }
 impl<'a> Default for ContextMessageArgs<'a> {
   #[inline]
@@ -416,6 +504,14 @@ impl<'a> Default for ContextMessageArgs<'a> {
       runtime_hostname: None,
       properties: None,
       custom_strategies_results: None,
+      property_key_ids: None,
+      property_key_values: None,
+      current_time_ms: 0,
+      has_current_time_ms: false,
+      typed_properties: None,
+      variant_generation: 0,
+      trace: false,
+      usage_generation: 0,
     }
   }
 }
@@ -466,6 +562,38 @@ impl<'a: 'b, 'b, A: flatbuffers::Allocator + 'a> ContextMessageBuilder<'a, 'b, A
     self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(ContextMessage::VT_CUSTOM_STRATEGIES_RESULTS, custom_strategies_results);
   }
   #[inline]
+  pub fn add_property_key_ids(&mut self, property_key_ids: flatbuffers::WIPOffset<flatbuffers::Vector<'b , u32>>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(ContextMessage::VT_PROPERTY_KEY_IDS, property_key_ids);
+  }
+  #[inline]
+  pub fn add_property_key_values(&mut self, property_key_values: flatbuffers::WIPOffset<flatbuffers::Vector<'b , flatbuffers::ForwardsUOffset<&'b  str>>>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(ContextMessage::VT_PROPERTY_KEY_VALUES, property_key_values);
+  }
+  #[inline]
+  pub fn add_current_time_ms(&mut self, current_time_ms: i64) {
+    self.fbb_.push_slot::<i64>(ContextMessage::VT_CURRENT_TIME_MS, current_time_ms, 0);
+  }
+  #[inline]
+  pub fn add_has_current_time_ms(&mut self, has_current_time_ms: bool) {
+    self.fbb_.push_slot::<bool>(ContextMessage::VT_HAS_CURRENT_TIME_MS, has_current_time_ms, false);
+  }
+  #[inline]
+  pub fn add_typed_properties(&mut self, typed_properties: flatbuffers::WIPOffset<flatbuffers::Vector<'b , flatbuffers::ForwardsUOffset<TypedPropertyEntry<'b >>>>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(ContextMessage::VT_TYPED_PROPERTIES, typed_properties);
+  }
+  #[inline]
+  pub fn add_variant_generation(&mut self, variant_generation: u64) {
+    self.fbb_.push_slot::<u64>(ContextMessage::VT_VARIANT_GENERATION, variant_generation, 0);
+  }
+  #[inline]
+  pub fn add_trace(&mut self, trace: bool) {
+    self.fbb_.push_slot::<bool>(ContextMessage::VT_TRACE, trace, false);
+  }
+  #[inline]
+  pub fn add_usage_generation(&mut self, usage_generation: u64) {
+    self.fbb_.push_slot::<u64>(ContextMessage::VT_USAGE_GENERATION, usage_generation, 0);
+  }
+  #[inline]
   pub fn new(_fbb: &'b mut flatbuffers::FlatBufferBuilder<'a, A>) -> ContextMessageBuilder<'a, 'b, A> {
     let start = _fbb.start_table();
     ContextMessageBuilder {
@@ -493,6 +621,14 @@ impl core::fmt::Debug for ContextMessage<'_> {
       ds.field("runtime_hostname", &self.runtime_hostname());
       ds.field("properties", &self.properties());
       ds.field("custom_strategies_results", &self.custom_strategies_results());
+      ds.field("property_key_ids", &self.property_key_ids());
+      ds.field("property_key_values", &self.property_key_values());
+      ds.field("current_time_ms", &self.current_time_ms());
+      ds.field("has_current_time_ms", &self.has_current_time_ms());
+      ds.field("typed_properties", &self.typed_properties());
+      ds.field("variant_generation", &self.variant_generation());
+      ds.field("trace", &self.trace());
+      ds.field("usage_generation", &self.usage_generation());
       ds.finish()
   }
 }
@@ -641,6 +777,8 @@ impl<'a> Response<'a> {
   pub const VT_IMPRESSION_DATA: flatbuffers::VOffsetT = 6;
   pub const VT_HAS_ENABLED: flatbuffers::VOffsetT = 8;
   pub const VT_ERROR: flatbuffers::VOffsetT = 10;
+  pub const VT_TRACE: flatbuffers::VOffsetT = 12;
+  pub const VT_STALE_CONTEXT: flatbuffers::VOffsetT = 14;
 
   #[inline]
   pub unsafe fn init_from_table(table: flatbuffers::Table<'a>) -> Self {
@@ -652,7 +790,9 @@ impl<'a> Response<'a> {
     args: &'args ResponseArgs<'args>
   ) -> flatbuffers::WIPOffset<Response<'bldr>> {
     let mut builder = ResponseBuilder::new(_fbb);
+    if let Some(x) = args.trace { builder.add_trace(x); }
     if let Some(x) = args.error { builder.add_error(x); }
+    builder.add_stale_context(args.stale_context);
     builder.add_has_enabled(args.has_enabled);
     builder.add_impression_data(args.impression_data);
     builder.add_enabled(args.enabled);
@@ -688,6 +828,20 @@ impl<'a> Response<'a> {
     // which contains a valid value in this slot
     unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<&str>>(Response::VT_ERROR, None)}
   }
+  #[inline]
+  pub fn trace(&self) -> Option<EvaluationTrace<'a>> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<EvaluationTrace>>(Response::VT_TRACE, None)}
+  }
+  #[inline]
+  pub fn stale_context(&self) -> bool {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<bool>(Response::VT_STALE_CONTEXT, Some(false)).unwrap()}
+  }
 }
 
 impl flatbuffers::Verifiable for Response<'_> {
@@ -701,6 +855,8 @@ impl flatbuffers::Verifiable for Response<'_> {
      .visit_field::<bool>("impression_data", Self::VT_IMPRESSION_DATA, false)?
      .visit_field::<bool>("has_enabled", Self::VT_HAS_ENABLED, false)?
      .visit_field::<flatbuffers::ForwardsUOffset<&str>>("error", Self::VT_ERROR, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<EvaluationTrace>>("trace", Self::VT_TRACE, false)?
+     .visit_field::<bool>("stale_context", Self::VT_STALE_CONTEXT, false)?
      .finish();
     Ok(())
   }
@@ -710,6 +866,8 @@ pub struct ResponseArgs<'a> {
     pub impression_data: bool,
     pub has_enabled: bool,
     pub error: Option<flatbuffers::WIPOffset<&'a str>>,
+    pub trace: Option<flatbuffers::WIPOffset<EvaluationTrace<'a>>>,
+    pub stale_context: bool,
 }
 impl<'a> Default for ResponseArgs<'a> {
   #[inline]
@@ -719,6 +877,8 @@ impl<'a> Default for ResponseArgs<'a> {
       impression_data: false,
       has_enabled: false,
       error: None,
+      trace: None,
+      stale_context: false,
     }
   }
 }
@@ -745,6 +905,14 @@ impl<'a: 'b, 'b, A: flatbuffers::Allocator + 'a> ResponseBuilder<'a, 'b, A> {
     self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(Response::VT_ERROR, error);
   }
   #[inline]
+  pub fn add_trace(&mut self, trace: flatbuffers::WIPOffset<EvaluationTrace<'b >>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<EvaluationTrace>>(Response::VT_TRACE, trace);
+  }
+  #[inline]
+  pub fn add_stale_context(&mut self, stale_context: bool) {
+    self.fbb_.push_slot::<bool>(Response::VT_STALE_CONTEXT, stale_context, false);
+  }
+  #[inline]
   pub fn new(_fbb: &'b mut flatbuffers::FlatBufferBuilder<'a, A>) -> ResponseBuilder<'a, 'b, A> {
     let start = _fbb.start_table();
     ResponseBuilder {
@@ -766,6 +934,8 @@ impl core::fmt::Debug for Response<'_> {
       ds.field("impression_data", &self.impression_data());
       ds.field("has_enabled", &self.has_enabled());
       ds.field("error", &self.error());
+      ds.field("trace", &self.trace());
+      ds.field("stale_context", &self.stale_context());
       ds.finish()
   }
 }
@@ -888,6 +1058,10 @@ impl<'a> Variant<'a> {
   pub const VT_NAME: flatbuffers::VOffsetT = 10;
   pub const VT_PAYLOAD: flatbuffers::VOffsetT = 12;
   pub const VT_ERROR: flatbuffers::VOffsetT = 14;
+  pub const VT_VARIANT_INDEX: flatbuffers::VOffsetT = 16;
+  pub const VT_HAS_VARIANT_INDEX: flatbuffers::VOffsetT = 18;
+  pub const VT_TRACE: flatbuffers::VOffsetT = 20;
+  pub const VT_STALE_CONTEXT: flatbuffers::VOffsetT = 22;
 
   #[inline]
   pub unsafe fn init_from_table(table: flatbuffers::Table<'a>) -> Self {
@@ -899,9 +1073,13 @@ impl<'a> Variant<'a> {
     args: &'args VariantArgs<'args>
   ) -> flatbuffers::WIPOffset<Variant<'bldr>> {
     let mut builder = VariantBuilder::new(_fbb);
+    if let Some(x) = args.trace { builder.add_trace(x); }
+    builder.add_variant_index(args.variant_index);
     if let Some(x) = args.error { builder.add_error(x); }
     if let Some(x) = args.payload { builder.add_payload(x); }
     if let Some(x) = args.name { builder.add_name(x); }
+    builder.add_stale_context(args.stale_context);
+    builder.add_has_variant_index(args.has_variant_index);
     builder.add_feature_enabled(args.feature_enabled);
     builder.add_impression_data(args.impression_data);
     builder.add_enabled(args.enabled);
@@ -951,6 +1129,34 @@ impl<'a> Variant<'a> {
     // which contains a valid value in this slot
     unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<&str>>(Variant::VT_ERROR, None)}
   }
+  #[inline]
+  pub fn variant_index(&self) -> u32 {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<u32>(Variant::VT_VARIANT_INDEX, Some(0)).unwrap()}
+  }
+  #[inline]
+  pub fn has_variant_index(&self) -> bool {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<bool>(Variant::VT_HAS_VARIANT_INDEX, Some(false)).unwrap()}
+  }
+  #[inline]
+  pub fn trace(&self) -> Option<EvaluationTrace<'a>> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<EvaluationTrace>>(Variant::VT_TRACE, None)}
+  }
+  #[inline]
+  pub fn stale_context(&self) -> bool {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<bool>(Variant::VT_STALE_CONTEXT, Some(false)).unwrap()}
+  }
 }
 
 impl flatbuffers::Verifiable for Variant<'_> {
@@ -966,6 +1172,10 @@ impl flatbuffers::Verifiable for Variant<'_> {
      .visit_field::<flatbuffers::ForwardsUOffset<&str>>("name", Self::VT_NAME, false)?
      .visit_field::<flatbuffers::ForwardsUOffset<VariantPayload>>("payload", Self::VT_PAYLOAD, false)?
      .visit_field::<flatbuffers::ForwardsUOffset<&str>>("error", Self::VT_ERROR, false)?
+     .visit_field::<u32>("variant_index", Self::VT_VARIANT_INDEX, false)?
+     .visit_field::<bool>("has_variant_index", Self::VT_HAS_VARIANT_INDEX, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<EvaluationTrace>>("trace", Self::VT_TRACE, false)?
+     .visit_field::<bool>("stale_context", Self::VT_STALE_CONTEXT, false)?
      .finish();
     Ok(())
   }
@@ -977,6 +1187,10 @@ pub struct VariantArgs<'a> {
     pub name: Option<flatbuffers::WIPOffset<&'a str>>,
     pub payload: Option<flatbuffers::WIPOffset<VariantPayload<'a>>>,
     pub error: Option<flatbuffers::WIPOffset<&'a str>>,
+    pub variant_index: u32,
+    pub has_variant_index: bool,
+    pub trace: Option<flatbuffers::WIPOffset<EvaluationTrace<'a>>>,
+    pub stale_context: bool,
 }
 impl<'a> Default for VariantArgs<'a> {
   #[inline]
@@ -988,6 +1202,10 @@ impl<'a> Default for VariantArgs<'a> {
       name: None,
       payload: None,
       error: None,
+      variant_index: 0,
+      has_variant_index: false,
+      trace: None,
+      stale_context: false,
     }
   }
 }
@@ -1022,6 +1240,22 @@ impl<'a: 'b, 'b, A: flatbuffers::Allocator + 'a> VariantBuilder<'a, 'b, A> {
     self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(Variant::VT_ERROR, error);
   }
   #[inline]
+  pub fn add_variant_index(&mut self, variant_index: u32) {
+    self.fbb_.push_slot::<u32>(Variant::VT_VARIANT_INDEX, variant_index, 0);
+  }
+  #[inline]
+  pub fn add_has_variant_index(&mut self, has_variant_index: bool) {
+    self.fbb_.push_slot::<bool>(Variant::VT_HAS_VARIANT_INDEX, has_variant_index, false);
+  }
+  #[inline]
+  pub fn add_trace(&mut self, trace: flatbuffers::WIPOffset<EvaluationTrace<'b >>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<EvaluationTrace>>(Variant::VT_TRACE, trace);
+  }
+  #[inline]
+  pub fn add_stale_context(&mut self, stale_context: bool) {
+    self.fbb_.push_slot::<bool>(Variant::VT_STALE_CONTEXT, stale_context, false);
+  }
+  #[inline]
   pub fn new(_fbb: &'b mut flatbuffers::FlatBufferBuilder<'a, A>) -> VariantBuilder<'a, 'b, A> {
     let start = _fbb.start_table();
     VariantBuilder {
@@ -1045,6 +1279,10 @@ impl core::fmt::Debug for Variant<'_> {
       ds.field("name", &self.name());
       ds.field("payload", &self.payload());
       ds.field("error", &self.error());
+      ds.field("variant_index", &self.variant_index());
+      ds.field("has_variant_index", &self.has_variant_index());
+      ds.field("trace", &self.trace());
+      ds.field("stale_context", &self.stale_context());
       ds.finish()
   }
 }
@@ -3081,6 +3319,12 @@ impl<'a> TakeStateResponse<'a> {
   pub const VT_FEATURES: flatbuffers::VOffsetT = 4;
   pub const VT_WARNINGS: flatbuffers::VOffsetT = 6;
   pub const VT_ERROR: flatbuffers::VOffsetT = 8;
+  pub const VT_PROPERTY_KEYS: flatbuffers::VOffsetT = 10;
+  pub const VT_VARIANT_GENERATION: flatbuffers::VOffsetT = 12;
+  pub const VT_STATE_GENERATION: flatbuffers::VOffsetT = 14;
+  pub const VT_ADDED: flatbuffers::VOffsetT = 16;
+  pub const VT_REMOVED: flatbuffers::VOffsetT = 18;
+  pub const VT_CHANGED: flatbuffers::VOffsetT = 20;
 
   #[inline]
   pub unsafe fn init_from_table(table: flatbuffers::Table<'a>) -> Self {
@@ -3092,6 +3336,12 @@ impl<'a> TakeStateResponse<'a> {
     args: &'args TakeStateResponseArgs<'args>
   ) -> flatbuffers::WIPOffset<TakeStateResponse<'bldr>> {
     let mut builder = TakeStateResponseBuilder::new(_fbb);
+    builder.add_state_generation(args.state_generation);
+    builder.add_variant_generation(args.variant_generation);
+    if let Some(x) = args.changed { builder.add_changed(x); }
+    if let Some(x) = args.removed { builder.add_removed(x); }
+    if let Some(x) = args.added { builder.add_added(x); }
+    if let Some(x) = args.property_keys { builder.add_property_keys(x); }
     if let Some(x) = args.error { builder.add_error(x); }
     if let Some(x) = args.warnings { builder.add_warnings(x); }
     if let Some(x) = args.features { builder.add_features(x); }
@@ -3120,6 +3370,48 @@ impl<'a> TakeStateResponse<'a> {
     // which contains a valid value in this slot
     unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<&str>>(TakeStateResponse::VT_ERROR, None)}
   }
+  #[inline]
+  pub fn property_keys(&self) -> Option<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>>>(TakeStateResponse::VT_PROPERTY_KEYS, None)}
+  }
+  #[inline]
+  pub fn variant_generation(&self) -> u64 {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<u64>(TakeStateResponse::VT_VARIANT_GENERATION, Some(0)).unwrap()}
+  }
+  #[inline]
+  pub fn state_generation(&self) -> u64 {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<u64>(TakeStateResponse::VT_STATE_GENERATION, Some(0)).unwrap()}
+  }
+  #[inline]
+  pub fn added(&self) -> Option<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>>>(TakeStateResponse::VT_ADDED, None)}
+  }
+  #[inline]
+  pub fn removed(&self) -> Option<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>>>(TakeStateResponse::VT_REMOVED, None)}
+  }
+  #[inline]
+  pub fn changed(&self) -> Option<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>>>(TakeStateResponse::VT_CHANGED, None)}
+  }
 }
 
 impl flatbuffers::Verifiable for TakeStateResponse<'_> {
@@ -3132,6 +3424,12 @@ impl flatbuffers::Verifiable for TakeStateResponse<'_> {
      .visit_field::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'_, flatbuffers::ForwardsUOffset<StrategyFeature>>>>("features", Self::VT_FEATURES, false)?
      .visit_field::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'_, flatbuffers::ForwardsUOffset<&'_ str>>>>("warnings", Self::VT_WARNINGS, false)?
      .visit_field::<flatbuffers::ForwardsUOffset<&str>>("error", Self::VT_ERROR, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'_, flatbuffers::ForwardsUOffset<&'_ str>>>>("property_keys", Self::VT_PROPERTY_KEYS, false)?
+     .visit_field::<u64>("variant_generation", Self::VT_VARIANT_GENERATION, false)?
+     .visit_field::<u64>("state_generation", Self::VT_STATE_GENERATION, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'_, flatbuffers::ForwardsUOffset<&'_ str>>>>("added", Self::VT_ADDED, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'_, flatbuffers::ForwardsUOffset<&'_ str>>>>("removed", Self::VT_REMOVED, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'_, flatbuffers::ForwardsUOffset<&'_ str>>>>("changed", Self::VT_CHANGED, false)?
      .finish();
     Ok(())
   }
@@ -3140,6 +3438,12 @@ pub struct TakeStateResponseArgs<'a> {
     pub features: Option<flatbuffers::WIPOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<StrategyFeature<'a>>>>>,
     pub warnings: Option<flatbuffers::WIPOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>>>,
     pub error: Option<flatbuffers::WIPOffset<&'a str>>,
+    pub property_keys: Option<flatbuffers::WIPOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>>>,
+    pub variant_generation: u64,
+    pub state_generation: u64,
+    pub added: Option<flatbuffers::WIPOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>>>,
+    pub removed: Option<flatbuffers::WIPOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>>>,
+    pub changed: Option<flatbuffers::WIPOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>>>,
 }
 impl<'a> Default for TakeStateResponseArgs<'a> {
   #[inline]
@@ -3148,6 +3452,12 @@ impl<'a> Default for TakeStateResponseArgs<'a> {
       features: None,
       warnings: None,
       error: None,
+      property_keys: None,
+      variant_generation: 0,
+      state_generation: 0,
+      added: None,
+      removed: None,
+      changed: None,
     }
   }
 }
@@ -3170,6 +3480,30 @@ impl<'a: 'b, 'b, A: flatbuffers::Allocator + 'a> TakeStateResponseBuilder<'a, 'b
     self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(TakeStateResponse::VT_ERROR, error);
   }
   #[inline]
+  pub fn add_property_keys(&mut self, property_keys: flatbuffers::WIPOffset<flatbuffers::Vector<'b , flatbuffers::ForwardsUOffset<&'b  str>>>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(TakeStateResponse::VT_PROPERTY_KEYS, property_keys);
+  }
+  #[inline]
+  pub fn add_variant_generation(&mut self, variant_generation: u64) {
+    self.fbb_.push_slot::<u64>(TakeStateResponse::VT_VARIANT_GENERATION, variant_generation, 0);
+  }
+  #[inline]
+  pub fn add_state_generation(&mut self, state_generation: u64) {
+    self.fbb_.push_slot::<u64>(TakeStateResponse::VT_STATE_GENERATION, state_generation, 0);
+  }
+  #[inline]
+  pub fn add_added(&mut self, added: flatbuffers::WIPOffset<flatbuffers::Vector<'b , flatbuffers::ForwardsUOffset<&'b  str>>>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(TakeStateResponse::VT_ADDED, added);
+  }
+  #[inline]
+  pub fn add_removed(&mut self, removed: flatbuffers::WIPOffset<flatbuffers::Vector<'b , flatbuffers::ForwardsUOffset<&'b  str>>>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(TakeStateResponse::VT_REMOVED, removed);
+  }
+  #[inline]
+  pub fn add_changed(&mut self, changed: flatbuffers::WIPOffset<flatbuffers::Vector<'b , flatbuffers::ForwardsUOffset<&'b  str>>>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(TakeStateResponse::VT_CHANGED, changed);
+  }
+  #[inline]
   pub fn new(_fbb: &'b mut flatbuffers::FlatBufferBuilder<'a, A>) -> TakeStateResponseBuilder<'a, 'b, A> {
     let start = _fbb.start_table();
     TakeStateResponseBuilder {
@@ -3190,6 +3524,12 @@ impl core::fmt::Debug for TakeStateResponse<'_> {
       ds.field("features", &self.features());
       ds.field("warnings", &self.warnings());
       ds.field("error", &self.error());
+      ds.field("property_keys", &self.property_keys());
+      ds.field("variant_generation", &self.variant_generation());
+      ds.field("state_generation", &self.state_generation());
+      ds.field("added", &self.added());
+      ds.field("removed", &self.removed());
+      ds.field("changed", &self.changed());
       ds.finish()
   }
 }
@@ -3211,6 +3551,16 @@ impl<'a> flatbuffers::Follow<'a> for StrategyFeature<'a> {
 impl<'a> StrategyFeature<'a> {
   pub const VT_FEATURE_NAME: flatbuffers::VOffsetT = 4;
   pub const VT_STRATEGIES: flatbuffers::VOffsetT = 6;
+  pub const VT_KIND: flatbuffers::VOffsetT = 8;
+  pub const VT_IMPRESSION_DATA: flatbuffers::VOffsetT = 10;
+  pub const VT_ENABLED: flatbuffers::VOffsetT = 12;
+  pub const VT_HAS_DEPENDENCIES: flatbuffers::VOffsetT = 14;
+  pub const VT_CONTEXT_FIELDS: flatbuffers::VOffsetT = 16;
+  pub const VT_CONTEXT_PROPERTIES: flatbuffers::VOffsetT = 18;
+  pub const VT_READS_WHOLE_CONTEXT: flatbuffers::VOffsetT = 20;
+  pub const VT_VARIANTS: flatbuffers::VOffsetT = 22;
+  pub const VT_FEATURE_TYPE: flatbuffers::VOffsetT = 24;
+  pub const VT_PROJECT: flatbuffers::VOffsetT = 26;
 
   #[inline]
   pub unsafe fn init_from_table(table: flatbuffers::Table<'a>) -> Self {
@@ -3222,8 +3572,18 @@ impl<'a> StrategyFeature<'a> {
     args: &'args StrategyFeatureArgs<'args>
   ) -> flatbuffers::WIPOffset<StrategyFeature<'bldr>> {
     let mut builder = StrategyFeatureBuilder::new(_fbb);
+    if let Some(x) = args.project { builder.add_project(x); }
+    if let Some(x) = args.feature_type { builder.add_feature_type(x); }
+    if let Some(x) = args.variants { builder.add_variants(x); }
+    if let Some(x) = args.context_properties { builder.add_context_properties(x); }
+    if let Some(x) = args.context_fields { builder.add_context_fields(x); }
     if let Some(x) = args.strategies { builder.add_strategies(x); }
     if let Some(x) = args.feature_name { builder.add_feature_name(x); }
+    builder.add_reads_whole_context(args.reads_whole_context);
+    builder.add_has_dependencies(args.has_dependencies);
+    builder.add_enabled(args.enabled);
+    builder.add_impression_data(args.impression_data);
+    builder.add_kind(args.kind);
     builder.finish()
   }
 
@@ -3242,6 +3602,76 @@ impl<'a> StrategyFeature<'a> {
     // which contains a valid value in this slot
     unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<StrategyDefinition>>>>(StrategyFeature::VT_STRATEGIES, None)}
   }
+  #[inline]
+  pub fn kind(&self) -> u8 {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<u8>(StrategyFeature::VT_KIND, Some(0)).unwrap()}
+  }
+  #[inline]
+  pub fn impression_data(&self) -> bool {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<bool>(StrategyFeature::VT_IMPRESSION_DATA, Some(false)).unwrap()}
+  }
+  #[inline]
+  pub fn enabled(&self) -> bool {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<bool>(StrategyFeature::VT_ENABLED, Some(false)).unwrap()}
+  }
+  #[inline]
+  pub fn has_dependencies(&self) -> bool {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<bool>(StrategyFeature::VT_HAS_DEPENDENCIES, Some(false)).unwrap()}
+  }
+  #[inline]
+  pub fn context_fields(&self) -> Option<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>>>(StrategyFeature::VT_CONTEXT_FIELDS, None)}
+  }
+  #[inline]
+  pub fn context_properties(&self) -> Option<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>>>(StrategyFeature::VT_CONTEXT_PROPERTIES, None)}
+  }
+  #[inline]
+  pub fn reads_whole_context(&self) -> bool {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<bool>(StrategyFeature::VT_READS_WHOLE_CONTEXT, Some(false)).unwrap()}
+  }
+  #[inline]
+  pub fn variants(&self) -> Option<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<FeatureVariant<'a>>>> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<FeatureVariant>>>>(StrategyFeature::VT_VARIANTS, None)}
+  }
+  #[inline]
+  pub fn feature_type(&self) -> Option<&'a str> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<&str>>(StrategyFeature::VT_FEATURE_TYPE, None)}
+  }
+  #[inline]
+  pub fn project(&self) -> Option<&'a str> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<&str>>(StrategyFeature::VT_PROJECT, None)}
+  }
 }
 
 impl flatbuffers::Verifiable for StrategyFeature<'_> {
@@ -3253,6 +3683,16 @@ impl flatbuffers::Verifiable for StrategyFeature<'_> {
     v.visit_table(pos)?
      .visit_field::<flatbuffers::ForwardsUOffset<&str>>("feature_name", Self::VT_FEATURE_NAME, false)?
      .visit_field::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'_, flatbuffers::ForwardsUOffset<StrategyDefinition>>>>("strategies", Self::VT_STRATEGIES, false)?
+     .visit_field::<u8>("kind", Self::VT_KIND, false)?
+     .visit_field::<bool>("impression_data", Self::VT_IMPRESSION_DATA, false)?
+     .visit_field::<bool>("enabled", Self::VT_ENABLED, false)?
+     .visit_field::<bool>("has_dependencies", Self::VT_HAS_DEPENDENCIES, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'_, flatbuffers::ForwardsUOffset<&'_ str>>>>("context_fields", Self::VT_CONTEXT_FIELDS, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'_, flatbuffers::ForwardsUOffset<&'_ str>>>>("context_properties", Self::VT_CONTEXT_PROPERTIES, false)?
+     .visit_field::<bool>("reads_whole_context", Self::VT_READS_WHOLE_CONTEXT, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'_, flatbuffers::ForwardsUOffset<FeatureVariant>>>>("variants", Self::VT_VARIANTS, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<&str>>("feature_type", Self::VT_FEATURE_TYPE, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<&str>>("project", Self::VT_PROJECT, false)?
      .finish();
     Ok(())
   }
@@ -3260,6 +3700,16 @@ impl flatbuffers::Verifiable for StrategyFeature<'_> {
 pub struct StrategyFeatureArgs<'a> {
     pub feature_name: Option<flatbuffers::WIPOffset<&'a str>>,
     pub strategies: Option<flatbuffers::WIPOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<StrategyDefinition<'a>>>>>,
+    pub kind: u8,
+    pub impression_data: bool,
+    pub enabled: bool,
+    pub has_dependencies: bool,
+    pub context_fields: Option<flatbuffers::WIPOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>>>,
+    pub context_properties: Option<flatbuffers::WIPOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>>>,
+    pub reads_whole_context: bool,
+    pub variants: Option<flatbuffers::WIPOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<FeatureVariant<'a>>>>>,
+    pub feature_type: Option<flatbuffers::WIPOffset<&'a str>>,
+    pub project: Option<flatbuffers::WIPOffset<&'a str>>,
 }
 impl<'a> Default for StrategyFeatureArgs<'a> {
   #[inline]
@@ -3267,6 +3717,16 @@ impl<'a> Default for StrategyFeatureArgs<'a> {
     StrategyFeatureArgs {
       feature_name: None,
       strategies: None,
+      kind: 0,
+      impression_data: false,
+      enabled: false,
+      has_dependencies: false,
+      context_fields: None,
+      context_properties: None,
+      reads_whole_context: false,
+      variants: None,
+      feature_type: None,
+      project: None,
     }
   }
 }
@@ -3285,6 +3745,46 @@ impl<'a: 'b, 'b, A: flatbuffers::Allocator + 'a> StrategyFeatureBuilder<'a, 'b,
     self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(StrategyFeature::VT_STRATEGIES, strategies);
   }
   #[inline]
+  pub fn add_kind(&mut self, kind: u8) {
+    self.fbb_.push_slot::<u8>(StrategyFeature::VT_KIND, kind, 0);
+  }
+  #[inline]
+  pub fn add_impression_data(&mut self, impression_data: bool) {
+    self.fbb_.push_slot::<bool>(StrategyFeature::VT_IMPRESSION_DATA, impression_data, false);
+  }
+  #[inline]
+  pub fn add_enabled(&mut self, enabled: bool) {
+    self.fbb_.push_slot::<bool>(StrategyFeature::VT_ENABLED, enabled, false);
+  }
+  #[inline]
+  pub fn add_has_dependencies(&mut self, has_dependencies: bool) {
+    self.fbb_.push_slot::<bool>(StrategyFeature::VT_HAS_DEPENDENCIES, has_dependencies, false);
+  }
+  #[inline]
+  pub fn add_context_fields(&mut self, context_fields: flatbuffers::WIPOffset<flatbuffers::Vector<'b , flatbuffers::ForwardsUOffset<&'b  str>>>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(StrategyFeature::VT_CONTEXT_FIELDS, context_fields);
+  }
+  #[inline]
+  pub fn add_context_properties(&mut self, context_properties: flatbuffers::WIPOffset<flatbuffers::Vector<'b , flatbuffers::ForwardsUOffset<&'b  str>>>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(StrategyFeature::VT_CONTEXT_PROPERTIES, context_properties);
+  }
+  #[inline]
+  pub fn add_reads_whole_context(&mut self, reads_whole_context: bool) {
+    self.fbb_.push_slot::<bool>(StrategyFeature::VT_READS_WHOLE_CONTEXT, reads_whole_context, false);
+  }
+  #[inline]
+  pub fn add_variants(&mut self, variants: flatbuffers::WIPOffset<flatbuffers::Vector<'b , flatbuffers::ForwardsUOffset<FeatureVariant<'b >>>>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(StrategyFeature::VT_VARIANTS, variants);
+  }
+  #[inline]
+  pub fn add_feature_type(&mut self, feature_type: flatbuffers::WIPOffset<&'b  str>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(StrategyFeature::VT_FEATURE_TYPE, feature_type);
+  }
+  #[inline]
+  pub fn add_project(&mut self, project: flatbuffers::WIPOffset<&'b  str>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(StrategyFeature::VT_PROJECT, project);
+  }
+  #[inline]
   pub fn new(_fbb: &'b mut flatbuffers::FlatBufferBuilder<'a, A>) -> StrategyFeatureBuilder<'a, 'b, A> {
     let start = _fbb.start_table();
     StrategyFeatureBuilder {
@@ -3304,6 +3804,16 @@ impl core::fmt::Debug for StrategyFeature<'_> {
     let mut ds = f.debug_struct("StrategyFeature");
       ds.field("feature_name", &self.feature_name());
       ds.field("strategies", &self.strategies());
+      ds.field("kind", &self.kind());
+      ds.field("impression_data", &self.impression_data());
+      ds.field("enabled", &self.enabled());
+      ds.field("has_dependencies", &self.has_dependencies());
+      ds.field("context_fields", &self.context_fields());
+      ds.field("context_properties", &self.context_properties());
+      ds.field("reads_whole_context", &self.reads_whole_context());
+      ds.field("variants", &self.variants());
+      ds.field("feature_type", &self.feature_type());
+      ds.field("project", &self.project());
       ds.finish()
   }
 }
@@ -3325,6 +3835,8 @@ impl<'a> flatbuffers::Follow<'a> for StrategyDefinition<'a> {
 impl<'a> StrategyDefinition<'a> {
   pub const VT_NAME: flatbuffers::VOffsetT = 4;
   pub const VT_PARAMETERS: flatbuffers::VOffsetT = 6;
+  pub const VT_CONSTRAINTS: flatbuffers::VOffsetT = 8;
+  pub const VT_MISSING_SEGMENTS: flatbuffers::VOffsetT = 10;
 
   #[inline]
   pub unsafe fn init_from_table(table: flatbuffers::Table<'a>) -> Self {
@@ -3336,8 +3848,10 @@ impl<'a> StrategyDefinition<'a> {
     args: &'args StrategyDefinitionArgs<'args>
   ) -> flatbuffers::WIPOffset<StrategyDefinition<'bldr>> {
     let mut builder = StrategyDefinitionBuilder::new(_fbb);
+    if let Some(x) = args.constraints { builder.add_constraints(x); }
     if let Some(x) = args.parameters { builder.add_parameters(x); }
     if let Some(x) = args.name { builder.add_name(x); }
+    builder.add_missing_segments(args.missing_segments);
     builder.finish()
   }
 
@@ -3356,6 +3870,20 @@ impl<'a> StrategyDefinition<'a> {
     // which contains a valid value in this slot
     unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<StrategyParameter>>>>(StrategyDefinition::VT_PARAMETERS, None)}
   }
+  #[inline]
+  pub fn constraints(&self) -> Option<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<StrategyConstraint<'a>>>> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<StrategyConstraint>>>>(StrategyDefinition::VT_CONSTRAINTS, None)}
+  }
+  #[inline]
+  pub fn missing_segments(&self) -> bool {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<bool>(StrategyDefinition::VT_MISSING_SEGMENTS, Some(false)).unwrap()}
+  }
 }
 
 impl flatbuffers::Verifiable for StrategyDefinition<'_> {
@@ -3367,6 +3895,8 @@ impl flatbuffers::Verifiable for StrategyDefinition<'_> {
     v.visit_table(pos)?
      .visit_field::<flatbuffers::ForwardsUOffset<&str>>("name", Self::VT_NAME, false)?
      .visit_field::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'_, flatbuffers::ForwardsUOffset<StrategyParameter>>>>("parameters", Self::VT_PARAMETERS, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'_, flatbuffers::ForwardsUOffset<StrategyConstraint>>>>("constraints", Self::VT_CONSTRAINTS, false)?
+     .visit_field::<bool>("missing_segments", Self::VT_MISSING_SEGMENTS, false)?
      .finish();
     Ok(())
   }
@@ -3374,6 +3904,8 @@ impl flatbuffers::Verifiable for StrategyDefinition<'_> {
 pub struct StrategyDefinitionArgs<'a> {
     pub name: Option<flatbuffers::WIPOffset<&'a str>>,
     pub parameters: Option<flatbuffers::WIPOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<StrategyParameter<'a>>>>>,
+    pub constraints: Option<flatbuffers::WIPOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<StrategyConstraint<'a>>>>>,
+    pub missing_segments: bool,
 }
 impl<'a> Default for StrategyDefinitionArgs<'a> {
   #[inline]
@@ -3381,6 +3913,8 @@ impl<'a> Default for StrategyDefinitionArgs<'a> {
     StrategyDefinitionArgs {
       name: None,
       parameters: None,
+      constraints: None,
+      missing_segments: false,
     }
   }
 }
@@ -3399,6 +3933,14 @@ impl<'a: 'b, 'b, A: flatbuffers::Allocator + 'a> StrategyDefinitionBuilder<'a, '
     self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(StrategyDefinition::VT_PARAMETERS, parameters);
   }
   #[inline]
+  pub fn add_constraints(&mut self, constraints: flatbuffers::WIPOffset<flatbuffers::Vector<'b , flatbuffers::ForwardsUOffset<StrategyConstraint<'b >>>>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(StrategyDefinition::VT_CONSTRAINTS, constraints);
+  }
+  #[inline]
+  pub fn add_missing_segments(&mut self, missing_segments: bool) {
+    self.fbb_.push_slot::<bool>(StrategyDefinition::VT_MISSING_SEGMENTS, missing_segments, false);
+  }
+  #[inline]
   pub fn new(_fbb: &'b mut flatbuffers::FlatBufferBuilder<'a, A>) -> StrategyDefinitionBuilder<'a, 'b, A> {
     let start = _fbb.start_table();
     StrategyDefinitionBuilder {
@@ -3418,6 +3960,8 @@ impl core::fmt::Debug for StrategyDefinition<'_> {
     let mut ds = f.debug_struct("StrategyDefinition");
       ds.field("name", &self.name());
       ds.field("parameters", &self.parameters());
+      ds.field("constraints", &self.constraints());
+      ds.field("missing_segments", &self.missing_segments());
       ds.finish()
   }
 }
@@ -4646,6 +5190,1644 @@ impl core::fmt::Debug for CollectMetricsResponse<'_> {
       ds.finish()
   }
 }
+pub enum StrategyConstraintOffset {}
+#[derive(Copy, Clone, PartialEq)]
+
+pub struct StrategyConstraint<'a> {
+  pub _tab: flatbuffers::Table<'a>,
+}
+
+impl<'a> flatbuffers::Follow<'a> for StrategyConstraint<'a> {
+  type Inner = StrategyConstraint<'a>;
+  #[inline]
+  unsafe fn follow(buf: &'a [u8], loc: usize) -> Self::Inner {
+    Self { _tab: flatbuffers::Table::new(buf, loc) }
+  }
+}
+
+impl<'a> StrategyConstraint<'a> {
+  pub const VT_CONTEXT_NAME: flatbuffers::VOffsetT = 4;
+  pub const VT_OPERATOR: flatbuffers::VOffsetT = 6;
+  pub const VT_VALUES: flatbuffers::VOffsetT = 8;
+  pub const VT_VALUE: flatbuffers::VOffsetT = 10;
+  pub const VT_INVERTED: flatbuffers::VOffsetT = 12;
+  pub const VT_CASE_INSENSITIVE: flatbuffers::VOffsetT = 14;
+
+  #[inline]
+  pub unsafe fn init_from_table(table: flatbuffers::Table<'a>) -> Self {
+    StrategyConstraint { _tab: table }
+  }
+  #[allow(unused_mut)]
+  pub fn create<'bldr: 'args, 'args: 'mut_bldr, 'mut_bldr, A: flatbuffers::Allocator + 'bldr>(
+    _fbb: &'mut_bldr mut flatbuffers::FlatBufferBuilder<'bldr, A>,
+    args: &'args StrategyConstraintArgs<'args>
+  ) -> flatbuffers::WIPOffset<StrategyConstraint<'bldr>> {
+    let mut builder = StrategyConstraintBuilder::new(_fbb);
+    if let Some(x) = args.value { builder.add_value(x); }
+    if let Some(x) = args.values { builder.add_values(x); }
+    if let Some(x) = args.operator { builder.add_operator(x); }
+    if let Some(x) = args.context_name { builder.add_context_name(x); }
+    builder.add_case_insensitive(args.case_insensitive);
+    builder.add_inverted(args.inverted);
+    builder.finish()
+  }
+
+
+  #[inline]
+  pub fn context_name(&self) -> Option<&'a str> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<&str>>(StrategyConstraint::VT_CONTEXT_NAME, None)}
+  }
+  #[inline]
+  pub fn operator(&self) -> Option<&'a str> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<&str>>(StrategyConstraint::VT_OPERATOR, None)}
+  }
+  #[inline]
+  pub fn values(&self) -> Option<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>>>(StrategyConstraint::VT_VALUES, None)}
+  }
+  #[inline]
+  pub fn value(&self) -> Option<&'a str> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<&str>>(StrategyConstraint::VT_VALUE, None)}
+  }
+  #[inline]
+  pub fn inverted(&self) -> bool {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<bool>(StrategyConstraint::VT_INVERTED, Some(false)).unwrap()}
+  }
+  #[inline]
+  pub fn case_insensitive(&self) -> bool {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<bool>(StrategyConstraint::VT_CASE_INSENSITIVE, Some(false)).unwrap()}
+  }
+}
+
+impl flatbuffers::Verifiable for StrategyConstraint<'_> {
+  #[inline]
+  fn run_verifier(
+    v: &mut flatbuffers::Verifier, pos: usize
+  ) -> Result<(), flatbuffers::InvalidFlatbuffer> {
+    use self::flatbuffers::Verifiable;
+    v.visit_table(pos)?
+     .visit_field::<flatbuffers::ForwardsUOffset<&str>>("context_name", Self::VT_CONTEXT_NAME, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<&str>>("operator", Self::VT_OPERATOR, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'_, flatbuffers::ForwardsUOffset<&'_ str>>>>("values", Self::VT_VALUES, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<&str>>("value", Self::VT_VALUE, false)?
+     .visit_field::<bool>("inverted", Self::VT_INVERTED, false)?
+     .visit_field::<bool>("case_insensitive", Self::VT_CASE_INSENSITIVE, false)?
+     .finish();
+    Ok(())
+  }
+}
+pub struct StrategyConstraintArgs<'a> {
+    pub context_name: Option<flatbuffers::WIPOffset<&'a str>>,
+    pub operator: Option<flatbuffers::WIPOffset<&'a str>>,
+    pub values: Option<flatbuffers::WIPOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>>>,
+    pub value: Option<flatbuffers::WIPOffset<&'a str>>,
+    pub inverted: bool,
+    pub case_insensitive: bool,
+}
+impl<'a> Default for StrategyConstraintArgs<'a> {
+  #[inline]
+  fn default() -> Self {
+    StrategyConstraintArgs {
+      context_name: None,
+      operator: None,
+      values: None,
+      value: None,
+      inverted: false,
+      case_insensitive: false,
+    }
+  }
+}
+
+pub struct StrategyConstraintBuilder<'a: 'b, 'b, A: flatbuffers::Allocator + 'a> {
+  fbb_: &'b mut flatbuffers::FlatBufferBuilder<'a, A>,
+  start_: flatbuffers::WIPOffset<flatbuffers::TableUnfinishedWIPOffset>,
+}
+impl<'a: 'b, 'b, A: flatbuffers::Allocator + 'a> StrategyConstraintBuilder<'a, 'b, A> {
+  #[inline]
+  pub fn add_context_name(&mut self, context_name: flatbuffers::WIPOffset<&'b  str>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(StrategyConstraint::VT_CONTEXT_NAME, context_name);
+  }
+  #[inline]
+  pub fn add_operator(&mut self, operator: flatbuffers::WIPOffset<&'b  str>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(StrategyConstraint::VT_OPERATOR, operator);
+  }
+  #[inline]
+  pub fn add_values(&mut self, values: flatbuffers::WIPOffset<flatbuffers::Vector<'b , flatbuffers::ForwardsUOffset<&'b  str>>>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(StrategyConstraint::VT_VALUES, values);
+  }
+  #[inline]
+  pub fn add_value(&mut self, value: flatbuffers::WIPOffset<&'b  str>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(StrategyConstraint::VT_VALUE, value);
+  }
+  #[inline]
+  pub fn add_inverted(&mut self, inverted: bool) {
+    self.fbb_.push_slot::<bool>(StrategyConstraint::VT_INVERTED, inverted, false);
+  }
+  #[inline]
+  pub fn add_case_insensitive(&mut self, case_insensitive: bool) {
+    self.fbb_.push_slot::<bool>(StrategyConstraint::VT_CASE_INSENSITIVE, case_insensitive, false);
+  }
+  #[inline]
+  pub fn new(_fbb: &'b mut flatbuffers::FlatBufferBuilder<'a, A>) -> StrategyConstraintBuilder<'a, 'b, A> {
+    let start = _fbb.start_table();
+    StrategyConstraintBuilder {
+      fbb_: _fbb,
+      start_: start,
+    }
+  }
+  #[inline]
+  pub fn finish(self) -> flatbuffers::WIPOffset<StrategyConstraint<'a>> {
+    let o = self.fbb_.end_table(self.start_);
+    flatbuffers::WIPOffset::new(o.value())
+  }
+}
+
+impl core::fmt::Debug for StrategyConstraint<'_> {
+  fn fmt(&self, f: &mut core::fmt::Formatter<'_>) -> core::fmt::Result {
+    let mut ds = f.debug_struct("StrategyConstraint");
+      ds.field("context_name", &self.context_name());
+      ds.field("operator", &self.operator());
+      ds.field("values", &self.values());
+      ds.field("value", &self.value());
+      ds.field("inverted", &self.inverted());
+      ds.field("case_insensitive", &self.case_insensitive());
+      ds.finish()
+  }
+}
+pub enum ContextColumnOffset {}
+#[derive(Copy, Clone, PartialEq)]
+
+pub struct ContextColumn<'a> {
+  pub _tab: flatbuffers::Table<'a>,
+}
+
+impl<'a> flatbuffers::Follow<'a> for ContextColumn<'a> {
+  type Inner = ContextColumn<'a>;
+  #[inline]
+  unsafe fn follow(buf: &'a [u8], loc: usize) -> Self::Inner {
+    Self { _tab: flatbuffers::Table::new(buf, loc) }
+  }
+}
+
+impl<'a> ContextColumn<'a> {
+  pub const VT_NAME: flatbuffers::VOffsetT = 4;
+  pub const VT_VALUES: flatbuffers::VOffsetT = 6;
+  pub const VT_MISSING: flatbuffers::VOffsetT = 8;
+
+  #[inline]
+  pub unsafe fn init_from_table(table: flatbuffers::Table<'a>) -> Self {
+    ContextColumn { _tab: table }
+  }
+  #[allow(unused_mut)]
+  pub fn create<'bldr: 'args, 'args: 'mut_bldr, 'mut_bldr, A: flatbuffers::Allocator + 'bldr>(
+    _fbb: &'mut_bldr mut flatbuffers::FlatBufferBuilder<'bldr, A>,
+    args: &'args ContextColumnArgs<'args>
+  ) -> flatbuffers::WIPOffset<ContextColumn<'bldr>> {
+    let mut builder = ContextColumnBuilder::new(_fbb);
+    if let Some(x) = args.missing { builder.add_missing(x); }
+    if let Some(x) = args.values { builder.add_values(x); }
+    if let Some(x) = args.name { builder.add_name(x); }
+    builder.finish()
+  }
+
+
+  #[inline]
+  pub fn name(&self) -> Option<&'a str> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<&str>>(ContextColumn::VT_NAME, None)}
+  }
+  #[inline]
+  pub fn values(&self) -> Option<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>>>(ContextColumn::VT_VALUES, None)}
+  }
+  #[inline]
+  pub fn missing(&self) -> Option<flatbuffers::Vector<'a, u64>> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'a, u64>>>(ContextColumn::VT_MISSING, None)}
+  }
+}
+
+impl flatbuffers::Verifiable for ContextColumn<'_> {
+  #[inline]
+  fn run_verifier(
+    v: &mut flatbuffers::Verifier, pos: usize
+  ) -> Result<(), flatbuffers::InvalidFlatbuffer> {
+    use self::flatbuffers::Verifiable;
+    v.visit_table(pos)?
+     .visit_field::<flatbuffers::ForwardsUOffset<&str>>("name", Self::VT_NAME, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'_, flatbuffers::ForwardsUOffset<&'_ str>>>>("values", Self::VT_VALUES, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'_, u64>>>("missing", Self::VT_MISSING, false)?
+     .finish();
+    Ok(())
+  }
+}
+pub struct ContextColumnArgs<'a> {
+    pub name: Option<flatbuffers::WIPOffset<&'a str>>,
+    pub values: Option<flatbuffers::WIPOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>>>,
+    pub missing: Option<flatbuffers::WIPOffset<flatbuffers::Vector<'a, u64>>>,
+}
+impl<'a> Default for ContextColumnArgs<'a> {
+  #[inline]
+  fn default() -> Self {
+    ContextColumnArgs {
+      name: None,
+      values: None,
+      missing: None,
+    }
+  }
+}
+
+pub struct ContextColumnBuilder<'a: 'b, 'b, A: flatbuffers::Allocator + 'a> {
+  fbb_: &'b mut flatbuffers::FlatBufferBuilder<'a, A>,
+  start_: flatbuffers::WIPOffset<flatbuffers::TableUnfinishedWIPOffset>,
+}
+impl<'a: 'b, 'b, A: flatbuffers::Allocator + 'a> ContextColumnBuilder<'a, 'b, A> {
+  #[inline]
+  pub fn add_name(&mut self, name: flatbuffers::WIPOffset<&'b  str>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(ContextColumn::VT_NAME, name);
+  }
+  #[inline]
+  pub fn add_values(&mut self, values: flatbuffers::WIPOffset<flatbuffers::Vector<'b , flatbuffers::ForwardsUOffset<&'b  str>>>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(ContextColumn::VT_VALUES, values);
+  }
+  #[inline]
+  pub fn add_missing(&mut self, missing: flatbuffers::WIPOffset<flatbuffers::Vector<'b , u64>>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(ContextColumn::VT_MISSING, missing);
+  }
+  #[inline]
+  pub fn new(_fbb: &'b mut flatbuffers::FlatBufferBuilder<'a, A>) -> ContextColumnBuilder<'a, 'b, A> {
+    let start = _fbb.start_table();
+    ContextColumnBuilder {
+      fbb_: _fbb,
+      start_: start,
+    }
+  }
+  #[inline]
+  pub fn finish(self) -> flatbuffers::WIPOffset<ContextColumn<'a>> {
+    let o = self.fbb_.end_table(self.start_);
+    flatbuffers::WIPOffset::new(o.value())
+  }
+}
+
+impl core::fmt::Debug for ContextColumn<'_> {
+  fn fmt(&self, f: &mut core::fmt::Formatter<'_>) -> core::fmt::Result {
+    let mut ds = f.debug_struct("ContextColumn");
+      ds.field("name", &self.name());
+      ds.field("values", &self.values());
+      ds.field("missing", &self.missing());
+      ds.finish()
+  }
+}
+pub enum BulkContextMessageOffset {}
+#[derive(Copy, Clone, PartialEq)]
+
+pub struct BulkContextMessage<'a> {
+  pub _tab: flatbuffers::Table<'a>,
+}
+
+impl<'a> flatbuffers::Follow<'a> for BulkContextMessage<'a> {
+  type Inner = BulkContextMessage<'a>;
+  #[inline]
+  unsafe fn follow(buf: &'a [u8], loc: usize) -> Self::Inner {
+    Self { _tab: flatbuffers::Table::new(buf, loc) }
+  }
+}
+
+impl<'a> BulkContextMessage<'a> {
+  pub const VT_TOGGLE_NAME: flatbuffers::VOffsetT = 4;
+  pub const VT_COUNT: flatbuffers::VOffsetT = 6;
+  pub const VT_COLUMNS: flatbuffers::VOffsetT = 8;
+  pub const VT_ENVIRONMENT: flatbuffers::VOffsetT = 10;
+  pub const VT_APP_NAME: flatbuffers::VOffsetT = 12;
+  pub const VT_CURRENT_TIME: flatbuffers::VOffsetT = 14;
+  pub const VT_RUNTIME_HOSTNAME: flatbuffers::VOffsetT = 16;
+  pub const VT_PARALLELISM: flatbuffers::VOffsetT = 18;
+  pub const VT_USAGE_GENERATION: flatbuffers::VOffsetT = 20;
+  pub const VT_CURRENT_TIME_MS: flatbuffers::VOffsetT = 22;
+  pub const VT_HAS_CURRENT_TIME_MS: flatbuffers::VOffsetT = 24;
+
+  #[inline]
+  pub unsafe fn init_from_table(table: flatbuffers::Table<'a>) -> Self {
+    BulkContextMessage { _tab: table }
+  }
+  #[allow(unused_mut)]
+  pub fn create<'bldr: 'args, 'args: 'mut_bldr, 'mut_bldr, A: flatbuffers::Allocator + 'bldr>(
+    _fbb: &'mut_bldr mut flatbuffers::FlatBufferBuilder<'bldr, A>,
+    args: &'args BulkContextMessageArgs<'args>
+  ) -> flatbuffers::WIPOffset<BulkContextMessage<'bldr>> {
+    let mut builder = BulkContextMessageBuilder::new(_fbb);
+    builder.add_current_time_ms(args.current_time_ms);
+    builder.add_usage_generation(args.usage_generation);
+    builder.add_parallelism(args.parallelism);
+    if let Some(x) = args.runtime_hostname { builder.add_runtime_hostname(x); }
+    if let Some(x) = args.current_time { builder.add_current_time(x); }
+    if let Some(x) = args.app_name { builder.add_app_name(x); }
+    if let Some(x) = args.environment { builder.add_environment(x); }
+    if let Some(x) = args.columns { builder.add_columns(x); }
+    builder.add_count(args.count);
+    if let Some(x) = args.toggle_name { builder.add_toggle_name(x); }
+    builder.add_has_current_time_ms(args.has_current_time_ms);
+    builder.finish()
+  }
+
+
+  #[inline]
+  pub fn toggle_name(&self) -> Option<&'a str> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<&str>>(BulkContextMessage::VT_TOGGLE_NAME, None)}
+  }
+  #[inline]
+  pub fn count(&self) -> u32 {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<u32>(BulkContextMessage::VT_COUNT, Some(0)).unwrap()}
+  }
+  #[inline]
+  pub fn columns(&self) -> Option<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<ContextColumn<'a>>>> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<ContextColumn>>>>(BulkContextMessage::VT_COLUMNS, None)}
+  }
+  #[inline]
+  pub fn environment(&self) -> Option<&'a str> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<&str>>(BulkContextMessage::VT_ENVIRONMENT, None)}
+  }
+  #[inline]
+  pub fn app_name(&self) -> Option<&'a str> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<&str>>(BulkContextMessage::VT_APP_NAME, None)}
+  }
+  #[inline]
+  pub fn current_time(&self) -> Option<&'a str> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<&str>>(BulkContextMessage::VT_CURRENT_TIME, None)}
+  }
+  #[inline]
+  pub fn runtime_hostname(&self) -> Option<&'a str> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<&str>>(BulkContextMessage::VT_RUNTIME_HOSTNAME, None)}
+  }
+  #[inline]
+  pub fn parallelism(&self) -> u32 {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<u32>(BulkContextMessage::VT_PARALLELISM, Some(0)).unwrap()}
+  }
+  #[inline]
+  pub fn usage_generation(&self) -> u64 {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<u64>(BulkContextMessage::VT_USAGE_GENERATION, Some(0)).unwrap()}
+  }
+  #[inline]
+  pub fn current_time_ms(&self) -> i64 {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<i64>(BulkContextMessage::VT_CURRENT_TIME_MS, Some(0)).unwrap()}
+  }
+  #[inline]
+  pub fn has_current_time_ms(&self) -> bool {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<bool>(BulkContextMessage::VT_HAS_CURRENT_TIME_MS, Some(false)).unwrap()}
+  }
+}
+
+impl flatbuffers::Verifiable for BulkContextMessage<'_> {
+  #[inline]
+  fn run_verifier(
+    v: &mut flatbuffers::Verifier, pos: usize
+  ) -> Result<(), flatbuffers::InvalidFlatbuffer> {
+    use self::flatbuffers::Verifiable;
+    v.visit_table(pos)?
+     .visit_field::<flatbuffers::ForwardsUOffset<&str>>("toggle_name", Self::VT_TOGGLE_NAME, false)?
+     .visit_field::<u32>("count", Self::VT_COUNT, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'_, flatbuffers::ForwardsUOffset<ContextColumn>>>>("columns", Self::VT_COLUMNS, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<&str>>("environment", Self::VT_ENVIRONMENT, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<&str>>("app_name", Self::VT_APP_NAME, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<&str>>("current_time", Self::VT_CURRENT_TIME, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<&str>>("runtime_hostname", Self::VT_RUNTIME_HOSTNAME, false)?
+     .visit_field::<u32>("parallelism", Self::VT_PARALLELISM, false)?
+     .visit_field::<u64>("usage_generation", Self::VT_USAGE_GENERATION, false)?
+     .visit_field::<i64>("current_time_ms", Self::VT_CURRENT_TIME_MS, false)?
+     .visit_field::<bool>("has_current_time_ms", Self::VT_HAS_CURRENT_TIME_MS, false)?
+     .finish();
+    Ok(())
+  }
+}
+pub struct BulkContextMessageArgs<'a> {
+    pub toggle_name: Option<flatbuffers::WIPOffset<&'a str>>,
+    pub count: u32,
+    pub columns: Option<flatbuffers::WIPOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<ContextColumn<'a>>>>>,
+    pub environment: Option<flatbuffers::WIPOffset<&'a str>>,
+    pub app_name: Option<flatbuffers::WIPOffset<&'a str>>,
+    pub current_time: Option<flatbuffers::WIPOffset<&'a str>>,
+    pub runtime_hostname: Option<flatbuffers::WIPOffset<&'a str>>,
+    pub parallelism: u32,
+    pub usage_generation: u64,
+    pub current_time_ms: i64,
+    pub has_current_time_ms: bool,
+}
+impl<'a> Default for BulkContextMessageArgs<'a> {
+  #[inline]
+  fn default() -> Self {
+    BulkContextMessageArgs {
+      toggle_name: None,
+      count: 0,
+      columns: None,
+      environment: None,
+      app_name: None,
+      current_time: None,
+      runtime_hostname: None,
+      parallelism: 0,
+      usage_generation: 0,
+      current_time_ms: 0,
+      has_current_time_ms: false,
+    }
+  }
+}
+
+pub struct BulkContextMessageBuilder<'a: 'b, 'b, A: flatbuffers::Allocator + 'a> {
+  fbb_: &'b mut flatbuffers::FlatBufferBuilder<'a, A>,
+  start_: flatbuffers::WIPOffset<flatbuffers::TableUnfinishedWIPOffset>,
+}
+impl<'a: 'b, 'b, A: flatbuffers::Allocator + 'a> BulkContextMessageBuilder<'a, 'b, A> {
+  #[inline]
+  pub fn add_toggle_name(&mut self, toggle_name: flatbuffers::WIPOffset<&'b  str>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(BulkContextMessage::VT_TOGGLE_NAME, toggle_name);
+  }
+  #[inline]
+  pub fn add_count(&mut self, count: u32) {
+    self.fbb_.push_slot::<u32>(BulkContextMessage::VT_COUNT, count, 0);
+  }
+  #[inline]
+  pub fn add_columns(&mut self, columns: flatbuffers::WIPOffset<flatbuffers::Vector<'b , flatbuffers::ForwardsUOffset<ContextColumn<'b >>>>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(BulkContextMessage::VT_COLUMNS, columns);
+  }
+  #[inline]
+  pub fn add_environment(&mut self, environment: flatbuffers::WIPOffset<&'b  str>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(BulkContextMessage::VT_ENVIRONMENT, environment);
+  }
+  #[inline]
+  pub fn add_app_name(&mut self, app_name: flatbuffers::WIPOffset<&'b  str>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(BulkContextMessage::VT_APP_NAME, app_name);
+  }
+  #[inline]
+  pub fn add_current_time(&mut self, current_time: flatbuffers::WIPOffset<&'b  str>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(BulkContextMessage::VT_CURRENT_TIME, current_time);
+  }
+  #[inline]
+  pub fn add_runtime_hostname(&mut self, runtime_hostname: flatbuffers::WIPOffset<&'b  str>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(BulkContextMessage::VT_RUNTIME_HOSTNAME, runtime_hostname);
+  }
+  #[inline]
+  pub fn add_parallelism(&mut self, parallelism: u32) {
+    self.fbb_.push_slot::<u32>(BulkContextMessage::VT_PARALLELISM, parallelism, 0);
+  }
+  #[inline]
+  pub fn add_usage_generation(&mut self, usage_generation: u64) {
+    self.fbb_.push_slot::<u64>(BulkContextMessage::VT_USAGE_GENERATION, usage_generation, 0);
+  }
+  #[inline]
+  pub fn add_current_time_ms(&mut self, current_time_ms: i64) {
+    self.fbb_.push_slot::<i64>(BulkContextMessage::VT_CURRENT_TIME_MS, current_time_ms, 0);
+  }
+  #[inline]
+  pub fn add_has_current_time_ms(&mut self, has_current_time_ms: bool) {
+    self.fbb_.push_slot::<bool>(BulkContextMessage::VT_HAS_CURRENT_TIME_MS, has_current_time_ms, false);
+  }
+  #[inline]
+  pub fn new(_fbb: &'b mut flatbuffers::FlatBufferBuilder<'a, A>) -> BulkContextMessageBuilder<'a, 'b, A> {
+    let start = _fbb.start_table();
+    BulkContextMessageBuilder {
+      fbb_: _fbb,
+      start_: start,
+    }
+  }
+  #[inline]
+  pub fn finish(self) -> flatbuffers::WIPOffset<BulkContextMessage<'a>> {
+    let o = self.fbb_.end_table(self.start_);
+    flatbuffers::WIPOffset::new(o.value())
+  }
+}
+
+impl core::fmt::Debug for BulkContextMessage<'_> {
+  fn fmt(&self, f: &mut core::fmt::Formatter<'_>) -> core::fmt::Result {
+    let mut ds = f.debug_struct("BulkContextMessage");
+      ds.field("toggle_name", &self.toggle_name());
+      ds.field("count", &self.count());
+      ds.field("columns", &self.columns());
+      ds.field("environment", &self.environment());
+      ds.field("app_name", &self.app_name());
+      ds.field("current_time", &self.current_time());
+      ds.field("runtime_hostname", &self.runtime_hostname());
+      ds.field("parallelism", &self.parallelism());
+      ds.field("usage_generation", &self.usage_generation());
+      ds.field("current_time_ms", &self.current_time_ms());
+      ds.field("has_current_time_ms", &self.has_current_time_ms());
+      ds.finish()
+  }
+}
+pub enum BulkResponseOffset {}
+#[derive(Copy, Clone, PartialEq)]
+
+pub struct BulkResponse<'a> {
+  pub _tab: flatbuffers::Table<'a>,
+}
+
+impl<'a> flatbuffers::Follow<'a> for BulkResponse<'a> {
+  type Inner = BulkResponse<'a>;
+  #[inline]
+  unsafe fn follow(buf: &'a [u8], loc: usize) -> Self::Inner {
+    Self { _tab: flatbuffers::Table::new(buf, loc) }
+  }
+}
+
+impl<'a> BulkResponse<'a> {
+  pub const VT_ENABLED: flatbuffers::VOffsetT = 4;
+  pub const VT_IMPRESSION_DATA: flatbuffers::VOffsetT = 6;
+  pub const VT_HAS_ENABLED: flatbuffers::VOffsetT = 8;
+  pub const VT_ERROR: flatbuffers::VOffsetT = 10;
+  pub const VT_STALE_CONTEXT: flatbuffers::VOffsetT = 12;
+
+  #[inline]
+  pub unsafe fn init_from_table(table: flatbuffers::Table<'a>) -> Self {
+    BulkResponse { _tab: table }
+  }
+  #[allow(unused_mut)]
+  pub fn create<'bldr: 'args, 'args: 'mut_bldr, 'mut_bldr, A: flatbuffers::Allocator + 'bldr>(
+    _fbb: &'mut_bldr mut flatbuffers::FlatBufferBuilder<'bldr, A>,
+    args: &'args BulkResponseArgs<'args>
+  ) -> flatbuffers::WIPOffset<BulkResponse<'bldr>> {
+    let mut builder = BulkResponseBuilder::new(_fbb);
+    if let Some(x) = args.error { builder.add_error(x); }
+    if let Some(x) = args.enabled { builder.add_enabled(x); }
+    builder.add_stale_context(args.stale_context);
+    builder.add_has_enabled(args.has_enabled);
+    builder.add_impression_data(args.impression_data);
+    builder.finish()
+  }
+
+
+  #[inline]
+  pub fn enabled(&self) -> Option<flatbuffers::Vector<'a, u64>> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'a, u64>>>(BulkResponse::VT_ENABLED, None)}
+  }
+  #[inline]
+  pub fn impression_data(&self) -> bool {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<bool>(BulkResponse::VT_IMPRESSION_DATA, Some(false)).unwrap()}
+  }
+  #[inline]
+  pub fn has_enabled(&self) -> bool {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<bool>(BulkResponse::VT_HAS_ENABLED, Some(false)).unwrap()}
+  }
+  #[inline]
+  pub fn error(&self) -> Option<&'a str> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<&str>>(BulkResponse::VT_ERROR, None)}
+  }
+  #[inline]
+  pub fn stale_context(&self) -> bool {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<bool>(BulkResponse::VT_STALE_CONTEXT, Some(false)).unwrap()}
+  }
+}
+
+impl flatbuffers::Verifiable for BulkResponse<'_> {
+  #[inline]
+  fn run_verifier(
+    v: &mut flatbuffers::Verifier, pos: usize
+  ) -> Result<(), flatbuffers::InvalidFlatbuffer> {
+    use self::flatbuffers::Verifiable;
+    v.visit_table(pos)?
+     .visit_field::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'_, u64>>>("enabled", Self::VT_ENABLED, false)?
+     .visit_field::<bool>("impression_data", Self::VT_IMPRESSION_DATA, false)?
+     .visit_field::<bool>("has_enabled", Self::VT_HAS_ENABLED, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<&str>>("error", Self::VT_ERROR, false)?
+     .visit_field::<bool>("stale_context", Self::VT_STALE_CONTEXT, false)?
+     .finish();
+    Ok(())
+  }
+}
+pub struct BulkResponseArgs<'a> {
+    pub enabled: Option<flatbuffers::WIPOffset<flatbuffers::Vector<'a, u64>>>,
+    pub impression_data: bool,
+    pub has_enabled: bool,
+    pub error: Option<flatbuffers::WIPOffset<&'a str>>,
+    pub stale_context: bool,
+}
+impl<'a> Default for BulkResponseArgs<'a> {
+  #[inline]
+  fn default() -> Self {
+    BulkResponseArgs {
+      enabled: None,
+      impression_data: false,
+      has_enabled: false,
+      error: None,
+      stale_context: false,
+    }
+  }
+}
+
+pub struct BulkResponseBuilder<'a: 'b, 'b, A: flatbuffers::Allocator + 'a> {
+  fbb_: &'b mut flatbuffers::FlatBufferBuilder<'a, A>,
+  start_: flatbuffers::WIPOffset<flatbuffers::TableUnfinishedWIPOffset>,
+}
+impl<'a: 'b, 'b, A: flatbuffers::Allocator + 'a> BulkResponseBuilder<'a, 'b, A> {
+  #[inline]
+  pub fn add_enabled(&mut self, enabled: flatbuffers::WIPOffset<flatbuffers::Vector<'b , u64>>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(BulkResponse::VT_ENABLED, enabled);
+  }
+  #[inline]
+  pub fn add_impression_data(&mut self, impression_data: bool) {
+    self.fbb_.push_slot::<bool>(BulkResponse::VT_IMPRESSION_DATA, impression_data, false);
+  }
+  #[inline]
+  pub fn add_has_enabled(&mut self, has_enabled: bool) {
+    self.fbb_.push_slot::<bool>(BulkResponse::VT_HAS_ENABLED, has_enabled, false);
+  }
+  #[inline]
+  pub fn add_error(&mut self, error: flatbuffers::WIPOffset<&'b  str>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(BulkResponse::VT_ERROR, error);
+  }
+  #[inline]
+  pub fn add_stale_context(&mut self, stale_context: bool) {
+    self.fbb_.push_slot::<bool>(BulkResponse::VT_STALE_CONTEXT, stale_context, false);
+  }
+  #[inline]
+  pub fn new(_fbb: &'b mut flatbuffers::FlatBufferBuilder<'a, A>) -> BulkResponseBuilder<'a, 'b, A> {
+    let start = _fbb.start_table();
+    BulkResponseBuilder {
+      fbb_: _fbb,
+      start_: start,
+    }
+  }
+  #[inline]
+  pub fn finish(self) -> flatbuffers::WIPOffset<BulkResponse<'a>> {
+    let o = self.fbb_.end_table(self.start_);
+    flatbuffers::WIPOffset::new(o.value())
+  }
+}
+
+impl core::fmt::Debug for BulkResponse<'_> {
+  fn fmt(&self, f: &mut core::fmt::Formatter<'_>) -> core::fmt::Result {
+    let mut ds = f.debug_struct("BulkResponse");
+      ds.field("enabled", &self.enabled());
+      ds.field("impression_data", &self.impression_data());
+      ds.field("has_enabled", &self.has_enabled());
+      ds.field("error", &self.error());
+      ds.field("stale_context", &self.stale_context());
+      ds.finish()
+  }
+}
+pub enum TypedPropertyEntryOffset {}
+#[derive(Copy, Clone, PartialEq)]
+
+pub struct TypedPropertyEntry<'a> {
+  pub _tab: flatbuffers::Table<'a>,
+}
+
+impl<'a> flatbuffers::Follow<'a> for TypedPropertyEntry<'a> {
+  type Inner = TypedPropertyEntry<'a>;
+  #[inline]
+  unsafe fn follow(buf: &'a [u8], loc: usize) -> Self::Inner {
+    Self { _tab: flatbuffers::Table::new(buf, loc) }
+  }
+}
+
+impl<'a> TypedPropertyEntry<'a> {
+  pub const VT_KEY: flatbuffers::VOffsetT = 4;
+  pub const VT_KIND: flatbuffers::VOffsetT = 6;
+  pub const VT_LONG_VALUE: flatbuffers::VOffsetT = 8;
+  pub const VT_DOUBLE_VALUE: flatbuffers::VOffsetT = 10;
+
+  #[inline]
+  pub unsafe fn init_from_table(table: flatbuffers::Table<'a>) -> Self {
+    TypedPropertyEntry { _tab: table }
+  }
+  #[allow(unused_mut)]
+  pub fn create<'bldr: 'args, 'args: 'mut_bldr, 'mut_bldr, A: flatbuffers::Allocator + 'bldr>(
+    _fbb: &'mut_bldr mut flatbuffers::FlatBufferBuilder<'bldr, A>,
+    args: &'args TypedPropertyEntryArgs<'args>
+  ) -> flatbuffers::WIPOffset<TypedPropertyEntry<'bldr>> {
+    let mut builder = TypedPropertyEntryBuilder::new(_fbb);
+    builder.add_double_value(args.double_value);
+    builder.add_long_value(args.long_value);
+    if let Some(x) = args.key { builder.add_key(x); }
+    builder.add_kind(args.kind);
+    builder.finish()
+  }
+
+
+  #[inline]
+  pub fn key(&self) -> Option<&'a str> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<&str>>(TypedPropertyEntry::VT_KEY, None)}
+  }
+  #[inline]
+  pub fn kind(&self) -> u8 {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<u8>(TypedPropertyEntry::VT_KIND, Some(0)).unwrap()}
+  }
+  #[inline]
+  pub fn long_value(&self) -> i64 {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<i64>(TypedPropertyEntry::VT_LONG_VALUE, Some(0)).unwrap()}
+  }
+  #[inline]
+  pub fn double_value(&self) -> f64 {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<f64>(TypedPropertyEntry::VT_DOUBLE_VALUE, Some(0.0)).unwrap()}
+  }
+}
+
+impl flatbuffers::Verifiable for TypedPropertyEntry<'_> {
+  #[inline]
+  fn run_verifier(
+    v: &mut flatbuffers::Verifier, pos: usize
+  ) -> Result<(), flatbuffers::InvalidFlatbuffer> {
+    use self::flatbuffers::Verifiable;
+    v.visit_table(pos)?
+     .visit_field::<flatbuffers::ForwardsUOffset<&str>>("key", Self::VT_KEY, false)?
+     .visit_field::<u8>("kind", Self::VT_KIND, false)?
+     .visit_field::<i64>("long_value", Self::VT_LONG_VALUE, false)?
+     .visit_field::<f64>("double_value", Self::VT_DOUBLE_VALUE, false)?
+     .finish();
+    Ok(())
+  }
+}
+pub struct TypedPropertyEntryArgs<'a> {
+    pub key: Option<flatbuffers::WIPOffset<&'a str>>,
+    pub kind: u8,
+    pub long_value: i64,
+    pub double_value: f64,
+}
+impl<'a> Default for TypedPropertyEntryArgs<'a> {
+  #[inline]
+  fn default() -> Self {
+    TypedPropertyEntryArgs {
+      key: None,
+      kind: 0,
+      long_value: 0,
+      double_value: 0.0,
+    }
+  }
+}
+
+pub struct TypedPropertyEntryBuilder<'a: 'b, 'b, A: flatbuffers::Allocator + 'a> {
+  fbb_: &'b mut flatbuffers::FlatBufferBuilder<'a, A>,
+  start_: flatbuffers::WIPOffset<flatbuffers::TableUnfinishedWIPOffset>,
+}
+impl<'a: 'b, 'b, A: flatbuffers::Allocator + 'a> TypedPropertyEntryBuilder<'a, 'b, A> {
+  #[inline]
+  pub fn add_key(&mut self, key: flatbuffers::WIPOffset<&'b  str>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(TypedPropertyEntry::VT_KEY, key);
+  }
+  #[inline]
+  pub fn add_kind(&mut self, kind: u8) {
+    self.fbb_.push_slot::<u8>(TypedPropertyEntry::VT_KIND, kind, 0);
+  }
+  #[inline]
+  pub fn add_long_value(&mut self, long_value: i64) {
+    self.fbb_.push_slot::<i64>(TypedPropertyEntry::VT_LONG_VALUE, long_value, 0);
+  }
+  #[inline]
+  pub fn add_double_value(&mut self, double_value: f64) {
+    self.fbb_.push_slot::<f64>(TypedPropertyEntry::VT_DOUBLE_VALUE, double_value, 0.0);
+  }
+  #[inline]
+  pub fn new(_fbb: &'b mut flatbuffers::FlatBufferBuilder<'a, A>) -> TypedPropertyEntryBuilder<'a, 'b, A> {
+    let start = _fbb.start_table();
+    TypedPropertyEntryBuilder {
+      fbb_: _fbb,
+      start_: start,
+    }
+  }
+  #[inline]
+  pub fn finish(self) -> flatbuffers::WIPOffset<TypedPropertyEntry<'a>> {
+    let o = self.fbb_.end_table(self.start_);
+    flatbuffers::WIPOffset::new(o.value())
+  }
+}
+
+impl core::fmt::Debug for TypedPropertyEntry<'_> {
+  fn fmt(&self, f: &mut core::fmt::Formatter<'_>) -> core::fmt::Result {
+    let mut ds = f.debug_struct("TypedPropertyEntry");
+      ds.field("key", &self.key());
+      ds.field("kind", &self.kind());
+      ds.field("long_value", &self.long_value());
+      ds.field("double_value", &self.double_value());
+      ds.finish()
+  }
+}
+pub enum FeatureVariantOffset {}
+#[derive(Copy, Clone, PartialEq)]
+
+pub struct FeatureVariant<'a> {
+  pub _tab: flatbuffers::Table<'a>,
+}
+
+impl<'a> flatbuffers::Follow<'a> for FeatureVariant<'a> {
+  type Inner = FeatureVariant<'a>;
+  #[inline]
+  unsafe fn follow(buf: &'a [u8], loc: usize) -> Self::Inner {
+    Self { _tab: flatbuffers::Table::new(buf, loc) }
+  }
+}
+
+impl<'a> FeatureVariant<'a> {
+  pub const VT_NAME: flatbuffers::VOffsetT = 4;
+  pub const VT_PAYLOAD: flatbuffers::VOffsetT = 6;
+
+  #[inline]
+  pub unsafe fn init_from_table(table: flatbuffers::Table<'a>) -> Self {
+    FeatureVariant { _tab: table }
+  }
+  #[allow(unused_mut)]
+  pub fn create<'bldr: 'args, 'args: 'mut_bldr, 'mut_bldr, A: flatbuffers::Allocator + 'bldr>(
+    _fbb: &'mut_bldr mut flatbuffers::FlatBufferBuilder<'bldr, A>,
+    args: &'args FeatureVariantArgs<'args>
+  ) -> flatbuffers::WIPOffset<FeatureVariant<'bldr>> {
+    let mut builder = FeatureVariantBuilder::new(_fbb);
+    if let Some(x) = args.payload { builder.add_payload(x); }
+    if let Some(x) = args.name { builder.add_name(x); }
+    builder.finish()
+  }
+
+
+  #[inline]
+  pub fn name(&self) -> Option<&'a str> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<&str>>(FeatureVariant::VT_NAME, None)}
+  }
+  #[inline]
+  pub fn payload(&self) -> Option<VariantPayload<'a>> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<VariantPayload>>(FeatureVariant::VT_PAYLOAD, None)}
+  }
+}
+
+impl flatbuffers::Verifiable for FeatureVariant<'_> {
+  #[inline]
+  fn run_verifier(
+    v: &mut flatbuffers::Verifier, pos: usize
+  ) -> Result<(), flatbuffers::InvalidFlatbuffer> {
+    use self::flatbuffers::Verifiable;
+    v.visit_table(pos)?
+     .visit_field::<flatbuffers::ForwardsUOffset<&str>>("name", Self::VT_NAME, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<VariantPayload>>("payload", Self::VT_PAYLOAD, false)?
+     .finish();
+    Ok(())
+  }
+}
+pub struct FeatureVariantArgs<'a> {
+    pub name: Option<flatbuffers::WIPOffset<&'a str>>,
+    pub payload: Option<flatbuffers::WIPOffset<VariantPayload<'a>>>,
+}
+impl<'a> Default for FeatureVariantArgs<'a> {
+  #[inline]
+  fn default() -> Self {
+    FeatureVariantArgs {
+      name: None,
+      payload: None,
+    }
+  }
+}
+
+pub struct FeatureVariantBuilder<'a: 'b, 'b, A: flatbuffers::Allocator + 'a> {
+  fbb_: &'b mut flatbuffers::FlatBufferBuilder<'a, A>,
+  start_: flatbuffers::WIPOffset<flatbuffers::TableUnfinishedWIPOffset>,
+}
+impl<'a: 'b, 'b, A: flatbuffers::Allocator + 'a> FeatureVariantBuilder<'a, 'b, A> {
+  #[inline]
+  pub fn add_name(&mut self, name: flatbuffers::WIPOffset<&'b  str>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(FeatureVariant::VT_NAME, name);
+  }
+  #[inline]
+  pub fn add_payload(&mut self, payload: flatbuffers::WIPOffset<VariantPayload<'b >>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<VariantPayload>>(FeatureVariant::VT_PAYLOAD, payload);
+  }
+  #[inline]
+  pub fn new(_fbb: &'b mut flatbuffers::FlatBufferBuilder<'a, A>) -> FeatureVariantBuilder<'a, 'b, A> {
+    let start = _fbb.start_table();
+    FeatureVariantBuilder {
+      fbb_: _fbb,
+      start_: start,
+    }
+  }
+  #[inline]
+  pub fn finish(self) -> flatbuffers::WIPOffset<FeatureVariant<'a>> {
+    let o = self.fbb_.end_table(self.start_);
+    flatbuffers::WIPOffset::new(o.value())
+  }
+}
+
+impl core::fmt::Debug for FeatureVariant<'_> {
+  fn fmt(&self, f: &mut core::fmt::Formatter<'_>) -> core::fmt::Result {
+    let mut ds = f.debug_struct("FeatureVariant");
+      ds.field("name", &self.name());
+      ds.field("payload", &self.payload());
+      ds.finish()
+  }
+}
+pub enum EngineStatsResponseOffset {}
+#[derive(Copy, Clone, PartialEq)]
+
+pub struct EngineStatsResponse<'a> {
+  pub _tab: flatbuffers::Table<'a>,
+}
+
+impl<'a> flatbuffers::Follow<'a> for EngineStatsResponse<'a> {
+  type Inner = EngineStatsResponse<'a>;
+  #[inline]
+  unsafe fn follow(buf: &'a [u8], loc: usize) -> Self::Inner {
+    Self { _tab: flatbuffers::Table::new(buf, loc) }
+  }
+}
+
+impl<'a> EngineStatsResponse<'a> {
+  pub const VT_EVALUATIONS: flatbuffers::VOffsetT = 4;
+  pub const VT_LOCK_ACQUISITIONS: flatbuffers::VOffsetT = 6;
+  pub const VT_CONTENDED_LOCK_ACQUISITIONS: flatbuffers::VOffsetT = 8;
+  pub const VT_LOCK_WAIT_NANOS: flatbuffers::VOffsetT = 10;
+  pub const VT_LOCK_HOLD_NANOS: flatbuffers::VOffsetT = 12;
+  pub const VT_TAKE_STATES: flatbuffers::VOffsetT = 14;
+  pub const VT_TAKE_STATE_NANOS: flatbuffers::VOffsetT = 16;
+  pub const VT_FEATURES: flatbuffers::VOffsetT = 18;
+  pub const VT_SEGMENTS: flatbuffers::VOffsetT = 20;
+  pub const VT_STATE_BYTES: flatbuffers::VOffsetT = 22;
+  pub const VT_OUTSTANDING_BUFS: flatbuffers::VOffsetT = 24;
+  pub const VT_OUTSTANDING_BUF_BYTES: flatbuffers::VOffsetT = 26;
+  pub const VT_ERROR: flatbuffers::VOffsetT = 28;
+
+  #[inline]
+  pub unsafe fn init_from_table(table: flatbuffers::Table<'a>) -> Self {
+    EngineStatsResponse { _tab: table }
+  }
+  #[allow(unused_mut)]
+  pub fn create<'bldr: 'args, 'args: 'mut_bldr, 'mut_bldr, A: flatbuffers::Allocator + 'bldr>(
+    _fbb: &'mut_bldr mut flatbuffers::FlatBufferBuilder<'bldr, A>,
+    args: &'args EngineStatsResponseArgs<'args>
+  ) -> flatbuffers::WIPOffset<EngineStatsResponse<'bldr>> {
+    let mut builder = EngineStatsResponseBuilder::new(_fbb);
+    builder.add_outstanding_buf_bytes(args.outstanding_buf_bytes);
+    builder.add_outstanding_bufs(args.outstanding_bufs);
+    builder.add_state_bytes(args.state_bytes);
+    builder.add_segments(args.segments);
+    builder.add_features(args.features);
+    builder.add_take_state_nanos(args.take_state_nanos);
+    builder.add_take_states(args.take_states);
+    builder.add_lock_hold_nanos(args.lock_hold_nanos);
+    builder.add_lock_wait_nanos(args.lock_wait_nanos);
+    builder.add_contended_lock_acquisitions(args.contended_lock_acquisitions);
+    builder.add_lock_acquisitions(args.lock_acquisitions);
+    builder.add_evaluations(args.evaluations);
+    if let Some(x) = args.error { builder.add_error(x); }
+    builder.finish()
+  }
+
+
+  #[inline]
+  pub fn evaluations(&self) -> u64 {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<u64>(EngineStatsResponse::VT_EVALUATIONS, Some(0)).unwrap()}
+  }
+  #[inline]
+  pub fn lock_acquisitions(&self) -> u64 {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<u64>(EngineStatsResponse::VT_LOCK_ACQUISITIONS, Some(0)).unwrap()}
+  }
+  #[inline]
+  pub fn contended_lock_acquisitions(&self) -> u64 {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<u64>(EngineStatsResponse::VT_CONTENDED_LOCK_ACQUISITIONS, Some(0)).unwrap()}
+  }
+  #[inline]
+  pub fn lock_wait_nanos(&self) -> u64 {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<u64>(EngineStatsResponse::VT_LOCK_WAIT_NANOS, Some(0)).unwrap()}
+  }
+  #[inline]
+  pub fn lock_hold_nanos(&self) -> u64 {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<u64>(EngineStatsResponse::VT_LOCK_HOLD_NANOS, Some(0)).unwrap()}
+  }
+  #[inline]
+  pub fn take_states(&self) -> u64 {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<u64>(EngineStatsResponse::VT_TAKE_STATES, Some(0)).unwrap()}
+  }
+  #[inline]
+  pub fn take_state_nanos(&self) -> u64 {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<u64>(EngineStatsResponse::VT_TAKE_STATE_NANOS, Some(0)).unwrap()}
+  }
+  #[inline]
+  pub fn features(&self) -> u64 {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<u64>(EngineStatsResponse::VT_FEATURES, Some(0)).unwrap()}
+  }
+  #[inline]
+  pub fn segments(&self) -> u64 {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<u64>(EngineStatsResponse::VT_SEGMENTS, Some(0)).unwrap()}
+  }
+  #[inline]
+  pub fn state_bytes(&self) -> u64 {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<u64>(EngineStatsResponse::VT_STATE_BYTES, Some(0)).unwrap()}
+  }
+  #[inline]
+  pub fn outstanding_bufs(&self) -> u64 {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<u64>(EngineStatsResponse::VT_OUTSTANDING_BUFS, Some(0)).unwrap()}
+  }
+  #[inline]
+  pub fn outstanding_buf_bytes(&self) -> u64 {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<u64>(EngineStatsResponse::VT_OUTSTANDING_BUF_BYTES, Some(0)).unwrap()}
+  }
+  #[inline]
+  pub fn error(&self) -> Option<&'a str> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<&str>>(EngineStatsResponse::VT_ERROR, None)}
+  }
+}
+
+impl flatbuffers::Verifiable for EngineStatsResponse<'_> {
+  #[inline]
+  fn run_verifier(
+    v: &mut flatbuffers::Verifier, pos: usize
+  ) -> Result<(), flatbuffers::InvalidFlatbuffer> {
+    use self::flatbuffers::Verifiable;
+    v.visit_table(pos)?
+     .visit_field::<u64>("evaluations", Self::VT_EVALUATIONS, false)?
+     .visit_field::<u64>("lock_acquisitions", Self::VT_LOCK_ACQUISITIONS, false)?
+     .visit_field::<u64>("contended_lock_acquisitions", Self::VT_CONTENDED_LOCK_ACQUISITIONS, false)?
+     .visit_field::<u64>("lock_wait_nanos", Self::VT_LOCK_WAIT_NANOS, false)?
+     .visit_field::<u64>("lock_hold_nanos", Self::VT_LOCK_HOLD_NANOS, false)?
+     .visit_field::<u64>("take_states", Self::VT_TAKE_STATES, false)?
+     .visit_field::<u64>("take_state_nanos", Self::VT_TAKE_STATE_NANOS, false)?
+     .visit_field::<u64>("features", Self::VT_FEATURES, false)?
+     .visit_field::<u64>("segments", Self::VT_SEGMENTS, false)?
+     .visit_field::<u64>("state_bytes", Self::VT_STATE_BYTES, false)?
+     .visit_field::<u64>("outstanding_bufs", Self::VT_OUTSTANDING_BUFS, false)?
+     .visit_field::<u64>("outstanding_buf_bytes", Self::VT_OUTSTANDING_BUF_BYTES, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<&str>>("error", Self::VT_ERROR, false)?
+     .finish();
+    Ok(())
+  }
+}
+pub struct EngineStatsResponseArgs<'a> {
+    pub evaluations: u64,
+    pub lock_acquisitions: u64,
+    pub contended_lock_acquisitions: u64,
+    pub lock_wait_nanos: u64,
+    pub lock_hold_nanos: u64,
+    pub take_states: u64,
+    pub take_state_nanos: u64,
+    pub features: u64,
+    pub segments: u64,
+    pub state_bytes: u64,
+    pub outstanding_bufs: u64,
+    pub outstanding_buf_bytes: u64,
+    pub error: Option<flatbuffers::WIPOffset<&'a str>>,
+}
+impl<'a> Default for EngineStatsResponseArgs<'a> {
+  #[inline]
+  fn default() -> Self {
+    EngineStatsResponseArgs {
+      evaluations: 0,
+      lock_acquisitions: 0,
+      contended_lock_acquisitions: 0,
+      lock_wait_nanos: 0,
+      lock_hold_nanos: 0,
+      take_states: 0,
+      take_state_nanos: 0,
+      features: 0,
+      segments: 0,
+      state_bytes: 0,
+      outstanding_bufs: 0,
+      outstanding_buf_bytes: 0,
+      error: None,
+    }
+  }
+}
+
+pub struct EngineStatsResponseBuilder<'a: 'b, 'b, A: flatbuffers::Allocator + 'a> {
+  fbb_: &'b mut flatbuffers::FlatBufferBuilder<'a, A>,
+  start_: flatbuffers::WIPOffset<flatbuffers::TableUnfinishedWIPOffset>,
+}
+impl<'a: 'b, 'b, A: flatbuffers::Allocator + 'a> EngineStatsResponseBuilder<'a, 'b, A> {
+  #[inline]
+  pub fn add_evaluations(&mut self, evaluations: u64) {
+    self.fbb_.push_slot::<u64>(EngineStatsResponse::VT_EVALUATIONS, evaluations, 0);
+  }
+  #[inline]
+  pub fn add_lock_acquisitions(&mut self, lock_acquisitions: u64) {
+    self.fbb_.push_slot::<u64>(EngineStatsResponse::VT_LOCK_ACQUISITIONS, lock_acquisitions, 0);
+  }
+  #[inline]
+  pub fn add_contended_lock_acquisitions(&mut self, contended_lock_acquisitions: u64) {
+    self.fbb_.push_slot::<u64>(EngineStatsResponse::VT_CONTENDED_LOCK_ACQUISITIONS, contended_lock_acquisitions, 0);
+  }
+  #[inline]
+  pub fn add_lock_wait_nanos(&mut self, lock_wait_nanos: u64) {
+    self.fbb_.push_slot::<u64>(EngineStatsResponse::VT_LOCK_WAIT_NANOS, lock_wait_nanos, 0);
+  }
+  #[inline]
+  pub fn add_lock_hold_nanos(&mut self, lock_hold_nanos: u64) {
+    self.fbb_.push_slot::<u64>(EngineStatsResponse::VT_LOCK_HOLD_NANOS, lock_hold_nanos, 0);
+  }
+  #[inline]
+  pub fn add_take_states(&mut self, take_states: u64) {
+    self.fbb_.push_slot::<u64>(EngineStatsResponse::VT_TAKE_STATES, take_states, 0);
+  }
+  #[inline]
+  pub fn add_take_state_nanos(&mut self, take_state_nanos: u64) {
+    self.fbb_.push_slot::<u64>(EngineStatsResponse::VT_TAKE_STATE_NANOS, take_state_nanos, 0);
+  }
+  #[inline]
+  pub fn add_features(&mut self, features: u64) {
+    self.fbb_.push_slot::<u64>(EngineStatsResponse::VT_FEATURES, features, 0);
+  }
+  #[inline]
+  pub fn add_segments(&mut self, segments: u64) {
+    self.fbb_.push_slot::<u64>(EngineStatsResponse::VT_SEGMENTS, segments, 0);
+  }
+  #[inline]
+  pub fn add_state_bytes(&mut self, state_bytes: u64) {
+    self.fbb_.push_slot::<u64>(EngineStatsResponse::VT_STATE_BYTES, state_bytes, 0);
+  }
+  #[inline]
+  pub fn add_outstanding_bufs(&mut self, outstanding_bufs: u64) {
+    self.fbb_.push_slot::<u64>(EngineStatsResponse::VT_OUTSTANDING_BUFS, outstanding_bufs, 0);
+  }
+  #[inline]
+  pub fn add_outstanding_buf_bytes(&mut self, outstanding_buf_bytes: u64) {
+    self.fbb_.push_slot::<u64>(EngineStatsResponse::VT_OUTSTANDING_BUF_BYTES, outstanding_buf_bytes, 0);
+  }
+  #[inline]
+  pub fn add_error(&mut self, error: flatbuffers::WIPOffset<&'b  str>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(EngineStatsResponse::VT_ERROR, error);
+  }
+  #[inline]
+  pub fn new(_fbb: &'b mut flatbuffers::FlatBufferBuilder<'a, A>) -> EngineStatsResponseBuilder<'a, 'b, A> {
+    let start = _fbb.start_table();
+    EngineStatsResponseBuilder {
+      fbb_: _fbb,
+      start_: start,
+    }
+  }
+  #[inline]
+  pub fn finish(self) -> flatbuffers::WIPOffset<EngineStatsResponse<'a>> {
+    let o = self.fbb_.end_table(self.start_);
+    flatbuffers::WIPOffset::new(o.value())
+  }
+}
+
+impl core::fmt::Debug for EngineStatsResponse<'_> {
+  fn fmt(&self, f: &mut core::fmt::Formatter<'_>) -> core::fmt::Result {
+    let mut ds = f.debug_struct("EngineStatsResponse");
+      ds.field("evaluations", &self.evaluations());
+      ds.field("lock_acquisitions", &self.lock_acquisitions());
+      ds.field("contended_lock_acquisitions", &self.contended_lock_acquisitions());
+      ds.field("lock_wait_nanos", &self.lock_wait_nanos());
+      ds.field("lock_hold_nanos", &self.lock_hold_nanos());
+      ds.field("take_states", &self.take_states());
+      ds.field("take_state_nanos", &self.take_state_nanos());
+      ds.field("features", &self.features());
+      ds.field("segments", &self.segments());
+      ds.field("state_bytes", &self.state_bytes());
+      ds.field("outstanding_bufs", &self.outstanding_bufs());
+      ds.field("outstanding_buf_bytes", &self.outstanding_buf_bytes());
+      ds.field("error", &self.error());
+      ds.finish()
+  }
+}
+pub enum StrategyTraceOffset {}
+#[derive(Copy, Clone, PartialEq)]
+
+pub struct StrategyTrace<'a> {
+  pub _tab: flatbuffers::Table<'a>,
+}
+
+impl<'a> flatbuffers::Follow<'a> for StrategyTrace<'a> {
+  type Inner = StrategyTrace<'a>;
+  #[inline]
+  unsafe fn follow(buf: &'a [u8], loc: usize) -> Self::Inner {
+    Self { _tab: flatbuffers::Table::new(buf, loc) }
+  }
+}
+
+impl<'a> StrategyTrace<'a> {
+  pub const VT_NAME: flatbuffers::VOffsetT = 4;
+  pub const VT_CONSTRAINTS: flatbuffers::VOffsetT = 6;
+  pub const VT_SEGMENTS: flatbuffers::VOffsetT = 8;
+  pub const VT_MISSING_SEGMENTS: flatbuffers::VOffsetT = 10;
+
+  #[inline]
+  pub unsafe fn init_from_table(table: flatbuffers::Table<'a>) -> Self {
+    StrategyTrace { _tab: table }
+  }
+  #[allow(unused_mut)]
+  pub fn create<'bldr: 'args, 'args: 'mut_bldr, 'mut_bldr, A: flatbuffers::Allocator + 'bldr>(
+    _fbb: &'mut_bldr mut flatbuffers::FlatBufferBuilder<'bldr, A>,
+    args: &'args StrategyTraceArgs<'args>
+  ) -> flatbuffers::WIPOffset<StrategyTrace<'bldr>> {
+    let mut builder = StrategyTraceBuilder::new(_fbb);
+    if let Some(x) = args.segments { builder.add_segments(x); }
+    builder.add_constraints(args.constraints);
+    if let Some(x) = args.name { builder.add_name(x); }
+    builder.add_missing_segments(args.missing_segments);
+    builder.finish()
+  }
+
+
+  #[inline]
+  pub fn name(&self) -> Option<&'a str> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<&str>>(StrategyTrace::VT_NAME, None)}
+  }
+  #[inline]
+  pub fn constraints(&self) -> u32 {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<u32>(StrategyTrace::VT_CONSTRAINTS, Some(0)).unwrap()}
+  }
+  #[inline]
+  pub fn segments(&self) -> Option<flatbuffers::Vector<'a, i32>> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'a, i32>>>(StrategyTrace::VT_SEGMENTS, None)}
+  }
+  #[inline]
+  pub fn missing_segments(&self) -> bool {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<bool>(StrategyTrace::VT_MISSING_SEGMENTS, Some(false)).unwrap()}
+  }
+}
+
+impl flatbuffers::Verifiable for StrategyTrace<'_> {
+  #[inline]
+  fn run_verifier(
+    v: &mut flatbuffers::Verifier, pos: usize
+  ) -> Result<(), flatbuffers::InvalidFlatbuffer> {
+    use self::flatbuffers::Verifiable;
+    v.visit_table(pos)?
+     .visit_field::<flatbuffers::ForwardsUOffset<&str>>("name", Self::VT_NAME, false)?
+     .visit_field::<u32>("constraints", Self::VT_CONSTRAINTS, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'_, i32>>>("segments", Self::VT_SEGMENTS, false)?
+     .visit_field::<bool>("missing_segments", Self::VT_MISSING_SEGMENTS, false)?
+     .finish();
+    Ok(())
+  }
+}
+pub struct StrategyTraceArgs<'a> {
+    pub name: Option<flatbuffers::WIPOffset<&'a str>>,
+    pub constraints: u32,
+    pub segments: Option<flatbuffers::WIPOffset<flatbuffers::Vector<'a, i32>>>,
+    pub missing_segments: bool,
+}
+impl<'a> Default for StrategyTraceArgs<'a> {
+  #[inline]
+  fn default() -> Self {
+    StrategyTraceArgs {
+      name: None,
+      constraints: 0,
+      segments: None,
+      missing_segments: false,
+    }
+  }
+}
+
+pub struct StrategyTraceBuilder<'a: 'b, 'b, A: flatbuffers::Allocator + 'a> {
+  fbb_: &'b mut flatbuffers::FlatBufferBuilder<'a, A>,
+  start_: flatbuffers::WIPOffset<flatbuffers::TableUnfinishedWIPOffset>,
+}
+impl<'a: 'b, 'b, A: flatbuffers::Allocator + 'a> StrategyTraceBuilder<'a, 'b, A> {
+  #[inline]
+  pub fn add_name(&mut self, name: flatbuffers::WIPOffset<&'b  str>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(StrategyTrace::VT_NAME, name);
+  }
+  #[inline]
+  pub fn add_constraints(&mut self, constraints: u32) {
+    self.fbb_.push_slot::<u32>(StrategyTrace::VT_CONSTRAINTS, constraints, 0);
+  }
+  #[inline]
+  pub fn add_segments(&mut self, segments: flatbuffers::WIPOffset<flatbuffers::Vector<'b , i32>>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(StrategyTrace::VT_SEGMENTS, segments);
+  }
+  #[inline]
+  pub fn add_missing_segments(&mut self, missing_segments: bool) {
+    self.fbb_.push_slot::<bool>(StrategyTrace::VT_MISSING_SEGMENTS, missing_segments, false);
+  }
+  #[inline]
+  pub fn new(_fbb: &'b mut flatbuffers::FlatBufferBuilder<'a, A>) -> StrategyTraceBuilder<'a, 'b, A> {
+    let start = _fbb.start_table();
+    StrategyTraceBuilder {
+      fbb_: _fbb,
+      start_: start,
+    }
+  }
+  #[inline]
+  pub fn finish(self) -> flatbuffers::WIPOffset<StrategyTrace<'a>> {
+    let o = self.fbb_.end_table(self.start_);
+    flatbuffers::WIPOffset::new(o.value())
+  }
+}
+
+impl core::fmt::Debug for StrategyTrace<'_> {
+  fn fmt(&self, f: &mut core::fmt::Formatter<'_>) -> core::fmt::Result {
+    let mut ds = f.debug_struct("StrategyTrace");
+      ds.field("name", &self.name());
+      ds.field("constraints", &self.constraints());
+      ds.field("segments", &self.segments());
+      ds.field("missing_segments", &self.missing_segments());
+      ds.finish()
+  }
+}
+pub enum EvaluationTraceOffset {}
+#[derive(Copy, Clone, PartialEq)]
+
+pub struct EvaluationTrace<'a> {
+  pub _tab: flatbuffers::Table<'a>,
+}
+
+impl<'a> flatbuffers::Follow<'a> for EvaluationTrace<'a> {
+  type Inner = EvaluationTrace<'a>;
+  #[inline]
+  unsafe fn follow(buf: &'a [u8], loc: usize) -> Self::Inner {
+    Self { _tab: flatbuffers::Table::new(buf, loc) }
+  }
+}
+
+impl<'a> EvaluationTrace<'a> {
+  pub const VT_KNOWN: flatbuffers::VOffsetT = 4;
+  pub const VT_DECODE_NANOS: flatbuffers::VOffsetT = 6;
+  pub const VT_EVALUATE_NANOS: flatbuffers::VOffsetT = 8;
+  pub const VT_VARIANT_NANOS: flatbuffers::VOffsetT = 10;
+  pub const VT_STRATEGIES: flatbuffers::VOffsetT = 12;
+  pub const VT_DEPENDENCIES: flatbuffers::VOffsetT = 14;
+
+  #[inline]
+  pub unsafe fn init_from_table(table: flatbuffers::Table<'a>) -> Self {
+    EvaluationTrace { _tab: table }
+  }
+  #[allow(unused_mut)]
+  pub fn create<'bldr: 'args, 'args: 'mut_bldr, 'mut_bldr, A: flatbuffers::Allocator + 'bldr>(
+    _fbb: &'mut_bldr mut flatbuffers::FlatBufferBuilder<'bldr, A>,
+    args: &'args EvaluationTraceArgs<'args>
+  ) -> flatbuffers::WIPOffset<EvaluationTrace<'bldr>> {
+    let mut builder = EvaluationTraceBuilder::new(_fbb);
+    builder.add_variant_nanos(args.variant_nanos);
+    builder.add_evaluate_nanos(args.evaluate_nanos);
+    builder.add_decode_nanos(args.decode_nanos);
+    if let Some(x) = args.dependencies { builder.add_dependencies(x); }
+    if let Some(x) = args.strategies { builder.add_strategies(x); }
+    builder.add_known(args.known);
+    builder.finish()
+  }
+
+
+  #[inline]
+  pub fn known(&self) -> bool {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<bool>(EvaluationTrace::VT_KNOWN, Some(false)).unwrap()}
+  }
+  #[inline]
+  pub fn decode_nanos(&self) -> u64 {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<u64>(EvaluationTrace::VT_DECODE_NANOS, Some(0)).unwrap()}
+  }
+  #[inline]
+  pub fn evaluate_nanos(&self) -> u64 {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<u64>(EvaluationTrace::VT_EVALUATE_NANOS, Some(0)).unwrap()}
+  }
+  #[inline]
+  pub fn variant_nanos(&self) -> u64 {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<u64>(EvaluationTrace::VT_VARIANT_NANOS, Some(0)).unwrap()}
+  }
+  #[inline]
+  pub fn strategies(&self) -> Option<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<StrategyTrace<'a>>>> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<StrategyTrace>>>>(EvaluationTrace::VT_STRATEGIES, None)}
+  }
+  #[inline]
+  pub fn dependencies(&self) -> Option<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>> {
+    // Safety:
+    // Created from valid Table for this object
+    // which contains a valid value in this slot
+    unsafe { self._tab.get::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>>>(EvaluationTrace::VT_DEPENDENCIES, None)}
+  }
+}
+
+impl flatbuffers::Verifiable for EvaluationTrace<'_> {
+  #[inline]
+  fn run_verifier(
+    v: &mut flatbuffers::Verifier, pos: usize
+  ) -> Result<(), flatbuffers::InvalidFlatbuffer> {
+    use self::flatbuffers::Verifiable;
+    v.visit_table(pos)?
+     .visit_field::<bool>("known", Self::VT_KNOWN, false)?
+     .visit_field::<u64>("decode_nanos", Self::VT_DECODE_NANOS, false)?
+     .visit_field::<u64>("evaluate_nanos", Self::VT_EVALUATE_NANOS, false)?
+     .visit_field::<u64>("variant_nanos", Self::VT_VARIANT_NANOS, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'_, flatbuffers::ForwardsUOffset<StrategyTrace>>>>("strategies", Self::VT_STRATEGIES, false)?
+     .visit_field::<flatbuffers::ForwardsUOffset<flatbuffers::Vector<'_, flatbuffers::ForwardsUOffset<&'_ str>>>>("dependencies", Self::VT_DEPENDENCIES, false)?
+     .finish();
+    Ok(())
+  }
+}
+pub struct EvaluationTraceArgs<'a> {
+    pub known: bool,
+    pub decode_nanos: u64,
+    pub evaluate_nanos: u64,
+    pub variant_nanos: u64,
+    pub strategies: Option<flatbuffers::WIPOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<StrategyTrace<'a>>>>>,
+    pub dependencies: Option<flatbuffers::WIPOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>>>,
+}
+impl<'a> Default for EvaluationTraceArgs<'a> {
+  #[inline]
+  fn default() -> Self {
+    EvaluationTraceArgs {
+      known: false,
+      decode_nanos: 0,
+      evaluate_nanos: 0,
+      variant_nanos: 0,
+      strategies: None,
+      dependencies: None,
+    }
+  }
+}
+
+pub struct EvaluationTraceBuilder<'a: 'b, 'b, A: flatbuffers::Allocator + 'a> {
+  fbb_: &'b mut flatbuffers::FlatBufferBuilder<'a, A>,
+  start_: flatbuffers::WIPOffset<flatbuffers::TableUnfinishedWIPOffset>,
+}
+impl<'a: 'b, 'b, A: flatbuffers::Allocator + 'a> EvaluationTraceBuilder<'a, 'b, A> {
+  #[inline]
+  pub fn add_known(&mut self, known: bool) {
+    self.fbb_.push_slot::<bool>(EvaluationTrace::VT_KNOWN, known, false);
+  }
+  #[inline]
+  pub fn add_decode_nanos(&mut self, decode_nanos: u64) {
+    self.fbb_.push_slot::<u64>(EvaluationTrace::VT_DECODE_NANOS, decode_nanos, 0);
+  }
+  #[inline]
+  pub fn add_evaluate_nanos(&mut self, evaluate_nanos: u64) {
+    self.fbb_.push_slot::<u64>(EvaluationTrace::VT_EVALUATE_NANOS, evaluate_nanos, 0);
+  }
+  #[inline]
+  pub fn add_variant_nanos(&mut self, variant_nanos: u64) {
+    self.fbb_.push_slot::<u64>(EvaluationTrace::VT_VARIANT_NANOS, variant_nanos, 0);
+  }
+  #[inline]
+  pub fn add_strategies(&mut self, strategies: flatbuffers::WIPOffset<flatbuffers::Vector<'b , flatbuffers::ForwardsUOffset<StrategyTrace<'b >>>>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(EvaluationTrace::VT_STRATEGIES, strategies);
+  }
+  #[inline]
+  pub fn add_dependencies(&mut self, dependencies: flatbuffers::WIPOffset<flatbuffers::Vector<'b , flatbuffers::ForwardsUOffset<&'b  str>>>) {
+    self.fbb_.push_slot_always::<flatbuffers::WIPOffset<_>>(EvaluationTrace::VT_DEPENDENCIES, dependencies);
+  }
+  #[inline]
+  pub fn new(_fbb: &'b mut flatbuffers::FlatBufferBuilder<'a, A>) -> EvaluationTraceBuilder<'a, 'b, A> {
+    let start = _fbb.start_table();
+    EvaluationTraceBuilder {
+      fbb_: _fbb,
+      start_: start,
+    }
+  }
+  #[inline]
+  pub fn finish(self) -> flatbuffers::WIPOffset<EvaluationTrace<'a>> {
+    let o = self.fbb_.end_table(self.start_);
+    flatbuffers::WIPOffset::new(o.value())
+  }
+}
+
+impl core::fmt::Debug for EvaluationTrace<'_> {
+  fn fmt(&self, f: &mut core::fmt::Formatter<'_>) -> core::fmt::Result {
+    let mut ds = f.debug_struct("EvaluationTrace");
+      ds.field("known", &self.known());
+      ds.field("decode_nanos", &self.decode_nanos());
+      ds.field("evaluate_nanos", &self.evaluate_nanos());
+      ds.field("variant_nanos", &self.variant_nanos());
+      ds.field("strategies", &self.strategies());
+      ds.field("dependencies", &self.dependencies());
+      ds.finish()
+  }
+}
 #[inline]
 /// Verifies that a buffer of bytes contains a `VoidResponse`
 /// and returns it.
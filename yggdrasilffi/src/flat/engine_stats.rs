@@ -0,0 +1,282 @@
+use std::ops::{Deref, DerefMut};
+use std::sync::atomic::{AtomicBool, AtomicI64, AtomicU64, AtomicUsize, Ordering};
+use std::sync::{Mutex, MutexGuard, PoisonError, TryLockError};
+use std::time::Instant;
+
+// Bufs aren't tied to an engine, so they're counted for the whole process. Every thread counts into
+// a stripe of its own, so threads calling into different engines don't contend on one counter. A
+// Buf freed on another thread than the one it came from takes a stripe below zero, only the sum of
+// all of them means anything.
+const BUF_STRIPES: usize = 16;
+
+#[repr(align(64))]
+struct BufStripe {
+    bufs: AtomicI64,
+    bytes: AtomicI64,
+}
+
+#[allow(clippy::declare_interior_mutable_const)]
+const EMPTY_STRIPE: BufStripe = BufStripe {
+    bufs: AtomicI64::new(0),
+    bytes: AtomicI64::new(0),
+};
+static OUTSTANDING_BUFS: [BufStripe; BUF_STRIPES] = [EMPTY_STRIPE; BUF_STRIPES];
+static NEXT_STRIPE: AtomicUsize = AtomicUsize::new(0);
+
+thread_local! {
+    static BUF_STRIPE: usize = NEXT_STRIPE.fetch_add(1, Ordering::Relaxed) % BUF_STRIPES;
+}
+
+// A Buf freed while its thread is being torn down counts into the first stripe
+fn buf_stripe() -> &'static BufStripe {
+    &OUTSTANDING_BUFS[BUF_STRIPE.try_with(|stripe| *stripe).unwrap_or(0)]
+}
+
+// Empty Bufs don't own an allocation, so they aren't counted either way
+pub fn buf_allocated(bytes: usize) {
+    if bytes > 0 {
+        let stripe = buf_stripe();
+        stripe.bufs.fetch_add(1, Ordering::Relaxed);
+        stripe.bytes.fetch_add(bytes as i64, Ordering::Relaxed);
+    }
+}
+
+pub fn buf_freed(bytes: usize) {
+    if bytes > 0 {
+        let stripe = buf_stripe();
+        stripe.bufs.fetch_sub(1, Ordering::Relaxed);
+        stripe.bytes.fetch_sub(bytes as i64, Ordering::Relaxed);
+    }
+}
+
+fn outstanding_bufs() -> (u64, u64) {
+    let (bufs, bytes) = OUTSTANDING_BUFS.iter().fold((0i64, 0i64), |(bufs, bytes), stripe| {
+        (
+            bufs + stripe.bufs.load(Ordering::Relaxed),
+            bytes + stripe.bytes.load(Ordering::Relaxed),
+        )
+    });
+    (
+        u64::try_from(bufs).unwrap_or_default(),
+        u64::try_from(bytes).unwrap_or_default(),
+    )
+}
+
+/// How an engine is doing, kept next to its lock rather than behind it so asking doesn't have to
+/// wait for the engine. States taken are always described, evaluations and the engine lock are only
+/// counted and timed once calls are counted, since that's done on every call.
+#[derive(Default)]
+pub struct EngineStats {
+    calls_counted: AtomicBool,
+    evaluations: AtomicU64,
+    lock_acquisitions: AtomicU64,
+    contended_lock_acquisitions: AtomicU64,
+    lock_wait_nanos: AtomicU64,
+    lock_hold_nanos: AtomicU64,
+    take_states: AtomicU64,
+    take_state_nanos: AtomicU64,
+    features: AtomicU64,
+    segments: AtomicU64,
+    state_bytes: AtomicU64,
+}
+
+/// The stats of an engine at one point in time
+#[derive(Debug, Default, PartialEq, Eq)]
+pub struct EngineStatsSnapshot {
+    pub evaluations: u64,
+    pub lock_acquisitions: u64,
+    pub contended_lock_acquisitions: u64,
+    pub lock_wait_nanos: u64,
+    pub lock_hold_nanos: u64,
+    pub take_states: u64,
+    pub take_state_nanos: u64,
+    pub features: u64,
+    pub segments: u64,
+    pub state_bytes: u64,
+    pub outstanding_bufs: u64,
+    pub outstanding_buf_bytes: u64,
+}
+
+impl EngineStats {
+    /// Sets whether evaluations and the engine lock are counted and timed from now on
+    pub fn count_calls(&self, counted: bool) {
+        self.calls_counted.store(counted, Ordering::Relaxed);
+    }
+
+    /// Takes the lock. When calls are counted, this times how long that took if another call held
+    /// it, and how long it's held until the returned guard is dropped, which costs two reads of the
+    /// clock for an uncontended lock.
+    pub fn lock<'a, T>(&'a self, lock: &'a Mutex<T>) -> TimedGuard<'a, T> {
+        if !self.calls_counted.load(Ordering::Relaxed) {
+            return TimedGuard {
+                guard: lock.lock().unwrap_or_else(PoisonError::into_inner),
+                timed: None,
+            };
+        }
+        let guard = match lock.try_lock() {
+            Ok(guard) => guard,
+            Err(TryLockError::Poisoned(poisoned)) => poisoned.into_inner(),
+            Err(TryLockError::WouldBlock) => {
+                let waiting_since = Instant::now();
+                let guard = lock.lock().unwrap_or_else(PoisonError::into_inner);
+                self.contended_lock_acquisitions.fetch_add(1, Ordering::Relaxed);
+                add_nanos(&self.lock_wait_nanos, waiting_since);
+                guard
+            }
+        };
+        self.lock_acquisitions.fetch_add(1, Ordering::Relaxed);
+        TimedGuard {
+            guard,
+            timed: Some((self, Instant::now())),
+        }
+    }
+
+    pub fn count_evaluations(&self, count: u64) {
+        if self.calls_counted.load(Ordering::Relaxed) {
+            self.evaluations.fetch_add(count, Ordering::Relaxed);
+        }
+    }
+
+    /// Records a state taken since started, with what's in it
+    pub fn record_take_state(
+        &self,
+        started: Instant,
+        features: usize,
+        segments: usize,
+        state_bytes: u64,
+    ) {
+        self.features.store(features as u64, Ordering::Relaxed);
+        self.segments.store(segments as u64, Ordering::Relaxed);
+        self.state_bytes.store(state_bytes, Ordering::Relaxed);
+        self.take_states.fetch_add(1, Ordering::Relaxed);
+        add_nanos(&self.take_state_nanos, started);
+    }
+
+    pub fn snapshot(&self) -> EngineStatsSnapshot {
+        let (outstanding_bufs, outstanding_buf_bytes) = outstanding_bufs();
+        EngineStatsSnapshot {
+            evaluations: self.evaluations.load(Ordering::Relaxed),
+            lock_acquisitions: self.lock_acquisitions.load(Ordering::Relaxed),
+            contended_lock_acquisitions: self.contended_lock_acquisitions.load(Ordering::Relaxed),
+            lock_wait_nanos: self.lock_wait_nanos.load(Ordering::Relaxed),
+            lock_hold_nanos: self.lock_hold_nanos.load(Ordering::Relaxed),
+            take_states: self.take_states.load(Ordering::Relaxed),
+            take_state_nanos: self.take_state_nanos.load(Ordering::Relaxed),
+            features: self.features.load(Ordering::Relaxed),
+            segments: self.segments.load(Ordering::Relaxed),
+            state_bytes: self.state_bytes.load(Ordering::Relaxed),
+            outstanding_bufs,
+            outstanding_buf_bytes,
+        }
+    }
+}
+
+fn add_nanos(counter: &AtomicU64, since: Instant) {
+    let nanos = u64::try_from(since.elapsed().as_nanos()).unwrap_or(u64::MAX);
+    counter.fetch_add(nanos, Ordering::Relaxed);
+}
+
+/// A held engine lock that adds how long it was held to the engine's stats when dropped, if calls
+/// were counted when it was taken
+pub struct TimedGuard<'a, T> {
+    guard: MutexGuard<'a, T>,
+    timed: Option<(&'a EngineStats, Instant)>,
+}
+
+impl<T> Deref for TimedGuard<'_, T> {
+    type Target = T;
+
+    fn deref(&self) -> &T {
+        &self.guard
+    }
+}
+
+impl<T> DerefMut for TimedGuard<'_, T> {
+    fn deref_mut(&mut self) -> &mut T {
+        &mut self.guard
+    }
+}
+
+impl<T> Drop for TimedGuard<'_, T> {
+    fn drop(&mut self) {
+        if let Some((stats, locked_at)) = self.timed {
+            add_nanos(&stats.lock_hold_nanos, locked_at);
+        }
+    }
+}
+
+#[cfg(test)]
+mod tests {
+    use super::*;
+
+    #[test]
+    fn calls_are_only_counted_when_asked_for() {
+        let stats = EngineStats::default();
+        let lock = Mutex::new(());
+        drop(stats.lock(&lock));
+        stats.count_evaluations(1);
+        let snapshot = stats.snapshot();
+
+        assert_eq!(snapshot.lock_acquisitions, 0);
+        assert_eq!(snapshot.evaluations, 0);
+    }
+
+    #[test]
+    fn locking_is_counted_and_timed() {
+        let stats = EngineStats::default();
+        stats.count_calls(true);
+        let lock = Mutex::new(0);
+        {
+            let mut guard = stats.lock(&lock);
+            *guard += 1;
+            std::thread::sleep(std::time::Duration::from_millis(2));
+        }
+        let snapshot = stats.snapshot();
+
+        assert_eq!(*lock.lock().unwrap(), 1);
+        assert_eq!(snapshot.lock_acquisitions, 1);
+        assert_eq!(snapshot.contended_lock_acquisitions, 0);
+        assert!(snapshot.lock_hold_nanos >= 2_000_000);
+    }
+
+    #[test]
+    fn waiting_for_the_lock_is_timed() {
+        let stats = EngineStats::default();
+        stats.count_calls(true);
+        let lock = Mutex::new(());
+        std::thread::scope(|scope| {
+            let held = lock.lock().unwrap();
+            let waiter = scope.spawn(|| drop(stats.lock(&lock)));
+            std::thread::sleep(std::time::Duration::from_millis(20));
+            drop(held);
+            waiter.join().unwrap();
+        });
+        let snapshot = stats.snapshot();
+
+        assert_eq!(snapshot.contended_lock_acquisitions, 1);
+        assert!(snapshot.lock_wait_nanos > 0);
+    }
+
+    #[test]
+    fn the_last_state_taken_is_described() {
+        let stats = EngineStats::default();
+        stats.record_take_state(Instant::now(), 2, 1, 512);
+        stats.record_take_state(Instant::now(), 3, 0, 640);
+        let snapshot = stats.snapshot();
+
+        assert_eq!(snapshot.take_states, 2);
+        assert_eq!(snapshot.features, 3);
+        assert_eq!(snapshot.segments, 0);
+        assert_eq!(snapshot.state_bytes, 640);
+    }
+
+    #[test]
+    fn bufs_freed_on_another_thread_are_no_longer_outstanding() {
+        // Other tests allocate Bufs too, so only what this one adds is looked at
+        let bytes = 1 << 40;
+        buf_allocated(bytes);
+        std::thread::spawn(move || buf_freed(bytes)).join().unwrap();
+
+        assert!(outstanding_bufs().1 < bytes as u64);
+    }
+}
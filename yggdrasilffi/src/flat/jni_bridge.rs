@@ -1,5 +1,5 @@
 use jni::objects::{JByteBuffer, JClass, JString};
-use jni::sys::{jlong, jobject, jstring};
+use jni::sys::{jboolean, jlong, jobject, jstring};
 use jni::JNIEnv;
 
 use crate::flat::serialisation::Buf;
@@ -15,10 +15,18 @@ extern "C" {
 
     fn flat_take_state(engine_ptr: *mut c_void, toggles_ptr: *const c_char) -> Buf;
     fn flat_check_enabled(engine_ptr: *mut c_void, msg_ptr: u64, msg_len: u64) -> Buf;
+    fn flat_check_enabled_bulk(engine_ptr: *mut c_void, msg_ptr: u64, msg_len: u64) -> Buf;
     fn flat_check_variant(engine_ptr: *mut c_void, msg_ptr: u64, msg_len: u64) -> Buf;
     fn flat_list_known_toggles(engine_ptr: *mut c_void) -> Buf;
     fn flat_built_in_strategies() -> Buf;
     fn flat_get_metrics(engine_ptr: *mut c_void) -> Buf;
+    fn flat_engine_stats(engine_ptr: *mut c_void) -> Buf;
+    fn flat_set_strategy_constraints(engine_ptr: *mut c_void, included: bool);
+    fn flat_set_count_evaluations(engine_ptr: *mut c_void, counted: bool);
+    fn flat_set_call_stats(engine_ptr: *mut c_void, counted: bool);
+    fn flat_save_snapshot(engine_ptr: *mut c_void) -> Buf;
+    fn flat_get_state_json(engine_ptr: *mut c_void) -> Buf;
+    fn flat_load_snapshot(engine_ptr: *mut c_void, snapshot_ptr: u64, snapshot_len: u64) -> Buf;
     fn flat_buf_free(buf: Buf);
 
     // Optional; if you don’t have it, we’ll fall back to Cargo version
@@ -141,6 +149,29 @@ unsafe extern "system" fn Java_io_getunleash_engine_NativeBridge_flatCheckEnable
     res.unwrap_or(std::ptr::null_mut())
 }
 
+#[no_mangle]
+unsafe extern "system" fn Java_io_getunleash_engine_NativeBridge_flatCheckEnabledBulk(
+    mut env: JNIEnv,
+    _cls: JClass,
+    engine_ptr: jlong,
+    msg: JByteBuffer,
+    len: jlong,
+) -> jobject {
+    let res = jni_guard(&mut env, |env| {
+        let addr = env
+            .get_direct_buffer_address(&msg)
+            .map_err(|e| format!("get_direct_buffer_address: {e}"))?;
+        if len < 0 {
+            return Err("negative length".into());
+        }
+
+        let b =
+            unsafe { flat_check_enabled_bulk(engine_ptr as *mut c_void, addr as u64, len as u64) };
+        Ok(wrap_buf(env, b))
+    });
+    res.unwrap_or(std::ptr::null_mut())
+}
+
 #[no_mangle]
 unsafe extern "system" fn Java_io_getunleash_engine_NativeBridge_flatCheckVariant(
     mut env: JNIEnv,
@@ -202,6 +233,110 @@ unsafe extern "system" fn Java_io_getunleash_engine_NativeBridge_flatGetMetrics(
     res.unwrap_or(std::ptr::null_mut())
 }
 
+#[no_mangle]
+unsafe extern "system" fn Java_io_getunleash_engine_NativeBridge_flatEngineStats(
+    mut env: JNIEnv,
+    _cls: JClass,
+    engine_ptr: jlong,
+) -> jobject {
+    let res = jni_guard(&mut env, |env| {
+        let b = unsafe { flat_engine_stats(engine_ptr as *mut c_void) };
+        Ok(wrap_buf(env, b))
+    });
+    res.unwrap_or(std::ptr::null_mut())
+}
+
+#[no_mangle]
+unsafe extern "system" fn Java_io_getunleash_engine_NativeBridge_flatSetStrategyConstraints(
+    _env: JNIEnv,
+    _cls: JClass,
+    engine_ptr: jlong,
+    included: jboolean,
+) {
+    if engine_ptr != 0 {
+        unsafe { flat_set_strategy_constraints(engine_ptr as *mut c_void, included != 0) }
+    }
+}
+
+#[no_mangle]
+unsafe extern "system" fn Java_io_getunleash_engine_NativeBridge_flatSetCountEvaluations(
+    _env: JNIEnv,
+    _cls: JClass,
+    engine_ptr: jlong,
+    counted: jboolean,
+) {
+    if engine_ptr != 0 {
+        unsafe { flat_set_count_evaluations(engine_ptr as *mut c_void, counted != 0) }
+    }
+}
+
+#[no_mangle]
+unsafe extern "system" fn Java_io_getunleash_engine_NativeBridge_flatSetCallStats(
+    _env: JNIEnv,
+    _cls: JClass,
+    engine_ptr: jlong,
+    counted: jboolean,
+) {
+    if engine_ptr != 0 {
+        unsafe { flat_set_call_stats(engine_ptr as *mut c_void, counted != 0) }
+    }
+}
+
+// Snapshots  ------------------------------------------------------------------
+#[no_mangle]
+unsafe extern "system" fn Java_io_getunleash_engine_NativeBridge_flatSaveSnapshot(
+    mut env: JNIEnv,
+    _cls: JClass,
+    engine_ptr: jlong,
+) -> jobject {
+    let res = jni_guard(&mut env, |env| {
+        let b = unsafe { flat_save_snapshot(engine_ptr as *mut c_void) };
+        if b.len == 0 {
+            return Err("could not snapshot engine state".into());
+        }
+        Ok(wrap_buf(env, b))
+    });
+    res.unwrap_or(std::ptr::null_mut())
+}
+
+#[no_mangle]
+unsafe extern "system" fn Java_io_getunleash_engine_NativeBridge_flatLoadSnapshot(
+    mut env: JNIEnv,
+    _cls: JClass,
+    engine_ptr: jlong,
+    snapshot: JByteBuffer,
+    len: jlong,
+) -> jobject {
+    let res = jni_guard(&mut env, |env| {
+        let addr = env
+            .get_direct_buffer_address(&snapshot)
+            .map_err(|e| format!("get_direct_buffer_address: {e}"))?;
+        if len < 0 {
+            return Err("negative length".into());
+        }
+
+        let b = unsafe { flat_load_snapshot(engine_ptr as *mut c_void, addr as u64, len as u64) };
+        Ok(wrap_buf(env, b))
+    });
+    res.unwrap_or(std::ptr::null_mut())
+}
+
+#[no_mangle]
+unsafe extern "system" fn Java_io_getunleash_engine_NativeBridge_flatGetStateJson(
+    mut env: JNIEnv,
+    _cls: JClass,
+    engine_ptr: jlong,
+) -> jobject {
+    let res = jni_guard(&mut env, |env| {
+        let b = unsafe { flat_get_state_json(engine_ptr as *mut c_void) };
+        if b.len == 0 {
+            return Err("could not serialise engine state".into());
+        }
+        Ok(wrap_buf(env, b))
+    });
+    res.unwrap_or(std::ptr::null_mut())
+}
+
 #[no_mangle]
 unsafe extern "system" fn Java_io_getunleash_engine_NativeBridge_flatGetState(
     mut env: JNIEnv,
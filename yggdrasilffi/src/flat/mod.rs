@@ -11,31 +11,59 @@ use std::borrow::Cow;
 use std::ffi::{c_char, c_void};
 use unleash_yggdrasil::impact_metrics::{BucketMetricOptions, MetricLabels, MetricOptions};
 
+use crate::flat::bulk::BulkContexts;
+use crate::flat::classify::FeatureClass;
+use crate::flat::context_usage::ContextUsage;
 use crate::flat::messaging::yggdrasil::messaging::{
     CollectMetricsResponse, DefineCounter, DefineGauge, DefineHistogram, IncCounter,
     ObserveHistogram, SetGauge, VoidResponse,
 };
-use crate::flat::serialisation::{Buf, MetricMeasurement, TakeStateResult};
-use crate::{get_json, ManagedEngine, RawPointerDataType};
+use crate::flat::serialisation::{
+    Buf, IndexedVariantDef, KnownToggle, MetricMeasurement, ParsedStrategies, ParsedStrategy,
+    TakeStateResult,
+};
+use crate::flat::state_diff::{FeatureDigests, StateDiff};
+use crate::flat::trace::TracedEvaluation;
+use crate::flat::variant_index::IndexedVariants;
+use crate::{get_json, EngineCell, ManagedEngine, ManagedState, RawPointerDataType};
 use chrono::Utc;
 use messaging::yggdrasil::messaging::{
-    BuiltInStrategies, ContextMessage, FeatureDefs, MetricsResponse, Response, TakeStateResponse,
-    Variant,
+    BuiltInStrategies, BulkContextMessage, BulkResponse, ContextMessage, EngineStatsResponse,
+    FeatureDefs, MetricsResponse, Response, TakeStateResponse, Variant,
 };
 use serialisation::{FlatError, FlatMessage, ResponseMessage};
 use std::collections::{BTreeMap, HashMap};
 use std::mem::forget;
 use std::panic;
 use std::panic::AssertUnwindSafe;
-use std::sync::{Arc, Mutex, MutexGuard};
+use std::sync::atomic::Ordering;
+use std::sync::{Arc, PoisonError, RwLockReadGuard};
+use std::time::{Duration, Instant};
+use unleash_types::client_features::{ClientFeatures, Constraint, Strategy};
 use unleash_types::client_metrics::MetricBucket;
 use unleash_yggdrasil::state::{
     EnrichedContext, ExternalResultsCow, ExternalResultsRef, PropertiesCow, PropertiesRef,
 };
-use unleash_yggdrasil::{ExtendedVariantDef, ToggleDefinition, UpdateMessage, KNOWN_STRATEGIES};
+use unleash_yggdrasil::{ToggleDefinition, UpdateMessage, KNOWN_STRATEGIES};
 
+mod bulk;
+mod classify;
+mod context_usage;
+mod engine_stats;
 mod jni_bridge;
+mod property_keys;
 mod serialisation;
+mod snapshot;
+mod state_diff;
+mod trace;
+mod typed_values;
+mod variant_index;
+pub(crate) use engine_stats::EngineStats;
+use engine_stats::{EngineStatsSnapshot, TimedGuard};
+pub(crate) use property_keys::PropertyKeys;
+pub(crate) use state_diff::StateDigest;
+pub(crate) use trace::TraceIndex;
+pub(crate) use variant_index::VariantIndex;
 #[allow(
     clippy::unwrap_used,
     clippy::expect_used,
@@ -49,6 +77,19 @@ mod messaging {
     #![allow(warnings)]
     include!("enabled-message_generated.rs");
 }
+#[allow(
+    clippy::unwrap_used,
+    clippy::expect_used,
+    clippy::panic,
+    clippy::todo,
+    clippy::unimplemented
+)]
+mod snapshot_messaging {
+    #![allow(dead_code)]
+    #![allow(non_snake_case)]
+    #![allow(warnings)]
+    include!("state-snapshot_generated.rs");
+}
 
 impl From<serde_json::Error> for FlatError {
     fn from(e: serde_json::Error) -> Self {
@@ -78,8 +119,16 @@ unsafe fn get_engine(engine_ptr: *mut c_void) -> Result<ManagedEngine, FlatError
     Ok(cloned_arc)
 }
 
-fn recover_lock<T>(lock: &Mutex<T>) -> MutexGuard<'_, T> {
-    lock.lock().unwrap_or_else(|poisoned| poisoned.into_inner())
+// Every call into the engine goes through here, which is what times the lock for the stats
+fn lock_engine(cell: &EngineCell) -> TimedGuard<'_, ManagedState> {
+    cell.stats.lock(&cell.state)
+}
+
+// Names are only ever added to the dictionary, so one left behind by a panic is still good to read
+fn read_property_keys(cell: &EngineCell) -> RwLockReadGuard<'_, PropertyKeys> {
+    cell.property_keys
+        .read()
+        .unwrap_or_else(PoisonError::into_inner)
 }
 
 #[no_mangle]
@@ -87,6 +136,7 @@ pub extern "C" fn flat_buf_free(buf: Buf) {
     if buf.ptr.is_null() {
         return;
     }
+    engine_stats::buf_freed(buf.cap);
     unsafe { drop(Vec::from_raw_parts(buf.ptr, buf.len, buf.cap)) }
 }
 
@@ -95,65 +145,321 @@ pub extern "C" fn flat_buf_free(buf: Buf) {
 ///
 /// Should only be called from the thread that created the engine, to ensure the engine pointer is valid
 /// The return value should also be freed using flat_buf_free
-pub unsafe fn flat_take_state(engine_pointer: *mut c_void, toggles_pointer: *const c_char) -> Buf {
+pub unsafe extern "C" fn flat_take_state(
+    engine_pointer: *mut c_void,
+    toggles_pointer: *const c_char,
+) -> Buf {
     let result = guard_result::<TakeStateResult, _>(|| {
-        let guard = get_engine(engine_pointer)?;
-        let mut engine = recover_lock(&guard);
         let toggles: UpdateMessage = get_json(toggles_pointer)
             .map_err(|_| FlatError::InvalidState("Your features does not parse".to_string()))?;
-        let res = engine.take_state(toggles);
-        let feature_strategies_map = engine
-            .get_state()
-            .features
-            .iter()
-            .map(|feature| {
-                let name = feature.name.clone();
-                let strategies = feature
-                    .strategies
-                    .clone()
-                    .unwrap_or_default()
-                    .into_iter()
-                    .map(|strategy| {
-                        let params: BTreeMap<String, String> = strategy
-                            .parameters
-                            .clone()
-                            .unwrap_or_default()
-                            .into_iter()
-                            .collect();
-                        (strategy.name.clone(), params)
-                    })
-                    .collect::<Vec<_>>();
-                (name, strategies)
-            })
-            .collect::<BTreeMap<_, _>>();
-        if let Some(warnings) = res {
-            Ok(Some(TakeStateResult {
-                warnings,
-                error: None,
-                feature_strategies_map,
-            }))
-        } else {
-            Ok(Some(TakeStateResult {
-                warnings: vec![],
-                error: None,
-                feature_strategies_map,
-            }))
+        let guard = get_engine(engine_pointer)?;
+        Ok(Some(take_state_result(&guard, toggles)))
+    });
+    TakeStateResponse::build_response(result)
+}
+
+// Takes the state. What the flat API keeps next to the engine is worked out from the state alone,
+// so for a full state that happens before the engine lock is taken and evaluations are only held up
+// while it's swapped in. A delta only says what the state is once the engine has applied it, so
+// for those it's worked out under the lock. Property keys are added once the engine lock has been
+// let go of, since evaluations hold on to the dictionary while they wait for it.
+fn take_state_result(cell: &EngineCell, update: UpdateMessage) -> TakeStateResult {
+    let started = Instant::now();
+    let (warnings, prepared, (state_diff, referenced_keys, variant_generation)) = match update {
+        UpdateMessage::FullResponse(state) => {
+            let (prepared, indexes) = prepare_state(&state);
+            let mut engine = lock_engine(cell);
+            let warnings = engine.take_state(UpdateMessage::FullResponse(state));
+            (warnings, prepared, indexes.swap_in(&mut engine))
+        }
+        delta => {
+            let mut engine = lock_engine(cell);
+            let warnings = engine.take_state(delta);
+            let (prepared, indexes) = prepare_state(&engine.get_state());
+            (warnings, prepared, indexes.swap_in(&mut engine))
         }
+    };
+    let property_keys = {
+        let mut keys = cell
+            .property_keys
+            .write()
+            .unwrap_or_else(PoisonError::into_inner);
+        keys.add_all(&referenced_keys);
+        keys.names().to_vec()
+    };
+    cell.stats.record_take_state(
+        started,
+        prepared.features,
+        prepared.segments.len(),
+        prepared.state_bytes,
+    );
+    TakeStateResult {
+        warnings: warnings.unwrap_or_default(),
+        error: None,
+        feature_strategies_map: prepared.feature_strategies_map,
+        segments: prepared.segments,
+        strategy_constraints: cell.strategy_constraints.load(Ordering::Relaxed),
+        feature_classes: prepared.feature_classes,
+        property_keys,
+        context_usage: prepared.context_usage,
+        variant_generation,
+        variants: prepared.variants,
+        known_toggles: prepared.known_toggles,
+        state_diff,
+    }
+}
+
+// What a take state response says about a state, worked out from the state alone
+struct PreparedState {
+    features: usize,
+    state_bytes: u64,
+    segments: HashMap<i32, Vec<Constraint>>,
+    feature_strategies_map: ParsedStrategies,
+    feature_classes: BTreeMap<String, FeatureClass>,
+    context_usage: BTreeMap<String, ContextUsage>,
+    known_toggles: HashMap<String, KnownToggle>,
+    variants: IndexedVariants,
+}
+
+// What the flat API keeps next to the engine for a state, worked out from the state alone and
+// moved into the engine once it has taken the state
+struct PreparedIndexes {
+    referenced_keys: Vec<String>,
+    variants: IndexedVariants,
+    traces: TraceIndex,
+    digests: FeatureDigests,
+}
+
+impl PreparedIndexes {
+    // Returns the diff against the last state, the property keys the state refers to and the
+    // generation of the variant index
+    fn swap_in(self, engine: &mut ManagedState) -> (StateDiff, Vec<String>, u64) {
+        engine.variants.replace(self.variants);
+        engine.traces = self.traces;
+        let state_diff = engine.state_digest.update(self.digests);
+        (
+            state_diff,
+            self.referenced_keys,
+            engine.variants.generation(),
+        )
+    }
+}
+
+fn prepare_state(state: &ClientFeatures) -> (PreparedState, PreparedIndexes) {
+    let segments: HashMap<i32, Vec<Constraint>> = state
+        .segments
+        .as_deref()
+        .unwrap_or_default()
+        .iter()
+        .map(|segment| (segment.id, segment.constraints.clone()))
+        .collect();
+    let feature_strategies_map = state
+        .features
+        .iter()
+        .map(|feature| {
+            let name = feature.name.clone();
+            let strategies = feature
+                .strategies
+                .as_deref()
+                .unwrap_or_default()
+                .iter()
+                .map(|strategy| parsed_strategy(strategy, &segments))
+                .collect::<Vec<_>>();
+            (name, strategies)
+        })
+        .collect::<BTreeMap<_, _>>();
+    let feature_classes = state
+        .features
+        .iter()
+        .map(|feature| (feature.name.clone(), classify::classify(feature)))
+        .collect();
+    // Like the compiled toggles, a feature without a project is in the default one
+    let known_toggles = state
+        .features
+        .iter()
+        .map(|feature| {
+            let toggle = KnownToggle {
+                project: feature.project.as_deref().unwrap_or("default").to_string(),
+                feature_type: feature.feature_type.clone(),
+            };
+            (feature.name.clone(), toggle)
+        })
+        .collect();
+    let variants = VariantIndex::index(state);
+    let digests = FeatureDigests::of(state);
+    let indexes = PreparedIndexes {
+        referenced_keys: property_keys::referenced(&feature_strategies_map, &segments),
+        variants: variants.clone(),
+        traces: TraceIndex::build(state, &feature_strategies_map, &segments),
+        digests,
+    };
+    let prepared = PreparedState {
+        features: state.features.len(),
+        state_bytes: indexes.digests.state_bytes(),
+        segments,
+        feature_strategies_map,
+        feature_classes,
+        context_usage: context_usage::context_usage(state),
+        known_toggles,
+        variants,
+    };
+    (prepared, indexes)
+}
+
+// Segments are resolved here, a segment is just a named set of constraints that all have to pass
+// next to the strategy's own. Strategies only refer to them, the constraints of a segment are
+// serialised once however many strategies use it.
+fn parsed_strategy(
+    strategy: &Strategy,
+    segments: &HashMap<i32, Vec<Constraint>>,
+) -> ParsedStrategy {
+    let (known, missing): (Vec<i32>, Vec<i32>) = strategy
+        .segments
+        .as_deref()
+        .unwrap_or_default()
+        .iter()
+        .copied()
+        .partition(|id| segments.contains_key(id));
+    ParsedStrategy {
+        name: strategy.name.clone(),
+        parameters: strategy
+            .parameters
+            .clone()
+            .unwrap_or_default()
+            .into_iter()
+            .collect(),
+        constraints: strategy.constraints.clone().unwrap_or_default(),
+        segments: known,
+        missing_segments: !missing.is_empty(),
+    }
+}
+
+/// Serialises the engine's current state into a binary snapshot, see state-snapshot.fbs.
+/// Returns an empty Buf if the engine could not be read.
+///
+/// # Safety
+///
+/// passing an invalid engine_ptr will cause UB
+/// the returned Buf should be freed by calling flat_buf_free, otherwise you're leaking memory
+#[no_mangle]
+pub unsafe extern "C" fn flat_save_snapshot(engine_ptr: *mut c_void) -> Buf {
+    let result = guard_result::<Vec<u8>, _>(|| {
+        let guard = get_engine(engine_ptr)?;
+        let state = lock_engine(&guard).get_state();
+        Ok(Some(snapshot::write_snapshot(&state)))
+    });
+    match result {
+        Ok(Some(bytes)) => Buf::from_vec(bytes),
+        _ => Buf::empty(),
+    }
+}
+
+/// Serialises the engine's current state to UTF-8 JSON, the ClientFeatures that take state accepts
+/// without the response around it that get_state adds. Returns an empty Buf if the engine could not
+/// be read.
+///
+/// # Safety
+///
+/// passing an invalid engine_ptr will cause UB
+/// the returned Buf should be freed by calling flat_buf_free, otherwise you're leaking memory
+#[no_mangle]
+pub unsafe extern "C" fn flat_get_state_json(engine_ptr: *mut c_void) -> Buf {
+    let result = guard_result::<Vec<u8>, _>(|| {
+        let guard = get_engine(engine_ptr)?;
+        let state = lock_engine(&guard).get_state();
+        serde_json::to_vec(&state)
+            .map(Some)
+            .map_err(|e| FlatError::InvalidState(e.to_string()))
+    });
+    match result {
+        Ok(Some(bytes)) => Buf::from_vec(bytes),
+        _ => Buf::empty(),
+    }
+}
+
+/// Replaces the engine's state with a snapshot previously produced by flat_save_snapshot.
+/// The snapshot is read in place, so the caller can hand over a memory mapped file.
+///
+/// # Safety
+///
+/// passing an invalid engine_ptr, snapshot_ptr or snapshot_len will cause UB
+/// the returned Buf should be freed by calling flat_buf_free, otherwise you're leaking memory
+#[no_mangle]
+pub unsafe extern "C" fn flat_load_snapshot(
+    engine_ptr: *mut c_void,
+    snapshot_ptr: u64,
+    snapshot_len: u64,
+) -> Buf {
+    let result = guard_result::<TakeStateResult, _>(|| {
+        let bytes =
+            unsafe { std::slice::from_raw_parts(snapshot_ptr as *const u8, snapshot_len as usize) };
+        let state = snapshot::read_snapshot(bytes)?;
+
+        let guard = get_engine(engine_ptr)?;
+        Ok(Some(take_state_result(&guard, UpdateMessage::FullResponse(state))))
     });
     TakeStateResponse::build_response(result)
 }
 
-fn extract_context_properties<'a>(buffer: &ContextMessage<'a>) -> Option<PropertiesCow<'a>> {
-    let props_buffer = buffer.properties()?;
-    let mut properties = PropertiesCow::with_capacity(props_buffer.len());
+// A context trimmed down to what a toggle reads in one state may lack what it reads in the next, so
+// it's only evaluated by the state it was trimmed for
+fn check_usage_generation(usage_generation: u64, engine: &ManagedState) -> Result<(), FlatError> {
+    if usage_generation != 0 && usage_generation != engine.state_digest.generation() {
+        return Err(FlatError::StaleContext);
+    }
+    Ok(())
+}
 
-    for p in props_buffer.iter() {
+fn extract_context_properties<'a>(
+    buffer: &ContextMessage<'a>,
+    property_keys: &'a PropertyKeys,
+) -> Result<Option<PropertiesCow<'a>>, FlatError> {
+    let named = buffer.properties();
+    let key_ids = buffer.property_key_ids();
+    let typed = buffer.typed_properties();
+    if named.is_none() && key_ids.is_none() && typed.is_none() {
+        return Ok(None);
+    }
+    let key_ids_len = key_ids.map_or(0, |ids| ids.len());
+    let mut properties = PropertiesCow::with_capacity(
+        named.map_or(0, |named| named.len()) + key_ids_len + typed.map_or(0, |typed| typed.len()),
+    );
+
+    for p in named.into_iter().flatten() {
         if let Some(v) = p.value() {
             properties.insert(Cow::Borrowed(p.key()), Cow::Borrowed(v));
         }
     }
 
-    Some(properties)
+    if let Some(key_ids) = key_ids {
+        let values = buffer
+            .property_key_values()
+            .filter(|values| values.len() == key_ids_len)
+            .ok_or_else(|| {
+                FlatError::InvalidContext(
+                    "property_key_values doesn't match property_key_ids".into(),
+                )
+            })?;
+        for (id, value) in key_ids.iter().zip(values.iter()) {
+            let key = property_keys.name(id).ok_or_else(|| {
+                FlatError::InvalidContext(format!("unknown property key id {id}"))
+            })?;
+            properties.insert(Cow::Borrowed(key), Cow::Borrowed(value));
+        }
+    }
+
+    // Typed values go last, so they replace string values of the same name
+    for entry in typed.into_iter().flatten() {
+        let key = entry
+            .key()
+            .ok_or_else(|| FlatError::InvalidContext("typed property without a name".into()))?;
+        properties.insert(
+            Cow::Borrowed(key),
+            Cow::Owned(typed_values::property_value(&entry)?),
+        );
+    }
+
+    Ok(Some(properties))
 }
 
 fn extract_external_results<'a>(buffer: &ContextMessage<'a>) -> Option<ExternalResultsCow<'a>> {
@@ -183,37 +489,96 @@ pub unsafe extern "C" fn flat_check_enabled(
         let ctx =
             root::<ContextMessage>(bytes).map_err(|e| FlatError::InvalidContext(e.to_string()))?;
 
-        let properties = extract_context_properties(&ctx);
+        let lock = get_engine(engine_ptr)?;
+        // Only evaluations that asked for a trace read the clock
+        let started = ctx.trace().then(Instant::now);
+        let property_keys = read_property_keys(&lock);
+        let properties = extract_context_properties(&ctx, &property_keys)?;
         let external_results = extract_external_results(&ctx);
 
+        let current_time = typed_values::current_time(&ctx)?;
+
         let context = EnrichedContext {
             toggle_name: ctx.toggle_name().ok_or(FlatError::MissingFlagName)?,
             user_id: ctx.user_id(),
             session_id: ctx.session_id(),
             environment: ctx.environment(),
             app_name: ctx.app_name(),
-            current_time: ctx.current_time(),
+            current_time: current_time.as_deref(),
             remote_address: ctx.remote_address(),
             properties: properties.as_ref().map(PropertiesRef::Cows),
             external_results: external_results.as_ref().map(ExternalResultsRef::Cows),
             runtime_hostname: ctx.runtime_hostname(),
         };
+        let decoded = started.map(|_| Instant::now());
 
-        let lock = get_engine(engine_ptr)?;
-        let engine = recover_lock(&lock);
-
+        let engine = lock_engine(&lock);
+        check_usage_generation(ctx.usage_generation(), &engine)?;
+        lock.stats.count_evaluations(1);
+        // Traces leave waiting for the lock out of both decoding and evaluating
+        let locked = decoded.map(|_| Instant::now());
         let enabled = engine.check_enabled(&context);
+        let trace = match (started, decoded, locked) {
+            (Some(started), Some(decoded), Some(locked)) => Some(TracedEvaluation {
+                evaluate: locked.elapsed(),
+                decode: decoded - started,
+                variant: Duration::ZERO,
+                toggle: engine.traces.outline(context.toggle_name),
+            }),
+            _ => None,
+        };
         let impression_data = engine.should_emit_impression_event(context.toggle_name);
-        engine.count_toggle(context.toggle_name, enabled.unwrap_or(false));
+        if !lock.skip_metrics.load(Ordering::Relaxed) {
+            engine.count_toggle(context.toggle_name, enabled.unwrap_or(false));
+        }
 
         Ok(Some(ResponseMessage {
             message: enabled,
             impression_data,
+            trace,
         }))
     });
 
     Response::build_response(enabled)
 }
+
+#[no_mangle]
+/// Evaluates one toggle for every context in a BulkContextMessage. Unlike flat_check_enabled this
+/// doesn't count the evaluations, callers count the whole batch themselves.
+///
+/// # Safety
+///
+/// passing an invalid engine_ptr, message_ptr or message_len will cause UB
+/// the returned Buf should be freed by calling flat_buf_free, otherwise you're leaking memory
+pub unsafe extern "C" fn flat_check_enabled_bulk(
+    engine_ptr: *mut c_void,
+    message_ptr: u64,
+    message_len: u64,
+) -> Buf {
+    let enabled = guard_result::<ResponseMessage<Vec<u64>>, _>(|| {
+        let bytes =
+            unsafe { std::slice::from_raw_parts(message_ptr as *const u8, message_len as usize) };
+        let message = root::<BulkContextMessage>(bytes)
+            .map_err(|e| FlatError::InvalidContext(e.to_string()))?;
+        let contexts = BulkContexts::read(message)?;
+
+        let lock = get_engine(engine_ptr)?;
+        let engine = lock_engine(&lock);
+        check_usage_generation(message.usage_generation(), &engine)?;
+        lock.stats.count_evaluations(u64::from(message.count()));
+
+        let enabled = contexts.check_enabled(&engine, message.parallelism() as usize)?;
+        let impression_data = engine.should_emit_impression_event(contexts.toggle_name);
+
+        Ok(Some(ResponseMessage {
+            message: enabled,
+            impression_data,
+            trace: None,
+        }))
+    });
+
+    BulkResponse::build_response(enabled)
+}
 /// Evaluates the variant for the requested feature toggle contained in the ContextMessage
 ///
 /// # Safety
@@ -226,41 +591,79 @@ pub unsafe extern "C" fn flat_check_variant(
     message_ptr: u64,
     message_len: u64,
 ) -> Buf {
-    let variant = guard_result::<ResponseMessage<ExtendedVariantDef>, _>(|| {
+    let variant = guard_result::<ResponseMessage<IndexedVariantDef>, _>(|| {
         let bytes =
             unsafe { std::slice::from_raw_parts(message_ptr as *const u8, message_len as usize) };
         let ctx =
             root::<ContextMessage>(bytes).map_err(|e| FlatError::InvalidContext(e.to_string()))?;
 
-        let properties = extract_context_properties(&ctx);
+        let lock = get_engine(engine_ptr)?;
+        // Only evaluations that asked for a trace read the clock
+        let started = ctx.trace().then(Instant::now);
+        let property_keys = read_property_keys(&lock);
+        let properties = extract_context_properties(&ctx, &property_keys)?;
         let external_results = extract_external_results(&ctx);
 
+        let current_time = typed_values::current_time(&ctx)?;
+
         let context = EnrichedContext {
             toggle_name: ctx.toggle_name().ok_or(FlatError::MissingFlagName)?,
             user_id: ctx.user_id(),
             session_id: ctx.session_id(),
             environment: ctx.environment(),
             app_name: ctx.app_name(),
-            current_time: ctx.current_time(),
+            current_time: current_time.as_deref(),
             remote_address: ctx.remote_address(),
             properties: properties.as_ref().map(PropertiesRef::Cows),
             external_results: external_results.as_ref().map(ExternalResultsRef::Cows),
             runtime_hostname: ctx.runtime_hostname(),
         };
+        let decoded = started.map(|_| Instant::now());
 
-        let lock = get_engine(engine_ptr)?;
-        let engine = recover_lock(&lock);
+        let engine = lock_engine(&lock);
+        check_usage_generation(ctx.usage_generation(), &engine)?;
+        lock.stats.count_evaluations(1);
+        // Traces leave waiting for the lock out of both decoding and evaluating
+        let locked = decoded.map(|_| Instant::now());
         let base_variant = engine.check_variant(&context);
+        let resolved = locked.map(|_| Instant::now());
         let toggle_enabled = engine.check_enabled(&context).unwrap_or_default();
+        let trace = match (started, decoded, locked, resolved) {
+            (Some(started), Some(decoded), Some(locked), Some(resolved)) => Some(TracedEvaluation {
+                evaluate: resolved.elapsed(),
+                decode: decoded - started,
+                variant: resolved - locked,
+                toggle: engine.traces.outline(context.toggle_name),
+            }),
+            _ => None,
+        };
         let impression_data = engine.should_emit_impression_event(context.toggle_name);
-        engine.count_toggle(context.toggle_name, toggle_enabled);
-        if let Some(v) = base_variant.clone() {
-            engine.count_variant(context.toggle_name, &v.name);
+        if !lock.skip_metrics.load(Ordering::Relaxed) {
+            engine.count_toggle(context.toggle_name, toggle_enabled);
+            if let Some(v) = &base_variant {
+                engine.count_variant(context.toggle_name, &v.name);
+            }
         }
-        let message = base_variant.map(|variant| variant.to_enriched_response(toggle_enabled));
+        // A caller with the current variant table only needs to know which variant it is
+        let table_is_current = ctx.variant_generation() != 0
+            && ctx.variant_generation() == engine.variants.generation();
+        let message = base_variant.map(|variant| {
+            let variant = variant.to_enriched_response(toggle_enabled);
+            let index = if table_is_current {
+                engine.variants.index_of(
+                    context.toggle_name,
+                    &variant.name,
+                    variant.payload.as_ref(),
+                )
+            } else {
+                None
+            };
+            IndexedVariantDef { variant, index }
+        });
         Ok(Some(ResponseMessage {
             message,
             impression_data,
+            trace,
         }))
     });
     Variant::build_response(variant)
@@ -276,7 +679,7 @@ pub unsafe extern "C" fn flat_check_variant(
 pub unsafe extern "C" fn flat_list_known_toggles(engine_ptr: *mut c_void) -> Buf {
     let toggles = guard_result::<Vec<ToggleDefinition>, _>(|| {
         let guard = get_engine(engine_ptr)?;
-        let engine = recover_lock(&guard);
+        let engine = lock_engine(&guard);
         Ok(Some(engine.list_known_toggles()))
     });
     if let Ok(toggles) = toggles {
@@ -308,12 +711,69 @@ pub unsafe extern "C" fn flat_built_in_strategies() -> Buf {
 pub unsafe extern "C" fn flat_get_metrics(engine_pointer: *mut c_void) -> Buf {
     let result = guard_result::<MetricBucket, _>(|| {
         let guard = get_engine(engine_pointer)?;
-        let mut engine = recover_lock(&guard);
+        let mut engine = lock_engine(&guard);
         Ok(engine.get_metrics(Utc::now()))
     });
     MetricsResponse::build_response(result)
 }
 
+/// Reports how the engine is doing: evaluations, time spent waiting for and holding its lock, the
+/// states it took and the Bufs that haven't been freed yet. Doesn't take the engine's lock, so it
+/// answers while the engine is busy.
+///
+/// # Safety
+///
+/// passing an invalid engine_ptr will cause UB
+/// the returned Buf should be freed by calling flat_buf_free, otherwise you're leaking memory
+#[no_mangle]
+pub unsafe extern "C" fn flat_engine_stats(engine_ptr: *mut c_void) -> Buf {
+    let result = guard_result::<EngineStatsSnapshot, _>(|| {
+        let guard = get_engine(engine_ptr)?;
+        Ok(Some(guard.stats.snapshot()))
+    });
+    EngineStatsResponse::build_response(result)
+}
+
+/// Sets whether the states the engine takes from now on hand the constraints of every strategy
+/// back. Only engines that evaluate toggles in Java read them, so they aren't written otherwise.
+///
+/// # Safety
+///
+/// passing an invalid engine_ptr will cause UB
+#[no_mangle]
+pub unsafe extern "C" fn flat_set_strategy_constraints(engine_ptr: *mut c_void, included: bool) {
+    if let Ok(guard) = get_engine(engine_ptr) {
+        guard.strategy_constraints.store(included, Ordering::Relaxed);
+    }
+}
+
+/// Sets whether the engine counts evaluations in its metrics. An engine shared by callers that count
+/// their own evaluations would only count what nobody reports, and do it under its lock.
+///
+/// # Safety
+///
+/// passing an invalid engine_ptr will cause UB
+#[no_mangle]
+pub unsafe extern "C" fn flat_set_count_evaluations(engine_ptr: *mut c_void, counted: bool) {
+    if let Ok(guard) = get_engine(engine_ptr) {
+        guard.skip_metrics.store(!counted, Ordering::Relaxed);
+    }
+}
+
+/// Sets whether the engine counts and times its evaluations and its lock for flat_engine_stats.
+/// That's off until asked for, since it's done on every call: a few atomic adds on counters the
+/// engine's callers share and two reads of the clock.
+///
+/// # Safety
+///
+/// passing an invalid engine_ptr will cause UB
+#[no_mangle]
+pub unsafe extern "C" fn flat_set_call_stats(engine_ptr: *mut c_void, counted: bool) {
+    if let Ok(guard) = get_engine(engine_ptr) {
+        guard.stats.count_calls(counted);
+    }
+}
+
 fn guard_result<T, F>(action: F) -> Result<Option<T>, FlatError>
 where
     F: FnOnce() -> Result<Option<T>, FlatError>,
@@ -341,7 +801,7 @@ pub unsafe extern "C" fn flat_define_counter(
             root::<DefineCounter>(bytes).map_err(|e| FlatError::InvalidBuffer(e.to_string()))?;
 
         let guard = get_engine(engine_ptr)?;
-        let engine = recover_lock(&guard);
+        let engine = lock_engine(&guard);
 
         let Some(name) = define_counter_message.name() else {
             return Err(FlatError::MissingRequiredParameter("name".to_owned()));
@@ -400,7 +860,7 @@ pub unsafe extern "C" fn flat_inc_counter(
             root::<IncCounter>(bytes).map_err(|e| FlatError::InvalidBuffer(e.to_string()))?;
 
         let guard = get_engine(engine_ptr)?;
-        let engine = recover_lock(&guard);
+        let engine = lock_engine(&guard);
 
         let Some(name) = inc_counter_message.name() else {
             return Err(FlatError::MissingRequiredParameter("name".to_owned()));
@@ -439,7 +899,7 @@ pub unsafe extern "C" fn flat_define_gauge(
             root::<DefineGauge>(bytes).map_err(|e| FlatError::InvalidBuffer(e.to_string()))?;
 
         let guard = get_engine(engine_ptr)?;
-        let engine = recover_lock(&guard);
+        let engine = lock_engine(&guard);
 
         let Some(name) = define_gauge_message.name() else {
             return Err(FlatError::MissingRequiredParameter("name".to_owned()));
@@ -475,7 +935,7 @@ pub unsafe extern "C" fn flat_set_gauge(
             root::<SetGauge>(bytes).map_err(|e| FlatError::InvalidBuffer(e.to_string()))?;
 
         let guard = get_engine(engine_ptr)?;
-        let engine = recover_lock(&guard);
+        let engine = lock_engine(&guard);
 
         let Some(name) = set_gauge_message.name() else {
             return Err(FlatError::MissingRequiredParameter("name".to_owned()));
@@ -514,7 +974,7 @@ pub unsafe extern "C" fn flat_define_histogram(
             root::<DefineHistogram>(bytes).map_err(|e| FlatError::InvalidBuffer(e.to_string()))?;
 
         let guard = get_engine(engine_ptr)?;
-        let engine = recover_lock(&guard);
+        let engine = lock_engine(&guard);
 
         let Some(name) = define_histogram_message.name() else {
             return Err(FlatError::MissingRequiredParameter("name".to_owned()));
@@ -554,7 +1014,7 @@ pub unsafe extern "C" fn flat_observe_histogram(
             root::<ObserveHistogram>(bytes).map_err(|e| FlatError::InvalidBuffer(e.to_string()))?;
 
         let guard = get_engine(engine_ptr)?;
-        let engine = recover_lock(&guard);
+        let engine = lock_engine(&guard);
 
         let Some(name) = observe_histogram_message.name() else {
             return Err(FlatError::MissingRequiredParameter("name".to_owned()));
@@ -585,7 +1045,7 @@ pub unsafe extern "C" fn flat_observe_histogram(
 pub unsafe extern "C" fn flat_collect_metrics(engine_ptr: *mut c_void) -> Buf {
     let result = guard_result::<MetricMeasurement, _>(|| {
         let guard = get_engine(engine_ptr)?;
-        let mut engine = recover_lock(&guard);
+        let mut engine = lock_engine(&guard);
         let impact_metrics = engine.collect_impact_metrics();
         let bucket = engine.get_metrics(Utc::now());
         if bucket.is_none() && impact_metrics.is_empty() {
@@ -626,7 +1086,7 @@ pub unsafe extern "C" fn flat_restore_impact_metrics(
         let collect_metrics: MetricMeasurement = serde_json::from_str(collect_metrics_str)?;
 
         let guard = get_engine(engine_ptr)?;
-        let engine = recover_lock(&guard);
+        let engine = lock_engine(&guard);
 
         engine.restore_impact_metrics(collect_metrics.impact_metrics);
 
@@ -639,7 +1099,10 @@ pub unsafe extern "C" fn flat_restore_impact_metrics(
 #[cfg(test)]
 mod tests {
     use super::*;
-    use crate::flat::messaging::yggdrasil::messaging::ContextMessageBuilder;
+    use crate::flat::messaging::yggdrasil::messaging::{
+        BulkContextMessageArgs, ContextColumn, ContextColumnArgs, ContextMessageArgs,
+        ContextMessageBuilder, TypedPropertyEntry, TypedPropertyEntryArgs,
+    };
     use crate::{free_engine, free_response, get_state, new_engine, take_state};
     use flatbuffers::{FlatBufferBuilder, WIPOffset};
     use serde_json::Value;
@@ -790,6 +1253,693 @@ mod tests {
             assert!(feature.strategies().is_some());
             let strategy = feature.strategies().unwrap().get(0);
             assert_eq!(strategy.name(), Some("default"));
+            assert_eq!(feature.kind(), classify::FeatureKind::ConstantTrue as u8);
+            assert!(feature.impression_data());
+        }
+    }
+
+    #[test]
+    fn flat_take_state_resolves_segments_into_strategy_constraints() {
+        let engine_ptr = new_engine();
+        let state = r#"{
+            "version": 2,
+            "features": [{
+                "name": "segmented",
+                "enabled": true,
+                "strategies": [
+                    {
+                        "name": "default",
+                        "constraints": [
+                            {"contextName": "environment", "operator": "IN", "values": ["prod"]}
+                        ],
+                        "segments": [1]
+                    },
+                    {"name": "default", "segments": [2]}
+                ]
+            }],
+            "segments": [{
+                "id": 1,
+                "constraints": [
+                    {"contextName": "userId", "operator": "NOT_IN", "values": ["7"], "inverted": true}
+                ]
+            }]
+        }"#;
+        let c_state = CString::new(state).unwrap();
+        unsafe {
+            flat_set_strategy_constraints(engine_ptr, true);
+            let buf = flat_take_state(engine_ptr, c_state.as_ptr());
+            let bytes: &[u8] = std::slice::from_raw_parts(buf.ptr, buf.len);
+            let response = root::<TakeStateResponse>(bytes).unwrap();
+            let feature = response.features().unwrap().get(0);
+            assert!(feature.enabled());
+            assert!(!feature.has_dependencies());
+
+            let strategies = feature.strategies().unwrap();
+            let constraints = strategies.get(0).constraints().unwrap();
+            assert_eq!(constraints.len(), 2);
+            assert_eq!(constraints.get(0).context_name(), Some("environment"));
+            assert_eq!(constraints.get(0).operator(), Some("IN"));
+            assert_eq!(constraints.get(1).context_name(), Some("userId"));
+            assert_eq!(constraints.get(1).operator(), Some("NOT_IN"));
+            assert!(constraints.get(1).inverted());
+            assert!(!strategies.get(0).missing_segments());
+            assert!(strategies.get(1).missing_segments());
+            free_engine(engine_ptr);
+        }
+    }
+
+    #[test]
+    fn flat_take_state_writes_a_segment_once_for_every_strategy_using_it() {
+        let engine_ptr = new_engine();
+        let values: Vec<String> = (0..100).map(|i| format!("\"user-{i}\"")).collect();
+        let features: Vec<String> = (0..20)
+            .map(|i| {
+                format!(r#"{{"name": "f{i}", "enabled": true, "strategies": [{{"name": "default", "segments": [1]}}]}}"#)
+            })
+            .collect();
+        let state = format!(
+            r#"{{"version": 2, "features": [{}], "segments": [{{"id": 1, "constraints": [
+                {{"contextName": "userId", "operator": "IN", "values": [{}]}}
+            ]}}]}}"#,
+            features.join(","),
+            values.join(",")
+        );
+        let c_state = CString::new(state).unwrap();
+        unsafe {
+            flat_set_strategy_constraints(engine_ptr, true);
+            let buf = flat_take_state(engine_ptr, c_state.as_ptr());
+            let bytes: &[u8] = std::slice::from_raw_parts(buf.ptr, buf.len);
+            let response = root::<TakeStateResponse>(bytes).unwrap();
+            let features = response.features().unwrap();
+            assert_eq!(features.len(), 20);
+            for feature in features {
+                let constraints = feature.strategies().unwrap().get(0).constraints().unwrap();
+                assert_eq!(constraints.len(), 1);
+                assert_eq!(constraints.get(0).values().unwrap().len(), 100);
+            }
+            // Twenty copies of the segment's values alone would take more than this
+            assert!(buf.len < 20 * 100 * 12);
+            flat_buf_free(buf);
+            free_engine(engine_ptr);
+        }
+    }
+
+    #[test]
+    fn flat_take_state_leaves_strategy_constraints_out_unless_asked_for() {
+        let engine_ptr = new_engine();
+        let state = r#"{
+            "version": 2,
+            "features": [{
+                "name": "constrained",
+                "enabled": true,
+                "strategies": [{
+                    "name": "default",
+                    "parameters": {"groupId": "constrained"},
+                    "constraints": [
+                        {"contextName": "environment", "operator": "IN", "values": ["prod"]}
+                    ]
+                }]
+            }]
+        }"#;
+        let c_state = CString::new(state).unwrap();
+        unsafe {
+            let buf = flat_take_state(engine_ptr, c_state.as_ptr());
+            let bytes: &[u8] = std::slice::from_raw_parts(buf.ptr, buf.len);
+            let response = root::<TakeStateResponse>(bytes).unwrap();
+            let strategy = response.features().unwrap().get(0).strategies().unwrap().get(0);
+            assert_eq!(strategy.name(), Some("default"));
+            assert_eq!(strategy.parameters().unwrap().len(), 1);
+            assert!(strategy.constraints().is_none());
+            flat_buf_free(buf);
+            free_engine(engine_ptr);
+        }
+    }
+
+    fn check_enabled_with_property_ids(engine_ptr: *mut c_void, ids: &[u32]) -> (bool, bool) {
+        let mut builder = FlatBufferBuilder::with_capacity(128);
+        let toggle_name = builder.create_string("tenanted");
+        let key_ids = builder.create_vector(ids);
+        let key_values = builder.create_vector_of_strings(&vec!["acme"; ids.len()]);
+        let message = ContextMessage::create(
+            &mut builder,
+            &ContextMessageArgs {
+                toggle_name: Some(toggle_name),
+                property_key_ids: Some(key_ids),
+                property_key_values: Some(key_values),
+                ..Default::default()
+            },
+        );
+        builder.finish(message, None);
+        let bytes = builder.finished_data();
+
+        unsafe {
+            let buf = flat_check_enabled(engine_ptr, bytes.as_ptr() as u64, bytes.len() as u64);
+            let bytes: &[u8] = std::slice::from_raw_parts(buf.ptr, buf.len);
+            let response = root::<Response>(bytes).unwrap();
+            let result = (response.enabled(), response.error().is_some());
+            flat_buf_free(buf);
+            result
+        }
+    }
+
+    #[test]
+    fn an_engine_told_not_to_count_leaves_evaluations_out_of_its_metrics() {
+        let engine_ptr = new_engine();
+        let state = r#"{"version": 2, "features": [{"name": "tenanted", "enabled": true}]}"#;
+        let c_state = CString::new(state).unwrap();
+        unsafe {
+            flat_buf_free(flat_take_state(engine_ptr, c_state.as_ptr()));
+            let guard = get_engine(engine_ptr).unwrap();
+
+            flat_set_count_evaluations(engine_ptr, false);
+            assert_eq!(check_enabled_with_property_ids(engine_ptr, &[]), (true, false));
+            let uncounted = lock_engine(&guard).get_metrics(Utc::now());
+            assert!(uncounted.map_or(true, |bucket| bucket.toggles.is_empty()));
+
+            flat_set_count_evaluations(engine_ptr, true);
+            check_enabled_with_property_ids(engine_ptr, &[]);
+            let counted = lock_engine(&guard).get_metrics(Utc::now()).unwrap();
+            assert_eq!(counted.toggles["tenanted"].yes, 1);
+            drop(guard);
+            free_engine(engine_ptr);
+        }
+    }
+
+    #[test]
+    fn properties_can_be_sent_by_their_id_in_the_property_key_dictionary() {
+        let engine_ptr = new_engine();
+        let state = r#"{
+            "version": 2,
+            "features": [{
+                "name": "tenanted",
+                "enabled": true,
+                "strategies": [{
+                    "name": "default",
+                    "constraints": [
+                        {"contextName": "userId", "operator": "IN", "values": ["7"], "inverted": true},
+                        {"contextName": "tenantId", "operator": "IN", "values": ["acme"]}
+                    ]
+                }]
+            }]
+        }"#;
+        let c_state = CString::new(state).unwrap();
+        unsafe {
+            let buf = flat_take_state(engine_ptr, c_state.as_ptr());
+            let bytes: &[u8] = std::slice::from_raw_parts(buf.ptr, buf.len);
+            let response = root::<TakeStateResponse>(bytes).unwrap();
+            let keys: Vec<&str> = response.property_keys().unwrap().iter().collect();
+            assert_eq!(keys, vec!["tenantId"]);
+            flat_buf_free(buf);
+        }
+
+        assert_eq!(check_enabled_with_property_ids(engine_ptr, &[0]), (true, false));
+        assert_eq!(check_enabled_with_property_ids(engine_ptr, &[]), (false, false));
+        assert!(check_enabled_with_property_ids(engine_ptr, &[1]).1);
+        unsafe {
+            free_engine(engine_ptr);
+        }
+    }
+
+    #[test]
+    fn take_state_reports_the_context_each_feature_reads() {
+        let engine_ptr = new_engine();
+        let state = r#"{
+            "version": 2,
+            "features": [{
+                "name": "tenanted",
+                "enabled": true,
+                "strategies": [{
+                    "name": "flexibleRollout",
+                    "parameters": {"rollout": "50", "stickiness": "userId"},
+                    "constraints": [
+                        {"contextName": "tenantId", "operator": "IN", "values": ["acme"]}
+                    ]
+                }]
+            }]
+        }"#;
+        let c_state = CString::new(state).unwrap();
+        unsafe {
+            let buf = flat_take_state(engine_ptr, c_state.as_ptr());
+            let bytes: &[u8] = std::slice::from_raw_parts(buf.ptr, buf.len);
+            let response = root::<TakeStateResponse>(bytes).unwrap();
+            let feature = response.features().unwrap().get(0);
+            let fields: Vec<&str> = feature.context_fields().unwrap().iter().collect();
+            let properties: Vec<&str> = feature.context_properties().unwrap().iter().collect();
+            assert_eq!(fields, vec!["userId"]);
+            assert_eq!(properties, vec!["tenantId"]);
+            assert!(!feature.reads_whole_context());
+            flat_buf_free(buf);
+            free_engine(engine_ptr);
+        }
+    }
+
+    fn check_enabled_with_typed_age(engine_ptr: *mut c_void, age: i64, now_ms: i64) -> bool {
+        let mut builder = FlatBufferBuilder::with_capacity(128);
+        let toggle_name = builder.create_string("grown-up");
+        let key = builder.create_string("age");
+        let age = TypedPropertyEntry::create(
+            &mut builder,
+            &TypedPropertyEntryArgs {
+                key: Some(key),
+                kind: 0,
+                long_value: age,
+                ..Default::default()
+            },
+        );
+        let typed_properties = builder.create_vector(&[age]);
+        let message = ContextMessage::create(
+            &mut builder,
+            &ContextMessageArgs {
+                toggle_name: Some(toggle_name),
+                current_time_ms: now_ms,
+                has_current_time_ms: true,
+                typed_properties: Some(typed_properties),
+                ..Default::default()
+            },
+        );
+        builder.finish(message, None);
+        let bytes = builder.finished_data();
+
+        unsafe {
+            let buf = flat_check_enabled(engine_ptr, bytes.as_ptr() as u64, bytes.len() as u64);
+            let bytes: &[u8] = std::slice::from_raw_parts(buf.ptr, buf.len);
+            let response = root::<Response>(bytes).unwrap();
+            assert!(response.error().is_none());
+            let enabled = response.enabled();
+            flat_buf_free(buf);
+            enabled
+        }
+    }
+
+    #[test]
+    fn typed_properties_and_the_current_time_in_millis_are_understood() {
+        let engine_ptr = new_engine();
+        let state = r#"{
+            "version": 2,
+            "features": [{
+                "name": "grown-up",
+                "enabled": true,
+                "strategies": [{
+                    "name": "default",
+                    "constraints": [
+                        {"contextName": "age", "operator": "NUM_GT", "value": "30"},
+                        {"contextName": "currentTime", "operator": "DATE_AFTER", "value": "2020-01-01T00:00:00.000Z"}
+                    ]
+                }]
+            }]
+        }"#;
+        let c_state = CString::new(state).unwrap();
+        unsafe {
+            flat_buf_free(flat_take_state(engine_ptr, c_state.as_ptr()));
+        }
+        let after = 1_700_000_000_000;
+        let before = 1_500_000_000_000;
+
+        assert!(check_enabled_with_typed_age(engine_ptr, 31, after));
+        assert!(!check_enabled_with_typed_age(engine_ptr, 29, after));
+        assert!(!check_enabled_with_typed_age(engine_ptr, 31, before));
+        unsafe {
+            free_engine(engine_ptr);
+        }
+    }
+
+    fn check_variant_with_generation(engine_ptr: *mut c_void, generation: u64) -> Buf {
+        let mut builder = FlatBufferBuilder::with_capacity(128);
+        let toggle_name = builder.create_string("coloured");
+        let message = ContextMessage::create(
+            &mut builder,
+            &ContextMessageArgs {
+                toggle_name: Some(toggle_name),
+                variant_generation: generation,
+                ..Default::default()
+            },
+        );
+        builder.finish(message, None);
+        let bytes = builder.finished_data();
+        unsafe { flat_check_variant(engine_ptr, bytes.as_ptr() as u64, bytes.len() as u64) }
+    }
+
+    #[test]
+    fn variants_are_sent_as_their_index_when_the_caller_has_the_current_table() {
+        let engine_ptr = new_engine();
+        let state = r#"{
+            "version": 2,
+            "features": [{
+                "name": "coloured",
+                "enabled": true,
+                "strategies": [{"name": "default"}],
+                "variants": [{
+                    "name": "blue",
+                    "weight": 1000,
+                    "payload": {"type": "json", "value": "{\"big\": true}"}
+                }]
+            }]
+        }"#;
+        let c_state = CString::new(state).unwrap();
+        let generation = unsafe {
+            let buf = flat_take_state(engine_ptr, c_state.as_ptr());
+            let bytes: &[u8] = std::slice::from_raw_parts(buf.ptr, buf.len);
+            let response = root::<TakeStateResponse>(bytes).unwrap();
+            let variants = response.features().unwrap().get(0).variants().unwrap();
+            assert_eq!(variants.len(), 1);
+            assert_eq!(variants.get(0).name(), Some("blue"));
+            assert_eq!(variants.get(0).payload().unwrap().payload_type(), Some("json"));
+            let generation = response.variant_generation();
+            assert_ne!(generation, 0);
+            flat_buf_free(buf);
+            generation
+        };
+
+        unsafe {
+            let buf = check_variant_with_generation(engine_ptr, generation);
+            let bytes: &[u8] = std::slice::from_raw_parts(buf.ptr, buf.len);
+            let variant = root::<Variant>(bytes).unwrap();
+            assert!(variant.has_variant_index());
+            assert_eq!(variant.variant_index(), 0);
+            assert_eq!(variant.name(), None);
+            assert!(variant.payload().is_none());
+            flat_buf_free(buf);
+
+            let buf = check_variant_with_generation(engine_ptr, generation + 1);
+            let bytes: &[u8] = std::slice::from_raw_parts(buf.ptr, buf.len);
+            let variant = root::<Variant>(bytes).unwrap();
+            assert!(!variant.has_variant_index());
+            assert_eq!(variant.name(), Some("blue"));
+            flat_buf_free(buf);
+            free_engine(engine_ptr);
+        }
+    }
+
+    fn check_enabled_traced(engine_ptr: *mut c_void, toggle: &str, trace: bool) -> Buf {
+        let mut builder = FlatBufferBuilder::with_capacity(128);
+        let toggle_name = builder.create_string(toggle);
+        let message = ContextMessage::create(
+            &mut builder,
+            &ContextMessageArgs {
+                toggle_name: Some(toggle_name),
+                trace,
+                ..Default::default()
+            },
+        );
+        builder.finish(message, None);
+        let bytes = builder.finished_data();
+        unsafe { flat_check_enabled(engine_ptr, bytes.as_ptr() as u64, bytes.len() as u64) }
+    }
+
+    #[test]
+    fn only_evaluations_asking_for_a_trace_get_one() {
+        let engine_ptr = new_engine();
+        let state = r#"{
+            "version": 2,
+            "features": [
+                {"name": "parent", "enabled": true, "strategies": [{"name": "default"}]},
+                {
+                    "name": "child",
+                    "enabled": true,
+                    "dependencies": [{"feature": "parent"}],
+                    "strategies": [
+                        {
+                            "name": "userWithId",
+                            "parameters": {"userIds": "1"},
+                            "constraints": [{"contextName": "region", "operator": "IN", "values": ["eu"]}],
+                            "segments": [1, 2]
+                        },
+                        {"name": "default"}
+                    ]
+                }
+            ],
+            "segments": [
+                {"id": 1, "constraints": [{"contextName": "tenant", "operator": "IN", "values": ["a"]}]}
+            ]
+        }"#;
+        let c_state = CString::new(state).unwrap();
+        unsafe {
+            flat_buf_free(flat_take_state(engine_ptr, c_state.as_ptr()));
+
+            let buf = check_enabled_traced(engine_ptr, "child", false);
+            let bytes: &[u8] = std::slice::from_raw_parts(buf.ptr, buf.len);
+            assert!(root::<Response>(bytes).unwrap().trace().is_none());
+            flat_buf_free(buf);
+
+            let buf = check_enabled_traced(engine_ptr, "child", true);
+            let bytes: &[u8] = std::slice::from_raw_parts(buf.ptr, buf.len);
+            let response = root::<Response>(bytes).unwrap();
+            assert!(response.enabled());
+            let trace = response.trace().unwrap();
+            assert!(trace.known());
+            let strategies = trace.strategies().unwrap();
+            assert_eq!(strategies.len(), 2);
+            assert_eq!(strategies.get(0).name(), Some("userWithId"));
+            assert_eq!(strategies.get(0).constraints(), 2);
+            assert_eq!(strategies.get(0).segments().unwrap().iter().collect::<Vec<_>>(), vec![1]);
+            assert!(strategies.get(0).missing_segments());
+            assert_eq!(strategies.get(1).constraints(), 0);
+            assert_eq!(trace.dependencies().unwrap().iter().collect::<Vec<_>>(), vec!["parent"]);
+            flat_buf_free(buf);
+
+            let buf = check_enabled_traced(engine_ptr, "missing", true);
+            let bytes: &[u8] = std::slice::from_raw_parts(buf.ptr, buf.len);
+            let response = root::<Response>(bytes).unwrap();
+            assert!(!response.has_enabled());
+            assert!(!response.trace().unwrap().known());
+            flat_buf_free(buf);
+            free_engine(engine_ptr);
+        }
+    }
+
+    #[test]
+    fn taking_state_reports_the_type_and_project_of_every_feature() {
+        let engine_ptr = new_engine();
+        let state = r#"{
+            "version": 2,
+            "features": [
+                {"name": "typed", "type": "release", "project": "checkout", "enabled": true, "strategies": []},
+                {"name": "plain", "enabled": false, "strategies": []}
+            ]
+        }"#;
+        let c_state = CString::new(state).unwrap();
+        unsafe {
+            let buf = flat_take_state(engine_ptr, c_state.as_ptr());
+            let bytes: &[u8] = std::slice::from_raw_parts(buf.ptr, buf.len);
+            let response = root::<TakeStateResponse>(bytes).unwrap();
+            let features = response.features().unwrap();
+            let typed = features
+                .iter()
+                .find(|feature| feature.feature_name() == Some("typed"))
+                .unwrap();
+            assert_eq!(typed.feature_type(), Some("release"));
+            assert_eq!(typed.project(), Some("checkout"));
+            let plain = features
+                .iter()
+                .find(|feature| feature.feature_name() == Some("plain"))
+                .unwrap();
+            assert_eq!(plain.feature_type(), None);
+            assert!(plain.project().is_some());
+            flat_buf_free(buf);
+            free_engine(engine_ptr);
+        }
+    }
+
+    fn take_state_diff(engine_ptr: *mut c_void, state: &str) -> (u64, Vec<String>, Vec<String>) {
+        let c_state = CString::new(state).unwrap();
+        unsafe {
+            let buf = flat_take_state(engine_ptr, c_state.as_ptr());
+            let bytes: &[u8] = std::slice::from_raw_parts(buf.ptr, buf.len);
+            let response = root::<TakeStateResponse>(bytes).unwrap();
+            let diff = (
+                response.state_generation(),
+                names(response.added()),
+                names(response.changed()),
+            );
+            flat_buf_free(buf);
+            diff
+        }
+    }
+
+    #[test]
+    fn contexts_trimmed_for_an_older_state_are_not_evaluated() {
+        let engine_ptr = new_engine();
+        let state = r#"{"version": 2,
+            "features": [{"name": "trimmed", "enabled": true, "strategies": []}]}"#;
+        let (generation, _, _) = take_state_diff(engine_ptr, state);
+        let check = |usage_generation: u64| {
+            let mut builder = FlatBufferBuilder::with_capacity(128);
+            let toggle_name = builder.create_string("trimmed");
+            let message = ContextMessage::create(
+                &mut builder,
+                &ContextMessageArgs {
+                    toggle_name: Some(toggle_name),
+                    usage_generation,
+                    ..Default::default()
+                },
+            );
+            builder.finish(message, None);
+            let bytes = builder.finished_data();
+            unsafe {
+                let buf = flat_check_enabled(engine_ptr, bytes.as_ptr() as u64, bytes.len() as u64);
+                let bytes: &[u8] = std::slice::from_raw_parts(buf.ptr, buf.len);
+                let response = root::<Response>(bytes).unwrap();
+                let answer = (response.stale_context(), response.has_enabled());
+                flat_buf_free(buf);
+                answer
+            }
+        };
+
+        assert_eq!(check(0), (false, true));
+        assert_eq!(check(generation), (false, true));
+        take_state_diff(engine_ptr, state);
+        assert_eq!(check(generation), (true, false));
+        assert_eq!(check(generation + 1), (false, true));
+        unsafe { free_engine(engine_ptr) };
+    }
+
+    fn names(
+        names: Option<flatbuffers::Vector<'_, flatbuffers::ForwardsUOffset<&str>>>,
+    ) -> Vec<String> {
+        names
+            .map(|names| names.iter().map(str::to_string).collect())
+            .unwrap_or_default()
+    }
+
+    #[test]
+    fn taking_state_reports_what_changed_since_the_last_state() {
+        let engine_ptr = new_engine();
+        let (first_generation, added, _) = take_state_diff(
+            engine_ptr,
+            r#"{"version": 2, "features": [{"name": "flag", "enabled": true, "strategies": []}]}"#,
+        );
+        assert_eq!(added, vec!["flag"]);
+
+        let (generation, added, changed) = take_state_diff(
+            engine_ptr,
+            r#"{"version": 2, "features": [{"name": "flag", "enabled": false, "strategies": []}]}"#,
+        );
+        assert_eq!(generation, first_generation + 1);
+        assert!(added.is_empty());
+        assert_eq!(changed, vec!["flag"]);
+        unsafe {
+            free_engine(engine_ptr);
+        }
+    }
+
+    #[test]
+    fn engine_stats_count_evaluations_and_describe_the_last_state() {
+        let engine_ptr = new_engine();
+        unsafe {
+            flat_set_call_stats(engine_ptr, true);
+        }
+        take_state_diff(
+            engine_ptr,
+            r#"{"version": 2,
+                "features": [{"name": "tenanted", "enabled": true, "strategies": []}],
+                "segments": [{"id": 1, "constraints": []}]}"#,
+        );
+        check_enabled_with_property_ids(engine_ptr, &[]);
+        unsafe {
+            let buf = flat_engine_stats(engine_ptr);
+            let bytes: &[u8] = std::slice::from_raw_parts(buf.ptr, buf.len);
+            let stats = root::<EngineStatsResponse>(bytes).unwrap();
+            assert!(stats.error().is_none());
+            assert_eq!(stats.evaluations(), 1);
+            assert_eq!(stats.take_states(), 1);
+            assert_eq!(stats.features(), 1);
+            assert_eq!(stats.segments(), 1);
+            assert!(stats.state_bytes() > 0);
+            assert_eq!(stats.lock_acquisitions(), 2);
+            flat_buf_free(buf);
+
+            let buf = flat_engine_stats(std::ptr::null_mut());
+            let bytes: &[u8] = std::slice::from_raw_parts(buf.ptr, buf.len);
+            assert!(root::<EngineStatsResponse>(bytes).unwrap().error().is_some());
+            flat_buf_free(buf);
+            free_engine(engine_ptr);
+        }
+    }
+
+    fn check_enabled_bulk(engine_ptr: *mut c_void, parallelism: u32) -> Vec<u64> {
+        let mut builder = FlatBufferBuilder::with_capacity(1024);
+        let user_ids: Vec<String> = (0..130).map(|i| i.to_string()).collect();
+        let user_ids: Vec<&str> = user_ids.iter().map(String::as_str).collect();
+        let regions = vec!["eu"; 130];
+
+        let name = builder.create_string("userId");
+        let values = builder.create_vector_of_strings(&user_ids);
+        let user_id_column = ContextColumn::create(
+            &mut builder,
+            &ContextColumnArgs {
+                name: Some(name),
+                values: Some(values),
+                missing: None,
+            },
+        );
+        let name = builder.create_string("region");
+        let values = builder.create_vector_of_strings(&regions);
+        // row 64 has no region
+        let missing = builder.create_vector(&[0u64, 1u64]);
+        let region_column = ContextColumn::create(
+            &mut builder,
+            &ContextColumnArgs {
+                name: Some(name),
+                values: Some(values),
+                missing: Some(missing),
+            },
+        );
+        let columns = builder.create_vector(&[user_id_column, region_column]);
+        let toggle_name = builder.create_string("bulk");
+        let message = BulkContextMessage::create(
+            &mut builder,
+            &BulkContextMessageArgs {
+                toggle_name: Some(toggle_name),
+                count: 130,
+                columns: Some(columns),
+                parallelism,
+                ..Default::default()
+            },
+        );
+        builder.finish(message, None);
+        let bytes = builder.finished_data();
+
+        unsafe {
+            let buf =
+                flat_check_enabled_bulk(engine_ptr, bytes.as_ptr() as u64, bytes.len() as u64);
+            let bytes: &[u8] = std::slice::from_raw_parts(buf.ptr, buf.len);
+            let response = root::<BulkResponse>(bytes).unwrap();
+            assert!(response.has_enabled());
+            assert!(response.impression_data());
+            let enabled = response.enabled().unwrap().iter().collect();
+            flat_buf_free(buf);
+            enabled
+        }
+    }
+
+    #[test]
+    fn flat_check_enabled_bulk_evaluates_every_context() {
+        let engine_ptr = new_engine();
+        let state = r#"{
+            "version": 2,
+            "features": [{
+                "name": "bulk",
+                "enabled": true,
+                "impressionData": true,
+                "strategies": [{
+                    "name": "userWithId",
+                    "parameters": {"userIds": "0,64,129"},
+                    "constraints": [
+                        {"contextName": "region", "operator": "IN", "values": ["eu"]}
+                    ]
+                }]
+            }]
+        }"#;
+        let c_state = CString::new(state).unwrap();
+        unsafe {
+            flat_buf_free(flat_take_state(engine_ptr, c_state.as_ptr()));
+        }
+
+        let expected = vec![1u64, 0u64, 1u64 << 1];
+        assert_eq!(check_enabled_bulk(engine_ptr, 1), expected);
+        assert_eq!(check_enabled_bulk(engine_ptr, 3), expected);
+        unsafe {
+            free_engine(engine_ptr);
         }
     }
 
@@ -864,4 +2014,51 @@ mod tests {
             assert!(custom_strategies.contains(&"custom".to_string()));
         }
     }
+
+    #[test]
+    fn state_json_is_the_plain_state_take_state_accepts() {
+        let engine_ptr = new_engine();
+        let custom_strategy_tests = include_str!("../../testfiles/custom-strategy-tests.json");
+        let c_string = CString::new(custom_strategy_tests).unwrap();
+        unsafe {
+            flat_buf_free(flat_take_state(engine_ptr, c_string.as_ptr()));
+            let buf = flat_get_state_json(engine_ptr);
+            let bytes: &[u8] = std::slice::from_raw_parts(buf.ptr, buf.len);
+            let state: ClientFeatures = serde_json::from_slice(bytes).unwrap();
+            assert_eq!(state.features.len(), 3);
+            flat_buf_free(buf);
+            free_engine(engine_ptr);
+        }
+    }
+
+    #[test]
+    pub fn saved_snapshot_loads_into_a_fresh_engine() {
+        let engine_ptr = new_engine();
+        let custom_strategy_tests = include_str!("../../testfiles/custom-strategy-tests.json");
+        let c_string = CString::new(custom_strategy_tests).unwrap();
+        unsafe {
+            flat_buf_free(flat_take_state(engine_ptr, c_string.as_ptr()));
+            let snapshot = flat_save_snapshot(engine_ptr);
+            assert!(snapshot.len > 0);
+
+            let restored_ptr = new_engine();
+            let buf = flat_load_snapshot(restored_ptr, snapshot.ptr as u64, snapshot.len as u64);
+            let bytes: &[u8] = std::slice::from_raw_parts(buf.ptr, buf.len);
+            let take_state_response = root::<TakeStateResponse>(bytes).unwrap();
+            assert!(take_state_response.error().is_none());
+            assert_eq!(take_state_response.features().map(|f| f.len()), Some(3));
+
+            let original = get_engine(engine_ptr).unwrap();
+            let restored = get_engine(restored_ptr).unwrap();
+            let original_state = lock_engine(&original).get_state();
+            let restored_state = lock_engine(&restored).get_state();
+            assert_eq!(original_state.features, restored_state.features);
+            assert_eq!(original_state.segments, restored_state.segments);
+
+            flat_buf_free(buf);
+            flat_buf_free(snapshot);
+            free_engine(engine_ptr);
+            free_engine(restored_ptr);
+        }
+    }
 }
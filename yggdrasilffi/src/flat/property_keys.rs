@@ -0,0 +1,134 @@
+use std::collections::{HashMap, HashSet};
+
+use unleash_types::client_features::Constraint;
+
+use crate::flat::serialisation::ParsedStrategies;
+
+// Context names that are fields of the context rather than properties
+pub(crate) const CONTEXT_FIELDS: [&str; 6] = [
+    "userId",
+    "sessionId",
+    "remoteAddress",
+    "environment",
+    "appName",
+    "currentTime",
+];
+
+/// The property key dictionary of an engine. Every context property name a state refers to gets a
+/// small id, so callers can send the id instead of the name. Names are only ever added, an id keeps
+/// meaning the same name for the lifetime of the engine, which means a caller still using the
+/// dictionary of the previous state can't get a property mixed up with another one.
+#[derive(Default)]
+pub struct PropertyKeys {
+    names: Vec<String>,
+    ids: HashMap<String, u32>,
+}
+
+impl PropertyKeys {
+    /// Adds names found by referenced, which only needs the state, so it can be done before the
+    /// dictionary is updated
+    pub fn add_all(&mut self, names: &[String]) {
+        for name in names {
+            self.add(name);
+        }
+    }
+
+    fn add(&mut self, name: &str) {
+        if CONTEXT_FIELDS.contains(&name) || self.ids.contains_key(name) {
+            return;
+        }
+        if let Ok(id) = u32::try_from(self.names.len()) {
+            self.ids.insert(name.to_string(), id);
+            self.names.push(name.to_string());
+        }
+    }
+
+    pub fn name(&self, id: u32) -> Option<&str> {
+        self.names.get(id as usize).map(String::as_str)
+    }
+
+    pub fn names(&self) -> &[String] {
+        &self.names
+    }
+}
+
+/// The property names the given strategies refer to, in their constraints, the constraints of their
+/// segments and as rollout stickiness, each once and in the order they're first referred to
+pub fn referenced(
+    strategies: &ParsedStrategies,
+    segments: &HashMap<i32, Vec<Constraint>>,
+) -> Vec<String> {
+    let mut seen = HashSet::new();
+    let mut names = vec![];
+    let mut refer = |name: &str| {
+        if !CONTEXT_FIELDS.contains(&name) && seen.insert(name.to_string()) {
+            names.push(name.to_string());
+        }
+    };
+    for strategy in strategies.values().flatten() {
+        let of_segments = strategy
+            .segments
+            .iter()
+            .filter_map(|id| segments.get(id))
+            .flatten();
+        for constraint in strategy.constraints.iter().chain(of_segments) {
+            refer(constraint.context_name.as_str());
+        }
+        if let Some(stickiness) = strategy.parameters.get("stickiness") {
+            if stickiness != "default" && stickiness != "random" {
+                refer(stickiness.as_str());
+            }
+        }
+    }
+    names
+}
+
+#[cfg(test)]
+mod tests {
+    use super::*;
+    use crate::flat::serialisation::ParsedStrategy;
+    use std::collections::BTreeMap;
+    use unleash_types::client_features::{Constraint, Operator};
+
+    fn strategy(context_names: &[&str], stickiness: &str) -> ParsedStrategy {
+        ParsedStrategy {
+            name: "flexibleRollout".into(),
+            parameters: [("stickiness".to_string(), stickiness.to_string())]
+                .into_iter()
+                .collect(),
+            constraints: context_names
+                .iter()
+                .map(|name| Constraint {
+                    context_name: name.to_string(),
+                    operator: Operator::In,
+                    case_insensitive: false,
+                    inverted: false,
+                    values: Some(vec!["a".into()]),
+                    value: None,
+                })
+                .collect(),
+            segments: vec![],
+            missing_segments: false,
+        }
+    }
+
+    #[test]
+    fn only_properties_get_an_id_and_ids_never_change() {
+        let mut keys = PropertyKeys::default();
+        let first: ParsedStrategies = BTreeMap::from([(
+            "a".to_string(),
+            vec![strategy(&["tenantId", "userId", "region"], "default")],
+        )]);
+        keys.add_all(&referenced(&first, &HashMap::new()));
+        assert_eq!(keys.names(), ["tenantId", "region"]);
+
+        let second: ParsedStrategies = BTreeMap::from([(
+            "b".to_string(),
+            vec![strategy(&["plan", "region"], "orgId")],
+        )]);
+        keys.add_all(&referenced(&second, &HashMap::new()));
+        assert_eq!(keys.names(), ["tenantId", "region", "plan", "orgId"]);
+        assert_eq!(keys.name(1), Some("region"));
+        assert_eq!(keys.name(4), None);
+    }
+}
@@ -1,23 +1,33 @@
 use flatbuffers::{FlatBufferBuilder, Follow, WIPOffset};
 use serde::{Deserialize, Serialize};
-use std::collections::BTreeMap;
+use std::collections::{BTreeMap, HashMap};
 use std::{
     cell::RefCell,
     fmt::{Display, Formatter},
 };
+use unleash_types::client_features::{Constraint, Payload};
 use unleash_types::client_metrics::MetricBucket;
 use unleash_yggdrasil::impact_metrics::CollectedMetric;
 use unleash_yggdrasil::{EvalWarning, ExtendedVariantDef, ToggleDefinition};
 
+use crate::flat::classify::{FeatureClass, FeatureKind};
+use crate::flat::context_usage::ContextUsage;
+use crate::flat::engine_stats::{buf_allocated, EngineStatsSnapshot};
 use crate::flat::messaging::yggdrasil::messaging::{
-    BuiltInStrategies, BuiltInStrategiesBuilder, CollectMetricsResponse,
-    CollectMetricsResponseBuilder, CoreVersion, CoreVersionBuilder, FeatureDefBuilder, FeatureDefs,
-    FeatureDefsBuilder, MetricsResponse, MetricsResponseBuilder, Response, ResponseBuilder,
-    StrategyDefinition, StrategyDefinitionArgs, StrategyFeature, StrategyFeatureArgs,
-    StrategyParameter, StrategyParameterArgs, TakeStateResponse, TakeStateResponseArgs,
-    TakeStateResponseBuilder, ToggleEntryBuilder, ToggleStatsBuilder, Variant, VariantBuilder,
-    VariantEntryBuilder, VariantPayloadBuilder, VoidResponse, VoidResponseBuilder,
+    BuiltInStrategies, BuiltInStrategiesBuilder, BulkResponse, BulkResponseBuilder,
+    CollectMetricsResponse, CollectMetricsResponseBuilder, CoreVersion, CoreVersionBuilder,
+    EngineStatsResponse, EngineStatsResponseArgs, FeatureDefBuilder, FeatureDefs,
+    FeatureDefsBuilder, FeatureVariant, FeatureVariantArgs, MetricsResponse, MetricsResponseBuilder,
+    Response, ResponseBuilder, StrategyConstraint, StrategyConstraintArgs, StrategyDefinition,
+    StrategyDefinitionArgs, StrategyFeature, StrategyFeatureArgs, StrategyParameter,
+    StrategyParameterArgs, TakeStateResponse, TakeStateResponseArgs, TakeStateResponseBuilder,
+    ToggleEntryBuilder, ToggleStatsBuilder, Variant, VariantBuilder, VariantEntryBuilder,
+    VariantPayload, VariantPayloadBuilder, VoidResponse, VoidResponseBuilder,
 };
+use crate::flat::snapshot::enum_name;
+use crate::flat::state_diff::StateDiff;
+use crate::flat::trace::{build_trace, TracedEvaluation};
+use crate::flat::variant_index::IndexedVariant;
 
 thread_local! {
     static BUILDER: RefCell<FlatBufferBuilder<'static>> =
@@ -33,19 +43,59 @@ pub enum FlatError {
     NullError,
     MissingRequiredParameter(String),
     InvalidBuffer(String),
+    /// The context was trimmed for a state the engine no longer has
+    StaleContext,
 }
 
 pub struct ResponseMessage<T> {
     pub message: Option<T>,
     pub impression_data: bool,
+    /// Only there when the context asked for a trace
+    pub trace: Option<TracedEvaluation>,
 }
 
-pub type ParsedStrategies = BTreeMap<String, Vec<(String, BTreeMap<String, String>)>>;
+/// An evaluated variant and its index in the variant table of the caller, if that's current
+pub struct IndexedVariantDef {
+    pub variant: ExtendedVariantDef,
+    pub index: Option<u32>,
+}
+
+pub struct ParsedStrategy {
+    pub name: String,
+    pub parameters: BTreeMap<String, String>,
+    /// The strategy's own constraints
+    pub constraints: Vec<Constraint>,
+    /// The segments of the strategy that are in the state, whose constraints all have to pass next
+    /// to the strategy's own
+    pub segments: Vec<i32>,
+    pub missing_segments: bool,
+}
+
+pub type ParsedStrategies = BTreeMap<String, Vec<ParsedStrategy>>;
+
+/// The project and type of a feature, what list_known_toggles reports beside its name
+pub struct KnownToggle {
+    pub project: String,
+    pub feature_type: Option<String>,
+}
 
 pub struct TakeStateResult {
     pub warnings: Vec<EvalWarning>,
     pub error: Option<String>,
     pub feature_strategies_map: ParsedStrategies,
+    /// The constraints of every segment of the state, by id
+    pub segments: HashMap<i32, Vec<Constraint>>,
+    /// Whether the constraints of strategies and their segments are written
+    pub strategy_constraints: bool,
+    pub feature_classes: BTreeMap<String, FeatureClass>,
+    /// The engine's property key dictionary after taking the state
+    pub property_keys: Vec<String>,
+    pub context_usage: BTreeMap<String, ContextUsage>,
+    pub variant_generation: u64,
+    pub variants: HashMap<String, Vec<IndexedVariant>>,
+    /// The project and type of every feature, by name
+    pub known_toggles: HashMap<String, KnownToggle>,
+    pub state_diff: StateDiff,
 }
 
 #[derive(Debug, Clone, Deserialize, Serialize)]
@@ -61,6 +111,31 @@ pub struct Buf {
     pub cap: usize,
 }
 
+impl Buf {
+    /// Hands ownership of the bytes over to the caller, who must release them with flat_buf_free
+    pub fn from_vec(bytes: Vec<u8>) -> Buf {
+        let mut v = bytes;
+        v.shrink_to_fit();
+        debug_assert_eq!(v.len(), v.capacity());
+        buf_allocated(v.capacity());
+        let buf = Buf {
+            ptr: v.as_mut_ptr(),
+            len: v.len(),
+            cap: v.capacity(),
+        };
+        std::mem::forget(v);
+        buf
+    }
+
+    pub fn empty() -> Buf {
+        Buf {
+            ptr: std::ptr::null_mut(),
+            len: 0,
+            cap: 0,
+        }
+    }
+}
+
 impl Display for FlatError {
     fn fmt(&self, f: &mut Formatter<'_>) -> std::fmt::Result {
         match self {
@@ -73,6 +148,7 @@ impl Display for FlatError {
             FlatError::NullError => write!(f, "Null error detected, this is a serious issue and you should report this as a bug."),
             FlatError::MissingRequiredParameter(msg) => write!(f, "Missing parameter: {}", msg),
             FlatError::InvalidBuffer(msg) => write!(f, "Invalid buffer error: {}", msg),
+            FlatError::StaleContext => write!(f, "The context was trimmed for an older state"),
         }
     }
 }
@@ -88,16 +164,7 @@ pub trait FlatMessage<TInput>: Follow<'static> + Sized {
             builder.finish(off, None);
             builder.finished_data().to_vec()
         });
-        let mut v = bytes;
-        v.shrink_to_fit();
-        debug_assert_eq!(v.len(), v.capacity());
-        let buf = Buf {
-            ptr: v.as_mut_ptr(),
-            len: v.len(),
-            cap: v.capacity(),
-        };
-        std::mem::forget(v);
-        buf
+        Buf::from_vec(bytes)
     }
 }
 
@@ -107,25 +174,36 @@ impl FlatMessage<Result<Option<ResponseMessage<bool>>, FlatError>> for Response<
         from: Result<Option<ResponseMessage<bool>>, FlatError>,
     ) -> WIPOffset<Response<'static>> {
         match from {
-            Ok(Some(response)) => match response.message {
-                Some(flag) => {
-                    let mut response_builder = ResponseBuilder::new(builder);
-                    response_builder.add_impression_data(response.impression_data);
-                    response_builder.add_enabled(flag);
-                    response_builder.add_has_enabled(true);
-                    response_builder.finish()
+            Ok(Some(response)) => {
+                let trace = response
+                    .trace
+                    .as_ref()
+                    .map(|trace| build_trace(builder, trace));
+                let mut response_builder = ResponseBuilder::new(builder);
+                match response.message {
+                    Some(flag) => {
+                        response_builder.add_impression_data(response.impression_data);
+                        response_builder.add_enabled(flag);
+                        response_builder.add_has_enabled(true);
+                    }
+                    None => response_builder.add_has_enabled(false),
                 }
-                None => {
-                    let mut response_builder = ResponseBuilder::new(builder);
-                    response_builder.add_has_enabled(false);
-                    response_builder.finish()
+                if let Some(trace) = trace {
+                    response_builder.add_trace(trace);
                 }
-            },
+                response_builder.finish()
+            }
             Ok(None) => {
                 let mut response_builder = ResponseBuilder::new(builder);
                 response_builder.add_has_enabled(false);
                 response_builder.finish()
             }
+            Err(FlatError::StaleContext) => {
+                let mut response_builder = ResponseBuilder::new(builder);
+                response_builder.add_has_enabled(false);
+                response_builder.add_stale_context(true);
+                response_builder.finish()
+            }
             Err(err) => {
                 let error_offset = builder.create_string(&err.to_string());
                 let mut response_builder = ResponseBuilder::new(builder);
@@ -137,6 +215,58 @@ impl FlatMessage<Result<Option<ResponseMessage<bool>>, FlatError>> for Response<
     }
 }
 
+impl FlatMessage<Result<Option<ResponseMessage<Vec<u64>>>, FlatError>> for BulkResponse<'static> {
+    fn as_flat_buffer(
+        builder: &mut FlatBufferBuilder<'static>,
+        from: Result<Option<ResponseMessage<Vec<u64>>>, FlatError>,
+    ) -> WIPOffset<BulkResponse<'static>> {
+        match from {
+            Ok(Some(ResponseMessage {
+                message: Some(enabled),
+                impression_data,
+                ..
+            })) => {
+                let enabled = builder.create_vector(&enabled);
+                let mut response_builder = BulkResponseBuilder::new(builder);
+                response_builder.add_enabled(enabled);
+                response_builder.add_impression_data(impression_data);
+                response_builder.add_has_enabled(true);
+                response_builder.finish()
+            }
+            Ok(_) => {
+                let mut response_builder = BulkResponseBuilder::new(builder);
+                response_builder.add_has_enabled(false);
+                response_builder.finish()
+            }
+            Err(FlatError::StaleContext) => {
+                let mut response_builder = BulkResponseBuilder::new(builder);
+                response_builder.add_has_enabled(false);
+                response_builder.add_stale_context(true);
+                response_builder.finish()
+            }
+            Err(err) => {
+                let error_offset = builder.create_string(&err.to_string());
+                let mut response_builder = BulkResponseBuilder::new(builder);
+                response_builder.add_has_enabled(false);
+                response_builder.add_error(error_offset);
+                response_builder.finish()
+            }
+        }
+    }
+
+    // Results for millions of contexts shouldn't stay behind in the thread local builder
+    fn build_response(input: Result<Option<ResponseMessage<Vec<u64>>>, FlatError>) -> Buf {
+        let words = match &input {
+            Ok(Some(response)) => response.message.as_ref().map_or(0, Vec::len),
+            _ => 0,
+        };
+        let mut builder = FlatBufferBuilder::with_capacity(words * 8 + 128);
+        let off = Self::as_flat_buffer(&mut builder, input);
+        builder.finish(off, None);
+        Buf::from_vec(builder.finished_data().to_vec())
+    }
+}
+
 impl FlatMessage<Result<Option<TakeStateResult>, FlatError>> for TakeStateResponse<'static> {
     fn as_flat_buffer(
         builder: &mut FlatBufferBuilder<'static>,
@@ -168,6 +298,16 @@ impl FlatMessage<Result<Option<TakeStateResult>, FlatError>> for TakeStateRespon
                 }
                 // features: [StrategyFeature]
                 if !res.feature_strategies_map.is_empty() {
+                    let feature_classes = res.feature_classes;
+                    let context_usage = res.context_usage;
+                    let variants = res.variants;
+                    let known_toggles = res.known_toggles;
+                    let segments = res.segments;
+                    let strategy_constraints = res.strategy_constraints;
+                    // A segment's constraints are written once and shared by every strategy using
+                    // it, a big segment used all over would otherwise be copied into each of them
+                    let mut segment_constraints: HashMap<i32, Vec<WIPOffset<StrategyConstraint>>> =
+                        HashMap::new();
                     let features: Vec<WIPOffset<StrategyFeature>> = res
                         .feature_strategies_map
                         .into_iter()
@@ -175,9 +315,10 @@ impl FlatMessage<Result<Option<TakeStateResult>, FlatError>> for TakeStateRespon
                             // Build [StrategyDefinition] for this feature
                             let defs: Vec<WIPOffset<StrategyDefinition>> = strategy_map
                                 .into_iter()
-                                .map(|(strategy_name, params)| {
+                                .map(|strategy| {
                                     // Build [StrategyParameter] for this definition
-                                    let params_vec: Vec<WIPOffset<StrategyParameter>> = params
+                                    let params_vec: Vec<WIPOffset<StrategyParameter>> = strategy
+                                        .parameters
                                         .into_iter()
                                         .map(|(k, v)| {
                                             let key = builder.create_string(&k);
@@ -193,19 +334,82 @@ impl FlatMessage<Result<Option<TakeStateResult>, FlatError>> for TakeStateRespon
                                         .collect();
 
                                     let params_off = builder.create_vector(&params_vec);
-                                    let name_off = builder.create_string(&strategy_name);
+                                    let constraints_off = strategy_constraints.then(|| {
+                                        let mut constraints =
+                                            build_constraints(builder, &strategy.constraints);
+                                        for id in &strategy.segments {
+                                            if let Some(of_segment) = segments.get(id) {
+                                                let shared = segment_constraints
+                                                    .entry(*id)
+                                                    .or_insert_with(|| {
+                                                        build_constraints(builder, of_segment)
+                                                    });
+                                                constraints.extend_from_slice(shared);
+                                            }
+                                        }
+                                        builder.create_vector(&constraints)
+                                    });
+                                    let name_off = builder.create_string(&strategy.name);
 
                                     StrategyDefinition::create(
                                         builder,
                                         &StrategyDefinitionArgs {
                                             name: Some(name_off),
                                             parameters: Some(params_off),
+                                            constraints: constraints_off,
+                                            missing_segments: strategy.missing_segments,
                                         },
                                     )
                                 })
                                 .collect();
 
                             let defs_off = builder.create_vector(&defs);
+                            let class = feature_classes.get(&feature_name);
+                            let kind = class.map_or(FeatureKind::ContextDependent, |c| c.kind);
+                            let impression_data = class.is_some_and(|c| c.impression_data);
+                            let enabled = class.is_some_and(|c| c.enabled);
+                            let has_dependencies = class.is_some_and(|c| c.has_dependencies);
+                            // Features without a known usage read the whole context
+                            let usage = context_usage.get(&feature_name);
+                            let reads_whole_context =
+                                usage.map_or(true, |usage| usage.whole_context);
+                            let context_fields: Vec<_> = usage
+                                .iter()
+                                .flat_map(|usage| usage.fields.iter())
+                                .map(|field| builder.create_shared_string(field))
+                                .collect();
+                            let context_fields_off = builder.create_vector(&context_fields);
+                            let context_properties: Vec<_> = usage
+                                .iter()
+                                .flat_map(|usage| usage.properties.iter())
+                                .map(|property| builder.create_shared_string(property))
+                                .collect();
+                            let context_properties_off = builder.create_vector(&context_properties);
+                            let feature_variants: Vec<_> = variants
+                                .get(&feature_name)
+                                .into_iter()
+                                .flatten()
+                                .map(|variant| {
+                                    let payload = variant.payload.as_ref().map(|payload| {
+                                        build_variant_payload(builder, payload)
+                                    });
+                                    let name = builder.create_string(&variant.name);
+                                    FeatureVariant::create(
+                                        builder,
+                                        &FeatureVariantArgs {
+                                            name: Some(name),
+                                            payload,
+                                        },
+                                    )
+                                })
+                                .collect();
+                            let feature_variants_off = builder.create_vector(&feature_variants);
+                            let known = known_toggles.get(&feature_name);
+                            let feature_type_off = known
+                                .and_then(|toggle| toggle.feature_type.as_deref())
+                                .map(|feature_type| builder.create_shared_string(feature_type));
+                            let project_off =
+                                known.map(|toggle| builder.create_shared_string(&toggle.project));
                             let fname_off = builder.create_string(&feature_name);
 
                             StrategyFeature::create(
@@ -213,6 +417,16 @@ impl FlatMessage<Result<Option<TakeStateResult>, FlatError>> for TakeStateRespon
                                 &StrategyFeatureArgs {
                                     feature_name: Some(fname_off),
                                     strategies: Some(defs_off),
+                                    kind: kind as u8,
+                                    impression_data,
+                                    enabled,
+                                    has_dependencies,
+                                    context_fields: Some(context_fields_off),
+                                    context_properties: Some(context_properties_off),
+                                    reads_whole_context,
+                                    variants: Some(feature_variants_off),
+                                    feature_type: feature_type_off,
+                                    project: project_off,
                                 },
                             )
                         })
@@ -220,12 +434,27 @@ impl FlatMessage<Result<Option<TakeStateResult>, FlatError>> for TakeStateRespon
 
                     features_vec = Some(builder.create_vector(&features));
                 }
+                let property_keys: Vec<_> = res
+                    .property_keys
+                    .iter()
+                    .map(|key| builder.create_string(key))
+                    .collect();
+                let property_keys_vec = builder.create_vector(&property_keys);
+                let added = build_strings(builder, &res.state_diff.added);
+                let removed = build_strings(builder, &res.state_diff.removed);
+                let changed = build_strings(builder, &res.state_diff.changed);
                 TakeStateResponse::create(
                     builder,
                     &TakeStateResponseArgs {
                         features: features_vec,
                         warnings: warnings_vec,
                         error: error_str,
+                        property_keys: Some(property_keys_vec),
+                        variant_generation: res.variant_generation,
+                        state_generation: res.state_diff.generation,
+                        added: Some(added),
+                        removed: Some(removed),
+                        changed: Some(changed),
                     },
                 )
             }
@@ -235,6 +464,7 @@ impl FlatMessage<Result<Option<TakeStateResult>, FlatError>> for TakeStateRespon
                     features: features_vec,
                     warnings: warnings_vec,
                     error: error_str,
+                    ..Default::default()
                 },
             ),
             Err(e) => {
@@ -242,9 +472,8 @@ impl FlatMessage<Result<Option<TakeStateResult>, FlatError>> for TakeStateRespon
                 TakeStateResponse::create(
                     builder,
                     &TakeStateResponseArgs {
-                        features: None,
-                        warnings: None,
                         error: Some(err),
+                        ..Default::default()
                     },
                 )
             }
@@ -252,6 +481,38 @@ impl FlatMessage<Result<Option<TakeStateResult>, FlatError>> for TakeStateRespon
     }
 }
 
+fn build_constraints<'a>(
+    builder: &mut FlatBufferBuilder<'a>,
+    constraints: &[Constraint],
+) -> Vec<WIPOffset<StrategyConstraint<'a>>> {
+    constraints
+        .iter()
+        .map(|constraint| {
+            let context_name = builder.create_string(&constraint.context_name);
+            let operator = enum_name(&constraint.operator).map(|o| builder.create_string(&o));
+            let values = constraint.values.as_ref().map(|values| {
+                let values: Vec<_> = values.iter().map(|v| builder.create_string(v)).collect();
+                builder.create_vector(&values)
+            });
+            let value = constraint
+                .value
+                .as_deref()
+                .map(|v| builder.create_string(v));
+            StrategyConstraint::create(
+                builder,
+                &StrategyConstraintArgs {
+                    context_name: Some(context_name),
+                    operator,
+                    values,
+                    value,
+                    inverted: constraint.inverted,
+                    case_insensitive: constraint.case_insensitive,
+                },
+            )
+        })
+        .collect()
+}
+
 impl FlatMessage<Result<Option<()>, FlatError>> for VoidResponse<'static> {
     fn as_flat_buffer(
         builder: &mut FlatBufferBuilder<'static>,
@@ -306,49 +567,97 @@ impl FlatMessage<Result<Option<MetricMeasurement>, FlatError>> for CollectMetric
     }
 }
 
-impl FlatMessage<Result<Option<ResponseMessage<ExtendedVariantDef>>, FlatError>>
+fn build_strings<'a>(
+    builder: &mut FlatBufferBuilder<'a>,
+    values: &[String],
+) -> WIPOffset<flatbuffers::Vector<'a, flatbuffers::ForwardsUOffset<&'a str>>> {
+    let offsets: Vec<_> = values
+        .iter()
+        .map(|value| builder.create_string(value))
+        .collect();
+    builder.create_vector(&offsets)
+}
+
+fn build_variant_payload<'a>(
+    builder: &mut FlatBufferBuilder<'a>,
+    payload: &Payload,
+) -> WIPOffset<VariantPayload<'a>> {
+    let payload_type_offset = builder.create_string(&payload.payload_type);
+    let value_offset = builder.create_string(&payload.value);
+
+    let mut variant_payload = VariantPayloadBuilder::new(builder);
+    variant_payload.add_payload_type(payload_type_offset);
+    variant_payload.add_value(value_offset);
+
+    variant_payload.finish()
+}
+
+impl FlatMessage<Result<Option<ResponseMessage<IndexedVariantDef>>, FlatError>>
     for Variant<'static>
 {
     fn as_flat_buffer(
         builder: &mut FlatBufferBuilder<'static>,
-        from: Result<Option<ResponseMessage<ExtendedVariantDef>>, FlatError>,
+        from: Result<Option<ResponseMessage<IndexedVariantDef>>, FlatError>,
     ) -> WIPOffset<Self> {
         match from {
-            Ok(Some(response)) => match response.message {
-                Some(variant) => {
-                    let payload_offset = variant.payload.as_ref().map(|payload| {
-                        let payload_type_offset = builder.create_string(&payload.payload_type);
-                        let value_offset = builder.create_string(&payload.value);
-
-                        let mut variant_payload = VariantPayloadBuilder::new(builder);
-                        variant_payload.add_payload_type(payload_type_offset);
-                        variant_payload.add_value(value_offset);
-
-                        variant_payload.finish()
-                    });
-
-                    let variant_name_offset = builder.create_string(&variant.name);
-
-                    let mut variant_builder = VariantBuilder::new(builder);
-                    variant_builder.add_feature_enabled(variant.feature_enabled);
-                    variant_builder.add_impression_data(response.impression_data);
-                    variant_builder.add_enabled(variant.enabled);
-                    variant_builder.add_name(variant_name_offset);
-                    if let Some(payload_offset) = payload_offset {
-                        variant_builder.add_payload(payload_offset);
+            Ok(Some(response)) => {
+                let trace = response
+                    .trace
+                    .as_ref()
+                    .map(|trace| build_trace(builder, trace));
+                match response.message {
+                    Some(IndexedVariantDef { variant, index }) => {
+                        // The caller already has the name and payload of indexed variants
+                        let payload_offset = match index {
+                            Some(_) => None,
+                            None => variant
+                                .payload
+                                .as_ref()
+                                .map(|payload| build_variant_payload(builder, payload)),
+                        };
+                        let variant_name_offset = match index {
+                            Some(_) => None,
+                            None => Some(builder.create_string(&variant.name)),
+                        };
+
+                        let mut variant_builder = VariantBuilder::new(builder);
+                        variant_builder.add_feature_enabled(variant.feature_enabled);
+                        variant_builder.add_impression_data(response.impression_data);
+                        variant_builder.add_enabled(variant.enabled);
+                        if let Some(variant_name_offset) = variant_name_offset {
+                            variant_builder.add_name(variant_name_offset);
+                        }
+                        if let Some(payload_offset) = payload_offset {
+                            variant_builder.add_payload(payload_offset);
+                        }
+                        if let Some(index) = index {
+                            variant_builder.add_variant_index(index);
+                            variant_builder.add_has_variant_index(true);
+                        }
+                        if let Some(trace) = trace {
+                            variant_builder.add_trace(trace);
+                        }
+
+                        variant_builder.finish()
+                    }
+                    None => {
+                        let mut resp_builder = VariantBuilder::new(builder);
+                        if let Some(trace) = trace {
+                            resp_builder.add_trace(trace);
+                        }
+                        resp_builder.finish()
                     }
-
-                    variant_builder.finish()
-                }
-                None => {
-                    let resp_builder = VariantBuilder::new(builder);
-                    resp_builder.finish()
                 }
-            },
+            }
             Ok(None) => {
                 let resp_builder = VariantBuilder::new(builder);
                 resp_builder.finish()
             }
+            Err(FlatError::StaleContext) => {
+                let mut response_builder = VariantBuilder::new(builder);
+                response_builder.add_stale_context(true);
+                response_builder.finish()
+            }
             Err(err) => {
                 let error_offset = builder.create_string(&err.to_string());
                 let mut response_builder = VariantBuilder::new(builder);
@@ -414,6 +723,47 @@ impl FlatMessage<Result<Option<MetricBucket>, FlatError>> for MetricsResponse<'s
     }
 }
 
+impl FlatMessage<Result<Option<EngineStatsSnapshot>, FlatError>> for EngineStatsResponse<'static> {
+    fn as_flat_buffer(
+        builder: &mut FlatBufferBuilder<'static>,
+        stats: Result<Option<EngineStatsSnapshot>, FlatError>,
+    ) -> WIPOffset<Self> {
+        match stats {
+            Ok(stats) => {
+                let stats = stats.unwrap_or_default();
+                EngineStatsResponse::create(
+                    builder,
+                    &EngineStatsResponseArgs {
+                        evaluations: stats.evaluations,
+                        lock_acquisitions: stats.lock_acquisitions,
+                        contended_lock_acquisitions: stats.contended_lock_acquisitions,
+                        lock_wait_nanos: stats.lock_wait_nanos,
+                        lock_hold_nanos: stats.lock_hold_nanos,
+                        take_states: stats.take_states,
+                        take_state_nanos: stats.take_state_nanos,
+                        features: stats.features,
+                        segments: stats.segments,
+                        state_bytes: stats.state_bytes,
+                        outstanding_bufs: stats.outstanding_bufs,
+                        outstanding_buf_bytes: stats.outstanding_buf_bytes,
+                        error: None,
+                    },
+                )
+            }
+            Err(error) => {
+                let error = builder.create_string(&error.to_string());
+                EngineStatsResponse::create(
+                    builder,
+                    &EngineStatsResponseArgs {
+                        error: Some(error),
+                        ..Default::default()
+                    },
+                )
+            }
+        }
+    }
+}
+
 impl FlatMessage<Vec<ToggleDefinition>> for FeatureDefs<'static> {
     fn as_flat_buffer(
         builder: &mut FlatBufferBuilder<'static>,
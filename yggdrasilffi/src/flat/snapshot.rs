@@ -0,0 +1,631 @@
+use flatbuffers::{FlatBufferBuilder, ForwardsUOffset, Vector, WIPOffset};
+use serde_json::Value;
+use std::collections::hash_map::DefaultHasher;
+use std::hash::{Hash, Hasher};
+use unleash_types::client_features::{
+    ClientFeature, ClientFeatures, Constraint, FeatureDependency, Override, Payload, Segment,
+    Strategy, StrategyVariant, Variant,
+};
+use unleash_yggdrasil::CORE_VERSION;
+
+use crate::flat::serialisation::FlatError;
+use crate::flat::snapshot_messaging::yggdrasil::messaging::{
+    root_as_state_snapshot_with_opts, SnapshotConstraint, SnapshotConstraintArgs,
+    SnapshotDependency, SnapshotDependencyArgs, SnapshotFeature, SnapshotFeatureArgs,
+    SnapshotOverride, SnapshotOverrideArgs, SnapshotPayload, SnapshotPayloadArgs, SnapshotSegment,
+    SnapshotSegmentArgs, SnapshotStrategy, SnapshotStrategyArgs, SnapshotStrategyParameter,
+    SnapshotStrategyParameterArgs, SnapshotStrategyVariant, SnapshotStrategyVariantArgs,
+    SnapshotVariant, SnapshotVariantArgs, StateSnapshot, StateSnapshotArgs,
+};
+
+/// Bumped whenever state-snapshot.fbs changes in a way older readers can't follow
+pub const SNAPSHOT_FORMAT_VERSION: u32 = 1;
+
+// A 10k toggle state easily has more than the default 1M tables, the snapshot is written by us
+// so we only guard against truncated or foreign files here
+const MAX_SNAPSHOT_TABLES: usize = 1 << 30;
+
+type Strings<'a> = Vector<'a, ForwardsUOffset<&'a str>>;
+
+/// Serialises a full engine state into a StateSnapshot flatbuffer.
+pub fn write_snapshot(state: &ClientFeatures) -> Vec<u8> {
+    // Sized up front, the thread local response builder would otherwise keep a snapshot sized
+    // allocation around for the lifetime of the thread
+    let mut builder = FlatBufferBuilder::with_capacity(state.features.len() * 256 + 1024);
+
+    let features: Vec<_> = state
+        .features
+        .iter()
+        .map(|feature| write_feature(&mut builder, feature))
+        .collect();
+    let features = builder.create_vector(&features);
+
+    let segments = state.segments.as_ref().map(|segments| {
+        let segments: Vec<_> = segments
+            .iter()
+            .map(|segment| {
+                let constraints = write_constraints(&mut builder, &segment.constraints);
+                SnapshotSegment::create(
+                    &mut builder,
+                    &SnapshotSegmentArgs {
+                        id: segment.id,
+                        constraints: Some(constraints),
+                    },
+                )
+            })
+            .collect();
+        builder.create_vector(&segments)
+    });
+
+    // Everything written so far is the state itself, identical states produce identical bytes
+    let mut hasher = DefaultHasher::new();
+    builder.unfinished_data().hash(&mut hasher);
+    let state_hash = hasher.finish();
+
+    let core_version = builder.create_string(CORE_VERSION);
+    let snapshot = StateSnapshot::create(
+        &mut builder,
+        &StateSnapshotArgs {
+            core_version: Some(core_version),
+            format_version: SNAPSHOT_FORMAT_VERSION,
+            version: state.version,
+            features: Some(features),
+            segments,
+            state_hash,
+        },
+    );
+    builder.finish(snapshot, None);
+    builder.finished_data().to_vec()
+}
+
+/// Reads a StateSnapshot flatbuffer back into the state the engine consumes. Fails if the
+/// snapshot was written by a different core or snapshot format version.
+pub fn read_snapshot(bytes: &[u8]) -> Result<ClientFeatures, FlatError> {
+    let opts = flatbuffers::VerifierOptions {
+        max_tables: MAX_SNAPSHOT_TABLES,
+        ..Default::default()
+    };
+    let snapshot = root_as_state_snapshot_with_opts(&opts, bytes)?;
+
+    let core_version = snapshot.core_version().unwrap_or_default();
+    if core_version != CORE_VERSION || snapshot.format_version() != SNAPSHOT_FORMAT_VERSION {
+        return Err(FlatError::InvalidState(format!(
+            "Snapshot was written by core version {} (format {}), this engine is {} (format {})",
+            core_version,
+            snapshot.format_version(),
+            CORE_VERSION,
+            SNAPSHOT_FORMAT_VERSION
+        )));
+    }
+
+    Ok(ClientFeatures {
+        version: snapshot.version(),
+        features: snapshot
+            .features()
+            .map(|features| {
+                features
+                    .iter()
+                    .map(read_feature)
+                    .collect::<Result<_, FlatError>>()
+            })
+            .transpose()?
+            .unwrap_or_default(),
+        segments: snapshot
+            .segments()
+            .map(|segments| {
+                segments
+                    .iter()
+                    .map(|segment| {
+                        Ok(Segment {
+                            id: segment.id(),
+                            constraints: read_constraints(segment.constraints())?
+                                .unwrap_or_default(),
+                        })
+                    })
+                    .collect::<Result<_, FlatError>>()
+            })
+            .transpose()?,
+        query: None,
+        meta: None,
+    })
+}
+
+fn write_feature<'a>(
+    builder: &mut FlatBufferBuilder<'a>,
+    feature: &ClientFeature,
+) -> WIPOffset<SnapshotFeature<'a>> {
+    let strategies = feature.strategies.as_ref().map(|strategies| {
+        let strategies: Vec<_> = strategies
+            .iter()
+            .map(|strategy| write_strategy(builder, strategy))
+            .collect();
+        builder.create_vector(&strategies)
+    });
+    let variants = feature.variants.as_ref().map(|variants| {
+        let variants: Vec<_> = variants
+            .iter()
+            .map(|variant| write_variant(builder, variant))
+            .collect();
+        builder.create_vector(&variants)
+    });
+    let dependencies = feature.dependencies.as_ref().map(|dependencies| {
+        let dependencies: Vec<_> = dependencies
+            .iter()
+            .map(|dependency| {
+                let feature = builder.create_string(&dependency.feature);
+                let variants = dependency
+                    .variants
+                    .as_ref()
+                    .map(|variants| write_strings(builder, variants));
+                SnapshotDependency::create(
+                    builder,
+                    &SnapshotDependencyArgs {
+                        feature: Some(feature),
+                        enabled: dependency.enabled,
+                        variants,
+                    },
+                )
+            })
+            .collect();
+        builder.create_vector(&dependencies)
+    });
+
+    let name = builder.create_string(&feature.name);
+    let feature_type = feature
+        .feature_type
+        .as_deref()
+        .map(|t| builder.create_string(t));
+    let project = feature.project.as_deref().map(|p| builder.create_string(p));
+    let description = feature
+        .description
+        .as_deref()
+        .map(|d| builder.create_string(d));
+
+    SnapshotFeature::create(
+        builder,
+        &SnapshotFeatureArgs {
+            name: Some(name),
+            feature_type,
+            project,
+            description,
+            enabled: feature.enabled,
+            stale: feature.stale,
+            impression_data: feature.impression_data,
+            strategies,
+            variants,
+            dependencies,
+        },
+    )
+}
+
+fn write_strategy<'a>(
+    builder: &mut FlatBufferBuilder<'a>,
+    strategy: &Strategy,
+) -> WIPOffset<SnapshotStrategy<'a>> {
+    let segments = strategy
+        .segments
+        .as_ref()
+        .map(|segments| builder.create_vector(segments));
+    let constraints = strategy
+        .constraints
+        .as_ref()
+        .map(|constraints| write_constraints(builder, constraints));
+    let parameters = strategy.parameters.as_ref().map(|parameters| {
+        // Sorted so the same state always serialises to the same bytes and state hash
+        let mut sorted: Vec<_> = parameters.iter().collect();
+        sorted.sort();
+        let parameters: Vec<_> = sorted
+            .into_iter()
+            .map(|(key, value)| {
+                let key = builder.create_string(key);
+                let value = builder.create_string(value);
+                SnapshotStrategyParameter::create(
+                    builder,
+                    &SnapshotStrategyParameterArgs {
+                        key: Some(key),
+                        value: Some(value),
+                    },
+                )
+            })
+            .collect();
+        builder.create_vector(&parameters)
+    });
+    let variants = strategy.variants.as_ref().map(|variants| {
+        let variants: Vec<_> = variants
+            .iter()
+            .map(|variant| {
+                let name = builder.create_string(&variant.name);
+                let stickiness = variant
+                    .stickiness
+                    .as_deref()
+                    .map(|s| builder.create_string(s));
+                let payload = variant
+                    .payload
+                    .as_ref()
+                    .map(|payload| write_payload(builder, payload));
+                SnapshotStrategyVariant::create(
+                    builder,
+                    &SnapshotStrategyVariantArgs {
+                        name: Some(name),
+                        weight: variant.weight,
+                        stickiness,
+                        payload,
+                    },
+                )
+            })
+            .collect();
+        builder.create_vector(&variants)
+    });
+    let name = builder.create_string(&strategy.name);
+
+    SnapshotStrategy::create(
+        builder,
+        &SnapshotStrategyArgs {
+            name: Some(name),
+            sort_order: strategy.sort_order,
+            segments,
+            constraints,
+            parameters,
+            variants,
+        },
+    )
+}
+
+fn write_variant<'a>(
+    builder: &mut FlatBufferBuilder<'a>,
+    variant: &Variant,
+) -> WIPOffset<SnapshotVariant<'a>> {
+    let overrides = variant.overrides.as_ref().map(|overrides| {
+        let overrides: Vec<_> = overrides
+            .iter()
+            .map(|o| {
+                let context_name = builder.create_string(&o.context_name);
+                let values = write_strings(builder, &o.values);
+                SnapshotOverride::create(
+                    builder,
+                    &SnapshotOverrideArgs {
+                        context_name: Some(context_name),
+                        values: Some(values),
+                    },
+                )
+            })
+            .collect();
+        builder.create_vector(&overrides)
+    });
+    let name = builder.create_string(&variant.name);
+    let weight_type = variant
+        .weight_type
+        .as_ref()
+        .and_then(enum_name)
+        .map(|w| builder.create_string(&w));
+    let stickiness = variant
+        .stickiness
+        .as_deref()
+        .map(|s| builder.create_string(s));
+    let payload = variant
+        .payload
+        .as_ref()
+        .map(|payload| write_payload(builder, payload));
+
+    SnapshotVariant::create(
+        builder,
+        &SnapshotVariantArgs {
+            name: Some(name),
+            weight: variant.weight,
+            weight_type,
+            stickiness,
+            payload,
+            overrides,
+        },
+    )
+}
+
+fn write_payload<'a>(
+    builder: &mut FlatBufferBuilder<'a>,
+    payload: &Payload,
+) -> WIPOffset<SnapshotPayload<'a>> {
+    let payload_type = builder.create_string(&payload.payload_type);
+    let value = builder.create_string(&payload.value);
+    SnapshotPayload::create(
+        builder,
+        &SnapshotPayloadArgs {
+            payload_type: Some(payload_type),
+            value: Some(value),
+        },
+    )
+}
+
+fn write_constraints<'a>(
+    builder: &mut FlatBufferBuilder<'a>,
+    constraints: &[Constraint],
+) -> WIPOffset<Vector<'a, ForwardsUOffset<SnapshotConstraint<'a>>>> {
+    let constraints: Vec<_> = constraints
+        .iter()
+        .map(|constraint| {
+            let context_name = builder.create_string(&constraint.context_name);
+            let operator = enum_name(&constraint.operator).map(|o| builder.create_string(&o));
+            let values = constraint
+                .values
+                .as_ref()
+                .map(|values| write_strings(builder, values));
+            let value = constraint
+                .value
+                .as_deref()
+                .map(|v| builder.create_string(v));
+            SnapshotConstraint::create(
+                builder,
+                &SnapshotConstraintArgs {
+                    context_name: Some(context_name),
+                    operator,
+                    case_insensitive: constraint.case_insensitive,
+                    inverted: constraint.inverted,
+                    values,
+                    value,
+                },
+            )
+        })
+        .collect();
+    builder.create_vector(&constraints)
+}
+
+fn write_strings<'a>(
+    builder: &mut FlatBufferBuilder<'a>,
+    values: &[String],
+) -> WIPOffset<Vector<'a, ForwardsUOffset<&'a str>>> {
+    let values: Vec<_> = values.iter().map(|v| builder.create_string(v)).collect();
+    builder.create_vector(&values)
+}
+
+// Operators and weight types are stored by their wire names, so the snapshot follows whatever
+// unleash-types accepts in the JSON API instead of a second copy of those enums
+pub(crate) fn enum_name<T: serde::Serialize>(value: &T) -> Option<String> {
+    match serde_json::to_value(value) {
+        Ok(Value::String(name)) => Some(name),
+        _ => None,
+    }
+}
+
+fn enum_from_name<T: serde::de::DeserializeOwned>(name: &str) -> Result<T, FlatError> {
+    serde_json::from_value(Value::String(name.to_string())).map_err(FlatError::from)
+}
+
+fn read_feature(feature: SnapshotFeature<'_>) -> Result<ClientFeature, FlatError> {
+    Ok(ClientFeature {
+        name: required_str(feature.name(), "feature name")?,
+        feature_type: feature.feature_type().map(str::to_string),
+        project: feature.project().map(str::to_string),
+        description: feature.description().map(str::to_string),
+        enabled: feature.enabled(),
+        stale: feature.stale(),
+        impression_data: feature.impression_data(),
+        strategies: feature
+            .strategies()
+            .map(|strategies| {
+                strategies
+                    .iter()
+                    .map(read_strategy)
+                    .collect::<Result<_, FlatError>>()
+            })
+            .transpose()?,
+        variants: feature
+            .variants()
+            .map(|variants| {
+                variants
+                    .iter()
+                    .map(read_variant)
+                    .collect::<Result<_, FlatError>>()
+            })
+            .transpose()?,
+        dependencies: feature
+            .dependencies()
+            .map(|dependencies| {
+                dependencies
+                    .iter()
+                    .map(|dependency| {
+                        Ok(FeatureDependency {
+                            feature: required_str(dependency.feature(), "dependency feature")?,
+                            enabled: dependency.enabled(),
+                            variants: dependency.variants().map(read_strings),
+                        })
+                    })
+                    .collect::<Result<_, FlatError>>()
+            })
+            .transpose()?,
+        ..Default::default()
+    })
+}
+
+fn read_strategy(strategy: SnapshotStrategy<'_>) -> Result<Strategy, FlatError> {
+    Ok(Strategy {
+        name: required_str(strategy.name(), "strategy name")?,
+        sort_order: strategy.sort_order(),
+        segments: strategy.segments().map(|segments| segments.iter().collect()),
+        constraints: read_constraints(strategy.constraints())?,
+        parameters: strategy.parameters().map(|parameters| {
+            parameters
+                .iter()
+                .filter_map(|p| Some((p.key()?.to_string(), p.value()?.to_string())))
+                .collect()
+        }),
+        variants: strategy
+            .variants()
+            .map(|variants| {
+                variants
+                    .iter()
+                    .map(|variant| {
+                        Ok(StrategyVariant {
+                            name: required_str(variant.name(), "variant name")?,
+                            weight: variant.weight(),
+                            stickiness: variant.stickiness().map(str::to_string),
+                            payload: variant.payload().map(read_payload),
+                        })
+                    })
+                    .collect::<Result<_, FlatError>>()
+            })
+            .transpose()?,
+    })
+}
+
+fn read_variant(variant: SnapshotVariant<'_>) -> Result<Variant, FlatError> {
+    Ok(Variant {
+        name: required_str(variant.name(), "variant name")?,
+        weight: variant.weight(),
+        weight_type: variant.weight_type().map(enum_from_name).transpose()?,
+        stickiness: variant.stickiness().map(str::to_string),
+        payload: variant.payload().map(read_payload),
+        overrides: variant.overrides().map(|overrides| {
+            overrides
+                .iter()
+                .map(|o| Override {
+                    context_name: o.context_name().unwrap_or_default().to_string(),
+                    values: o.values().map(read_strings).unwrap_or_default(),
+                })
+                .collect()
+        }),
+    })
+}
+
+fn read_payload(payload: SnapshotPayload<'_>) -> Payload {
+    Payload {
+        payload_type: payload.payload_type().unwrap_or_default().to_string(),
+        value: payload.value().unwrap_or_default().to_string(),
+    }
+}
+
+fn read_constraints(
+    constraints: Option<Vector<'_, ForwardsUOffset<SnapshotConstraint<'_>>>>,
+) -> Result<Option<Vec<Constraint>>, FlatError> {
+    constraints
+        .map(|constraints| {
+            constraints
+                .iter()
+                .map(|constraint| {
+                    Ok(Constraint {
+                        context_name: required_str(constraint.context_name(), "context name")?,
+                        operator: enum_from_name(
+                            constraint
+                                .operator()
+                                .ok_or_else(|| missing("constraint operator"))?,
+                        )?,
+                        case_insensitive: constraint.case_insensitive(),
+                        inverted: constraint.inverted(),
+                        values: constraint.values().map(read_strings),
+                        value: constraint.value().map(str::to_string),
+                    })
+                })
+                .collect()
+        })
+        .transpose()
+}
+
+fn read_strings(values: Strings<'_>) -> Vec<String> {
+    values.iter().map(str::to_string).collect()
+}
+
+fn required_str(value: Option<&str>, what: &str) -> Result<String, FlatError> {
+    value.map(str::to_string).ok_or_else(|| missing(what))
+}
+
+fn missing(what: &str) -> FlatError {
+    FlatError::InvalidState(format!("Snapshot is missing a {what}"))
+}
+
+#[cfg(test)]
+mod tests {
+    use super::*;
+    use std::collections::HashMap;
+    use unleash_types::client_features::{Operator, WeightType};
+
+    fn state() -> ClientFeatures {
+        ClientFeatures {
+            features: vec![ClientFeature {
+                name: "some-toggle".into(),
+                enabled: true,
+                impression_data: Some(true),
+                project: Some("default".into()),
+                strategies: Some(vec![Strategy {
+                    name: "flexibleRollout".into(),
+                    constraints: Some(vec![Constraint {
+                        context_name: "userId".into(),
+                        operator: Operator::In,
+                        case_insensitive: false,
+                        inverted: false,
+                        values: Some(vec!["7".into()]),
+                        value: None,
+                    }]),
+                    parameters: Some(HashMap::from([("rollout".into(), "100".into())])),
+                    segments: Some(vec![1]),
+                    sort_order: Some(0),
+                    variants: None,
+                }]),
+                variants: Some(vec![Variant {
+                    name: "blue".into(),
+                    weight: 1000,
+                    payload: Some(Payload {
+                        payload_type: "string".into(),
+                        value: "hello".into(),
+                    }),
+                    overrides: None,
+                    stickiness: Some("default".into()),
+                    weight_type: Some(WeightType::Variable),
+                }]),
+                ..Default::default()
+            }],
+            segments: Some(vec![Segment {
+                id: 1,
+                constraints: vec![],
+            }]),
+            query: None,
+            meta: None,
+            version: 2,
+        }
+    }
+
+    #[test]
+    fn snapshot_round_trips_the_state() {
+        let state = state();
+        let bytes = write_snapshot(&state);
+        assert_eq!(read_snapshot(&bytes).unwrap(), state);
+    }
+
+    #[test]
+    fn identical_states_share_a_state_hash() {
+        let first = write_snapshot(&state());
+        let second = write_snapshot(&state());
+        let mut changed = state();
+        changed.features[0].enabled = false;
+        let changed = write_snapshot(&changed);
+
+        let hash = |bytes: &[u8]| {
+            root_as_state_snapshot_with_opts(&Default::default(), bytes)
+                .unwrap()
+                .state_hash()
+        };
+        assert_eq!(hash(&first), hash(&second));
+        assert_ne!(hash(&first), hash(&changed));
+    }
+
+    #[test]
+    fn snapshot_from_another_core_version_is_rejected() {
+        let mut builder = FlatBufferBuilder::new();
+        let core_version = builder.create_string("0.0.1");
+        let snapshot = StateSnapshot::create(
+            &mut builder,
+            &StateSnapshotArgs {
+                core_version: Some(core_version),
+                format_version: SNAPSHOT_FORMAT_VERSION,
+                version: 2,
+                features: None,
+                segments: None,
+                state_hash: 0,
+            },
+        );
+        builder.finish(snapshot, None);
+        assert!(read_snapshot(builder.finished_data()).is_err());
+    }
+
+    #[test]
+    fn garbage_is_not_a_snapshot() {
+        assert!(read_snapshot(&[1, 2, 3, 4, 5, 6, 7, 8]).is_err());
+    }
+}
@@ -0,0 +1,276 @@
+use std::collections::hash_map::DefaultHasher;
+use std::collections::{BTreeSet, HashMap};
+use std::hash::{Hash, Hasher};
+
+use serde::Serialize;
+use unleash_types::client_features::{ClientFeature, ClientFeatures};
+
+/// The features that were added, removed or changed by taking a state, sorted by name
+#[derive(Debug, Default, PartialEq, Eq)]
+pub struct StateDiff {
+    pub generation: u64,
+    pub added: Vec<String>,
+    pub removed: Vec<String>,
+    pub changed: Vec<String>,
+}
+
+/// A digest of every feature of the last state, so the next state can be diffed against it
+/// without keeping the old one around. A feature's digest covers the segments it refers to, and a
+/// feature counts as changed when a feature it depends on changed, since either changes what it
+/// evaluates to.
+#[derive(Default)]
+pub struct StateDigest {
+    generation: u64,
+    digests: HashMap<String, u64>,
+}
+
+/// The digests of the features of one state and who depends on whom, worked out from the state
+/// alone so that only diffing them against the last state needs the engine
+pub struct FeatureDigests {
+    digests: HashMap<String, u64>,
+    dependents: HashMap<String, Vec<String>>,
+    state_bytes: u64,
+}
+
+impl FeatureDigests {
+    pub fn of(state: &ClientFeatures) -> FeatureDigests {
+        // Every segment is hashed once, rather than again for every strategy using it
+        let mut state_bytes: usize = 0;
+        let segments: HashMap<i32, u64> = state
+            .segments
+            .iter()
+            .flatten()
+            .map(|segment| {
+                let mut hasher = DefaultHasher::new();
+                state_bytes += hash_json(segment, &mut hasher);
+                (segment.id, hasher.finish())
+            })
+            .collect();
+        let digests: HashMap<String, u64> = state
+            .features
+            .iter()
+            .map(|feature| {
+                let (digest, size) = digest(feature, &segments);
+                state_bytes += size;
+                (feature.name.clone(), digest)
+            })
+            .collect();
+        FeatureDigests {
+            digests,
+            dependents: dependents(&state.features),
+            state_bytes: state_bytes as u64,
+        }
+    }
+
+    /// The size of the state as JSON, which is roughly what it takes up in memory
+    pub fn state_bytes(&self) -> u64 {
+        self.state_bytes
+    }
+}
+
+impl StateDigest {
+    /// Diffs the digests of a new state against those of the last one and keeps them for the next
+    pub fn update(&mut self, next: FeatureDigests) -> StateDiff {
+        let FeatureDigests {
+            digests,
+            dependents,
+            ..
+        } = next;
+        let mut added = BTreeSet::new();
+        let mut changed = BTreeSet::new();
+        for (name, digest) in &digests {
+            match self.digests.get(name) {
+                None => {
+                    added.insert(name.clone());
+                }
+                Some(previous) if previous != digest => {
+                    changed.insert(name.clone());
+                }
+                Some(_) => {}
+            }
+        }
+        let removed: BTreeSet<String> = self
+            .digests
+            .keys()
+            .filter(|name| !digests.contains_key(*name))
+            .cloned()
+            .collect();
+        add_dependents(&dependents, &added, &removed, &mut changed);
+
+        self.generation = self.generation.saturating_add(1);
+        self.digests = digests;
+        StateDiff {
+            generation: self.generation,
+            added: added.into_iter().collect(),
+            removed: removed.into_iter().collect(),
+            changed: changed.into_iter().collect(),
+        }
+    }
+
+    /// Forgets the last state, for state changes that didn't go through update. The next update
+    /// reports every feature as added.
+    pub fn clear(&mut self) {
+        self.generation = self.generation.saturating_add(1);
+        self.digests.clear();
+    }
+
+    /// Goes up with every state the engine takes, see StateDiff.generation
+    pub fn generation(&self) -> u64 {
+        self.generation
+    }
+}
+
+// The digest of the feature and the size of the feature alone as JSON
+fn digest(feature: &ClientFeature, segments: &HashMap<i32, u64>) -> (u64, usize) {
+    let mut hasher = DefaultHasher::new();
+    let size = hash_json(feature, &mut hasher);
+    for strategy in feature.strategies.as_deref().unwrap_or_default() {
+        for id in strategy.segments.as_deref().unwrap_or_default() {
+            segments.get(id).hash(&mut hasher);
+        }
+    }
+    (hasher.finish(), size)
+}
+
+// Going through a Value sorts map keys, so parameters hash the same whatever order they're in
+fn hash_json<T: Serialize>(value: &T, hasher: &mut DefaultHasher) -> usize {
+    let json = serde_json::to_value(value)
+        .and_then(|value| serde_json::to_vec(&value))
+        .unwrap_or_default();
+    json.hash(hasher);
+    json.len()
+}
+
+// The features depending on each feature, by the name of the feature they depend on
+fn dependents(features: &[ClientFeature]) -> HashMap<String, Vec<String>> {
+    let mut dependents: HashMap<String, Vec<String>> = HashMap::new();
+    for feature in features {
+        for dependency in feature.dependencies.as_deref().unwrap_or_default() {
+            dependents
+                .entry(dependency.feature.clone())
+                .or_default()
+                .push(feature.name.clone());
+        }
+    }
+    dependents
+}
+
+// Follows every added, removed and changed feature to the features depending on it, once per
+// dependency, rather than going over every feature again until nothing more changes
+fn add_dependents(
+    dependents: &HashMap<String, Vec<String>>,
+    added: &BTreeSet<String>,
+    removed: &BTreeSet<String>,
+    changed: &mut BTreeSet<String>,
+) {
+    let mut pending: Vec<String> = added
+        .iter()
+        .chain(removed)
+        .chain(changed.iter())
+        .cloned()
+        .collect();
+    while let Some(name) = pending.pop() {
+        for dependent in dependents.get(&name).into_iter().flatten() {
+            if !added.contains(dependent) && changed.insert(dependent.clone()) {
+                pending.push(dependent.clone());
+            }
+        }
+    }
+}
+
+#[cfg(test)]
+mod tests {
+    use super::*;
+
+    fn state(json: &str) -> FeatureDigests {
+        FeatureDigests::of(&serde_json::from_str(json).unwrap())
+    }
+
+    #[test]
+    fn the_first_state_adds_every_feature() {
+        let mut digest = StateDigest::default();
+        let diff = digest.update(state(
+            r#"{"version": 2, "features": [
+                {"name": "b", "enabled": true},
+                {"name": "a", "enabled": false}
+            ]}"#,
+        ));
+
+        assert_eq!(diff.generation, 1);
+        assert_eq!(diff.added, vec!["a", "b"]);
+        assert!(diff.removed.is_empty());
+        assert!(diff.changed.is_empty());
+    }
+
+    #[test]
+    fn features_are_diffed_against_the_last_state() {
+        let mut digest = StateDigest::default();
+        digest.update(state(
+            r#"{"version": 2, "features": [
+                {"name": "same", "enabled": true},
+                {"name": "flipped", "enabled": true},
+                {"name": "gone", "enabled": true}
+            ]}"#,
+        ));
+        let diff = digest.update(state(
+            r#"{"version": 2, "features": [
+                {"name": "same", "enabled": true},
+                {"name": "flipped", "enabled": false},
+                {"name": "new", "enabled": true}
+            ]}"#,
+        ));
+
+        assert_eq!(diff.generation, 2);
+        assert_eq!(diff.added, vec!["new"]);
+        assert_eq!(diff.removed, vec!["gone"]);
+        assert_eq!(diff.changed, vec!["flipped"]);
+    }
+
+    #[test]
+    fn segment_and_dependency_changes_change_the_features_using_them() {
+        let with_segment = |region: &str| {
+            state(&format!(
+                r#"{{"version": 2,
+                "features": [
+                    {{"name": "segmented", "enabled": true,
+                      "strategies": [{{"name": "default", "segments": [1]}}]}},
+                    {{"name": "child", "enabled": true,
+                      "dependencies": [{{"feature": "segmented"}}]}},
+                    {{"name": "unrelated", "enabled": true}}
+                ],
+                "segments": [{{"id": 1, "constraints": [
+                    {{"contextName": "region", "operator": "IN", "values": ["{region}"]}}
+                ]}}]}}"#
+            ))
+        };
+        let mut digest = StateDigest::default();
+        digest.update(with_segment("eu"));
+        let diff = digest.update(with_segment("us"));
+
+        assert_eq!(diff.changed, vec!["child", "segmented"]);
+        assert!(diff.added.is_empty());
+    }
+
+    #[test]
+    fn a_change_reaches_every_feature_depending_on_it_however_deep() {
+        let chain = |enabled: bool| {
+            let mut features = vec![format!(r#"{{"name": "f0", "enabled": {enabled}}}"#)];
+            features.extend((1..50).map(|i| {
+                format!(
+                    r#"{{"name": "f{i}", "enabled": true, "dependencies": [{{"feature": "f{}"}}]}}"#,
+                    i - 1
+                )
+            }));
+            state(&format!(
+                r#"{{"version": 2, "features": [{}]}}"#,
+                features.join(",")
+            ))
+        };
+        let mut digest = StateDigest::default();
+        digest.update(chain(true));
+        let diff = digest.update(chain(false));
+
+        assert_eq!(diff.changed.len(), 50);
+        assert!(diff.added.is_empty());
+    }
+}
@@ -0,0 +1,205 @@
+use std::collections::HashMap;
+use std::sync::Arc;
+use std::time::Duration;
+
+use flatbuffers::{FlatBufferBuilder, WIPOffset};
+use unleash_types::client_features::{ClientFeatures, Constraint};
+
+use crate::flat::messaging::yggdrasil::messaging::{
+    EvaluationTrace, EvaluationTraceArgs, StrategyTrace, StrategyTraceArgs,
+};
+use crate::flat::serialisation::ParsedStrategies;
+
+/// One strategy of a toggle, as much of it as a trace reports
+#[derive(Debug, PartialEq, Eq)]
+pub struct StrategyOutline {
+    pub name: String,
+    /// The strategy's own constraints and those of its segments
+    pub constraints: u32,
+    pub segments: Vec<i32>,
+    pub missing_segments: bool,
+}
+
+/// What a toggle consists of, for traces of its evaluations
+#[derive(Debug, Default, PartialEq, Eq)]
+pub struct ToggleOutline {
+    pub strategies: Vec<StrategyOutline>,
+    pub dependencies: Vec<String>,
+}
+
+/// The outline of every toggle of the current state, built when the state is taken so a traced
+/// evaluation doesn't have to go through the state to say what it evaluated.
+#[derive(Default)]
+pub struct TraceIndex {
+    toggles: HashMap<String, Arc<ToggleOutline>>,
+}
+
+impl TraceIndex {
+    /// Outlines the toggles of a state, which only needs the state, so it can be done before the
+    /// index is swapped in
+    pub fn build(
+        state: &ClientFeatures,
+        strategies: &ParsedStrategies,
+        segments: &HashMap<i32, Vec<Constraint>>,
+    ) -> TraceIndex {
+        let toggles = state
+            .features
+            .iter()
+            .map(|feature| {
+                let strategies = strategies
+                    .get(&feature.name)
+                    .map(Vec::as_slice)
+                    .unwrap_or_default()
+                    .iter()
+                    .map(|strategy| StrategyOutline {
+                        name: strategy.name.clone(),
+                        constraints: (strategy.constraints.len()
+                            + strategy
+                                .segments
+                                .iter()
+                                .filter_map(|id| segments.get(id))
+                                .map(Vec::len)
+                                .sum::<usize>()) as u32,
+                        segments: strategy.segments.clone(),
+                        missing_segments: strategy.missing_segments,
+                    })
+                    .collect();
+                let dependencies = feature
+                    .dependencies
+                    .iter()
+                    .flatten()
+                    .map(|dependency| dependency.feature.clone())
+                    .collect();
+                let outline = ToggleOutline {
+                    strategies,
+                    dependencies,
+                };
+                (feature.name.clone(), Arc::new(outline))
+            })
+            .collect();
+        TraceIndex { toggles }
+    }
+
+    /// Forgets every toggle, for state changes that didn't go through rebuild
+    pub fn clear(&mut self) {
+        self.toggles.clear();
+    }
+
+    pub fn outline(&self, toggle: &str) -> Option<Arc<ToggleOutline>> {
+        self.toggles.get(toggle).cloned()
+    }
+}
+
+/// A traced evaluation: the outline of the toggle, if the state has it, and where the time went
+pub struct TracedEvaluation {
+    pub toggle: Option<Arc<ToggleOutline>>,
+    pub decode: Duration,
+    pub evaluate: Duration,
+    pub variant: Duration,
+}
+
+pub fn build_trace<'a>(
+    builder: &mut FlatBufferBuilder<'a>,
+    trace: &TracedEvaluation,
+) -> WIPOffset<EvaluationTrace<'a>> {
+    let (strategies, dependencies) = match &trace.toggle {
+        Some(toggle) => {
+            let strategies: Vec<_> = toggle
+                .strategies
+                .iter()
+                .map(|strategy| {
+                    let name = builder.create_string(&strategy.name);
+                    let segments = builder.create_vector(&strategy.segments);
+                    StrategyTrace::create(
+                        builder,
+                        &StrategyTraceArgs {
+                            name: Some(name),
+                            constraints: strategy.constraints,
+                            segments: Some(segments),
+                            missing_segments: strategy.missing_segments,
+                        },
+                    )
+                })
+                .collect();
+            let dependencies: Vec<_> = toggle
+                .dependencies
+                .iter()
+                .map(|dependency| builder.create_string(dependency))
+                .collect();
+            (
+                Some(builder.create_vector(&strategies)),
+                Some(builder.create_vector(&dependencies)),
+            )
+        }
+        None => (None, None),
+    };
+    EvaluationTrace::create(
+        builder,
+        &EvaluationTraceArgs {
+            known: trace.toggle.is_some(),
+            decode_nanos: nanos(trace.decode),
+            evaluate_nanos: nanos(trace.evaluate),
+            variant_nanos: nanos(trace.variant),
+            strategies,
+            dependencies,
+        },
+    )
+}
+
+fn nanos(duration: Duration) -> u64 {
+    u64::try_from(duration.as_nanos()).unwrap_or(u64::MAX)
+}
+
+#[cfg(test)]
+mod tests {
+    use super::*;
+    use crate::flat::serialisation::ParsedStrategy;
+
+    fn state() -> ClientFeatures {
+        serde_json::from_str(
+            r#"{
+                "version": 2,
+                "features": [
+                    {"name": "parent", "enabled": true, "strategies": []},
+                    {"name": "child", "enabled": true, "dependencies": [{"feature": "parent"}]}
+                ]
+            }"#,
+        )
+        .unwrap()
+    }
+
+    #[test]
+    fn an_outline_counts_the_constraints_of_segments_with_those_of_the_strategy() {
+        let mut strategies = ParsedStrategies::new();
+        strategies.insert(
+            "parent".to_string(),
+            vec![ParsedStrategy {
+                name: "default".to_string(),
+                parameters: Default::default(),
+                constraints: vec![],
+                segments: vec![1, 2],
+                missing_segments: true,
+            }],
+        );
+        let segments: HashMap<i32, Vec<Constraint>> = serde_json::from_str(
+            r#"{
+                "1": [{"contextName": "a", "operator": "IN", "values": ["x"]}],
+                "2": [
+                    {"contextName": "b", "operator": "IN", "values": ["y"]},
+                    {"contextName": "c", "operator": "IN", "values": ["z"]}
+                ]
+            }"#,
+        )
+        .unwrap();
+
+        let index = TraceIndex::build(&state(), &strategies, &segments);
+
+        let parent = index.outline("parent").unwrap();
+        assert_eq!(parent.strategies[0].constraints, 3);
+        assert!(parent.strategies[0].missing_segments);
+        let child = index.outline("child").unwrap();
+        assert!(child.strategies.is_empty());
+        assert_eq!(child.dependencies, vec!["parent".to_string()]);
+        assert!(index.outline("missing").is_none());
+    }
+}
@@ -0,0 +1,90 @@
+use std::borrow::Cow;
+
+use chrono::{DateTime, SecondsFormat, Utc};
+
+use crate::flat::messaging::yggdrasil::messaging::{
+    BulkContextMessage, ContextMessage, TypedPropertyEntry,
+};
+use crate::flat::serialisation::FlatError;
+
+// Values of TypedPropertyEntry.kind
+const WHOLE_NUMBER: u8 = 0;
+const DECIMAL: u8 = 1;
+const TIMESTAMP: u8 = 2;
+
+/// The current time of a context, either as the caller formatted it or from milliseconds since the
+/// epoch
+pub fn current_time<'a>(ctx: &ContextMessage<'a>) -> Result<Option<Cow<'a, str>>, FlatError> {
+    resolve_current_time(
+        ctx.current_time(),
+        ctx.has_current_time_ms().then_some(ctx.current_time_ms()),
+    )
+}
+
+/// The current time shared by the contexts of a bulk check, like current_time
+pub fn bulk_current_time<'a>(
+    message: &BulkContextMessage<'a>,
+) -> Result<Option<Cow<'a, str>>, FlatError> {
+    resolve_current_time(
+        message.current_time(),
+        message.has_current_time_ms().then_some(message.current_time_ms()),
+    )
+}
+
+fn resolve_current_time(
+    formatted: Option<&str>,
+    millis: Option<i64>,
+) -> Result<Option<Cow<'_, str>>, FlatError> {
+    if let Some(current_time) = formatted {
+        return Ok(Some(Cow::Borrowed(current_time)));
+    }
+    match millis {
+        Some(millis) => format_millis(millis).map(|current_time| Some(Cow::Owned(current_time))),
+        None => Ok(None),
+    }
+}
+
+/// The engine compares context values as strings, so a typed value is formatted once here instead
+/// of by the caller
+pub fn property_value(entry: &TypedPropertyEntry) -> Result<String, FlatError> {
+    match entry.kind() {
+        WHOLE_NUMBER => Ok(entry.long_value().to_string()),
+        DECIMAL => Ok(entry.double_value().to_string()),
+        TIMESTAMP => format_millis(entry.long_value()),
+        kind => Err(FlatError::InvalidContext(format!(
+            "unknown kind {kind} of property {:?}",
+            entry.key()
+        ))),
+    }
+}
+
+// Formatted the same way java.time.Instant formats itself
+fn format_millis(millis: i64) -> Result<String, FlatError> {
+    DateTime::<Utc>::from_timestamp_millis(millis)
+        .map(|time| time.to_rfc3339_opts(SecondsFormat::AutoSi, true))
+        .ok_or_else(|| FlatError::InvalidContext(format!("{millis} is not a valid timestamp")))
+}
+
+#[cfg(test)]
+mod tests {
+    use super::*;
+
+    #[test]
+    fn timestamps_are_formatted_like_java_instants() {
+        assert_eq!(format_millis(0).unwrap(), "1970-01-01T00:00:00Z");
+        assert_eq!(
+            format_millis(1_700_000_000_123).unwrap(),
+            "2023-11-14T22:13:20.123Z"
+        );
+        assert!(format_millis(i64::MAX).is_err());
+    }
+
+    #[test]
+    fn a_formatted_current_time_wins_over_milliseconds() {
+        let formatted = resolve_current_time(Some("2024-01-01T00:00:00Z"), Some(0)).unwrap();
+        assert_eq!(formatted.as_deref(), Some("2024-01-01T00:00:00Z"));
+        let millis = resolve_current_time(None, Some(0)).unwrap();
+        assert_eq!(millis.as_deref(), Some("1970-01-01T00:00:00Z"));
+        assert_eq!(resolve_current_time(None, None).unwrap(), None);
+    }
+}
@@ -0,0 +1,163 @@
+use std::collections::HashMap;
+
+use unleash_types::client_features::{ClientFeatures, Payload};
+
+/// One of the variants a feature can resolve to
+#[derive(Debug, Clone, PartialEq, Eq)]
+pub struct IndexedVariant {
+    pub name: String,
+    pub payload: Option<Payload>,
+}
+
+impl IndexedVariant {
+    fn matches(&self, name: &str, payload: Option<&Payload>) -> bool {
+        self.name == name
+            && match (&self.payload, payload) {
+                (None, None) => true,
+                (Some(known), Some(payload)) => {
+                    known.payload_type == payload.payload_type && known.value == payload.value
+                }
+                _ => false,
+            }
+    }
+}
+
+/// The variants each feature of the current state can resolve to, feature and strategy variants
+/// alike, numbered per feature. A caller holding the table of the same generation only needs the
+/// number of a variant instead of its name and payload.
+#[derive(Default)]
+pub struct VariantIndex {
+    generation: u64,
+    variants: IndexedVariants,
+}
+
+/// The numbered variants of every feature of a state that has any, by feature name
+pub type IndexedVariants = HashMap<String, Vec<IndexedVariant>>;
+
+impl VariantIndex {
+    /// Numbers the variants of a state, which only needs the state, so it can be done before the
+    /// index is replaced
+    pub fn index(state: &ClientFeatures) -> IndexedVariants {
+        state
+            .features
+            .iter()
+            .map(|feature| {
+                let feature_variants = feature
+                    .variants
+                    .iter()
+                    .flatten()
+                    .map(|variant| (variant.name.as_str(), variant.payload.as_ref()));
+                let strategy_variants = feature
+                    .strategies
+                    .iter()
+                    .flatten()
+                    .flat_map(|strategy| strategy.variants.iter().flatten())
+                    .map(|variant| (variant.name.as_str(), variant.payload.as_ref()));
+                let mut variants: Vec<IndexedVariant> = vec![];
+                for (name, payload) in feature_variants.chain(strategy_variants) {
+                    if !variants.iter().any(|known| known.matches(name, payload)) {
+                        variants.push(IndexedVariant {
+                            name: name.to_string(),
+                            payload: payload.cloned(),
+                        });
+                    }
+                }
+                (feature.name.clone(), variants)
+            })
+            .filter(|(_, variants)| !variants.is_empty())
+            .collect()
+    }
+
+    /// Replaces the variants with those of a new state, as a new generation
+    pub fn replace(&mut self, variants: IndexedVariants) {
+        self.generation = self.generation.wrapping_add(1).max(1);
+        self.variants = variants;
+    }
+
+    /// Forgets every variant, for state changes that didn't go through rebuild
+    pub fn clear(&mut self) {
+        self.generation = self.generation.wrapping_add(1).max(1);
+        self.variants.clear();
+    }
+
+    pub fn generation(&self) -> u64 {
+        self.generation
+    }
+
+    pub fn variants(&self, feature: &str) -> &[IndexedVariant] {
+        self.variants
+            .get(feature)
+            .map(Vec::as_slice)
+            .unwrap_or_default()
+    }
+
+    pub fn index_of(&self, feature: &str, name: &str, payload: Option<&Payload>) -> Option<u32> {
+        self.variants
+            .get(feature)?
+            .iter()
+            .position(|known| known.matches(name, payload))
+            .and_then(|index| u32::try_from(index).ok())
+    }
+}
+
+#[cfg(test)]
+mod tests {
+    use super::*;
+    use unleash_types::client_features::{ClientFeature, Variant};
+
+    fn variant(name: &str, payload: Option<&str>) -> Variant {
+        Variant {
+            name: name.into(),
+            weight: 500,
+            payload: payload.map(|value| Payload {
+                payload_type: "string".into(),
+                value: value.into(),
+            }),
+            overrides: None,
+            stickiness: None,
+            weight_type: None,
+        }
+    }
+
+    fn state(variants: Vec<Variant>) -> IndexedVariants {
+        VariantIndex::index(&ClientFeatures {
+            version: 2,
+            features: vec![ClientFeature {
+                name: "toggle".into(),
+                enabled: true,
+                variants: Some(variants),
+                ..ClientFeature::default()
+            }],
+            segments: None,
+            query: None,
+            meta: None,
+        })
+    }
+
+    #[test]
+    fn variants_are_numbered_by_name_and_payload() {
+        let mut index = VariantIndex::default();
+        index.replace(state(vec![
+            variant("blue", Some("a")),
+            variant("blue", Some("a")),
+            variant("blue", Some("b")),
+            variant("red", None),
+        ]));
+
+        assert_eq!(index.variants("toggle").len(), 3);
+        assert_eq!(index.index_of("toggle", "red", None), Some(2));
+        assert_eq!(index.index_of("toggle", "blue", None), None);
+        assert_eq!(index.index_of("unknown", "red", None), None);
+    }
+
+    #[test]
+    fn every_change_is_a_new_generation() {
+        let mut index = VariantIndex::default();
+        assert_eq!(index.generation(), 0);
+        index.replace(state(vec![variant("blue", None)]));
+        index.clear();
+
+        assert_eq!(index.generation(), 2);
+        assert!(index.variants("toggle").is_empty());
+    }
+}
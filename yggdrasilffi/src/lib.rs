@@ -3,9 +3,10 @@ use std::{
     ffi::{c_char, c_void, CStr, CString},
     fmt::{self, Display, Formatter},
     mem::forget,
+    ops::{Deref, DerefMut},
     panic::{self, AssertUnwindSafe},
     str::Utf8Error,
-    sync::{Arc, Mutex, MutexGuard},
+    sync::{atomic::AtomicBool, Arc, Mutex, MutexGuard, RwLock},
 };
 
 use chrono::Utc;
@@ -34,10 +35,59 @@ struct Response<T> {
     error_message: Option<String>,
 }
 
-type RawPointerDataType = Mutex<EngineState>;
+type RawPointerDataType = EngineCell;
 type ManagedEngine = Arc<RawPointerDataType>;
 type CustomStrategyResults = HashMap<String, bool>;
 
+/// What the engine lock guards: the engine and what the flat API keeps next to it. Derefs to the
+/// engine, so anything that only needs the engine can ignore the rest.
+#[derive(Default)]
+struct ManagedState {
+    engine: EngineState,
+    variants: flat::VariantIndex,
+    state_digest: flat::StateDigest,
+    traces: flat::TraceIndex,
+}
+
+impl Deref for ManagedState {
+    type Target = EngineState;
+
+    fn deref(&self) -> &EngineState {
+        &self.engine
+    }
+}
+
+impl DerefMut for ManagedState {
+    fn deref_mut(&mut self) -> &mut EngineState {
+        &mut self.engine
+    }
+}
+
+/// What an engine pointer points to: the engine behind its lock, and statistics about it that can
+/// be read without taking the lock. Derefs to the lock.
+#[derive(Default)]
+struct EngineCell {
+    state: Mutex<ManagedState>,
+    stats: flat::EngineStats,
+    /// The property key dictionary of the flat API. It's kept outside the engine lock so contexts
+    /// can be decoded before that's taken, and it's only written once a taken state has let go of it
+    property_keys: RwLock<flat::PropertyKeys>,
+    /// Whether the states taken hand the constraints of every strategy back, only engines that
+    /// evaluate toggles in Java read them
+    strategy_constraints: AtomicBool,
+    /// Whether evaluations are left out of the engine's metrics, for an engine shared by callers
+    /// that count their own
+    skip_metrics: AtomicBool,
+}
+
+impl Deref for EngineCell {
+    type Target = Mutex<ManagedState>;
+
+    fn deref(&self) -> &Mutex<ManagedState> {
+        &self.state
+    }
+}
+
 #[derive(Serialize, Deserialize, PartialEq, Eq)]
 enum ResponseCode {
     Error = -2,
@@ -175,7 +225,7 @@ fn recover_lock<T>(lock: &Mutex<T>) -> MutexGuard<'_, T> {
 /// `free_engine` and passing in the pointer returned by this method. Failure to do so will result in a leak.
 #[no_mangle]
 pub extern "C" fn new_engine() -> *mut c_void {
-    let engine = Mutex::new(EngineState::default());
+    let engine = EngineCell::default();
     let arc = Arc::new(engine);
     Arc::into_raw(arc) as *mut c_void
 }
@@ -219,6 +269,10 @@ pub unsafe extern "C" fn take_state(
 
         let toggles: UpdateMessage = get_json(json_ptr)?;
 
+        // Only the flat API keeps the variant index up to date
+        engine.variants.clear();
+        engine.state_digest.clear();
+        engine.traces.clear();
         if let Some(warnings) = engine.take_state(toggles) {
             Err(FFIError::PartialUpdate(warnings))
         } else {